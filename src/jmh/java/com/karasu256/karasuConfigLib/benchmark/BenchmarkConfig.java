@@ -0,0 +1,89 @@
+package com.karasu256.karasuConfigLib.benchmark;
+
+import com.karasu256.karasuConfigLib.annotation.Config;
+import com.karasu256.karasuConfigLib.config.BaseConfig;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ベンチマーク用の設定クラス
+ * <p>
+ * {@link #of(int)}で指定した件数の要素を持つ設定を作成し、設定の大きさによる処理時間の違いを測定します。
+ * </p>
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ */
+@Config(fileName = "benchmark.json")
+public class BenchmarkConfig extends BaseConfig {
+
+    /** 設定の名前 */
+    private String name = "benchmark";
+
+    /** 有効かどうか */
+    private boolean enabled = true;
+
+    /** 数値の項目 */
+    private int count;
+
+    /** リストの項目 */
+    private List<String> entries = new ArrayList<>();
+
+    /** マップの項目 */
+    private Map<String, Double> values = new LinkedHashMap<>();
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    public BenchmarkConfig() {
+    }
+
+    /**
+     * 指定した件数の要素を持つ設定を作成します
+     *
+     * @param size リストとマップの要素数
+     * @return 設定
+     */
+    public static BenchmarkConfig of(int size) {
+        return new BenchmarkConfig().fill(size);
+    }
+
+    /**
+     * リストとマップの要素を指定した件数で置き換えます
+     *
+     * @param size リストとマップの要素数
+     * @return この設定
+     */
+    public BenchmarkConfig fill(int size) {
+        count = size;
+        entries.clear();
+        values.clear();
+        for (int i = 0; i < size; i++) {
+            entries.add("entry-" + i);
+            values.put("key-" + i, i * 0.5);
+        }
+        markDirty();
+        return this;
+    }
+
+    /**
+     * 数値の項目を取得します
+     *
+     * @return 数値の項目
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * 数値の項目を設定します
+     *
+     * @param count 数値の項目
+     */
+    public void setCount(int count) {
+        this.count = count;
+    }
+}
@@ -0,0 +1,80 @@
+package com.karasu256.karasuConfigLib.benchmark;
+
+import com.karasu256.karasuConfigLib.AbstractJavaPluginConfigable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.stream.Stream;
+
+/**
+ * ベンチマーク用のプラグイン
+ * <p>
+ * 一時ディレクトリをデータフォルダとして有効にし、{@link #stop()}で無効にしてディレクトリを削除します。
+ * 測定結果にログの出力時間が含まれないよう、エラー以外のログは出力しません。
+ * </p>
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ */
+public final class BenchmarkPlugin extends AbstractJavaPluginConfigable<BenchmarkConfig> {
+
+    /** プラグインの名前 */
+    public static final String PLUGIN_NAME = "KarasuConfigLibBenchmark";
+
+    /** データフォルダの親の一時ディレクトリ */
+    private final Path root;
+
+    private BenchmarkPlugin(Path root) {
+        this.root = root;
+    }
+
+    /**
+     * 一時ディレクトリを作成し、プラグインを有効にします
+     *
+     * @return 有効にしたプラグイン
+     */
+    public static BenchmarkPlugin start() {
+        LOGGER.setLevel(Level.SEVERE);
+        try {
+            BenchmarkPlugin plugin = new BenchmarkPlugin(Files.createTempDirectory("karasu-config-bench"));
+            plugin.enable(plugin.root.resolve(PLUGIN_NAME).toFile());
+            return plugin;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * プラグインを無効にし、一時ディレクトリを削除します
+     */
+    public void stop() {
+        disable();
+        try (Stream<Path> files = Files.walk(root)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public List<Class<? extends BenchmarkConfig>> getDefaultConfigs() {
+        return List.of(BenchmarkConfig.class);
+    }
+
+    @Override
+    public String getPluginName() {
+        return PLUGIN_NAME;
+    }
+
+    @Override
+    public Class<BenchmarkConfig> getBaseConfig() {
+        return BenchmarkConfig.class;
+    }
+}
@@ -0,0 +1,75 @@
+package com.karasu256.karasuConfigLib.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 設定リストの保存と読み込みのベンチマーク
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+public class ListBenchmark {
+
+    /** 設定リストのファイル名 */
+    private static final String FILE_NAME = "list.json";
+
+    /** 設定リストの要素数 */
+    @Param({ "1000", "100000" })
+    public int elements;
+
+    /** ベンチマーク用のプラグイン */
+    private BenchmarkPlugin plugin;
+
+    /** 保存する設定リスト */
+    private List<BenchmarkConfig> list;
+
+    /**
+     * プラグインを有効にし、設定リストを作成して保存します
+     */
+    @Setup
+    public void setup() {
+        plugin = BenchmarkPlugin.start();
+        list = new ArrayList<>(elements);
+        for (int i = 0; i < elements; i++) {
+            BenchmarkConfig config = BenchmarkConfig.of(2);
+            config.setCount(i);
+            list.add(config);
+        }
+        plugin.saveList(list, FILE_NAME);
+    }
+
+    /**
+     * プラグインを無効にします
+     */
+    @TearDown
+    public void tearDown() {
+        plugin.stop();
+    }
+
+    /**
+     * 設定リストを保存します
+     */
+    @Benchmark
+    public void saveList() {
+        plugin.saveList(list, FILE_NAME);
+    }
+
+    /**
+     * 設定リストを読み込みます
+     *
+     * @return 読み込んだ設定リスト
+     */
+    @Benchmark
+    public List<BenchmarkConfig> loadList() {
+        return plugin.loadList(FILE_NAME);
+    }
+}
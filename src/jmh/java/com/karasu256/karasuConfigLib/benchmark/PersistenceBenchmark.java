@@ -0,0 +1,105 @@
+package com.karasu256.karasuConfigLib.benchmark;
+
+import com.karasu256.karasuConfigLib.SaveResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 設定ファイルの保存と読み込みのベンチマーク
+ * <p>
+ * 一時ディレクトリに指定した数の設定ファイルを置き、保存、読み込み、再読み込みにかかる時間を測定します。
+ * </p>
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+public class PersistenceBenchmark {
+
+    /** デフォルト設定の他に登録する設定の数 */
+    @Param({ "10", "100" })
+    public int configs;
+
+    /** 各設定のリストとマップの要素数 */
+    @Param({ "10", "1000" })
+    public int size;
+
+    /** ベンチマーク用のプラグイン */
+    private BenchmarkPlugin plugin;
+
+    /** 登録した設定 */
+    private final List<BenchmarkConfig> registered = new ArrayList<>();
+
+    /** 保存のたびに設定に書き込む値 */
+    private int revision;
+
+    /**
+     * プラグインを有効にし、設定を登録して保存します
+     */
+    @Setup
+    public void setup() {
+        plugin = BenchmarkPlugin.start();
+        for (int i = 0; i < configs; i++) {
+            registered.add(plugin.addConfig("persistence-" + i + ".json", BenchmarkConfig.class).fill(size));
+        }
+        plugin.save();
+    }
+
+    /**
+     * プラグインを無効にします
+     */
+    @TearDown
+    public void tearDown() {
+        plugin.stop();
+    }
+
+    /**
+     * すべての設定を変更して保存します
+     *
+     * @return 保存の結果
+     */
+    @Benchmark
+    public SaveResult save() {
+        revision++;
+        for (BenchmarkConfig config : registered) {
+            config.setCount(revision);
+            config.markDirty();
+        }
+        return plugin.save();
+    }
+
+    /**
+     * 変更のない設定を保存します
+     *
+     * @return 保存の結果
+     */
+    @Benchmark
+    public SaveResult saveUnchanged() {
+        return plugin.save();
+    }
+
+    /**
+     * すべての設定を読み込みます
+     */
+    @Benchmark
+    public void load() {
+        plugin.load();
+    }
+
+    /**
+     * すべての設定を再読み込みします
+     *
+     * @return 再読み込みした設定の数
+     */
+    @Benchmark
+    public int reloadAll() {
+        return plugin.reloadAll();
+    }
+}
@@ -0,0 +1,77 @@
+package com.karasu256.karasuConfigLib.benchmark;
+
+import com.karasu256.karasuConfigLib.config.BaseConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.List;
+
+/**
+ * 登録済みの設定の取得のベンチマーク
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+public class RegistryBenchmark {
+
+    /** デフォルト設定の他に登録する設定の数 */
+    @Param({ "10", "100", "1000" })
+    public int configs;
+
+    /** ベンチマーク用のプラグイン */
+    private BenchmarkPlugin plugin;
+
+    /**
+     * プラグインを有効にし、設定を登録します
+     */
+    @Setup
+    public void setup() {
+        plugin = BenchmarkPlugin.start();
+        for (int i = 0; i < configs; i++) {
+            plugin.addConfig("registry-" + i + ".json", BenchmarkConfig.class);
+        }
+    }
+
+    /**
+     * プラグインを無効にします
+     */
+    @TearDown
+    public void tearDown() {
+        plugin.stop();
+    }
+
+    /**
+     * クラスから設定を取得します
+     *
+     * @return 設定
+     */
+    @Benchmark
+    public BenchmarkConfig getConfig() {
+        return plugin.getConfig(BenchmarkConfig.class);
+    }
+
+    /**
+     * 指定した型のすべての設定を取得します
+     *
+     * @return 設定のリスト
+     */
+    @Benchmark
+    public List<BenchmarkConfig> getConfigsOfType() {
+        return plugin.getConfigsOfType(BenchmarkConfig.class);
+    }
+
+    /**
+     * 基底クラスを指定してすべての設定を取得します
+     *
+     * @return 設定のリスト
+     */
+    @Benchmark
+    public List<BaseConfig> getConfigsOfBaseType() {
+        return plugin.getConfigsOfType(BaseConfig.class);
+    }
+}
@@ -0,0 +1,57 @@
+package com.karasu256.karasuConfigLib.benchmark;
+
+import com.karasu256.karasuConfigLib.config.BaseConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * 設定のシリアライズとデシリアライズのベンチマーク
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    /** 設定のリストとマップの要素数 */
+    @Param({ "10", "1000", "100000" })
+    public int size;
+
+    /** シリアライズする設定 */
+    private BenchmarkConfig config;
+
+    /** デシリアライズするJSON */
+    private String json;
+
+    /**
+     * 測定する設定とJSONを作成します
+     */
+    @Setup
+    public void setup() {
+        config = BenchmarkConfig.of(size);
+        json = config.toJson();
+    }
+
+    /**
+     * 設定をJSONに変換します
+     *
+     * @return JSON
+     */
+    @Benchmark
+    public String toJson() {
+        return config.toJson();
+    }
+
+    /**
+     * JSONから設定を作成します
+     *
+     * @return 設定
+     */
+    @Benchmark
+    public BenchmarkConfig fromJson() {
+        return BaseConfig.fromJson(json, BenchmarkConfig.class);
+    }
+}
@@ -0,0 +1,108 @@
+package com.karasu256.karasuConfigLib.benchmark;
+
+import com.google.gson.JsonElement;
+import com.karasu256.karasuConfigLib.config.BaseConfig;
+import com.karasu256.karasuConfigLib.io.BinaryJson;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 起動時の設定ファイルの読み込みのベンチマーク
+ * <p>
+ * 変更されていない設定ファイルをライブラリで読み込む時間と、同じファイルをGsonで直接解析する時間を比較します。
+ * 解析済みのJSONツリーをバイナリ形式から復元してバインドする方法も、比較のために測定します。
+ * </p>
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+public class StartupLoadBenchmark {
+
+    /** 設定のリストとマップの要素数 */
+    @Param({ "10", "1000", "100000" })
+    public int size;
+
+    /** ベンチマーク用のプラグイン */
+    private BenchmarkPlugin plugin;
+
+    /** 設定ファイルのパス */
+    private Path file;
+
+    /** 設定ファイルのJSONツリーのバイナリ形式 */
+    private byte[] binaryTree;
+
+    /**
+     * プラグインを有効にし、デフォルト設定を指定した大きさにして保存します
+     *
+     * @throws IOException JSONツリーの変換に失敗した場合
+     */
+    @Setup
+    public void setup() throws IOException {
+        plugin = BenchmarkPlugin.start();
+        BenchmarkConfig config = plugin.getConfig(BenchmarkConfig.class).fill(size);
+        plugin.save();
+        file = plugin.getConfigFile("benchmark.json").toPath();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            BinaryJson.write(out, BaseConfig.getGson().toJsonTree(config));
+        }
+        binaryTree = bytes.toByteArray();
+    }
+
+    /**
+     * プラグインを無効にします
+     */
+    @TearDown
+    public void tearDown() {
+        plugin.stop();
+    }
+
+    /**
+     * 変更されていない設定ファイルをライブラリで読み込みます
+     */
+    @Benchmark
+    public void load() {
+        plugin.load();
+    }
+
+    /**
+     * 設定ファイルを読み込み、テキストをGsonで直接解析します
+     *
+     * @return 解析した設定
+     * @throws IOException ファイルの読み込みに失敗した場合
+     */
+    @Benchmark
+    public BenchmarkConfig parseText() throws IOException {
+        String json = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        return BaseConfig.fromJson(json, BenchmarkConfig.class);
+    }
+
+    /**
+     * バイナリ形式のJSONツリーを復元し、ツリーから設定にバインドします
+     *
+     * @return バインドした設定
+     * @throws IOException 復元に失敗した場合
+     */
+    @Benchmark
+    public BenchmarkConfig bindBinaryTree() throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(binaryTree))) {
+            JsonElement tree = BinaryJson.read(in, binaryTree.length);
+            return BaseConfig.getGson().fromJson(tree, BenchmarkConfig.class);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package org.bukkit.plugin;
+
+/**
+ * ベンチマーク用のPluginの代替インターフェース
+ * <p>
+ * ライブラリのクラスがプラグインを{@code Plugin}として扱う箇所を検証できるように、型だけを提供します。
+ * </p>
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ */
+public interface Plugin {
+}
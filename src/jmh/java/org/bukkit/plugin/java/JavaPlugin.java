@@ -0,0 +1,93 @@
+package org.bukkit.plugin.java;
+
+import org.bukkit.plugin.Plugin;
+
+import java.io.File;
+import java.util.logging.Logger;
+
+/**
+ * ベンチマーク用のJavaPluginの代替クラス
+ * <p>
+ * ベンチマークはBukkitのサーバーなしで実行されるため、paper-apiの代わりにこのクラスがクラスパスに置かれます。
+ * 設定の読み書きに必要なデータフォルダと有効状態だけを提供し、サーバーやスケジューラは提供しません。
+ * そのため、メインスレッドに処理を戻す非同期APIはベンチマークから呼び出せません。
+ * </p>
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ */
+public abstract class JavaPlugin implements Plugin {
+
+    /** プラグインのデータフォルダ */
+    private File dataFolder;
+
+    /** プラグインが有効かどうか */
+    private boolean enabled;
+
+    /**
+     * データフォルダを設定してプラグインを有効にします
+     *
+     * @param dataFolder プラグインのデータフォルダ
+     */
+    public final void enable(File dataFolder) {
+        this.dataFolder = dataFolder;
+        this.enabled = true;
+        onEnable();
+    }
+
+    /**
+     * プラグインを無効にします
+     */
+    public final void disable() {
+        onDisable();
+        this.enabled = false;
+    }
+
+    /**
+     * プラグインのデータフォルダを取得します
+     *
+     * @return データフォルダ
+     */
+    public final File getDataFolder() {
+        return dataFolder;
+    }
+
+    /**
+     * プラグインが有効かどうかを返します
+     *
+     * @return 有効な場合はtrue
+     */
+    public final boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * プラグインの名前を取得します
+     *
+     * @return クラスの単純名
+     */
+    public String getName() {
+        return getClass().getSimpleName();
+    }
+
+    /**
+     * プラグインのロガーを取得します
+     *
+     * @return ロガー
+     */
+    public Logger getLogger() {
+        return Logger.getLogger(getClass().getSimpleName());
+    }
+
+    /**
+     * プラグインが有効になったときに呼び出されます
+     */
+    public void onEnable() {
+    }
+
+    /**
+     * プラグインが無効になったときに呼び出されます
+     */
+    public void onDisable() {
+    }
+}
@@ -2,23 +2,70 @@ package com.karasu256.karasuConfigLib;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
-import com.google.gson.reflect.TypeToken;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
 import com.karasu256.karasuConfigLib.annotation.Config;
+import com.karasu256.karasuConfigLib.codec.ConfigCodec;
+import com.karasu256.karasuConfigLib.codec.ConfigCodecs;
 import com.karasu256.karasuConfigLib.config.BaseConfig;
+import com.karasu256.karasuConfigLib.event.ConfigChange;
+import com.karasu256.karasuConfigLib.event.ConfigChangeEvent;
+import com.karasu256.karasuConfigLib.event.ConfigChangeListener;
+import com.karasu256.karasuConfigLib.event.ConfigDiff;
+import com.karasu256.karasuConfigLib.io.AtomicFileWriter;
+import com.karasu256.karasuConfigLib.io.ConfigFileWatcher;
+import com.karasu256.karasuConfigLib.io.ConfigJournal;
+import com.karasu256.karasuConfigLib.io.IndexedListStore;
+import com.karasu256.karasuConfigLib.io.JsonLines;
+import com.karasu256.karasuConfigLib.io.WriteBehindQueue;
+import com.karasu256.karasuConfigLib.jfr.ConfigOperationEvent;
+import com.karasu256.karasuConfigLib.metrics.ConfigMetrics;
+import com.karasu256.karasuConfigLib.registry.ConfigHandle;
+import com.karasu256.karasuConfigLib.registry.ConfigRegistry;
+import com.karasu256.karasuConfigLib.util.ConfigExecutors;
+import com.karasu256.karasuConfigLib.util.ConfigMetadata;
 import com.karasu256.karasuConfigLib.util.ConfigUtils;
+import com.karasu256.karasuConfigLib.util.TickBudgetExecutor;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
-import java.lang.reflect.Type;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * 設定ファイルを管理するプラグインのための抽象クラス
@@ -26,6 +73,22 @@ import java.util.logging.Logger;
  * このクラスはJavaPluginを拡張し、設定ファイルを簡単に管理するための機能を提供します。
  * JSON形式の設定ファイルの読み込み、保存、更新などの操作を行うことができます。
  * </p>
+ *
+ * <p>
+ * {@code Async}で終わるメソッドはファイルI/Oを{@link ConfigExecutors#io()}上で実行し、
+ * 結果の反映とFutureの完了をメインスレッドで行います。そのため、返されたFutureに
+ * 続けて登録した処理からは安全にBukkit APIを呼び出すことができます。
+ * 一方で、メインスレッドで返されたFutureの{@code join()}や{@code get()}を呼び出すと、
+ * Futureを完了する処理が実行されないまま待ち続けることになります。メインスレッドでは
+ * {@code thenAccept}などで処理を続けるか、保存の完了を待つ場合は{@link #flush()}を使用してください。
+ * 同じファイルへの非同期保存は、呼び出した順に書き込まれます。
+ * </p>
+ *
+ * <p>
+ * ファイルの読み込み、解析、書き込みを行うprivateメソッド（{@code read}、{@code write}で始まるものなど）は
+ * Bukkit APIを使用しないため、I/Oスレッドから呼び出されます。これらのメソッドを変更する場合は、
+ * Bukkit APIの呼び出しやメインスレッドでのみ変更する状態への書き込みを含めないでください。
+ * </p>
  * 
  * @param <T> ベース設定クラスの型パラメータ
  * @author Hashibutogarasu
@@ -35,41 +98,184 @@ public abstract class AbstractJavaPluginConfigable<T extends BaseConfig> extends
         implements IPluginConfigable<T> {
 
     /** クラス用のロガーインスタンス */
-    public static final Logger LOGGER = Logger.getLogger("KarasuConfigLib");
+    public static final Logger LOGGER = ConfigUtils.LOGGER;
+
+    /** 設定をまとめて読み込むときに同時に読み込むファイルの最大数 */
+    private static final int MAX_PARALLEL_READS = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+    /** 設定ファイル名と設定オブジェクトのレジストリ */
+    private final ConfigRegistry configRegistry = new ConfigRegistry();
+
+    /** 設定クラスごとの設定フォルダのキャッシュ */
+    private final ClassValue<File> configFolders = new ClassValue<>() {
+        @Override
+        protected File computeValue(Class<?> type) {
+            return resolvePluginConfigFolder(type);
+        }
+    };
+
+    /** 処理をメインスレッドで実行するExecutor */
+    private final Executor mainThreadExecutor = this::runOnMainThread;
+
+    /** ライトビハインドモードで使用する保存キュー、無効な場合はnull */
+    private volatile WriteBehindQueue writeBehindQueue;
+
+    /** 書き込み中の非同期保存 */
+    private final Set<CompletableFuture<?>> inFlightWrites = ConcurrentHashMap.newKeySet();
+
+    /** ファイルごとの最後に投入した非同期書き込み、同じファイルへの書き込みを投入順に実行するために使用する */
+    private final Map<Path, CompletableFuture<?>> lastWrites = new HashMap<>();
+
+    /** ジャーナル方式で保存する設定ファイルのパスとジャーナル */
+    private final Map<Path, ConfigJournal> journals = new ConcurrentHashMap<>();
+
+    /** データファイルのパスと開いているインデックス付きリストストア */
+    private final Map<Path, IndexedListStore<?>> indexedListStores = new ConcurrentHashMap<>();
+
+    /** 遅延読み込みでまだ読み込まれていないデフォルト設定のファイル名と設定クラス */
+    private final Map<String, Class<? extends T>> deferredConfigs = new ConcurrentHashMap<>();
+
+    /** 登録された変更リスナー */
+    private final List<ChangeSubscription<?>> changeListeners = new CopyOnWriteArrayList<>();
 
-    /** 設定ファイル名と設定オブジェクトのマッピング */
-    private final Map<String, BaseConfig> configMap = new HashMap<>();
+    /** 設定ファイルの変更を監視するウォッチャー、無効な場合はnull */
+    private volatile ConfigFileWatcher fileWatcher;
+
+    /** 設定ファイルの読み書きの集計 */
+    private final ConfigMetrics metrics = new ConfigMetrics();
+
+    /** キャッシュの上限、上限を設けない場合はnull */
+    private volatile CacheLimits cacheLimits;
+
+    /** キャッシュから削除しないデフォルト設定のファイル名 */
+    private final Set<String> pinnedFileNames = ConcurrentHashMap.newKeySet();
+
+    /** キャッシュから削除され、変更を書き込み中の設定 */
+    private final Map<String, BaseConfig> evictedWrites = new ConcurrentHashMap<>();
+
+    /** キャッシュの整理がメインスレッドで実行待ちかどうか */
+    private final AtomicBoolean evictionRequested = new AtomicBoolean();
 
     @Override
     public void onEnable() {
         checkIfRecord();
+        // getPluginName()は複数のプラグインで同じ場合があるため、サーバー内で一意なプラグイン名で登録する
+        ConfigMetrics.register(getName(), metrics);
+        deleteStaleTempFiles();
+        // デフォルト設定はここで一度だけ読み込まれるため、続けてload()を呼ぶ必要はない
         initializeDefaultConfigs();
-        load();
         super.onEnable();
     }
 
     @Override
     public void onDisable() {
+        cancelTickBudgetedTasks();
+        disableFileWatcher();
+        disableBoundedCache();
+        // 無効にした後の保存要求が、実行されないスケジューラーのタスクに残らないようにする
+        disableWriteBehind();
         save();
+        closeIndexedLists();
+        ConfigMetrics.unregister(getName(), metrics);
+    }
+
+    /**
+     * {@link TickBudgetExecutor}で実行を待っている、このプラグインの再読み込み結果の反映を破棄します
+     * <p>
+     * 無効になったプラグインの設定を差し替えたり、変更を通知したりしないようにします。
+     * </p>
+     */
+    private void cancelTickBudgetedTasks() {
+        TickBudgetExecutor budgetExecutor = TickBudgetExecutor.getInstalled();
+        if (budgetExecutor != null) {
+            int cancelled = budgetExecutor.cancelTasks(this);
+            if (cancelled > 0) {
+                LOGGER.info("Discarded " + cancelled + " pending reload commits of disabled plugin " + getName());
+            }
+        }
+    }
+
+    /**
+     * 以前の起動で書き込みの途中に終了したために残った一時ファイルを、設定フォルダから削除します
+     */
+    private void deleteStaleTempFiles() {
+        Set<File> folders = new LinkedHashSet<>();
+        folders.add(getPluginConfigFolder(getBaseConfig()));
+        List<Class<? extends T>> defaultConfigs = getDefaultConfigs();
+        if (defaultConfigs != null) {
+            defaultConfigs.forEach(configClass -> folders.add(getPluginConfigFolder(configClass)));
+        }
+        folders.forEach(folder -> AtomicFileWriter.deleteStaleTempFiles(folder.toPath()));
     }
 
     /**
      * デフォルトの設定ファイルを初期化します
+     * <p>
+     * 各設定ファイルはI/Oスレッドで並行して一度だけ読み込まれます。
+     * {@link #isLazyLoading()}がtrueの場合は読み込みを行わず、最初に{@link #getConfig(String, Class)}で
+     * 取得されたときに読み込みます。
+     * </p>
      */
     private void initializeDefaultConfigs() {
         List<Class<? extends T>> defaultConfigs = getDefaultConfigs();
-        if (defaultConfigs != null) {
-            for (Class<? extends T> configClass : defaultConfigs) {
-                try {
-                    String fileName = ConfigUtils.getFileName(configClass).orElseThrow();
-                    addConfig(fileName, configClass);
-                } catch (Exception e) {
-                    LOGGER.severe("Failed to get config file name for class " + configClass.getName() + ": "
-                            + e.getMessage());
-                }
+        if (defaultConfigs == null) {
+            return;
+        }
+
+        Map<String, Class<? extends T>> classes = new LinkedHashMap<>();
+        for (Class<? extends T> configClass : defaultConfigs) {
+            try {
+                classes.put(ConfigUtils.getFileName(configClass).orElseThrow(), configClass);
+            } catch (Exception e) {
+                LOGGER.severe("Failed to get config file name for class " + configClass.getName() + ": "
+                        + e.getMessage());
             }
-            LOGGER.info("Initialized " + defaultConfigs.size() + " default config files");
         }
+        pinnedFileNames.addAll(classes.keySet());
+
+        if (isLazyLoading()) {
+            deferredConfigs.putAll(classes);
+            LOGGER.info("Deferred " + classes.size() + " default config files until first access");
+            return;
+        }
+
+        long start = System.nanoTime();
+        Map<String, BaseConfig> loaded = new ConcurrentHashMap<>();
+        forEachInParallel(classes, (fileName, configClass) -> {
+            T config = loadConfigFromFile(fileName, configClass);
+            if (config != null) {
+                loaded.put(fileName, config);
+            }
+        });
+        configRegistry.putAll(loaded);
+        loaded.forEach((fileName, config) -> watchConfigFile(fileName, config.getClass()));
+        logLoadTime("Initialized " + loaded.size() + " default config files", start);
+    }
+
+    /**
+     * デフォルトの設定を最初に取得されたときに読み込むかどうかを返します
+     * <p>
+     * trueを返す場合、{@link #getDefaultConfigs()}の設定は起動時に読み込まれず、最初に
+     * {@link #getConfig(String, Class)}、{@link #getConfig(Class)}または{@link #getConfigsOfType(Class)}で
+     * 取得されたときに読み込まれます。使用頻度の低い設定が多いプラグインの起動を速くできます。
+     * まだ読み込まれていない設定は{@link #save()}や{@link #reloadAll()}の対象になりません。
+     * </p>
+     *
+     * @return 遅延読み込みを使用する場合はtrue
+     */
+    protected boolean isLazyLoading() {
+        return false;
+    }
+
+    /**
+     * 設定の読み込みにかかった時間をログに出力します
+     *
+     * @param message    ログの先頭に出力するメッセージ
+     * @param startNanos 読み込みを開始した時刻（{@link System#nanoTime()}）
+     */
+    private void logLoadTime(String message, long startNanos) {
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        LOGGER.info(message + " in " + elapsedMillis + " ms");
     }
 
     /**
@@ -111,6 +317,22 @@ public abstract class AbstractJavaPluginConfigable<T extends BaseConfig> extends
      * @return 設定フォルダのパス
      */
     protected File getPluginConfigFolder(Class<?> configClass) {
+        if (configClass == null) {
+            return resolvePluginConfigFolder(null);
+        }
+        return configFolders.get(configClass);
+    }
+
+    /**
+     * 設定フォルダのパスを解決します
+     * <p>
+     * 結果は設定クラスごとにキャッシュされるため、通常は{@link #getPluginConfigFolder(Class)}を使用してください。
+     * </p>
+     *
+     * @param configClass 設定クラス
+     * @return 設定フォルダのパス
+     */
+    private File resolvePluginConfigFolder(Class<?> configClass) {
         String folderName = getConfigFolderName(configClass);
         return getDataFolder().getParentFile().toPath().resolve(folderName).toFile();
     }
@@ -157,220 +379,1473 @@ public abstract class AbstractJavaPluginConfigable<T extends BaseConfig> extends
         return ensureDirectoryExists(configFolder);
     }
 
+    /**
+     * 処理をメインスレッドで実行するExecutorを取得します
+     * <p>
+     * 呼び出し元がすでにメインスレッドの場合はその場で実行し、
+     * それ以外の場合はBukkitのスケジューラーを通じて次のティックで実行します。
+     * </p>
+     *
+     * @return メインスレッド用のExecutor
+     */
+    public Executor getMainThreadExecutor() {
+        return mainThreadExecutor;
+    }
+
+    /**
+     * 指定した処理をメインスレッドで実行します
+     *
+     * @param task 実行する処理
+     */
+    private void runOnMainThread(Runnable task) {
+        if (getServer().isPrimaryThread()) {
+            task.run();
+        } else {
+            getServer().getScheduler().runTask(this, task);
+        }
+    }
+
     /**
      * 現在の設定を全て保存します
+     * <p>
+     * 最後に読み込んだ、または保存した内容から変更がない設定は書き込まずにスキップします。
+     * {@link #isExplicitDirtyTracking()}がtrueの場合は、{@link BaseConfig#markDirty()}が
+     * 呼び出されていない設定はシリアライズも行いません。
+     * </p>
+     *
+     * @return 書き込んだファイル数とスキップしたファイル数
      */
-    public void save() {
-        configMap.forEach((fileName, config) -> {
-            try {
-                File configFolder = getPluginConfigFolder(config.getClass());
-                ensureDirectoryExists(configFolder);
-                ConfigUtils.getFileName(config.getClass()).ifPresent(fileName1 -> {
-                    try {
-                        var file = configFolder.toPath().resolve(fileName1);
-                        Files.writeString(file, config.toJson());
-                        LOGGER.info("Config saved to " + file);
-                    } catch (Exception e) {
-                        LOGGER.severe("Failed to save config: " + e.getMessage());
-                    }
-                });
-            } catch (Exception e) {
-                LOGGER.severe("Failed to save config: " + e.getMessage());
-            }
-        });
+    public SaveResult save() {
+        SaveBatch batch = prepareSaveAll();
+        awaitWrites(batch.writes.stream().map(write -> write.file).toList());
+        return writeAll(batch);
+    }
+
+    /**
+     * 現在の設定を全て非同期で保存します
+     * <p>
+     * シリアライズは呼び出し元のスレッドで行い、ファイルへの書き込みのみをI/Oスレッドで実行します。
+     * </p>
+     *
+     * @return 書き込んだファイル数とスキップしたファイル数で完了するFuture
+     */
+    public CompletableFuture<SaveResult> saveAsync() {
+        SaveBatch batch = prepareSaveAll();
+        List<Path> files = batch.writes.stream().map(write -> write.file).toList();
+        return submitWrite(files, () -> writeAll(batch)).thenApplyAsync(result -> result, mainThreadExecutor);
     }
 
     /**
      * 指定したファイル名の設定を保存します
-     * 
+     * <p>
+     * ライトビハインドモードが有効な場合は保存を要求するだけで、実際の書き込みは
+     * 同じファイルへの要求をまとめた上で後から行われます。
+     * </p>
+     *
      * @param fileName 保存する設定ファイル名
      * @return 保存に成功した場合はtrue、失敗した場合はfalse
      */
     public boolean save(String fileName) {
-        BaseConfig config = configMap.get(fileName);
-        if (config == null) {
-            LOGGER.warning("Config for file " + fileName + " not found in configMap, cannot save.");
-            return false;
+        WriteBehindQueue queue = writeBehindQueue;
+        if (queue != null) {
+            if (!configRegistry.containsKey(fileName)) {
+                LOGGER.warning("Config for file " + fileName + " not found in registry, cannot save.");
+                return false;
+            }
+            queue.request(fileName);
+            return true;
         }
 
+        BaseConfig registered = configRegistry.get(fileName);
+        ConfigOperationEvent event = ConfigOperationEvent.start("save", fileName,
+                registered == null ? null : registered.getClass());
+        boolean saved = false;
         try {
-            var json = config.toJson();
-            File configFolder = getPluginConfigFolder(config.getClass());
-            ensureDirectoryExists(configFolder);
-            var file = configFolder.toPath().resolve(fileName);
-            Files.writeString(file, json);
-            LOGGER.info("Config saved to " + file);
-            return true;
+            PendingWrite write = prepareWrite(fileName);
+            if (write != null) {
+                awaitWrites(List.of(write.file));
+            }
+            saved = write != null && writeFile(write);
+            return saved;
         } catch (Exception e) {
             LOGGER.severe("Failed to save config for file " + fileName + ": " + e.getMessage());
             return false;
+        } finally {
+            ConfigOperationEvent.finish(event, saved);
         }
     }
 
     /**
-     * 設定を読み込みます
+     * 指定したファイル名の設定を非同期で保存します
+     * <p>
+     * シリアライズは呼び出し元のスレッドで行い、ファイルへの書き込みのみをI/Oスレッドで実行します。
+     * </p>
+     *
+     * @param fileName 保存する設定ファイル名
+     * @return 保存に成功した場合はtrueで完了するFuture
      */
-    public void load() {
-        configMap.forEach((fileName, baseConfig) -> {
-            try {
-                var confClass = baseConfig.getClass();
-                var file = getConfigFile(fileName);
-                var filePath = file.toPath();
-                var pluginConfigFolder = getPluginConfigFolder(confClass);
-                ensureDirectoryExists(pluginConfigFolder);
-
-                if (!Files.exists(filePath)) {
-                    LOGGER.warning("Config file not found, creating a new one.");
-                    var defaultConfig = getDefaultConfig(confClass);
-
-                    if (defaultConfig == null) {
-                        LOGGER.severe("Default config is null, cannot create a new config file.");
-                        return;
-                    }
-
-                    var json = defaultConfig.toJson();
-                    Files.writeString(filePath, json);
-                }
-                String json = Files.readString(filePath);
-                BaseConfig config = getGson().fromJson(json, baseConfig.getClass());
-                configMap.put(fileName, config);
-                LOGGER.info("Config class loaded successfully");
-            } catch (Exception e) {
-                LOGGER.severe("Failed to load config: " + e.getMessage());
-            }
-        });
-    }
-
-    public void saveList(List<T> configList, String fileName) {
-        if (configList == null) {
-            LOGGER.warning("Config list is null, cannot save.");
-            return;
-        }
-
+    public CompletableFuture<Boolean> saveAsync(String fileName) {
+        PendingWrite write;
         try {
-            // 親ディレクトリが存在しない場合は作成
-            File parentDir = getPluginConfigFolder(getBaseConfig()); // getPluginName()を反映した設定フォルダを使用
-            ensureDirectoryExists(parentDir);
-            var file = parentDir.toPath().resolve(fileName);
-
-            // リストをJSONに変換
-            String json = getGson().toJson(configList);
-
-            java.nio.file.Files.writeString(file, json);
-            LOGGER.info("Config list saved to " + file);
+            write = prepareWrite(fileName);
         } catch (Exception e) {
-            LOGGER.severe("Failed to save config list: " + e.getMessage());
+            LOGGER.severe("Failed to save config for file " + fileName + ": " + e.getMessage());
+            return CompletableFuture.completedFuture(false);
+        }
+        if (write == null) {
+            return CompletableFuture.completedFuture(false);
         }
+        return submitWrite(List.of(write.file), () -> writeFile(write))
+                .thenApplyAsync(saved -> saved, mainThreadExecutor);
     }
 
-    public List<T> loadList(String fileName) {
-        try {
-            // getPluginName()を反映した一貫したパスを取得
-            File pluginConfigFolder = getPluginConfigFolder(getBaseConfig());
-            Files.createDirectories(pluginConfigFolder.toPath());
-
-            var filePath = pluginConfigFolder.toPath().resolve(fileName);
-
-            if (!Files.exists(filePath)) {
-                LOGGER.warning("Config list file not found, creating a new one with empty list: " + fileName);
-                List<T> defaultList = new ArrayList<>();
-                saveList(defaultList, fileName);
-                return defaultList;
-            }
-
-            String json = Files.readString(filePath);
-
-            // JSON文字列からリストを復元するためのTypeToken
-            Type listType = TypeToken.getParameterized(List.class, getBaseConfig()).getType();
-            List<T> configList = getGson().fromJson(json, listType);
+    /**
+     * ライトビハインドモードを有効にします
+     * <p>
+     * 有効にすると、{@link #save(String)}と{@link #saveConfig(String)}はすぐには書き込まず、
+     * 同じファイルへの保存要求が{@code window}の間途切れた時点で一度だけシリアライズと書き込みを行います。
+     * 要求が続く場合でも、最初の要求から{@code maxDelay}が経過すると書き込まれます。
+     * シリアライズはメインスレッドで、書き込みはI/Oスレッドで行われます。
+     * </p>
+     *
+     * <p>
+     * すでに有効な場合は、待機中の保存を書き込んでから新しい設定で有効にし直します。
+     * </p>
+     *
+     * @param window   保存要求をまとめる時間
+     * @param maxDelay 最初の保存要求から書き込みまでの最大の遅延
+     */
+    public void enableWriteBehind(Duration window, Duration maxDelay) {
+        WriteBehindQueue queue = new WriteBehindQueue(window, maxDelay, this::writeBehind, mainThreadExecutor);
+        disableWriteBehind();
+        writeBehindQueue = queue;
+    }
 
-            return configList != null ? configList : new ArrayList<>();
-        } catch (Exception e) {
-            LOGGER.severe("Failed to load config list: " + e.getMessage());
-            return new ArrayList<>();
+    /**
+     * ライトビハインドモードを無効にします。待機中の保存はすべて書き込まれます
+     * <p>
+     * 待機中の保存を書き込む前にモードを解除するため、その間の{@link #save(String)}はすぐに書き込まれます。
+     * プラグインの無効化時にも呼び出されます。
+     * </p>
+     */
+    public void disableWriteBehind() {
+        WriteBehindQueue queue = writeBehindQueue;
+        writeBehindQueue = null;
+        if (queue != null) {
+            queue.close();
         }
+        flush();
     }
 
-    public File getConfigFile(String fileName) {
-        // getPluginName()を反映した設定フォルダを使用
-        return getPluginConfigFolder(getBaseConfig()).toPath().resolve(fileName).toFile();
+    /**
+     * ライトビハインドモードで待機中の保存と、書き込み中の非同期保存がすべて終わるまで待ちます
+     * <p>
+     * 非同期保存のファイルへの書き込みだけを待つため、メインスレッドから呼び出すことができます。
+     * </p>
+     */
+    public void flush() {
+        WriteBehindQueue queue = writeBehindQueue;
+        if (queue != null) {
+            queue.flush();
+        }
+
+        while (!inFlightWrites.isEmpty()) {
+            for (CompletableFuture<?> write : List.copyOf(inFlightWrites)) {
+                write.exceptionally(e -> null).join();
+            }
+        }
     }
 
-    public GsonBuilder getConfigGsonBuilder() {
-        return BaseConfig.getGsonBuilder();
+    /**
+     * ファイルへの書き込みをI/Oスレッドで実行します
+     * <p>
+     * 同じファイルへの書き込みは、投入した順に前の書き込みが終わってから実行されます。
+     * 書き込みは{@link #flush()}で完了を待てるように記録されます。
+     * </p>
+     *
+     * @param files 書き込むファイルのパス
+     * @param write 書き込み処理
+     * @param <R>   書き込み処理の結果の型
+     * @return 書き込みが終わったときにI/Oスレッドで完了するFuture
+     */
+    private <R> CompletableFuture<R> submitWrite(Collection<Path> files, Supplier<R> write) {
+        List<Path> keys = files.stream().map(AbstractJavaPluginConfigable::pathKey).distinct().toList();
+        CompletableFuture<R> future;
+        synchronized (lastWrites) {
+            CompletableFuture<?>[] previous = keys.stream().map(lastWrites::get).filter(Objects::nonNull)
+                    .toArray(CompletableFuture[]::new);
+            if (previous.length == 0) {
+                future = CompletableFuture.supplyAsync(write, ConfigExecutors.io());
+            } else {
+                // 前の書き込みが失敗しても、この書き込みは行う
+                future = CompletableFuture.allOf(previous).handle((unused, error) -> null)
+                        .thenApplyAsync(unused -> write.get(), ConfigExecutors.io());
+            }
+            keys.forEach(key -> lastWrites.put(key, future));
+            inFlightWrites.add(future);
+        }
+        future.whenComplete((result, error) -> {
+            synchronized (lastWrites) {
+                keys.forEach(key -> lastWrites.remove(key, future));
+            }
+            inFlightWrites.remove(future);
+        });
+        return future;
     }
 
-    @Nullable
-    public T getDefaultConfig() {
-        try {
-            return getBaseConfig().getDeclaredConstructor().newInstance();
-        } catch (Exception e) {
-            LOGGER.severe("Failed to create default config: " + e.getMessage());
-            return null;
+    /**
+     * 指定したファイルへの非同期の書き込みがすべて終わるまで待ちます
+     * <p>
+     * 同期的な保存が、先に投入された古い内容の非同期保存に上書きされないようにするために使用します。
+     * </p>
+     *
+     * @param files ファイルのパス
+     */
+    private void awaitWrites(Collection<Path> files) {
+        if (inFlightWrites.isEmpty()) {
+            return;
+        }
+        List<CompletableFuture<?>> pending = new ArrayList<>();
+        synchronized (lastWrites) {
+            for (Path file : files) {
+                CompletableFuture<?> last = lastWrites.get(pathKey(file));
+                if (last != null) {
+                    pending.add(last);
+                }
+            }
         }
+        pending.forEach(write -> write.exceptionally(e -> null).join());
     }
 
     /**
-     * 指定したクラスのデフォルト設定インスタンスを取得します
-     * 
-     * @param configClass 設定クラス
-     * @param <C>         BaseConfigを継承したクラス
-     * @return デフォルト設定インスタンス、作成に失敗した場合はnull
+     * ライトビハインドモードでまとめられた保存を実行します
+     * <p>
+     * シリアライズは呼び出し元のスレッドで行い、書き込みはI/Oスレッドで行います。
+     * </p>
+     *
+     * @param fileName 保存する設定ファイル名
      */
-    @Nullable
-    public <C extends BaseConfig> C getDefaultConfig(Class<C> configClass) {
+    private void writeBehind(String fileName) {
+        PendingWrite write;
         try {
-            return configClass.getDeclaredConstructor().newInstance();
+            write = prepareWrite(fileName);
         } catch (Exception e) {
-            LOGGER.severe("Failed to create default config for " + configClass.getName() + ": " + e.getMessage());
-            return null;
+            LOGGER.severe("Failed to save config for file " + fileName + ": " + e.getMessage());
+            return;
+        }
+        if (write == null || write.config.isPersistedAs(write.fingerprint)) {
+            return;
         }
-    }
 
-    public Gson getGson() {
-        return BaseConfig.getGson();
+        submitWrite(List.of(write.file), () -> writeFile(write));
     }
 
     /**
-     * 指定した名前と設定クラスで設定を登録します
-     * 
-     * @param fileName    ファイル名
-     * @param configClass 設定クラス
-     * @param <C>         BaseConfigを継承したクラス
-     * @return 読み込まれた設定、ファイルが存在しない場合は新しいインスタンス
+     * 設定ファイルの変更の監視を有効にします
+     * <p>
+     * 有効にすると、登録されている設定ファイルが外部から編集されたときに、
+     * そのファイルだけを{@link #reloadConfigAsync(String, Class)}と同じ方法で再読み込みします。
+     * エディタの保存による連続した書き込みは{@code debounce}の間まとめられます。
+     * このプラグイン自身の保存による変更は、ファイルの内容が最後に保存した内容と一致するため再読み込みされません。
+     * </p>
+     *
+     * <p>
+     * すでに有効な場合は、新しい設定で有効にし直します。
+     * </p>
+     *
+     * @param debounce 変更をまとめる時間
      */
-    public <C extends T> C addConfig(String fileName, Class<C> configClass) {
+    public void enableFileWatcher(Duration debounce) {
+        disableFileWatcher();
         try {
-            // ファイルから設定を読み込むか、新しいインスタンスを作成
-            C config = loadConfigFromFile(fileName, configClass);
-
-            // マップに登録
-            configMap.put(fileName, config);
-
-            return config;
-        } catch (Exception e) {
-            LOGGER.severe("Failed to add config " + fileName + ": " + e.getMessage());
-            return null;
+            ConfigFileWatcher watcher = new ConfigFileWatcher(debounce, this::onConfigFileChanged);
+            fileWatcher = watcher;
+            configRegistry.forEach((fileName, config) -> watchConfigFile(fileName, config.getClass()));
+            LOGGER.info("Watching " + watcher.size() + " config files for changes");
+        } catch (IOException e) {
+            LOGGER.severe("Failed to start config file watcher: " + e.getMessage());
         }
     }
 
     /**
-     * 登録済みの設定を取得します
-     * 
-     * @param fileName    ファイル名
-     * @param configClass 設定クラス
-     * @param <C>         BaseConfigを継承したクラス
-     * @return 設定オブジェクト、存在しない場合はnull
+     * 設定ファイルの変更の監視を無効にします
      */
-    @SuppressWarnings("unchecked")
-    public <C extends T> C getConfig(String fileName, Class<C> configClass) {
-        BaseConfig config = configMap.get(fileName);
-        if (config == null) {
-            return addConfig(fileName, configClass);
+    public void disableFileWatcher() {
+        ConfigFileWatcher watcher = fileWatcher;
+        fileWatcher = null;
+        if (watcher != null) {
+            watcher.close();
         }
+    }
 
-        if (!configClass.isInstance(config)) {
-            LOGGER.warning("Config " + fileName + " is not an instance of " + configClass.getName());
+    /**
+     * 登録する設定の数や大きさに上限を設けます
+     * <p>
+     * {@link #addConfig(String, Class)}や{@link #getConfig(String, Class)}で登録した設定が上限を超えた場合や、
+     * {@code idleTimeout}の間取得されなかった場合に、最後に取得された時刻が古い設定から登録を解除します。
+     * 未保存の変更がある設定は、登録を解除する前にシリアライズされ、I/Oスレッドで書き込まれます。
+     * 解除された設定は、次に{@link #getConfig(String, Class)}で取得されたときにファイルから読み込み直されます。
+     * プレイヤーごとの設定のように、数が増え続ける設定のメモリ使用量を抑えるために使用します。
+     * </p>
+     *
+     * <p>
+     * 設定の大きさには最後に読み書きしたファイルの内容のバイト数を使用します。
+     * {@link #getDefaultConfigs()}の設定と、{@link #getConfigHandle(String, Class)}で取得したハンドルを
+     * 参照している間の設定は登録を解除されません。登録を解除した設定の監視、ファイルごとの集計、ジャーナルは
+     * 書き込みが終わった後に解放されます。登録を解除した設定オブジェクトへの変更は保存されないため、
+     * 取得した設定オブジェクトを長く保持しないでください。
+     * </p>
+     *
+     * <p>
+     * すでに有効な場合は、新しい上限で有効にし直します。
+     * </p>
+     *
+     * @param maxEntries       設定の数の上限、0の場合は制限しない
+     * @param maxRetainedBytes 設定の大きさの合計の上限（バイト）、0の場合は制限しない
+     * @param idleTimeout      取得されていない設定の登録を解除するまでの時間、nullの場合は解除しない
+     */
+    public void enableBoundedCache(int maxEntries, long maxRetainedBytes, @Nullable Duration idleTimeout) {
+        disableBoundedCache();
+        long idleNanos = idleTimeout == null ? 0 : idleTimeout.toNanos();
+        ScheduledFuture<?> sweep = null;
+        if (idleNanos > 0) {
+            // 取得されなくなった設定は登録数が増えなくても解除されるよう、定期的に整理する
+            long period = Math.clamp(idleTimeout.toMillis() / 2, 1_000L, 60_000L);
+            sweep = ConfigExecutors.scheduler().scheduleWithFixedDelay(this::requestEviction, period, period,
+                    TimeUnit.MILLISECONDS);
+        }
+        cacheLimits = new CacheLimits(maxEntries, maxRetainedBytes, idleNanos, sweep);
+        requestEviction();
+    }
+
+    /**
+     * 登録する設定の上限を解除します
+     */
+    public void disableBoundedCache() {
+        CacheLimits limits = cacheLimits;
+        cacheLimits = null;
+        if (limits != null && limits.sweep != null) {
+            limits.sweep.cancel(false);
+        }
+    }
+
+    /**
+     * キャッシュの上限が有効な場合に、メインスレッドでの整理を要求します
+     * <p>
+     * 要求は整理が実行されるまでまとめられます。
+     * </p>
+     */
+    private void requestEviction() {
+        if (cacheLimits != null && evictionRequested.compareAndSet(false, true)) {
+            mainThreadExecutor.execute(this::evictConfigs);
+        }
+    }
+
+    /**
+     * 上限を超えた設定と、長く取得されていない設定の登録を解除します
+     * <p>
+     * 未保存の変更がある設定はメインスレッドでシリアライズし、I/Oスレッドで書き込みます。
+     * 書き込みが終わるまでに取得された場合は、同じ設定オブジェクトを登録し直します。
+     * </p>
+     */
+    private void evictConfigs() {
+        evictionRequested.set(false);
+        CacheLimits limits = cacheLimits;
+        if (limits == null || !isEnabled()) {
+            return;
+        }
+
+        List<String> candidates = configRegistry.evictionCandidates(limits.maxEntries, limits.maxRetainedBytes,
+                limits.idleNanos, pinnedFileNames::contains);
+        boolean explicitDirtyTracking = isExplicitDirtyTracking();
+        int evicted = 0;
+        int written = 0;
+        for (String fileName : candidates) {
+            BaseConfig config = configRegistry.get(fileName);
+            if (config == null) {
+                continue;
+            }
+
+            PendingWrite write = null;
+            if (!explicitDirtyTracking || config.isDirty()) {
+                try {
+                    write = prepareWrite(fileName);
+                } catch (Exception e) {
+                    LOGGER.severe("Failed to save evicted config " + fileName + ": " + e.getMessage());
+                    continue;
+                }
+                if (write != null && config.isPersistedAs(write.fingerprint)) {
+                    write = null;
+                }
+            }
+            if (!configRegistry.remove(fileName, config)) {
+                continue;
+            }
+            evicted++;
+            unwatchConfigFile(fileName);
+            if (write != null) {
+                writeBackEvicted(fileName, write);
+                written++;
+            } else {
+                releaseEvicted(fileName, getPluginConfigFolder(config.getClass()).toPath().resolve(fileName));
+            }
+        }
+        if (evicted > 0) {
+            LOGGER.fine("Evicted " + evicted + " configs, writing back " + written + " modified configs");
+        }
+    }
+
+    /**
+     * 登録を解除した設定の変更をI/Oスレッドで書き込みます
+     * <p>
+     * 書き込みに失敗した場合は、変更を失わないように設定を登録し直します。
+     * 書き込みが終わった後も登録されていない場合は、ファイルごとの状態を解放します。
+     * </p>
+     *
+     * @param fileName 設定ファイル名
+     * @param write    書き込む内容
+     */
+    private void writeBackEvicted(String fileName, PendingWrite write) {
+        evictedWrites.put(fileName, write.config);
+        submitWrite(List.of(write.file), () -> writeFile(write)).whenComplete((saved, error) -> {
+            if (!Boolean.TRUE.equals(saved) && configRegistry.putIfAbsent(fileName, write.config) == null) {
+                watchConfigFile(fileName, write.config.getClass());
+            }
+            evictedWrites.remove(fileName, write.config);
+            if (!configRegistry.containsKey(fileName)) {
+                releaseEvicted(fileName, write.file);
+            }
+        });
+    }
+
+    /**
+     * 登録を解除した設定のファイルごとの集計とジャーナルを解放します
+     * <p>
+     * プレイヤーごとの設定のように数が増え続ける設定で、登録を解除した後も状態が残り続けないようにします。
+     * ジャーナルは次に読み込むか保存するときにファイルから開き直されます。
+     * </p>
+     *
+     * @param fileName 設定ファイル名
+     * @param file     設定ファイルのパス
+     */
+    private void releaseEvicted(String fileName, Path file) {
+        metrics.remove(fileName);
+        Path key = pathKey(file);
+        synchronized (lastWrites) {
+            // 後から投入された書き込みが同じジャーナルを使用できるよう、書き込み中は残す
+            CompletableFuture<?> last = lastWrites.get(key);
+            if (last == null || last.isDone()) {
+                journals.remove(key);
+            }
+        }
+    }
+
+    /**
+     * 監視が有効な場合に、設定ファイルを監視の対象に追加します
+     *
+     * @param fileName    設定ファイル名
+     * @param configClass 設定クラス
+     */
+    private void watchConfigFile(String fileName, Class<?> configClass) {
+        ConfigFileWatcher watcher = fileWatcher;
+        if (watcher == null) {
+            return;
+        }
+
+        Path file = getPluginConfigFolder(configClass).toPath().resolve(fileName);
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            watcher.watch(file, fileName);
+        } catch (IOException e) {
+            LOGGER.warning("Failed to watch config file " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * 監視が有効な場合に、設定ファイルを監視の対象から外します
+     *
+     * @param fileName 設定ファイル名
+     */
+    private void unwatchConfigFile(String fileName) {
+        ConfigFileWatcher watcher = fileWatcher;
+        if (watcher != null) {
+            watcher.unwatch(fileName);
+        }
+    }
+
+    /**
+     * 監視している設定ファイルの変更を処理します
+     * <p>
+     * スケジューラーのスレッドから呼び出されます。ファイルの内容が最後に読み込んだ、または保存した内容と
+     * 異なる場合にのみ再読み込みを行います。
+     * </p>
+     *
+     * @param fileName 変更された設定ファイル名
+     */
+    private void onConfigFileChanged(String fileName) {
+        BaseConfig config = configRegistry.get(fileName);
+        if (config == null || !isEnabled()) {
+            return;
+        }
+
+        Class<? extends BaseConfig> configClass = config.getClass();
+        Path file = getPluginConfigFolder(configClass).toPath().resolve(fileName);
+        CompletableFuture.supplyAsync(() -> isModifiedOnDisk(file, config), ConfigExecutors.io())
+                .thenCompose(modified -> {
+                    if (!modified) {
+                        return CompletableFuture.completedFuture(false);
+                    }
+                    LOGGER.info("Detected change in config file " + fileName + ", reloading");
+                    return reloadConfigAsync(fileName, configClass, config);
+                })
+                .exceptionally(e -> {
+                    LOGGER.severe("Failed to reload changed config " + fileName + ": " + e.getMessage());
+                    return false;
+                });
+    }
+
+    /**
+     * ファイルの内容が設定の最後に同期した内容から変更されているかどうかを返します
+     *
+     * @param file   設定ファイルのパス
+     * @param config 登録されている設定
+     * @return ファイルが存在し、内容が異なる場合はtrue
+     */
+    private boolean isModifiedOnDisk(Path file, BaseConfig config) {
+        try {
+            return Files.exists(file) && !config.isSyncedWith(ConfigUtils.fingerprint(Files.readAllBytes(file)));
+        } catch (IOException e) {
+            LOGGER.warning("Failed to read changed config file " + file + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * {@link #save()}で変更を明示的に通知された設定だけを保存するかどうかを返します
+     * <p>
+     * trueを返す場合、{@link BaseConfig#markDirty()}が呼び出されていない設定は
+     * シリアライズせずにスキップされるため、保存にかかる時間を大きく減らせます。
+     * falseの場合は、シリアライズした内容を最後に保存した内容と比較して変更の有無を判定します。
+     * </p>
+     *
+     * @return 明示的な変更追跡を使用する場合はtrue
+     */
+    protected boolean isExplicitDirtyTracking() {
+        return false;
+    }
+
+    /**
+     * 設定ファイルの読み書きにかかった時間とバイト数の集計を取得します
+     * <p>
+     * 読み込み、解析、シリアライズ、書き込みのそれぞれについて、ファイルごととプラグイン全体の
+     * 回数、処理時間のヒストグラム、バイト数が記録されます。
+     * </p>
+     *
+     * @return 集計
+     */
+    public ConfigMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * 保存対象のすべての設定をシリアライズします
+     *
+     * @return 書き込みが必要な設定とスキップした設定の数
+     */
+    private SaveBatch prepareSaveAll() {
+        SaveBatch batch = new SaveBatch();
+        boolean explicitDirtyTracking = isExplicitDirtyTracking();
+        configRegistry.forEach((fileName, config) -> {
+            if (explicitDirtyTracking && !config.isDirty()) {
+                batch.skipped++;
+                return;
+            }
+
+            try {
+                PendingWrite write = prepareWrite(fileName);
+                if (write == null) {
+                    batch.failed++;
+                } else if (config.isPersistedAs(write.fingerprint)) {
+                    batch.skipped++;
+                } else {
+                    batch.writes.add(write);
+                }
+            } catch (Exception e) {
+                batch.failed++;
+                LOGGER.severe("Failed to save config: " + e.getMessage());
+            }
+        });
+        return batch;
+    }
+
+    /**
+     * 指定したファイル名の設定をシリアライズし、保存先を準備します
+     *
+     * @param fileName 設定ファイル名
+     * @return 書き込む内容、設定が登録されていない場合はnull
+     * @throws IOException 設定のエンコードに失敗した場合
+     */
+    @Nullable
+    private PendingWrite prepareWrite(String fileName) throws IOException {
+        BaseConfig config = configRegistry.get(fileName);
+        if (config == null) {
+            LOGGER.warning("Config for file " + fileName + " not found in registry, cannot save.");
+            return null;
+        }
+
+        File configFolder = getPluginConfigFolder(config.getClass());
+        ensureDirectoryExists(configFolder);
+        int modificationCount = config.getModificationCount();
+        Path file = configFolder.toPath().resolve(fileName);
+        ConfigMetadata metadata = ConfigMetadata.of(config.getClass());
+        ConfigCodec codec = metadata.getCodec();
+        boolean journaled = metadata.isJournaled();
+        long start = System.nanoTime();
+        if (journaled) {
+            // ジャーナルとの差分を求めるため、JSONツリーとして保持する
+            JsonObject tree = getGson().toJsonTree(config).getAsJsonObject();
+            byte[] content = codec.encode(tree, getGson());
+            metrics.record(fileName, ConfigMetrics.Operation.SERIALIZE, start, content.length);
+            return new PendingWrite(config, fileName, file, content, tree, journaled, modificationCount);
+        }
+        byte[] content = codec.encode(config, getGson());
+        metrics.record(fileName, ConfigMetrics.Operation.SERIALIZE, start, content.length);
+        return new PendingWrite(config, fileName, file, content, null, false, modificationCount);
+    }
+
+    /**
+     * シリアライズ済みの設定をすべてファイルに書き込みます
+     * @param batch 書き込む内容
+     * @return 保存結果
+     */
+    private SaveResult writeAll(SaveBatch batch) {
+        AtomicFileWriter.Batch files = AtomicFileWriter.batch();
+        Map<Path, IOException> failures = new HashMap<>();
+        int batched = 0;
+        for (PendingWrite write : batch.writes) {
+            if (!write.journaled) {
+                files.add(write.file, write.content);
+                batched++;
+                continue;
+            }
+            long start = System.nanoTime();
+            try {
+                journalFor(write.file).write(write.tree, write.content);
+                metrics.record(write.fileName, ConfigMetrics.Operation.WRITE, start, write.content.length);
+            } catch (IOException e) {
+                failures.put(write.file, e);
+            }
+        }
+        long start = System.nanoTime();
+        failures.putAll(files.commit());
+        // まとめて書き込んだファイルには、書き込み全体にかかった時間を均等に割り当てる
+        long batchShare = batched == 0 ? 0 : (System.nanoTime() - start) / batched;
+
+        int written = 0;
+        int failed = batch.failed;
+        for (PendingWrite write : batch.writes) {
+            IOException failure = failures.get(write.file);
+            if (failure == null) {
+                if (!write.journaled) {
+                    metrics.recordNanos(write.fileName, ConfigMetrics.Operation.WRITE, batchShare,
+                            write.content.length);
+                }
+                write.config.markPersisted(write.fingerprint, write.modificationCount, write.content.length);
+                LOGGER.info("Config saved to " + write.file);
+                written++;
+            } else {
+                LOGGER.severe("Failed to save config to " + write.file + ": " + failure.getMessage());
+                failed++;
+            }
+        }
+
+        LOGGER.info("Saved " + written + " configs, skipped " + batch.skipped + " unchanged configs");
+        return new SaveResult(written, batch.skipped, failed);
+    }
+
+    /**
+     * シリアライズ済みの設定をファイルに書き込みます
+     * @param write 書き込む内容
+     * @return 書き込みに成功した場合はtrue
+     */
+    private boolean writeFile(PendingWrite write) {
+        try {
+            long start = System.nanoTime();
+            if (write.journaled) {
+                journalFor(write.file).write(write.tree, write.content);
+            } else {
+                AtomicFileWriter.write(write.file, write.content);
+            }
+            metrics.record(write.fileName, ConfigMetrics.Operation.WRITE, start, write.content.length);
+            write.config.markPersisted(write.fingerprint, write.modificationCount, write.content.length);
+            LOGGER.info("Config saved to " + write.file);
+            return true;
+        } catch (Exception e) {
+            LOGGER.severe("Failed to save config to " + write.file + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 設定を読み込みます
+     */
+    public void load() {
+        configRegistry.putAll(readEntries(configRegistry.snapshot()));
+    }
+
+    /**
+     * 設定を非同期で読み込みます
+     * <p>
+     * ファイルの読み込みと解析はI/Oスレッドで行い、読み込んだ設定の登録はメインスレッドで行います。
+     * </p>
+     *
+     * @return 読み込んだ設定の登録が終わったときに完了するFuture
+     */
+    public CompletableFuture<Void> loadAsync() {
+        Map<String, BaseConfig> entries = configRegistry.snapshot();
+        return CompletableFuture.supplyAsync(() -> readEntries(entries), ConfigExecutors.io())
+                .thenAcceptAsync(configRegistry::putAll, mainThreadExecutor);
+    }
+
+    /**
+     * 指定した設定をすべてファイルから読み込みます。ファイルが存在しない場合はデフォルト設定で作成します
+     * <p>
+     * ファイルの読み込みと解析は設定ごとにI/Oスレッドで並行して行われます。
+     * </p>
+     *
+     * @param entries 設定ファイル名と現在の設定オブジェクトのマッピング
+     * @return 読み込みに成功した設定のマッピング
+     */
+    private Map<String, BaseConfig> readEntries(Map<String, BaseConfig> entries) {
+        long start = System.nanoTime();
+        Map<String, BaseConfig> loaded = new ConcurrentHashMap<>();
+        forEachInParallel(entries, (fileName, baseConfig) -> {
+            try {
+                var confClass = baseConfig.getClass();
+                // 保存と同じく、設定クラスの@Configのプラグイン名を反映したフォルダを使用する
+                var pluginConfigFolder = getPluginConfigFolder(confClass);
+                var filePath = pluginConfigFolder.toPath().resolve(fileName);
+                ensureDirectoryExists(pluginConfigFolder);
+
+                if (!Files.exists(filePath)) {
+                    LOGGER.warning("Config file not found, creating a new one.");
+                    var defaultConfig = getDefaultConfig(confClass);
+
+                    if (defaultConfig == null) {
+                        LOGGER.severe("Default config is null, cannot create a new config file.");
+                        return;
+                    }
+
+                    // 書き込んだ内容を読み直さずにそのまま使用する
+                    byte[] content = encode(fileName, defaultConfig);
+                    writeConfigFile(fileName, filePath, content);
+                    defaultConfig.markPersisted(ConfigUtils.fingerprint(content),
+                            defaultConfig.getModificationCount(), content.length);
+                    loaded.put(fileName, defaultConfig);
+                    return;
+                }
+                BaseConfig config = readConfig(fileName, filePath, confClass);
+                if (config == null) {
+                    LOGGER.warning("Config file is empty: " + fileName);
+                    return;
+                }
+                loaded.put(fileName, config);
+                LOGGER.info("Config class loaded successfully");
+            } catch (Exception e) {
+                LOGGER.severe("Failed to load config: " + e.getMessage());
+            }
+        });
+        logLoadTime("Loaded " + loaded.size() + " configs", start);
+        return loaded;
+    }
+
+    /**
+     * 設定ごとの処理をI/Oスレッドで並行して実行し、すべての処理が終わるまで待ちます
+     * <p>
+     * 同時に実行される処理の数は{@link #MAX_PARALLEL_READS}までに制限されます。
+     * 処理の中で発生した例外は処理の側で扱ってください。
+     * </p>
+     *
+     * @param entries 設定ファイル名と設定オブジェクト（または設定クラス）のマッピング
+     * @param action  設定ごとに実行する処理
+     * @param <V>     マッピングの値の型
+     */
+    private <V> void forEachInParallel(Map<String, V> entries, BiConsumer<String, ? super V> action) {
+        if (entries.size() <= 1) {
+            entries.forEach(action);
+            return;
+        }
+
+        Semaphore permits = new Semaphore(MAX_PARALLEL_READS);
+        List<CompletableFuture<Void>> tasks = new ArrayList<>(entries.size());
+        entries.forEach((fileName, config) -> tasks.add(CompletableFuture.runAsync(() -> {
+            permits.acquireUninterruptibly();
+            try {
+                action.accept(fileName, config);
+            } finally {
+                permits.release();
+            }
+        }, ConfigExecutors.io())));
+
+        for (CompletableFuture<Void> task : tasks) {
+            try {
+                task.join();
+            } catch (CompletionException e) {
+                LOGGER.severe("Failed to load config: " + e.getCause());
+            }
+        }
+    }
+
+    /**
+     * ファイルから設定を読み込んで解析します
+     *
+     * @param fileName    設定ファイル名
+     * @param filePath    設定ファイルのパス
+     * @param configClass 設定クラス
+     * @param <C>         BaseConfigを継承したクラス
+     * @return 設定オブジェクト、ファイルの内容が空の場合はnull
+     * @throws IOException ファイルの読み込みに失敗した場合
+     */
+    @Nullable
+    private <C extends BaseConfig> C readConfig(String fileName, Path filePath, Class<C> configClass)
+            throws IOException {
+        if (ConfigMetadata.of(configClass).isJournaled()) {
+            return retainTree(readJournaled(fileName, filePath, configClass));
+        }
+
+        long start = System.nanoTime();
+        byte[] content = Files.readAllBytes(filePath);
+        metrics.record(fileName, ConfigMetrics.Operation.READ, start, content.length);
+        long fingerprint = ConfigUtils.fingerprint(content);
+        ConfigCodec codec = ConfigMetadata.of(configClass).getCodec();
+        start = System.nanoTime();
+        C config;
+        try {
+            config = codec.decode(content, configClass, getGson());
+        } catch (IOException | JsonParseException e) {
+            return retainTree(migrateCodec(fileName, filePath, content, configClass, e));
+        }
+        metrics.record(fileName, ConfigMetrics.Operation.PARSE, start, 0);
+        if (config != null) {
+            config.markPersisted(fingerprint, config.getModificationCount(), content.length);
+        }
+        return retainTree(config);
+    }
+
+    /**
+     * 変更リスナーが登録された設定クラスの場合、読み込んだ設定のJSONツリーを設定に記録します
+     * <p>
+     * 読み込みを行ったスレッドでツリーを作成し、再読み込みの反映時にメインスレッドで
+     * 新旧の設定をシリアライズし直さずに差分を計算できるようにします。
+     * </p>
+     *
+     * @param config 読み込んだ設定、存在しない場合はnull
+     * @param <C>    BaseConfigを継承したクラス
+     * @return 引数の設定
+     * @see #dispatchChanges(String, BaseConfig, BaseConfig)
+     */
+    @Nullable
+    private <C extends BaseConfig> C retainTree(@Nullable C config) {
+        if (config != null && hasChangeListeners(config.getClass())) {
+            config.markLoaded(getGson().toJsonTree(config));
+        }
+        return config;
+    }
+
+    /**
+     * 設定クラスのコーデックで解析できなかった設定ファイルを、保存したときのコーデックで読み込みます
+     * <p>
+     * 設定クラスのコーデックを変更すると、以前のコーデックで保存されたファイルが残ります。
+     * ファイルの先頭から以前のコーデックを判定できた場合は、そのコーデックで読み込み、
+     * 現在のコーデックで書き直します。判定できない場合は、期待したコーデックを示す例外を投げます。
+     * </p>
+     *
+     * @param fileName    設定ファイル名
+     * @param filePath    設定ファイルのパス
+     * @param content     設定ファイルの内容
+     * @param configClass 設定クラス
+     * @param failure     現在のコーデックで解析したときの例外
+     * @param <C>         BaseConfigを継承したクラス
+     * @return 設定オブジェクト、ファイルの内容が空の場合はnull
+     * @throws IOException ファイルを解析できない場合、または書き直しに失敗した場合
+     */
+    @Nullable
+    private <C extends BaseConfig> C migrateCodec(String fileName, Path filePath, byte[] content,
+            Class<C> configClass, Exception failure) throws IOException {
+        ConfigCodec codec = ConfigMetadata.of(configClass).getCodec();
+        ConfigCodec stored = ConfigCodecs.detect(content);
+        if (stored == null || stored.getName().equals(codec.getName())
+                || (stored.isJsonText() && codec.isJsonText())) {
+            throw new IOException("Config file " + filePath + " cannot be read with codec '" + codec.getName()
+                    + "' of " + configClass.getSimpleName() + ": " + failure.getMessage(), failure);
+        }
+
+        C config = stored.decode(content, configClass, getGson());
+        if (config == null) {
+            return null;
+        }
+        byte[] migrated = encode(fileName, config);
+        writeConfigFile(fileName, filePath, migrated);
+        LOGGER.warning("Config file " + filePath + " was saved with codec '" + stored.getName() + "', migrated it to '"
+                + codec.getName() + "' of " + configClass.getSimpleName());
+        config.markPersisted(ConfigUtils.fingerprint(migrated), config.getModificationCount(), migrated.length);
+        return config;
+    }
+
+    /**
+     * ジャーナル方式の設定ファイルがJSONテキスト以外のコーデックで保存されている場合、JSONテキストに書き直します
+     *
+     * @param fileName    設定ファイル名
+     * @param filePath    設定ファイルのパス
+     * @param configClass 設定クラス
+     * @throws IOException ファイルの読み込みまたは書き直しに失敗した場合
+     */
+    private void migrateToJsonText(String fileName, Path filePath, Class<? extends BaseConfig> configClass)
+            throws IOException {
+        if (!Files.exists(filePath)) {
+            return;
+        }
+        byte[] head;
+        try (InputStream in = Files.newInputStream(filePath)) {
+            head = in.readNBytes(ConfigCodecs.HEAD_BYTES);
+        }
+        ConfigCodec stored = ConfigCodecs.detect(head);
+        if (stored == null || stored.isJsonText()) {
+            return;
+        }
+        migrateCodec(fileName, filePath, Files.readAllBytes(filePath), configClass,
+                new IOException("Not a JSON text file"));
+    }
+
+    /**
+     * ジャーナル方式の設定を、スナップショットにジャーナルを適用して読み込みます
+     * <p>
+     * 適用していないパッチがある場合は、読み込んだ内容でスナップショットを書き直してジャーナルを空にします。
+     * そのため、起動後の設定ファイルは常にすべての変更を反映した状態になります。
+     * </p>
+     *
+     * @param fileName    設定ファイル名
+     * @param filePath    設定ファイルのパス
+     * @param configClass 設定クラス
+     * @param <C>         BaseConfigを継承したクラス
+     * @return 設定オブジェクト
+     * @throws IOException ファイルの読み込みに失敗した場合
+     */
+    private <C extends BaseConfig> C readJournaled(String fileName, Path filePath, Class<C> configClass)
+            throws IOException {
+        long start = System.nanoTime();
+        // 同じファイルへの保存と同じインスタンスを使用し、読み込みと書き直しの間に保存が割り込まないようにする
+        ConfigJournal existing = journals.get(pathKey(filePath));
+        if (existing == null) {
+            migrateToJsonText(fileName, filePath, configClass);
+        }
+        ConfigJournal journal = existing != null ? existing : journalFor(filePath);
+        synchronized (journal) {
+            if (journal == existing) {
+                journal.reload();
+            }
+            // スナップショットとジャーナルの解析を含む
+            metrics.record(fileName, ConfigMetrics.Operation.READ, start, 0);
+
+            start = System.nanoTime();
+            C config = getGson().fromJson(journal.current(), configClass);
+            metrics.record(fileName, ConfigMetrics.Operation.PARSE, start, 0);
+            if (config == null) {
+                return null;
+            }
+            JsonObject tree = getGson().toJsonTree(config).getAsJsonObject();
+            byte[] content = ConfigMetadata.of(configClass).getCodec().encode(tree, getGson());
+            if (journal.hasPatches()) {
+                journal.compact(tree, content);
+            }
+            config.markPersisted(ConfigUtils.fingerprint(content), config.getModificationCount(), content.length);
+            return config;
+        }
+    }
+
+    /**
+     * 設定ファイルのジャーナルを取得します。まだ開いていない場合はファイルから読み込みます
+     *
+     * @param filePath 設定ファイルのパス
+     * @return ジャーナル
+     * @throws IOException ジャーナルの読み込みに失敗した場合
+     */
+    private ConfigJournal journalFor(Path filePath) throws IOException {
+        Path key = pathKey(filePath);
+        ConfigJournal journal = journals.get(key);
+        if (journal == null) {
+            ConfigJournal opened = ConfigJournal.open(filePath, getGson());
+            journal = journals.putIfAbsent(key, opened);
+            if (journal == null) {
+                journal = opened;
+            }
+        }
+        return journal;
+    }
+
+    /**
+     * ジャーナルや書き込みの順序をファイルごとに管理するためのキーを取得します
+     *
+     * @param filePath 設定ファイルのパス
+     * @return 正規化した絶対パス
+     */
+    private static Path pathKey(Path filePath) {
+        return filePath.toAbsolutePath().normalize();
+    }
+
+    /**
+     * 設定クラスのコーデックで設定をエンコードします
+     *
+     * @param fileName 設定ファイル名
+     * @param config   設定オブジェクト
+     * @return 設定ファイルの内容
+     * @throws IOException エンコードに失敗した場合
+     */
+    private byte[] encode(String fileName, BaseConfig config) throws IOException {
+        long start = System.nanoTime();
+        byte[] content = ConfigMetadata.of(config.getClass()).getCodec().encode(config, getGson());
+        metrics.record(fileName, ConfigMetrics.Operation.SERIALIZE, start, content.length);
+        return content;
+    }
+
+    /**
+     * エンコード済みの設定ファイルの内容を書き込みます
+     *
+     * @param fileName 設定ファイル名
+     * @param filePath 設定ファイルのパス
+     * @param content  設定ファイルの内容
+     * @throws IOException 書き込みに失敗した場合
+     */
+    private void writeConfigFile(String fileName, Path filePath, byte[] content) throws IOException {
+        long start = System.nanoTime();
+        AtomicFileWriter.write(filePath, content);
+        metrics.record(fileName, ConfigMetrics.Operation.WRITE, start, content.length);
+    }
+
+    public void saveList(List<T> configList, String fileName) {
+        if (configList == null) {
+            LOGGER.warning("Config list is null, cannot save.");
+            return;
+        }
+
+        ConfigOperationEvent event = ConfigOperationEvent.start("saveList", fileName, getBaseConfig());
+        boolean saved = false;
+        try {
+            Path file = getConfigListFile(fileName);
+            awaitWrites(List.of(file));
+            writeList(fileName, file, configList);
+            saved = true;
+        } catch (Exception e) {
+            LOGGER.severe("Failed to save config list: " + e.getMessage());
+        } finally {
+            ConfigOperationEvent.finish(event, saved);
+        }
+    }
+
+    /**
+     * 設定リストをJSON Lines形式（1行に1件）で保存します
+     * <p>
+     * {@link #saveList(List, String)}と異なり、要素を1件ずつファイルに書き込むため、
+     * リスト全体のJSON文字列をメモリ上に構築しません。{@link java.util.stream.Stream}から保存する場合は
+     * {@code saveListLines(stream::iterator, fileName)}のように渡すことができます。
+     * 保存したファイルは{@link #streamList(String)}と{@link #loadList(String)}で読み込めます。
+     * </p>
+     *
+     * @param configs  保存する要素
+     * @param fileName ファイル名
+     * @return 書き込んだ要素の数、保存に失敗した場合は-1
+     */
+    public int saveListLines(Iterable<? extends T> configs, String fileName) {
+        if (configs == null) {
+            LOGGER.warning("Config list is null, cannot save.");
+            return -1;
+        }
+
+        try {
+            Path file = getConfigListFile(fileName);
+            awaitWrites(List.of(file));
+            long start = System.nanoTime();
+            int count = JsonLines.write(file, configs.iterator(), getGson());
+            metrics.record(fileName, ConfigMetrics.Operation.WRITE, start, Files.size(file));
+            LOGGER.info("Saved " + count + " config list entries to " + file);
+            return count;
+        } catch (Exception e) {
+            LOGGER.severe("Failed to save config list: " + e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * 設定リストの要素を1件ずつ読み込むStreamを取得します
+     * <p>
+     * JSON Lines形式と、{@link #saveList(List, String)}で保存したJSON配列形式のどちらのファイルにも対応しています。
+     * 要素は必要になった時点でファイルから読み込まれるため、リスト全体をメモリに載せずに処理できます。
+     * 返されたStreamはファイルを開いたままにするため、try-with-resources文などで必ず閉じてください。
+     * </p>
+     *
+     * <p>
+     * 例:
+     * </p>
+     *
+     * <pre>
+     * try (Stream&lt;UserConfig&gt; users = streamList("users.jsonl")) {
+     *     users.filter(UserConfig::isBanned).forEach(this::applyBan);
+     * }
+     * </pre>
+     *
+     * @param fileName ファイル名
+     * @return 要素のStream、ファイルが存在しないか開けない場合は空のStream
+     */
+    public Stream<T> streamList(String fileName) {
+        try {
+            Path filePath = getConfigListFile(fileName);
+            if (!Files.exists(filePath)) {
+                LOGGER.warning("Config list file not found: " + fileName);
+                return Stream.empty();
+            }
+            requireListFile(filePath, fileName);
+            return JsonLines.stream(filePath, getGson().getAdapter(getBaseConfig()), getGson());
+        } catch (Exception e) {
+            LOGGER.severe("Failed to load config list: " + e.getMessage());
+            return Stream.empty();
+        }
+    }
+
+    /**
+     * 設定リストを非同期で保存します
+     * <p>
+     * {@link #saveList(List, String)}と同じく、リスト全体を文字列にせずにシリアライズしながらファイルへ書き込みます。
+     * シリアライズと書き込みはI/Oスレッドで行われます。リストは呼び出した時点の要素で保存されますが、
+     * 要素の設定オブジェクトはI/Oスレッドから読み取られるため、Futureが完了するまで変更しないでください。
+     * </p>
+     *
+     * @param configList 保存する設定リスト
+     * @param fileName   ファイル名
+     * @return 書き込みが終わったときに完了するFuture
+     */
+    public CompletableFuture<Void> saveListAsync(List<T> configList, String fileName) {
+        if (configList == null) {
+            LOGGER.warning("Config list is null, cannot save.");
+            return CompletableFuture.completedFuture(null);
+        }
+
+        Path file;
+        try {
+            file = getConfigListFile(fileName);
+        } catch (Exception e) {
+            LOGGER.severe("Failed to save config list: " + e.getMessage());
+            return CompletableFuture.completedFuture(null);
+        }
+        // 呼び出した後の要素の追加や削除が保存される内容に混ざらないよう、要素の参照だけを複製する
+        List<T> elements = new ArrayList<>(configList);
+        return submitWrite(List.of(file), () -> {
+            try {
+                writeList(fileName, file, elements);
+            } catch (Exception e) {
+                LOGGER.severe("Failed to save config list: " + e.getMessage());
+            }
+            return null;
+        }).thenApplyAsync(unused -> null, mainThreadExecutor);
+    }
+
+    public List<T> loadList(String fileName) {
+        try {
+            return readList(getConfigListFile(fileName), fileName, getBaseConfig());
+        } catch (Exception e) {
+            LOGGER.severe("Failed to load config list: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * 設定リストを非同期で読み込みます
+     * <p>
+     * ファイルの読み込みと解析はI/Oスレッドで行い、Futureはメインスレッドで完了します。
+     * </p>
+     *
+     * @param fileName ファイル名
+     * @return 読み込んだ設定リストで完了するFuture
+     */
+    public CompletableFuture<List<T>> loadListAsync(String fileName) {
+        Path filePath;
+        Class<T> baseConfig;
+        try {
+            filePath = getConfigListFile(fileName);
+            baseConfig = getBaseConfig();
+        } catch (Exception e) {
+            LOGGER.severe("Failed to load config list: " + e.getMessage());
+            return CompletableFuture.completedFuture(new ArrayList<>());
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return readList(filePath, fileName, baseConfig);
+            } catch (Exception e) {
+                LOGGER.severe("Failed to load config list: " + e.getMessage());
+                return new ArrayList<T>();
+            }
+        }, ConfigExecutors.io()).thenApplyAsync(list -> list, mainThreadExecutor);
+    }
+
+    /**
+     * キーで要素を直接読み書きできる設定リストのストアを開きます
+     * <p>
+     * {@link #loadList(String)}と{@link #saveList(List, String)}ではリスト全体を読み書きする必要がありますが、
+     * このストアでは{@link IndexedListStore#get(String)}で1件だけを読み込み、{@link IndexedListStore#put(Object)}で
+     * 1件だけを追記できます。{@link #saveList(List, String)}で保存したファイルを開いた場合は、
+     * JSON Lines形式に変換されます。開いたストアはプラグインの無効化時に自動的に閉じられます。
+     * </p>
+     *
+     * <p>
+     * 同じファイルのストアがすでに開いている場合は、そのストアを返します。このとき{@code keyFunction}は
+     * 使用されず、最初に開いたときの関数が使われます。開いたファイルは{@link #loadList(String)}や
+     * {@link #streamList(String)}では読み込めなくなります。
+     * </p>
+     *
+     * <p>
+     * 例:
+     * </p>
+     *
+     * <pre>
+     * IndexedListStore&lt;UserConfig&gt; users = openIndexedList("users.jsonl", UserConfig::getUuid);
+     * UserConfig user = users.get(uuid.toString());
+     * users.put(updatedUser);
+     * </pre>
+     *
+     * @param fileName    ファイル名
+     * @param keyFunction 要素からキーを取得する関数
+     * @return 開いたストア、開けなかった場合はnull
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public IndexedListStore<T> openIndexedList(String fileName, Function<? super T, String> keyFunction) {
+        try {
+            Path file = getConfigListFile(fileName).toAbsolutePath().normalize();
+            return (IndexedListStore<T>) indexedListStores.compute(file, (path, existing) -> {
+                if (existing != null && !existing.isClosed()) {
+                    return existing;
+                }
+                try {
+                    IndexedListStore<T> store = IndexedListStore.open(path, getBaseConfig(), keyFunction, getGson());
+                    store.addCloseListener(() -> indexedListStores.remove(path, store));
+                    return store;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            LOGGER.severe("Failed to open indexed config list " + fileName + ": " + e.getCause().getMessage());
+            return null;
+        } catch (Exception e) {
+            LOGGER.severe("Failed to open indexed config list " + fileName + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 開いているすべてのインデックス付きリストストアを閉じます
+     */
+    private void closeIndexedLists() {
+        for (IndexedListStore<?> store : List.copyOf(indexedListStores.values())) {
+            try {
+                store.close();
+            } catch (IOException e) {
+                LOGGER.severe("Failed to close indexed config list: " + e.getMessage());
+            }
+        }
+        indexedListStores.clear();
+    }
+
+    /**
+     * 設定リストの保存先を取得し、親ディレクトリが存在しない場合は作成します
+     *
+     * @param fileName ファイル名
+     * @return 設定リストファイルのパス
+     * @throws IOException ディレクトリの作成に失敗した場合
+     */
+    private Path getConfigListFile(String fileName) throws IOException {
+        // getPluginName()を反映した一貫したパスを取得
+        File pluginConfigFolder = getPluginConfigFolder(getBaseConfig());
+        Files.createDirectories(pluginConfigFolder.toPath());
+        return pluginConfigFolder.toPath().resolve(fileName);
+    }
+
+    /**
+     * 設定リストをJSON配列としてファイルに書き込みます
+     * <p>
+     * リスト全体を文字列にせず、シリアライズしながら一時ファイルへ直接書き出します。
+     * </p>
+     *
+     * @param fileName   ファイル名
+     * @param file       書き込み先のパス
+     * @param configList 書き込む設定リスト
+     * @throws IOException 書き込みに失敗した場合
+     */
+    private void writeList(String fileName, Path file, List<?> configList) throws IOException {
+        long start = System.nanoTime();
+        AtomicFileWriter.write(file, out -> getGson().toJson(configList, out));
+        // シリアライズしながら書き込むため、合わせて書き込みとして記録する
+        metrics.record(fileName, ConfigMetrics.Operation.WRITE, start, Files.size(file));
+        LOGGER.info("Config list saved to " + file);
+    }
+
+    /**
+     * 設定リストをファイルから読み込みます。ファイルが存在しない場合は空のリストで作成します
+     * <p>
+     * JSON配列形式と、{@link #saveListLines(Iterable, String)}で保存したJSON Lines形式のどちらにも対応しています。
+     * </p>
+     *
+     * @param filePath   設定リストファイルのパス
+     * @param fileName   ファイル名
+     * @param baseConfig リストの要素の設定クラス
+     * @return 読み込んだ設定リスト
+     * @throws IOException 読み込みに失敗した場合
+     */
+    private List<T> readList(Path filePath, String fileName, Class<T> baseConfig) throws IOException {
+        ConfigOperationEvent event = ConfigOperationEvent.start("loadList", fileName, baseConfig);
+        boolean loaded = false;
+        try {
+            if (!Files.exists(filePath)) {
+                LOGGER.warning("Config list file not found, creating a new one with empty list: " + fileName);
+                List<T> defaultList = new ArrayList<>();
+                writeList(fileName, filePath, defaultList);
+                loaded = true;
+                return defaultList;
+            }
+
+            requireListFile(filePath, fileName);
+
+            // JSON配列形式とJSON Lines形式のどちらも、文字列全体を読み込まずに1件ずつ解析する
+            // 読み込みながら解析するため、合わせて読み込みとして記録する
+            long start = System.nanoTime();
+            try (Stream<T> records = JsonLines.stream(filePath, getGson().getAdapter(baseConfig), getGson())) {
+                List<T> list = records.collect(Collectors.toCollection(ArrayList::new));
+                metrics.record(fileName, ConfigMetrics.Operation.READ, start, Files.size(filePath));
+                loaded = true;
+                return list;
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        } finally {
+            ConfigOperationEvent.finish(event, loaded);
+        }
+    }
+
+    /**
+     * ファイルがインデックス付きリストストアのデータファイルでないことを確認します
+     * <p>
+     * ストアのデータファイルには同じキーの古い行や削除を表す行が含まれるため、リストとして読み込むと
+     * 削除した要素や古い内容が返されます。
+     * </p>
+     *
+     * @param filePath 設定リストファイルのパス
+     * @param fileName ファイル名
+     * @throws IOException ストアのデータファイルの場合
+     * @see #openIndexedList(String, Function)
+     */
+    private static void requireListFile(Path filePath, String fileName) throws IOException {
+        if (IndexedListStore.isStoreFile(filePath)) {
+            throw new IOException(fileName + " is an indexed list store, read it with openIndexedList");
+        }
+    }
+
+    public File getConfigFile(String fileName) {
+        // getPluginName()を反映した設定フォルダを使用
+        return getPluginConfigFolder(getBaseConfig()).toPath().resolve(fileName).toFile();
+    }
+
+    public GsonBuilder getConfigGsonBuilder() {
+        return BaseConfig.getGsonBuilder();
+    }
+
+    @Nullable
+    public T getDefaultConfig() {
+        try {
+            Class<T> baseConfig = getBaseConfig();
+            return ConfigMetadata.of(baseConfig).newInstance(baseConfig);
+        } catch (Exception e) {
+            LOGGER.severe("Failed to create default config: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 指定したクラスのデフォルト設定インスタンスを取得します
+     * 
+     * @param configClass 設定クラス
+     * @param <C>         BaseConfigを継承したクラス
+     * @return デフォルト設定インスタンス、作成に失敗した場合はnull
+     */
+    @Nullable
+    public <C extends BaseConfig> C getDefaultConfig(Class<C> configClass) {
+        try {
+            return ConfigMetadata.of(configClass).newInstance(configClass);
+        } catch (Exception e) {
+            LOGGER.severe("Failed to create default config for " + configClass.getName() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    public Gson getGson() {
+        return BaseConfig.getGson();
+    }
+
+    /**
+     * 指定した名前と設定クラスで設定を登録します
+     * 
+     * @param fileName    ファイル名
+     * @param configClass 設定クラス
+     * @param <C>         BaseConfigを継承したクラス
+     * @return 読み込まれた設定、ファイルが存在しない場合は新しいインスタンス
+     */
+    public <C extends T> C addConfig(String fileName, Class<C> configClass) {
+        try {
+            // ファイルから設定を読み込むか、新しいインスタンスを作成
+            C config = loadConfigFromFile(fileName, configClass);
+            if (config == null) {
+                return null;
+            }
+
+            // レジストリに登録
+            configRegistry.put(fileName, config);
+            deferredConfigs.remove(fileName);
+            watchConfigFile(fileName, configClass);
+            requestEviction();
+
+            return config;
+        } catch (Exception e) {
+            LOGGER.severe("Failed to add config " + fileName + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 登録済みの設定を取得します
+     * 
+     * @param fileName    ファイル名
+     * @param configClass 設定クラス
+     * @param <C>         BaseConfigを継承したクラス
+     * @return 設定オブジェクト、存在しない場合はnull
+     */
+    @SuppressWarnings("unchecked")
+    public <C extends T> C getConfig(String fileName, Class<C> configClass) {
+        BaseConfig config = configRegistry.access(fileName);
+        if (config == null) {
+            // 他のスレッドが先に登録した場合はそちらを使用する
+            C loaded = loadConfigFromFile(fileName, configClass);
+            if (loaded == null) {
+                return null;
+            }
+            config = configRegistry.putIfAbsent(fileName, loaded);
+            if (config == null) {
+                deferredConfigs.remove(fileName);
+                watchConfigFile(fileName, configClass);
+                requestEviction();
+                return loaded;
+            }
+        }
+
+        if (!configClass.isInstance(config)) {
+            LOGGER.warning("Config " + fileName + " is not an instance of " + configClass.getName());
             return null;
         }
 
@@ -388,30 +1863,161 @@ public abstract class AbstractJavaPluginConfigable<T extends BaseConfig> extends
      * </p>
      * 
      * <p>
-     * 例:
+     * 例:
+     * </p>
+     * 
+     * <pre>
+     * MyConfig config = getConfig(MyConfig.class);
+     * </pre>
+     * 
+     * @param configClass 設定クラス
+     * @param <C>         BaseConfigを継承したクラス
+     * @return 設定オブジェクト、存在しない場合は新しく作成されます
+     * @see #getConfig(String, Class)
+     * @see #getFileName(Class)
+     */
+    public <C extends T> C getConfig(Class<C> configClass) throws NoSuchElementException {
+        String fileName = ConfigUtils.getFileName(configClass).orElseThrow();
+        return getConfig(fileName, configClass);
+    }
+
+    /**
+     * 複数の設定をまとめて先読みし、登録します
+     * <p>
+     * まだ登録されていない設定ファイルの読み込みと解析をI/Oスレッドで並行して行い、読み込んだ設定の登録は
+     * メインスレッドで行います。返されたFutureが完了した後の{@link #getConfig(String, Class)}は
+     * ファイルを読み込まずに登録済みの設定を返します。プレイヤーが一斉に参加するときなど、
+     * 多数の設定を続けて取得する前に使用してください。
+     * </p>
+     *
+     * <p>
+     * ファイルが存在しない設定は{@link #getConfig(String, Class)}と同様に新しく作成されます。
+     * 先読みの間に他の処理で登録された設定はそのまま残ります。
+     * {@link #enableBoundedCache(int, long, Duration)}の上限を超える数を先読みした場合は、
+     * 最後に使われた時刻が古い設定から登録が解除されます。
+     * </p>
+     *
+     * <p>
+     * 例:
+     * </p>
+     *
+     * <pre>
+     * prefetch(uuids.stream().map(uuid -&gt; uuid + ".json").toList(), PlayerConfig.class)
+     *         .thenRun(() -&gt; arena.start());
+     * </pre>
+     *
+     * @param fileNames   ファイル名のコレクション
+     * @param configClass 設定クラス
+     * @param <C>         BaseConfigを継承したクラス
+     * @return 新しく登録した設定の数で完了するFuture
+     */
+    public <C extends T> CompletableFuture<Integer> prefetch(Collection<String> fileNames, Class<C> configClass) {
+        Map<String, Class<C>> missing = new LinkedHashMap<>();
+        for (String fileName : fileNames) {
+            if (!configRegistry.containsKey(fileName)) {
+                missing.put(fileName, configClass);
+            }
+        }
+        if (missing.isEmpty()) {
+            return CompletableFuture.completedFuture(0);
+        }
+
+        return CompletableFuture.supplyAsync(() -> readForPrefetch(missing), ConfigExecutors.io())
+                .thenApplyAsync(this::registerPrefetched, mainThreadExecutor);
+    }
+
+    /**
+     * 先読みの対象となる設定をファイルから読み込みます
+     * <p>
+     * ファイルの読み込みと解析は設定ごとにI/Oスレッドで並行して行われます。
+     * </p>
+     *
+     * @param entries 設定ファイル名と設定クラスのマッピング
+     * @param <C>     BaseConfigを継承したクラス
+     * @return 読み込んだ設定のマッピング
+     */
+    private <C extends T> Map<String, C> readForPrefetch(Map<String, Class<C>> entries) {
+        long start = System.nanoTime();
+        Map<String, C> loaded = new ConcurrentHashMap<>();
+        forEachInParallel(entries, (fileName, configClass) -> {
+            // 読み込みの間に登録された設定は読み込まない
+            if (configRegistry.containsKey(fileName)) {
+                return;
+            }
+            C config = loadConfigFromFile(fileName, configClass);
+            if (config != null) {
+                loaded.put(fileName, config);
+            }
+        });
+        logLoadTime("Prefetched " + loaded.size() + " configs", start);
+        return loaded;
+    }
+
+    /**
+     * 先読みした設定を登録します
+     * <p>
+     * 先読みの間に他の処理で登録された設定は置き換えません。
+     * </p>
+     *
+     * @param loaded 読み込んだ設定のマッピング
+     * @return 新しく登録した設定の数
+     */
+    private int registerPrefetched(Map<String, ? extends T> loaded) {
+        int registered = 0;
+        for (Map.Entry<String, ? extends T> entry : loaded.entrySet()) {
+            String fileName = entry.getKey();
+            T config = entry.getValue();
+            if (configRegistry.putIfAbsent(fileName, config) == null) {
+                deferredConfigs.remove(fileName);
+                watchConfigFile(fileName, config.getClass());
+                registered++;
+            }
+        }
+        if (registered > 0) {
+            requestEviction();
+        }
+        return registered;
+    }
+
+    /**
+     * 設定への再読み込みに追従するハンドルを取得します
+     * <p>
+     * 設定がまだ登録されていない場合は{@link #getConfig(String, Class)}と同様に読み込んで登録します。
+     * ハンドルは{@link #reloadConfig(String, Class)}や{@link #reloadAll()}による置き換えに自動的に追従するため、
+     * 一度取得したハンドルをフィールドに保持して、頻繁に呼ばれる処理から{@link ConfigHandle#get()}で参照してください。
      * </p>
-     * 
-     * <pre>
-     * MyConfig config = getConfig(MyConfig.class);
-     * </pre>
-     * 
+     *
+     * @param fileName    ファイル名
      * @param configClass 設定クラス
      * @param <C>         BaseConfigを継承したクラス
-     * @return 設定オブジェクト、存在しない場合は新しく作成されます
-     * @see #getConfig(String, Class)
-     * @see #getFileName(Class)
+     * @return ハンドル
      */
-    public <C extends T> C getConfig(Class<C> configClass) throws NoSuchElementException {
+    public <C extends T> ConfigHandle<C> getConfigHandle(String fileName, Class<C> configClass) {
+        getConfig(fileName, configClass);
+        return configRegistry.handle(fileName, configClass);
+    }
+
+    /**
+     * 設定への再読み込みに追従するハンドルを取得します。ファイル名はクラスのアノテーションから取得されます
+     *
+     * @param configClass 設定クラス
+     * @param <C>         BaseConfigを継承したクラス
+     * @return ハンドル
+     * @throws NoSuchElementException 設定クラスにファイル名が指定されていない場合
+     * @see #getConfigHandle(String, Class)
+     */
+    public <C extends T> ConfigHandle<C> getConfigHandle(Class<C> configClass) throws NoSuchElementException {
         String fileName = ConfigUtils.getFileName(configClass).orElseThrow();
-        return getConfig(fileName, configClass);
+        return getConfigHandle(fileName, configClass);
     }
 
     /**
-     * 指定したクラスタイプのすべての設定をconfigMapから取得し、リストとして返します。
+     * 指定したクラスタイプのすべての設定をレジストリから取得し、リストとして返します。
      * 
      * <p>
-     * このメソッドは、内部の設定マップから指定されたクラスタイプのすべてのインスタンスを
-     * 検索し、それらをリストとして返します。これは異なるファイル名で登録された
+     * このメソッドは、内部の設定レジストリから指定されたクラスタイプのすべてのインスタンスを
+     * 型ごとのインデックスを使って取得し、それらをリストとして返します。
+     * 任意のスレッドから呼び出すことができます。これは異なるファイル名で登録された
      * 同じ型の複数の設定インスタンスを取得する場合に便利です。
      * </p>
      * 
@@ -427,17 +2033,14 @@ public abstract class AbstractJavaPluginConfigable<T extends BaseConfig> extends
      * @param <C>         BaseConfigを継承したクラス
      * @return 該当するすべての設定オブジェクトのリスト（一致するものがない場合は空のリスト）
      */
-    @SuppressWarnings("unchecked")
     public <C extends BaseConfig> List<C> getConfigsOfType(Class<C> configClass) {
-        List<C> result = new ArrayList<>();
-
-        for (BaseConfig config : configMap.values()) {
-            if (configClass.isInstance(config)) {
-                result.add((C) config);
+        // 遅延読み込みでまだ読み込まれていない該当する設定を先に読み込む
+        deferredConfigs.forEach((fileName, deferredClass) -> {
+            if (configClass.isAssignableFrom(deferredClass)) {
+                getConfig(fileName, deferredClass);
             }
-        }
-
-        return result;
+        });
+        return configRegistry.getAll(configClass);
     }
 
     /**
@@ -446,23 +2049,18 @@ public abstract class AbstractJavaPluginConfigable<T extends BaseConfig> extends
      * @param fileName ファイル名
      */
     public void saveConfig(String fileName) {
-        BaseConfig config = configMap.get(fileName);
-        if (config == null) {
-            LOGGER.warning("Config " + fileName + " not found, cannot save.");
-            return;
-        }
+        save(fileName);
+    }
 
-        try {
-            File configFolder = getPluginConfigFolder(config.getClass());
-            // フォルダが存在しない場合は作成
-            Files.createDirectories(configFolder.toPath());
-            var file = configFolder.toPath().resolve(fileName);
-            String json = config.toJson();
-            Files.writeString(file, json);
-            LOGGER.info("Config saved to " + file);
-        } catch (Exception e) {
-            LOGGER.severe("Failed to save config " + fileName + ": " + e.getMessage());
-        }
+    /**
+     * 登録済みの設定を非同期でファイルに保存します
+     *
+     * @param fileName ファイル名
+     * @return 保存に成功した場合はtrueで完了するFuture
+     * @see #saveAsync(String)
+     */
+    public CompletableFuture<Boolean> saveConfigAsync(String fileName) {
+        return saveAsync(fileName);
     }
 
     /**
@@ -474,6 +2072,14 @@ public abstract class AbstractJavaPluginConfigable<T extends BaseConfig> extends
      * @return 設定オブジェクト
      */
     private <C extends T> C loadConfigFromFile(String fileName, Class<C> configClass) {
+        // キャッシュから削除した設定の書き込みが終わっていない場合は、ファイルではなくその設定を使用する
+        BaseConfig evicted = evictedWrites.get(fileName);
+        if (configClass.isInstance(evicted)) {
+            return configClass.cast(evicted);
+        }
+
+        ConfigOperationEvent event = ConfigOperationEvent.start("load", fileName, configClass);
+        boolean loaded = false;
         try {
             // プラグイン名の大文字小文字を保持したフォルダパスを取得
             File configFolder = getPluginConfigFolder(configClass);
@@ -483,16 +2089,46 @@ public abstract class AbstractJavaPluginConfigable<T extends BaseConfig> extends
             if (!Files.exists(filePath)) {
                 LOGGER.warning("Config file not found, creating a new one: " + fileName);
                 C defaultConfig = createNewInstance(configClass);
-                String json = defaultConfig.toJson();
-                Files.writeString(filePath, json);
+                byte[] content = encode(fileName, defaultConfig);
+                writeConfigFile(fileName, filePath, content);
+                defaultConfig.markPersisted(ConfigUtils.fingerprint(content), defaultConfig.getModificationCount(),
+                        content.length);
+                loaded = true;
                 return defaultConfig;
             }
 
-            String json = Files.readString(filePath);
-            return BaseConfig.fromJson(json, configClass);
+            C config = readConfig(fileName, filePath, configClass);
+            loaded = config != null;
+            return config;
         } catch (Exception e) {
             LOGGER.severe("Failed to load config " + fileName + ": " + e.getMessage());
+            preserveUnreadableFile(getPluginConfigFolder(configClass).toPath().resolve(fileName));
             return createNewInstance(configClass);
+        } finally {
+            ConfigOperationEvent.finish(event, loaded);
+        }
+    }
+
+    /**
+     * 読み込めなかった設定ファイルを退避します
+     * <p>
+     * デフォルト設定で動作を続けた後の保存で、元のファイルの内容が失われないように
+     * {@code <ファイル名>.broken}としてコピーを残します。
+     * </p>
+     *
+     * @param filePath 読み込めなかった設定ファイルのパス
+     */
+    private void preserveUnreadableFile(Path filePath) {
+        if (!Files.exists(filePath)) {
+            return;
+        }
+
+        Path backup = filePath.resolveSibling(filePath.getFileName() + ".broken");
+        try {
+            Files.copy(filePath, backup, StandardCopyOption.REPLACE_EXISTING);
+            LOGGER.warning("Unreadable config file was copied to " + backup);
+        } catch (Exception e) {
+            LOGGER.severe("Failed to back up unreadable config " + filePath + ": " + e.getMessage());
         }
     }
 
@@ -505,7 +2141,7 @@ public abstract class AbstractJavaPluginConfigable<T extends BaseConfig> extends
      */
     private <C extends BaseConfig> C createNewInstance(Class<C> configClass) {
         try {
-            return configClass.getDeclaredConstructor().newInstance();
+            return ConfigMetadata.of(configClass).newInstance(configClass);
         } catch (Exception e) {
             LOGGER.severe("Failed to create new instance of " + configClass.getName() + ": " + e.getMessage());
             return null;
@@ -519,17 +2155,84 @@ public abstract class AbstractJavaPluginConfigable<T extends BaseConfig> extends
      * @return 正常に読み込まれた設定の数
      */
     public int reloadAll() {
-        int successCount = 0;
-        List<String> keysToRemove = new ArrayList<>();
+        return commitReloadAll(readAllForReload(configRegistry.snapshot()));
+    }
 
-        for (Map.Entry<String, BaseConfig> entry : new HashMap<>(configMap).entrySet()) {
-            String fileName = entry.getKey();
-            BaseConfig config = entry.getValue();
+    /**
+     * すべての登録済み設定を非同期で再読み込みします。
+     * <p>
+     * ファイルの読み込みと解析はI/Oスレッドで行い、設定の差し替えはメインスレッドで行います。
+     * </p>
+     *
+     * <p>
+     * {@link #isTickBudgetedReload()}がtrueでKarasuConfigLibプラグインが有効な場合は、設定の差し替えと
+     * 変更の通知を設定ごとに{@link TickBudgetExecutor}で行い、1ティックの処理時間の予算に収まらない分は
+     * 次のティックに持ち越します。差し替える前にこのプラグインが無効になった場合、残りの差し替えは破棄され、
+     * Futureは{@link java.util.concurrent.CancellationException}を原因として例外で完了します。
+     * </p>
+     *
+     * @return 正常に読み込まれた設定の数で完了するFuture
+     * @see #reloadAll()
+     */
+    public CompletableFuture<Integer> reloadAllAsync() {
+        Map<String, BaseConfig> entries = configRegistry.snapshot();
+        CompletableFuture<ReloadResult> read = CompletableFuture.supplyAsync(() -> readAllForReload(entries),
+                ConfigExecutors.io());
+        TickBudgetExecutor budgetExecutor = tickBudgetExecutor();
+        if (budgetExecutor == null) {
+            return read.thenApplyAsync(this::commitReloadAll, mainThreadExecutor);
+        }
+        return read.thenCompose(result -> commitReloadAllIncrementally(result, budgetExecutor));
+    }
+
+    /**
+     * 非同期で再読み込みした設定を、1ティックの処理時間の予算内で少しずつ差し替えるかどうかを返します
+     * <p>
+     * {@link #reloadAllAsync()}、{@link #reloadConfigAsync(String, Class)}と、ファイルの監視による
+     * 再読み込みに適用されます。
+     * </p>
+     * <p>
+     * trueを返す場合、多数の設定を再読み込みしても1ティックが長くなりすぎませんが、すべての設定の差し替えが
+     * 終わるまでの数ティックの間は、差し替え済みの設定とまだ差し替えていない設定が混在します。
+     * falseの場合は、すべての設定を1ティックでまとめて差し替えます。
+     * KarasuConfigLibプラグインが有効でない場合は、この設定に関わらずまとめて差し替えます。
+     * </p>
+     *
+     * @return 予算内で少しずつ差し替える場合はtrue
+     * @see TickBudgetExecutor
+     */
+    protected boolean isTickBudgetedReload() {
+        return false;
+    }
+
+    /**
+     * 再読み込み結果を設定ごとに差し替えるために使用する{@link TickBudgetExecutor}を取得します
+     *
+     * @return {@link #isTickBudgetedReload()}がtrueでKarasuConfigLibプラグインが有効な場合はExecutor、
+     *         それ以外の場合はnull
+     */
+    @Nullable
+    private TickBudgetExecutor tickBudgetExecutor() {
+        return isTickBudgetedReload() ? TickBudgetExecutor.getInstalled() : null;
+    }
+
+    /**
+     * 再読み込みの対象となるすべての設定をファイルから読み込みます
+     * <p>
+     * ファイルの読み込みと解析は設定ごとにI/Oスレッドで並行して行われます。
+     * </p>
+     *
+     * @param entries 設定ファイル名と現在の設定オブジェクトのマッピング
+     * @return 読み込み結果
+     */
+    private ReloadResult readAllForReload(Map<String, BaseConfig> entries) {
+        ReloadResult result = new ReloadResult(entries);
 
+        forEachInParallel(entries, (fileName, config) -> {
             if (config == null) {
                 LOGGER.warning("Config is null for file: " + fileName + ", removing from registry");
-                keysToRemove.add(fileName);
-                continue;
+                result.keysToRemove.add(fileName);
+                return;
             }
 
             Class<? extends BaseConfig> configClass = (Class<? extends BaseConfig>) config.getClass();
@@ -539,27 +2242,107 @@ public abstract class AbstractJavaPluginConfigable<T extends BaseConfig> extends
             File configFile = configFolder.toPath().resolve(fileName).toFile();
             if (!configFile.exists()) {
                 LOGGER.warning("Config file does not exist, removing from registry: " + fileName);
-                keysToRemove.add(fileName);
-                continue;
+                result.keysToRemove.add(fileName);
+                return;
             }
 
             // 再読み込みを試行
-            if (reloadConfig(fileName, configClass)) {
-                successCount++;
+            BaseConfig reloaded = readForReload(fileName, configClass);
+            if (reloaded != null) {
+                result.reloaded.put(fileName, reloaded);
             }
-        }
+        });
+        return result;
+    }
 
-        // 存在しないファイルのキーを削除
-        for (String key : keysToRemove) {
-            configMap.remove(key);
+    /**
+     * 再読み込みの結果を登録済みの設定にまとめて反映します
+     * <p>
+     * 読み込んだ設定の差し替えと、存在しないファイルの設定の削除は一度に行われます。
+     * 読み込みを始めた後に別の再読み込みや{@link #addConfig(String, Class)}で置き換えられた設定と、
+     * 登録から削除された設定には反映しません。
+     * </p>
+     *
+     * @param result 読み込み結果
+     * @return 正常に読み込まれた設定の数
+     */
+    private int commitReloadAll(ReloadResult result) {
+        Set<String> committed = configRegistry.commitIfUnchanged(result.expected, result.reloaded,
+                result.keysToRemove);
+        int removedCount = 0;
+        for (String fileName : result.keysToRemove) {
+            if (committed.contains(fileName)) {
+                unwatchConfigFile(fileName);
+                removedCount++;
+            }
+        }
+        int successCount = 0;
+        for (Map.Entry<String, BaseConfig> entry : result.reloaded.entrySet()) {
+            String fileName = entry.getKey();
+            if (!committed.contains(fileName)) {
+                LOGGER.info("Config " + fileName + " was replaced or removed while reloading, discarding reload");
+                continue;
+            }
+            LOGGER.info("Successfully reloaded config: " + fileName);
+            dispatchChanges(fileName, result.expected.get(fileName), entry.getValue());
+            successCount++;
         }
 
-        LOGGER.info("Reloaded " + successCount + " configs, removed " + keysToRemove.size() + " missing configs");
+        LOGGER.info("Reloaded " + successCount + " configs, removed " + removedCount + " missing configs");
         return successCount;
     }
 
+    /**
+     * 再読み込みでファイルが存在しなかった設定を登録から削除します
+     * <p>
+     * 読み込みを始めた後に置き換えられた設定は削除しません。
+     * </p>
+     *
+     * @param result 読み込み結果
+     * @return 削除した設定の数
+     */
+    private int removeMissingConfigs(ReloadResult result) {
+        Set<String> removed = configRegistry.commitIfUnchanged(result.expected, Map.of(), result.keysToRemove);
+        removed.forEach(this::unwatchConfigFile);
+        return removed.size();
+    }
+
+    /**
+     * 再読み込みの結果を設定ごとに{@link TickBudgetExecutor}で反映します
+     * <p>
+     * 存在しないファイルの設定の削除は1つのタスクでまとめて行い、読み込んだ設定の差し替えと変更の通知は
+     * 設定ごとのタスクとして実行します。タスクはこのプラグインが所有するため、プラグインが無効になると
+     * 残りのタスクは破棄されます。
+     * </p>
+     *
+     * @param result   読み込み結果
+     * @param executor 反映に使用するExecutor
+     * @return すべての設定を反映した後に、正常に読み込まれた設定の数で完了するFuture
+     */
+    private CompletableFuture<Integer> commitReloadAllIncrementally(ReloadResult result,
+            TickBudgetExecutor executor) {
+        CompletableFuture<Integer> removal = result.keysToRemove.isEmpty()
+                ? CompletableFuture.completedFuture(0)
+                : executor.submit(this, () -> removeMissingConfigs(result));
+        List<CompletableFuture<Boolean>> commits = new ArrayList<>(result.reloaded.size());
+        result.reloaded.forEach((fileName, config) -> commits.add(
+                executor.submit(this, () -> commitReload(fileName, result.expected.get(fileName), config))));
+
+        List<CompletableFuture<?>> tasks = new ArrayList<>(commits);
+        tasks.add(removal);
+        return CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).thenApply(ignored -> {
+            int successCount = (int) commits.stream().filter(CompletableFuture::join).count();
+            LOGGER.info("Reloaded " + successCount + " configs, removed " + removal.join() + " missing configs");
+            return successCount;
+        });
+    }
+
     /**
      * 指定した設定を再読み込みします
+     * <p>
+     * 登録されている設定だけが対象です。登録されていない設定は読み込まずにfalseを返すため、
+     * {@link #getConfig(String, Class)}で読み込んでください。
+     * </p>
      * 
      * @param fileName    ファイル名
      * @param configClass 設定クラス
@@ -567,6 +2350,81 @@ public abstract class AbstractJavaPluginConfigable<T extends BaseConfig> extends
      * @return 読み込みに成功した場合はtrue
      */
     public <C extends BaseConfig> boolean reloadConfig(String fileName, Class<C> configClass) {
+        BaseConfig expected = configRegistry.get(fileName);
+        if (expected == null) {
+            LOGGER.warning("Config is not loaded, skipping reload: " + fileName);
+            return false;
+        }
+        C config = readForReload(fileName, configClass);
+        return config != null && commitReload(fileName, expected, config);
+    }
+
+    /**
+     * 指定した設定を非同期で再読み込みします
+     * <p>
+     * ファイルの読み込みと解析はI/Oスレッドで行い、設定の差し替えはメインスレッドで行います。
+     * {@link #isTickBudgetedReload()}がtrueでKarasuConfigLibプラグインが有効な場合、差し替えは
+     * {@link TickBudgetExecutor}で1ティックの処理時間の予算内で行われます。差し替える前にこのプラグインが
+     * 無効になった場合、差し替えは破棄され、Futureは{@link java.util.concurrent.CancellationException}を
+     * 原因として例外で完了します。
+     * </p>
+     *
+     * <p>
+     * 読み込んでいる間に別の再読み込みや{@link #addConfig(String, Class)}で設定が置き換えられた場合や、
+     * 登録から削除された場合は、読み込んだ設定を破棄してfalseで完了します。
+     * 登録されていない設定は読み込みません。
+     * </p>
+     *
+     * @param fileName    ファイル名
+     * @param configClass 設定クラス
+     * @param <C>         BaseConfigを継承したクラス
+     * @return 読み込みに成功した場合はtrueで完了するFuture
+     * @see #reloadConfig(String, Class)
+     */
+    public <C extends BaseConfig> CompletableFuture<Boolean> reloadConfigAsync(String fileName,
+            Class<C> configClass) {
+        BaseConfig expected = configRegistry.get(fileName);
+        if (expected == null) {
+            LOGGER.warning("Config is not loaded, skipping reload: " + fileName);
+            return CompletableFuture.completedFuture(false);
+        }
+        return reloadConfigAsync(fileName, configClass, expected);
+    }
+
+    /**
+     * 指定した設定を非同期で再読み込みし、{@code expected}が登録されたままの場合にのみ差し替えます
+     *
+     * @param fileName    ファイル名
+     * @param configClass 設定クラス
+     * @param expected    読み込みを始めたときに登録されていた設定
+     * @param <C>         BaseConfigを継承したクラス
+     * @return 差し替えた場合はtrueで完了するFuture
+     */
+    private <C extends BaseConfig> CompletableFuture<Boolean> reloadConfigAsync(String fileName,
+            Class<C> configClass, BaseConfig expected) {
+        CompletableFuture<C> read = CompletableFuture.supplyAsync(() -> readForReload(fileName, configClass),
+                ConfigExecutors.io());
+        TickBudgetExecutor budgetExecutor = tickBudgetExecutor();
+        if (budgetExecutor == null) {
+            return read.thenApplyAsync(config -> config != null && commitReload(fileName, expected, config),
+                    mainThreadExecutor);
+        }
+        return read.thenCompose(config -> config == null
+                ? CompletableFuture.completedFuture(false)
+                : budgetExecutor.submit(this, () -> commitReload(fileName, expected, config)));
+    }
+
+    /**
+     * 再読み込みのために設定ファイルを読み込んで解析します
+     * @param fileName    ファイル名
+     * @param configClass 設定クラス
+     * @param <C>         BaseConfigを継承したクラス
+     * @return 読み込んだ設定、失敗した場合はnull
+     */
+    @Nullable
+    private <C extends BaseConfig> C readForReload(String fileName, Class<C> configClass) {
+        ConfigOperationEvent event = ConfigOperationEvent.start("reload", fileName, configClass);
+        C config = null;
         try {
             File configFolder = getPluginConfigFolder(configClass);
             // フォルダが存在しない場合は作成
@@ -574,23 +2432,285 @@ public abstract class AbstractJavaPluginConfigable<T extends BaseConfig> extends
             File configFile = configFolder.toPath().resolve(fileName).toFile();
             if (!configFile.exists()) {
                 LOGGER.warning("Config file does not exist: " + fileName);
-                return false;
+                return null;
             }
 
-            String json = Files.readString(configFile.toPath());
-            C config = BaseConfig.fromJson(json, configClass);
+            config = readConfig(fileName, configFile.toPath(), configClass);
 
             if (config == null) {
                 LOGGER.warning("Failed to parse config from file: " + fileName);
-                return false;
+                return null;
             }
-
-            configMap.put(fileName, config);
-            LOGGER.info("Successfully reloaded config: " + fileName);
-            return true;
+            return config;
         } catch (Exception e) {
             LOGGER.severe("Error reloading config " + fileName + ": " + e.getMessage());
+            return null;
+        } finally {
+            ConfigOperationEvent.finish(event, config != null);
+        }
+    }
+
+    /**
+     * 再読み込みした設定を登録済みの設定と差し替えます
+     * <p>
+     * 読み込みを始めたときの設定が登録されたままの場合にのみ差し替えます。その間に別の再読み込みや
+     * {@link #addConfig(String, Class)}で置き換えられた設定を古い内容で上書きしたり、キャッシュからの削除などで
+     * 登録から外れた設定を登録し直したりしないようにします。
+     * </p>
+     *
+     * @param fileName ファイル名
+     * @param expected 読み込みを始めたときに登録されていた設定
+     * @param config   再読み込みした設定
+     * @return 差し替えに成功した場合はtrue
+     */
+    private boolean commitReload(String fileName, BaseConfig expected, BaseConfig config) {
+        if (!configRegistry.replace(fileName, expected, config)) {
+            LOGGER.info("Config " + fileName + " was replaced or removed while reloading, discarding reload");
             return false;
         }
+        LOGGER.info("Successfully reloaded config: " + fileName);
+        dispatchChanges(fileName, expected, config);
+        return true;
+    }
+
+    /**
+     * 再読み込みによる設定の変更を通知するリスナーを登録します
+     * <p>
+     * 指定した設定クラスのインスタンスが再読み込みされるたびに、前後の設定の差分を計算し、
+     * {@code path}に関係する変更があった場合だけリスナーを呼び出します。パスはJSONでの項目名を
+     * {@code .}で区切ったもので、配列の要素は{@code items[2]}のように指定します。
+     * パスの下の項目の変更も通知され、空文字を指定するとすべての変更が通知されます。
+     * </p>
+     *
+     * <p>
+     * 差分は登録されたリスナーがある設定についてのみ計算されます。リスナーはメインスレッドで呼び出されます。
+     * </p>
+     *
+     * <pre>
+     * addChangeListener(MyConfig.class, "database", event -&gt; reconnect(event.getNewConfig()));
+     * </pre>
+     *
+     * @param configClass 設定クラス
+     * @param path        購読する項目のパス
+     * @param listener    リスナー
+     * @param <C>         BaseConfigを継承したクラス
+     */
+    public <C extends BaseConfig> void addChangeListener(Class<C> configClass, String path,
+            ConfigChangeListener<C> listener) {
+        changeListeners.add(new ChangeSubscription<>(configClass, path, listener));
+    }
+
+    /**
+     * 登録したリスナーを削除します
+     *
+     * @param listener 削除するリスナー
+     */
+    public void removeChangeListener(ConfigChangeListener<?> listener) {
+        changeListeners.removeIf(subscription -> subscription.listener == listener);
+    }
+
+    /**
+     * 指定した設定クラスに関係する変更リスナーが登録されているかどうかを返します
+     *
+     * @param configClass 設定クラス
+     * @return 登録されている場合はtrue
+     */
+    private boolean hasChangeListeners(Class<?> configClass) {
+        for (ChangeSubscription<?> subscription : changeListeners) {
+            if (subscription.configClass.isAssignableFrom(configClass)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 再読み込みの前後の設定の差分を計算し、関係するリスナーに通知します
+     * <p>
+     * 差分は前回の読み込みと今回の読み込みで記録したJSONツリーから計算します。
+     * 前回の読み込みの後に変更された設定や、リスナーを登録する前に読み込んだ設定は、ここでシリアライズします。
+     * </p>
+     *
+     * @param fileName 設定ファイル名
+     * @param previous 再読み込み前の設定、存在しない場合はnull
+     * @param current  再読み込み後の設定
+     */
+    private void dispatchChanges(String fileName, BaseConfig previous, BaseConfig current) {
+        if (previous == null || previous == current || changeListeners.isEmpty()) {
+            return;
+        }
+
+        List<ChangeSubscription<?>> subscriptions = new ArrayList<>();
+        for (ChangeSubscription<?> subscription : changeListeners) {
+            if (subscription.configClass.isInstance(previous) && subscription.configClass.isInstance(current)) {
+                subscriptions.add(subscription);
+            }
+        }
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+
+        List<ConfigChange> changes = ConfigDiff.diff(treeOf(previous), treeOf(current));
+        if (changes.isEmpty()) {
+            return;
+        }
+        for (ChangeSubscription<?> subscription : subscriptions) {
+            try {
+                subscription.dispatch(fileName, previous, current, changes);
+            } catch (Exception e) {
+                LOGGER.severe("Config change listener for " + fileName + " failed: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 差分の計算に使用する設定のJSONツリーを取得します
+     *
+     * @param config 設定
+     * @return 読み込んだときに記録したツリー、記録されていないか変更された場合は現在の内容のツリー
+     */
+    private JsonElement treeOf(BaseConfig config) {
+        JsonElement tree = config.getLoadedTree();
+        return tree != null ? tree : getGson().toJsonTree(config);
+    }
+
+    /**
+     * 登録された変更リスナーと購読するパスを保持するクラス
+     *
+     * @param <C> 設定クラスの型
+     */
+    private static final class ChangeSubscription<C extends BaseConfig> {
+        /** 設定クラス */
+        private final Class<C> configClass;
+
+        /** 購読する項目のパス */
+        private final String path;
+
+        /** リスナー */
+        private final ConfigChangeListener<C> listener;
+
+        private ChangeSubscription(Class<C> configClass, String path, ConfigChangeListener<C> listener) {
+            this.configClass = configClass;
+            this.path = path;
+            this.listener = listener;
+        }
+
+        /**
+         * 購読するパスに関係する変更があればリスナーを呼び出します
+         *
+         * @param fileName 設定ファイル名
+         * @param previous 再読み込み前の設定
+         * @param current  再読み込み後の設定
+         * @param changes  すべての変更
+         */
+        private void dispatch(String fileName, BaseConfig previous, BaseConfig current, List<ConfigChange> changes) {
+            List<ConfigChange> related = new ArrayList<>();
+            for (ConfigChange change : changes) {
+                if (ConfigDiff.isRelated(path, change.getPath())) {
+                    related.add(change);
+                }
+            }
+            if (!related.isEmpty()) {
+                listener.onChange(new ConfigChangeEvent<>(fileName, configClass.cast(previous),
+                        configClass.cast(current), related));
+            }
+        }
+    }
+
+    /**
+     * シリアライズ済みで書き込み待ちの設定を保持するクラス
+     */
+    private static final class PendingWrite {
+        /** 書き込む設定 */
+        private final BaseConfig config;
+
+        /** 設定ファイル名 */
+        private final String fileName;
+
+        /** 書き込み先のパス */
+        private final Path file;
+
+        /** 書き込む内容 */
+        private final byte[] content;
+
+        /** ジャーナルに使用するJSONツリー、不要な場合はnull */
+        private final JsonObject tree;
+
+        /** ジャーナル方式で保存するかどうか */
+        private final boolean journaled;
+
+        /** 書き込む内容のフィンガープリント */
+        private final long fingerprint;
+
+        /** シリアライズしたときの変更回数 */
+        private final int modificationCount;
+
+        private PendingWrite(BaseConfig config, String fileName, Path file, byte[] content, JsonObject tree,
+                boolean journaled, int modificationCount) {
+            this.config = config;
+            this.fileName = fileName;
+            this.file = file;
+            this.content = content;
+            this.tree = tree;
+            this.journaled = journaled;
+            this.fingerprint = ConfigUtils.fingerprint(content);
+            this.modificationCount = modificationCount;
+        }
+    }
+
+    /**
+     * {@link #enableBoundedCache(int, long, Duration)}で設定した上限を保持するクラス
+     */
+    private static final class CacheLimits {
+        /** 設定の数の上限、0の場合は制限しない */
+        private final int maxEntries;
+
+        /** 設定の大きさの合計の上限、0の場合は制限しない */
+        private final long maxRetainedBytes;
+
+        /** 取得されていない設定の登録を解除するまでの時間（ナノ秒）、0の場合は解除しない */
+        private final long idleNanos;
+
+        /** 定期的な整理のタスク、定期的に整理しない場合はnull */
+        private final ScheduledFuture<?> sweep;
+
+        private CacheLimits(int maxEntries, long maxRetainedBytes, long idleNanos, ScheduledFuture<?> sweep) {
+            this.maxEntries = maxEntries;
+            this.maxRetainedBytes = maxRetainedBytes;
+            this.idleNanos = idleNanos;
+            this.sweep = sweep;
+        }
+    }
+
+    /**
+     * {@link #save()}で書き込む設定の一覧を保持するクラス
+     */
+    private static final class SaveBatch {
+        /** 書き込みが必要な設定 */
+        private final List<PendingWrite> writes = new ArrayList<>();
+
+        /** 変更がないためスキップした設定の数 */
+        private int skipped;
+
+        /** シリアライズに失敗した設定の数 */
+        private int failed;
+    }
+
+    /**
+     * {@link #reloadAll()}の読み込み結果を保持するクラス
+     */
+    private static final class ReloadResult {
+        /** 読み込みを始めたときに登録されていた設定 */
+        private final Map<String, BaseConfig> expected;
+
+        /** 正常に読み込まれた設定 */
+        private final Map<String, BaseConfig> reloaded = new ConcurrentHashMap<>();
+
+        /** 登録から削除する設定のファイル名 */
+        private final Queue<String> keysToRemove = new ConcurrentLinkedQueue<>();
+
+        private ReloadResult(Map<String, BaseConfig> expected) {
+            this.expected = expected;
+        }
     }
 }
@@ -1,8 +1,13 @@
 package com.karasu256.karasuConfigLib;
 
+import com.karasu256.karasuConfigLib.command.ConfigStatsCommand;
 import com.karasu256.karasuConfigLib.config.ExampleBaseConfig;
 import com.karasu256.karasuConfigLib.config.TestConfig;
+import com.karasu256.karasuConfigLib.util.ConfigExecutors;
+import com.karasu256.karasuConfigLib.util.TickBudgetExecutor;
+import org.bukkit.command.PluginCommand;
 
+import java.time.Duration;
 import java.util.List;
 
 /**
@@ -17,6 +22,17 @@ import java.util.List;
  * 他のプラグインはこのライブラリを使用することで、簡単に設定ファイルを管理できます。
  * </p>
  * 
+ * <p>
+ * 有効な間は、再読み込みした設定を1ティックの処理時間の予算内で差し替える{@link TickBudgetExecutor}を
+ * 提供します。予算はシステムプロパティ{@value #TICK_BUDGET_PROPERTY}でミリ秒単位で指定でき、
+ * 省略した場合は2ミリ秒です。
+ * </p>
+ * 
+ * <p>
+ * 無効になるときは、ライブラリが非同期処理に使用するスレッドを{@link ConfigExecutors#shutdown(Duration)}で
+ * 停止し、{@code /reload}のたびにスレッドと古いクラスローダーが残らないようにします。
+ * </p>
+ * 
  * @author Hashibutogarasu
  * @version 1.0
  * @see AbstractJavaPluginConfigable
@@ -30,14 +46,68 @@ public final class KarasuConfigLib extends AbstractJavaPluginConfigable<ExampleB
      */
     public static final String PLUGIN_NAME = "KarasuConfigLib";
 
+    /**
+     * 再読み込みした設定の差し替えに使用する、1ティックあたりの処理時間（ミリ秒）を
+     * 指定するシステムプロパティの名前です。
+     */
+    public static final String TICK_BUDGET_PROPERTY = "karasuconfig.reloadTickBudgetMillis";
+
+    /** 無効化時にI/Oタスクの終了を待つ時間 */
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+
+    /** 再読み込みした設定を差し替えるExecutor */
+    private TickBudgetExecutor tickBudgetExecutor;
+
     @Override
     public void onEnable() {
         super.onEnable();
+
+        tickBudgetExecutor = new TickBudgetExecutor(readTickBudget());
+        tickBudgetExecutor.start(this);
+        TickBudgetExecutor.install(tickBudgetExecutor);
+
+        PluginCommand command = getCommand("karasuconfig");
+        if (command != null) {
+            ConfigStatsCommand statsCommand = new ConfigStatsCommand();
+            command.setExecutor(statsCommand);
+            command.setTabCompleter(statsCommand);
+        }
     }
 
     @Override
     public void onDisable() {
+        if (tickBudgetExecutor != null) {
+            TickBudgetExecutor.uninstall(tickBudgetExecutor);
+            tickBudgetExecutor.stop();
+            tickBudgetExecutor = null;
+        }
+
         super.onDisable();
+        // 依存するプラグインは先に無効になり、保存を終えているため、ここでスレッドを停止する
+        ConfigExecutors.shutdown(SHUTDOWN_TIMEOUT);
+    }
+
+    /**
+     * システムプロパティから1ティックあたりの処理時間を読み込みます
+     *
+     * @return 処理時間、指定がないか不正な場合は{@link TickBudgetExecutor#DEFAULT_BUDGET}
+     */
+    private static Duration readTickBudget() {
+        String value = System.getProperty(TICK_BUDGET_PROPERTY);
+        if (value == null) {
+            return TickBudgetExecutor.DEFAULT_BUDGET;
+        }
+        try {
+            double millis = Double.parseDouble(value);
+            if (millis > 0) {
+                return Duration.ofNanos((long) (millis * 1_000_000));
+            }
+        } catch (NumberFormatException ignored) {
+            // 下で警告を出力する
+        }
+        LOGGER.warning("Invalid " + TICK_BUDGET_PROPERTY + ": " + value + ", using "
+                + TickBudgetExecutor.DEFAULT_BUDGET.toMillis() + " ms");
+        return TickBudgetExecutor.DEFAULT_BUDGET;
     }
 
     @Override
@@ -0,0 +1,67 @@
+package com.karasu256.karasuConfigLib;
+
+/**
+ * {@link AbstractJavaPluginConfigable#save()}の結果を表すクラス
+ * <p>
+ * 書き込んだファイル数、変更がないためスキップしたファイル数、失敗したファイル数を保持します。
+ * </p>
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ * @see AbstractJavaPluginConfigable#save()
+ */
+public final class SaveResult {
+    /** 書き込んだファイル数 */
+    private final int written;
+
+    /** 変更がないためスキップしたファイル数 */
+    private final int skipped;
+
+    /** 書き込みに失敗したファイル数 */
+    private final int failed;
+
+    /**
+     * 保存結果を作成します
+     *
+     * @param written 書き込んだファイル数
+     * @param skipped スキップしたファイル数
+     * @param failed  失敗したファイル数
+     */
+    public SaveResult(int written, int skipped, int failed) {
+        this.written = written;
+        this.skipped = skipped;
+        this.failed = failed;
+    }
+
+    /**
+     * 書き込んだファイル数を取得します
+     *
+     * @return 書き込んだファイル数
+     */
+    public int getWritten() {
+        return written;
+    }
+
+    /**
+     * 変更がないためスキップしたファイル数を取得します
+     *
+     * @return スキップしたファイル数
+     */
+    public int getSkipped() {
+        return skipped;
+    }
+
+    /**
+     * 書き込みに失敗したファイル数を取得します
+     *
+     * @return 失敗したファイル数
+     */
+    public int getFailed() {
+        return failed;
+    }
+
+    @Override
+    public String toString() {
+        return "SaveResult{written=" + written + ", skipped=" + skipped + ", failed=" + failed + "}";
+    }
+}
@@ -37,4 +37,23 @@ public @interface Config {
      * @return 設定の説明
      */
     String description() default "";
+
+    /**
+     * ジャーナル方式で保存するかどうか
+     * trueの場合、保存のたびにファイル全体を書き直さず、前回の保存から変更された項目だけを
+     * {@code <ファイル名>.journal}に追記します。頻繁に変更される大きな設定に使用します
+     * 
+     * @return ジャーナル方式で保存する場合はtrue
+     */
+    boolean journaled() default false;
+
+    /**
+     * 設定ファイルの保存形式の名前
+     * 組み込みの形式は{@code json}（インデント付き）、{@code json-compact}、{@code json-gzip}、{@code binary}です
+     * ジャーナル方式で保存する設定では、JSONテキストでない形式を指定しても{@code json}が使用されます
+     * 
+     * @return コーデックの名前
+     * @see com.karasu256.karasuConfigLib.codec.ConfigCodecs
+     */
+    String codec() default "json";
 }
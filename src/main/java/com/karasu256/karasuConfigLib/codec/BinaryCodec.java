@@ -0,0 +1,75 @@
+package com.karasu256.karasuConfigLib.codec;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.karasu256.karasuConfigLib.io.BinaryJson;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * JSONツリーを{@link BinaryJson}の形式で保存するコーデック
+ * <p>
+ * ファイルの先頭には形式を識別するための4バイトの識別子と1バイトのバージョンが書き込まれます。
+ * </p>
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ */
+final class BinaryCodec implements ConfigCodec {
+
+    /** ファイルの識別子（"KCBJ"） */
+    private static final int MAGIC = 0x4B43424A;
+
+    /** 形式のバージョン */
+    private static final int VERSION = 1;
+
+    /** コーデックの名前 */
+    private final String name;
+
+    BinaryCodec(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public byte[] encode(Object value, Gson gson) throws IOException {
+        JsonElement tree = value instanceof JsonElement element ? element : gson.toJsonTree(value);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            BinaryJson.write(out, tree);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public <T> T decode(byte[] data, Class<T> type, Gson gson) throws IOException {
+        if (data.length == 0) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            int magic = in.readInt();
+            int version = in.readUnsignedByte();
+            if (magic != MAGIC || version != VERSION) {
+                throw new IOException("Not a binary config file (magic " + Integer.toHexString(magic)
+                        + ", version " + version + ")");
+            }
+            return gson.fromJson(BinaryJson.read(in, data.length), type);
+        }
+    }
+
+    @Override
+    public boolean matches(byte[] head) {
+        return head.length >= 5 && ByteBuffer.wrap(head).getInt() == MAGIC && head[4] == VERSION;
+    }
+}
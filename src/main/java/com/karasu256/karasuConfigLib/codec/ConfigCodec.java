@@ -0,0 +1,79 @@
+package com.karasu256.karasuConfigLib.codec;
+
+import com.google.gson.Gson;
+
+import java.io.IOException;
+
+/**
+ * 設定ファイルの保存形式を表すインターフェース
+ * <p>
+ * 設定クラスは{@link com.karasu256.karasuConfigLib.annotation.Config#codec()}で使用するコーデックの名前を指定します。
+ * 独自のコーデックは{@link ConfigCodecs#register(ConfigCodec)}で登録してから使用してください。
+ * </p>
+ *
+ * <p>
+ * 実装はスレッドセーフである必要があります。エンコードとデコードは複数のI/Oスレッドから
+ * 同時に呼び出されることがあります。
+ * </p>
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ * @see ConfigCodecs
+ */
+public interface ConfigCodec {
+
+    /**
+     * コーデックの名前を取得します
+     *
+     * @return {@link com.karasu256.karasuConfigLib.annotation.Config#codec()}で指定する名前
+     */
+    String getName();
+
+    /**
+     * 値をファイルの内容にエンコードします
+     *
+     * @param value エンコードする値（設定オブジェクトまたはJSONツリー）
+     * @param gson  シリアライズに使用するGson
+     * @return ファイルの内容
+     * @throws IOException エンコードに失敗した場合
+     */
+    byte[] encode(Object value, Gson gson) throws IOException;
+
+    /**
+     * ファイルの内容を値にデコードします
+     *
+     * @param <T>  値の型
+     * @param data ファイルの内容
+     * @param type 値のクラス
+     * @param gson デシリアライズに使用するGson
+     * @return デコードした値、内容が空の場合はnull
+     * @throws IOException デコードに失敗した場合
+     */
+    <T> T decode(byte[] data, Class<T> type, Gson gson) throws IOException;
+
+    /**
+     * エンコードした内容がUTF-8のJSONテキストかどうかを返します
+     * <p>
+     * trueの場合、ジャーナル方式の保存を使用できます。
+     * </p>
+     *
+     * @return JSONテキストの場合はtrue
+     */
+    default boolean isJsonText() {
+        return false;
+    }
+
+    /**
+     * ファイルの内容がこのコーデックの形式かどうかを先頭のバイトから判定します
+     * <p>
+     * 設定クラスのコーデックを変更した後、以前のコーデックで保存されたファイルを見分けるために使用します。
+     * 形式を判定できないコーデックはfalseを返します。
+     * </p>
+     *
+     * @param head ファイルの先頭の{@link ConfigCodecs#HEAD_BYTES}バイト以下、またはファイル全体
+     * @return このコーデックの形式の場合はtrue
+     */
+    default boolean matches(byte[] head) {
+        return false;
+    }
+}
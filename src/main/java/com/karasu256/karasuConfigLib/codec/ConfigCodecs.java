@@ -0,0 +1,110 @@
+package com.karasu256.karasuConfigLib.codec;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 設定ファイルのコーデックを名前で管理するレジストリ
+ * <p>
+ * 次の組み込みコーデックがあらかじめ登録されています。
+ * </p>
+ * <ul>
+ * <li>{@code json} - インデント付きのJSON（デフォルト）。手で編集する設定に使用します</li>
+ * <li>{@code json-compact} - 空白を含まないJSON。機械が書き込む大きなデータに使用します</li>
+ * <li>{@code json-gzip} - GZIPで圧縮したJSON</li>
+ * <li>{@code binary} - タグ付きのバイナリ形式。字句解析が不要なため最も速く読み込めます</li>
+ * </ul>
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ */
+public final class ConfigCodecs {
+
+    /** インデント付きのJSON */
+    public static final ConfigCodec PRETTY_JSON = new JsonCodec("json", true);
+
+    /** 空白を含まないJSON */
+    public static final ConfigCodec COMPACT_JSON = new JsonCodec("json-compact", false);
+
+    /** GZIPで圧縮したJSON */
+    public static final ConfigCodec GZIP_JSON = new GzipJsonCodec("json-gzip");
+
+    /** タグ付きのバイナリ形式 */
+    public static final ConfigCodec BINARY = new BinaryCodec("binary");
+
+    /** {@link #detect(byte[])}に渡すファイルの先頭のバイト数 */
+    public static final int HEAD_BYTES = 64;
+
+    /** 形式を判定する順序の組み込みコーデック */
+    private static final List<ConfigCodec> BUILT_IN = List.of(BINARY, GZIP_JSON, PRETTY_JSON);
+
+    /** 名前とコーデックのマッピング */
+    private static final Map<String, ConfigCodec> CODECS = new ConcurrentHashMap<>();
+
+    static {
+        register(PRETTY_JSON);
+        register(COMPACT_JSON);
+        register(GZIP_JSON);
+        register(BINARY);
+    }
+
+    private ConfigCodecs() {
+    }
+
+    /**
+     * コーデックを登録します。同じ名前のコーデックが登録されている場合は置き換えます
+     * <p>
+     * 設定を読み込む前、通常は{@code onLoad}で登録してください。
+     * </p>
+     *
+     * @param codec 登録するコーデック
+     */
+    public static void register(ConfigCodec codec) {
+        Objects.requireNonNull(codec, "codec");
+        CODECS.put(codec.getName(), codec);
+    }
+
+    /**
+     * 名前からコーデックを取得します
+     *
+     * @param name コーデックの名前
+     * @return コーデック
+     * @throws IllegalArgumentException 指定した名前のコーデックが登録されていない場合
+     */
+    public static ConfigCodec get(String name) {
+        ConfigCodec codec = CODECS.get(name);
+        if (codec == null) {
+            throw new IllegalArgumentException("Unknown config codec: " + name);
+        }
+        return codec;
+    }
+
+    /**
+     * ファイルの先頭のバイトから、ファイルを保存したコーデックを判定します
+     * <p>
+     * 組み込みコーデックを先に判定し、次に{@link ConfigCodec#matches(byte[])}を実装した登録済みのコーデックを判定します。
+     * JSONテキストはインデントの有無を区別できないため、{@link #PRETTY_JSON}を返します。
+     * </p>
+     *
+     * @param head ファイルの先頭の{@link #HEAD_BYTES}バイト以下、またはファイル全体
+     * @return 判定したコーデック、判定できない場合はnull
+     */
+    @Nullable
+    public static ConfigCodec detect(byte[] head) {
+        for (ConfigCodec codec : BUILT_IN) {
+            if (codec.matches(head)) {
+                return codec;
+            }
+        }
+        for (ConfigCodec codec : CODECS.values()) {
+            if (codec.matches(head)) {
+                return codec;
+            }
+        }
+        return null;
+    }
+}
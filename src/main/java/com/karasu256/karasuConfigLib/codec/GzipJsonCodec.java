@@ -0,0 +1,65 @@
+package com.karasu256.karasuConfigLib.codec;
+
+import com.google.gson.Gson;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 空白を含まないJSONをGZIPで圧縮するコーデック
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ */
+final class GzipJsonCodec implements ConfigCodec {
+
+    /** 圧縮と展開に使用するバッファのサイズ */
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    /** コーデックの名前 */
+    private final String name;
+
+    GzipJsonCodec(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public byte[] encode(Object value, Gson gson) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (Writer out = new OutputStreamWriter(new GZIPOutputStream(bytes, BUFFER_SIZE),
+                StandardCharsets.UTF_8)) {
+            JsonCodec.write(value, gson, out, false);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public <T> T decode(byte[] data, Class<T> type, Gson gson) throws IOException {
+        if (data.length == 0) {
+            return null;
+        }
+        try (Reader in = new InputStreamReader(
+                new GZIPInputStream(new ByteArrayInputStream(data), BUFFER_SIZE), StandardCharsets.UTF_8)) {
+            return gson.fromJson(in, type);
+        }
+    }
+
+    @Override
+    public boolean matches(byte[] head) {
+        return head.length >= 2 && (head[0] & 0xFF) == (GZIPInputStream.GZIP_MAGIC & 0xFF)
+                && (head[1] & 0xFF) == GZIPInputStream.GZIP_MAGIC >>> 8;
+    }
+}
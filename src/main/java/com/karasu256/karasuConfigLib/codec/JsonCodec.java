@@ -0,0 +1,89 @@
+package com.karasu256.karasuConfigLib.codec;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * JSONテキストのコーデック
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ */
+final class JsonCodec implements ConfigCodec {
+
+    /** コーデックの名前 */
+    private final String name;
+
+    /** Gsonの設定どおりにインデントするかどうか */
+    private final boolean pretty;
+
+    JsonCodec(String name, boolean pretty) {
+        this.name = name;
+        this.pretty = pretty;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public byte[] encode(Object value, Gson gson) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (Writer out = new OutputStreamWriter(bytes, StandardCharsets.UTF_8)) {
+            write(value, gson, out, pretty);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public <T> T decode(byte[] data, Class<T> type, Gson gson) throws IOException {
+        return gson.fromJson(new InputStreamReader(new ByteArrayInputStream(data), StandardCharsets.UTF_8), type);
+    }
+
+    @Override
+    public boolean isJsonText() {
+        return true;
+    }
+
+    @Override
+    public boolean matches(byte[] head) {
+        int i = 0;
+        // UTF-8のBOMを読み飛ばす
+        if (head.length >= 3 && (head[0] & 0xFF) == 0xEF && (head[1] & 0xFF) == 0xBB && (head[2] & 0xFF) == 0xBF) {
+            i = 3;
+        }
+        while (i < head.length && Character.isWhitespace(head[i])) {
+            i++;
+        }
+        return i < head.length && (head[i] == '{' || head[i] == '[');
+    }
+
+    /**
+     * 値をJSONとして書き込みます
+     *
+     * @param value  書き込む値
+     * @param gson   シリアライズに使用するGson
+     * @param out    書き込み先
+     * @param pretty Gsonの設定どおりにインデントする場合はtrue、空白を含めない場合はfalse
+     * @throws IOException 書き込みに失敗した場合
+     */
+    static void write(Object value, Gson gson, Writer out, boolean pretty) throws IOException {
+        if (pretty) {
+            gson.toJson(value, out);
+            return;
+        }
+        JsonWriter writer = gson.newJsonWriter(out);
+        writer.setIndent("");
+        gson.toJson(value, value == null ? Object.class : value.getClass(), writer);
+        writer.flush();
+    }
+}
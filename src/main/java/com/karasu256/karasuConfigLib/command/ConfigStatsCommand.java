@@ -0,0 +1,262 @@
+package com.karasu256.karasuConfigLib.command;
+
+import com.karasu256.karasuConfigLib.metrics.ConfigMetrics;
+import com.karasu256.karasuConfigLib.metrics.OperationStats;
+import com.karasu256.karasuConfigLib.util.TickBudgetExecutor;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.TabExecutor;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * 設定ファイルの読み書きの集計を表示する{@code /karasuconfig}コマンド
+ * <p>
+ * 使用方法:
+ * </p>
+ *
+ * <pre>
+ * /karasuconfig stats                   プラグインごとの集計と再読み込みの反映待ちの状況を表示
+ * /karasuconfig stats &lt;plugin&gt; [page]   プラグインの集計をファイルごとに1ページずつ表示
+ * /karasuconfig reset [plugin]          集計を0に戻す
+ * </pre>
+ *
+ * <p>
+ * 集計の表示には{@code karasuconfig.stats}、集計を0に戻すにはさらに{@code karasuconfig.reset}の権限が必要です。
+ * プラグインは{@link org.bukkit.plugin.Plugin#getName()}の名前で指定します。
+ * </p>
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ * @see ConfigMetrics
+ */
+public final class ConfigStatsCommand implements TabExecutor {
+
+    /** 集計を表示するサブコマンド */
+    private static final String STATS = "stats";
+
+    /** 集計を0に戻すサブコマンド */
+    private static final String RESET = "reset";
+
+    /** 集計を0に戻すために必要な権限 */
+    private static final String RESET_PERMISSION = "karasuconfig.reset";
+
+    /** ファイルごとの集計で1ページに表示するファイル数 */
+    private static final int FILES_PER_PAGE = 10;
+
+    /**
+     * コマンドを作成します
+     */
+    public ConfigStatsCommand() {
+    }
+
+    @Override
+    public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+        if (args.length == 0) {
+            return false;
+        }
+
+        Map<String, ConfigMetrics> registered = ConfigMetrics.getRegistered();
+        String pluginName = args.length >= 2 ? args[1] : null;
+        if (pluginName != null && !registered.containsKey(pluginName)) {
+            sender.sendMessage("No config metrics for plugin " + pluginName);
+            return true;
+        }
+
+        switch (args[0].toLowerCase(Locale.ROOT)) {
+            case STATS -> {
+                if (pluginName == null) {
+                    showTickBudget(sender, TickBudgetExecutor.getInstalled());
+                    showPlugins(sender, registered);
+                } else {
+                    Integer page = args.length >= 3 ? parsePage(args[2]) : Integer.valueOf(1);
+                    if (page == null) {
+                        sender.sendMessage("Invalid page: " + args[2]);
+                        return true;
+                    }
+                    showFiles(sender, pluginName, registered.get(pluginName), page);
+                }
+                return true;
+            }
+            case RESET -> {
+                if (!sender.hasPermission(RESET_PERMISSION)) {
+                    sender.sendMessage("You do not have permission to reset config metrics");
+                    return true;
+                }
+                if (pluginName == null) {
+                    registered.values().forEach(ConfigMetrics::reset);
+                    TickBudgetExecutor executor = TickBudgetExecutor.getInstalled();
+                    if (executor != null) {
+                        executor.reset();
+                    }
+                    sender.sendMessage("Reset config metrics of " + registered.size() + " plugins");
+                } else {
+                    registered.get(pluginName).reset();
+                    sender.sendMessage("Reset config metrics of " + pluginName);
+                }
+                return true;
+            }
+            default -> {
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public List<String> onTabComplete(CommandSender sender, Command command, String label, String[] args) {
+        List<String> candidates = new ArrayList<>();
+        if (args.length == 1) {
+            candidates.add(STATS);
+            if (sender.hasPermission(RESET_PERMISSION)) {
+                candidates.add(RESET);
+            }
+        } else if (args.length == 2) {
+            candidates.addAll(new TreeSet<>(ConfigMetrics.getRegistered().keySet()));
+        }
+        String prefix = args.length == 0 ? "" : args[args.length - 1].toLowerCase(Locale.ROOT);
+        candidates.removeIf(candidate -> !candidate.toLowerCase(Locale.ROOT).startsWith(prefix));
+        return candidates;
+    }
+
+    /**
+     * 再読み込みした設定の差し替えの集計を表示します。Executorが有効でない場合は何も表示しません
+     *
+     * @param sender   コマンドの送信者
+     * @param executor 再読み込みした設定を差し替えるExecutor
+     */
+    private static void showTickBudget(CommandSender sender, @Nullable TickBudgetExecutor executor) {
+        if (executor == null) {
+            return;
+        }
+        long ticks = executor.getTickCount();
+        long meanNanos = ticks == 0 ? 0 : executor.getBusyNanos() / ticks;
+        sender.sendMessage(String.format(Locale.ROOT,
+                "Reload apply budget=%s queued=%d maxQueued=%d applied=%d dropped=%d ticks=%d carriedOver=%d/%d"
+                        + " mean=%s max=%s",
+                formatNanos(executor.getBudget().toNanos()), executor.getQueueDepth(), executor.getMaxQueueDepth(),
+                executor.getExecutedCount(), executor.getDroppedCount(), ticks, executor.getCarriedOverTicks(), executor.getCarriedOverTasks(),
+                formatNanos(meanNanos), formatNanos(executor.getMaxTickNanos())));
+    }
+
+    /**
+     * プラグインごとの集計を表示します
+     *
+     * @param sender     コマンドの送信者
+     * @param registered プラグイン名と集計
+     */
+    private static void showPlugins(CommandSender sender, Map<String, ConfigMetrics> registered) {
+        if (registered.isEmpty()) {
+            sender.sendMessage("No plugins are recording config metrics");
+            return;
+        }
+        for (String pluginName : new TreeSet<>(registered.keySet())) {
+            ConfigMetrics metrics = registered.get(pluginName);
+            sender.sendMessage(pluginName + " (" + metrics.getFileNames().size() + " files)");
+            for (ConfigMetrics.Operation operation : ConfigMetrics.Operation.values()) {
+                showOperation(sender, "  ", operation, metrics.getTotal(operation));
+            }
+        }
+    }
+
+    /**
+     * ページ番号を解析します
+     *
+     * @param arg コマンドの引数
+     * @return 1以上のページ番号、数値でない場合はnull
+     */
+    @Nullable
+    private static Integer parsePage(String arg) {
+        try {
+            int page = Integer.parseInt(arg);
+            return page >= 1 ? page : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * プラグインの集計を、ファイルごとに{@link #FILES_PER_PAGE}ファイルずつ表示します
+     *
+     * @param sender     コマンドの送信者
+     * @param pluginName プラグイン名
+     * @param metrics    プラグインの集計
+     * @param page       1から始まるページ番号
+     */
+    private static void showFiles(CommandSender sender, String pluginName, ConfigMetrics metrics, int page) {
+        List<String> fileNames = new ArrayList<>(new TreeSet<>(metrics.getFileNames()));
+        int pages = Math.max(1, (fileNames.size() + FILES_PER_PAGE - 1) / FILES_PER_PAGE);
+        if (page > pages) {
+            sender.sendMessage(pluginName + " has only " + pages + " pages of config metrics");
+            return;
+        }
+
+        sender.sendMessage(pluginName + " total (" + fileNames.size() + " files, page " + page + "/" + pages + ")");
+        for (ConfigMetrics.Operation operation : ConfigMetrics.Operation.values()) {
+            showOperation(sender, "  ", operation, metrics.getTotal(operation));
+        }
+        int from = (page - 1) * FILES_PER_PAGE;
+        for (String fileName : fileNames.subList(from, Math.min(from + FILES_PER_PAGE, fileNames.size()))) {
+            sender.sendMessage(fileName);
+            for (ConfigMetrics.Operation operation : ConfigMetrics.Operation.values()) {
+                OperationStats stats = metrics.get(fileName, operation);
+                if (stats != null) {
+                    showOperation(sender, "  ", operation, stats);
+                }
+            }
+        }
+    }
+
+    /**
+     * 1種類の操作の集計を1行で表示します。記録がない場合は何も表示しません
+     *
+     * @param sender    コマンドの送信者
+     * @param indent    行頭の字下げ
+     * @param operation 操作の種類
+     * @param stats     集計
+     */
+    private static void showOperation(CommandSender sender, String indent, ConfigMetrics.Operation operation,
+            OperationStats stats) {
+        long count = stats.getCount();
+        if (count == 0) {
+            return;
+        }
+        String line = String.format(Locale.ROOT, "%s%-9s n=%d mean=%s p99=%s max=%s", indent,
+                operation.name().toLowerCase(Locale.ROOT), count, formatNanos(stats.getMeanNanos()),
+                formatNanos(stats.getPercentileNanos(0.99)), formatNanos(stats.getMaxNanos()));
+        if (stats.getBytes() > 0) {
+            line += " bytes=" + formatBytes(stats.getBytes());
+        }
+        sender.sendMessage(line);
+    }
+
+    /**
+     * 処理時間をミリ秒で表した文字列に変換します
+     *
+     * @param nanos 処理時間（ナノ秒）
+     * @return ミリ秒の文字列
+     */
+    private static String formatNanos(long nanos) {
+        return String.format(Locale.ROOT, "%.2fms", nanos / 1_000_000.0);
+    }
+
+    /**
+     * バイト数を読みやすい単位の文字列に変換します
+     *
+     * @param bytes バイト数
+     * @return 単位付きの文字列
+     */
+    private static String formatBytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + "B";
+        }
+        if (bytes < 1024 * 1024) {
+            return String.format(Locale.ROOT, "%.1fKiB", bytes / 1024.0);
+        }
+        return String.format(Locale.ROOT, "%.1fMiB", bytes / (1024.0 * 1024.0));
+    }
+}
@@ -2,12 +2,18 @@ package com.karasu256.karasuConfigLib.config;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
 import com.google.gson.TypeAdapter;
 import com.google.gson.TypeAdapterFactory;
+import com.karasu256.karasuConfigLib.jfr.GsonRebuildEvent;
+import org.jetbrains.annotations.Nullable;
+
 
 import java.lang.reflect.Type;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.function.Consumer;
 
 /**
  * 設定クラスの基底抽象クラスです。
@@ -44,22 +50,196 @@ public abstract class BaseConfig {
      * JSON変換に使用するGsonBuilderインスタンス。
      * すべてのアダプタや設定はこのビルダーに追加されます。
      */
-    private static final GsonBuilder GSON_BUILDER = new GsonBuilder().setPrettyPrinting();
+    private static final GsonBuilder GSON_BUILDER = new GsonBuilder().setPrettyPrinting()
+            .registerTypeAdapterFactory(GeneratedAdapterFactory.INSTANCE);
 
     /**
-     * 登録済みの型アダプタを保持するマップ
+     * 登録済みの型アダプタを保持するマップ。{@code BaseConfig.class}で同期します
      */
-    private static final Map<Type, TypeAdapter<?>> TYPE_ADAPTERS = new HashMap<>();
+    private static final Map<Type, TypeAdapter<?>> TYPE_ADAPTERS = new LinkedHashMap<>();
 
     /**
-     * 登録済みの型アダプタファクトリを保持するリスト
+     * 登録済みの型アダプタファクトリを保持するリスト。{@code BaseConfig.class}で同期します
      */
-    private static final Map<Class<?>, TypeAdapterFactory> TYPE_ADAPTER_FACTORIES = new HashMap<>();
+    private static final Map<Class<?>, TypeAdapterFactory> TYPE_ADAPTER_FACTORIES = new LinkedHashMap<>();
 
     /**
      * 現在のGsonBuilderから構築されたGsonインスタンス
+     * <p>
+     * 再構築時には新しいインスタンスに丸ごと置き換えるため、読み取り側はロックなしで
+     * 常に構築済みのインスタンスを参照できます。
+     * </p>
+     */
+    private static volatile Gson GSON = GSON_BUILDER.create();
+
+    /**
+     * 変更回数を更新するためのアップデータ
+     */
+    private static final AtomicIntegerFieldUpdater<BaseConfig> MODIFICATION_COUNT = AtomicIntegerFieldUpdater
+            .newUpdater(BaseConfig.class, "modificationCount");
+
+    /**
+     * {@link #markDirty()}が呼び出された回数
+     */
+    private transient volatile int modificationCount;
+
+    /**
+     * 最後にファイルと同期したときの変更回数
+     */
+    private transient volatile int persistedModificationCount;
+
+    /**
+     * 最後にファイルと同期したときの内容のフィンガープリント
+     */
+    private transient volatile long persistedFingerprint;
+
+    /**
+     * ファイルと一度でも同期したかどうか
+     */
+    private transient volatile boolean persisted;
+
+    /**
+     * 最後にファイルと同期したときの内容のバイト数
+     */
+    private transient volatile int persistedSize;
+
+    /**
+     * 最後にファイルから読み込んだときのJSONツリー。変更リスナーが登録された設定だけが保持します
+     */
+    private transient volatile JsonElement loadedTree;
+
+    /**
+     * {@link #loadedTree}を記録したときの変更回数
+     */
+    private transient volatile int loadedTreeModificationCount;
+
+    /**
+     * この設定が変更されたことを通知します。
+     * 
+     * <p>
+     * 明示的な変更追跡を有効にしたプラグインでは、このメソッドが呼び出された設定だけが
+     * {@code save()}で書き込まれます。変更追跡を有効にしていない場合でも、次回の保存で
+     * 内容が同じかどうかに関わらず書き込みが行われるようになります。
+     * </p>
      */
-    private static Gson GSON = GSON_BUILDER.create();
+    public void markDirty() {
+        MODIFICATION_COUNT.incrementAndGet(this);
+    }
+
+    /**
+     * 最後にファイルと同期してから変更があったかどうかを返します。
+     * 
+     * @return 未保存の変更がある場合、またはまだ一度も保存されていない場合はtrue
+     */
+    public boolean isDirty() {
+        return !persisted || modificationCount != persistedModificationCount;
+    }
+
+    /**
+     * 現在の変更回数を取得します。
+     * 
+     * <p>
+     * シリアライズの直前に取得し、書き込み完了後に{@link #markPersisted(long, int)}へ渡すことで、
+     * 書き込み中に行われた変更を見落とさないようにします。
+     * </p>
+     * 
+     * @return 変更回数
+     */
+    public int getModificationCount() {
+        return modificationCount;
+    }
+
+    /**
+     * この設定がファイルと同期されたことを記録します。
+     * 
+     * @param fingerprint       ファイルの内容のフィンガープリント
+     * @param modificationCount 内容をシリアライズしたときの変更回数
+     */
+    public void markPersisted(long fingerprint, int modificationCount) {
+        this.persistedFingerprint = fingerprint;
+        this.persistedModificationCount = modificationCount;
+        this.persisted = true;
+    }
+
+    /**
+     * この設定がファイルと同期されたことを、内容の大きさとともに記録します。
+     * 
+     * @param fingerprint       ファイルの内容のフィンガープリント
+     * @param modificationCount 内容をシリアライズしたときの変更回数
+     * @param size              ファイルの内容のバイト数
+     */
+    public void markPersisted(long fingerprint, int modificationCount, int size) {
+        this.persistedSize = size;
+        markPersisted(fingerprint, modificationCount);
+    }
+
+    /**
+     * ファイルから読み込んだときのJSONツリーを記録します。
+     * 
+     * <p>
+     * 再読み込みで変更の差分を計算するときに、メインスレッドで設定をシリアライズし直さずに済むよう、
+     * 読み込みを行ったスレッドで作成したツリーを渡します。ツリーは変更しないでください。
+     * </p>
+     * 
+     * @param tree 読み込んだ設定のJSONツリー
+     */
+    public void markLoaded(JsonElement tree) {
+        this.loadedTreeModificationCount = modificationCount;
+        this.loadedTree = tree;
+    }
+
+    /**
+     * ファイルから読み込んだときのJSONツリーを取得します。
+     * 
+     * <p>
+     * 読み込んだ後に{@link #markDirty()}が呼び出された場合は、ツリーが現在の内容と異なるためnullを返します。
+     * </p>
+     * 
+     * @return 読み込んだときのJSONツリー、記録されていないか変更された場合はnull
+     */
+    @Nullable
+    public JsonElement getLoadedTree() {
+        JsonElement tree = loadedTree;
+        return tree != null && loadedTreeModificationCount == modificationCount ? tree : null;
+    }
+
+    /**
+     * 最後にファイルと同期したときの内容のバイト数を取得します。
+     * 
+     * <p>
+     * 設定がメモリ上で占める大きさの目安として使用します。
+     * </p>
+     * 
+     * @return バイト数、大きさが記録されていない場合は0
+     */
+    public int getPersistedSize() {
+        return persistedSize;
+    }
+
+    /**
+     * 指定した内容が最後にファイルと同期した内容と一致するかどうかを返します。
+     * 
+     * <p>
+     * {@link #isPersistedAs(long)}と異なり、メモリ上の未保存の変更の有無は考慮しません。
+     * ファイルが外部から変更されたかどうかを判定するために使用します。
+     * </p>
+     * 
+     * @param fingerprint 比較する内容のフィンガープリント
+     * @return 最後に読み込んだ、または保存した内容と一致する場合はtrue
+     */
+    public boolean isSyncedWith(long fingerprint) {
+        return persisted && persistedFingerprint == fingerprint;
+    }
+
+    /**
+     * 指定した内容がすでにファイルに保存されているかどうかを返します。
+     * 
+     * @param fingerprint 比較する内容のフィンガープリント
+     * @return 変更が通知されておらず、最後に保存した内容と一致する場合はtrue
+     */
+    public boolean isPersistedAs(long fingerprint) {
+        return !isDirty() && persistedFingerprint == fingerprint;
+    }
 
     /**
      * カスタム型アダプタを登録します。
@@ -101,9 +281,10 @@ public abstract class BaseConfig {
      * @param type    アダプタが対応する型のクラス
      * @param adapter 登録する型アダプタ
      */
-    public static <T> void registerTypeAdapter(Type type, TypeAdapter<T> adapter) {
-        TYPE_ADAPTERS.put(type, adapter);
-        rebuildGson();
+    public static synchronized <T> void registerTypeAdapter(Type type, TypeAdapter<T> adapter) {
+        if (TYPE_ADAPTERS.put(type, adapter) != adapter) {
+            rebuildGson();
+        }
     }
 
     /**
@@ -117,9 +298,48 @@ public abstract class BaseConfig {
      * @param factoryClass ファクトリクラス
      * @param factory      登録する型アダプタファクトリ
      */
-    public static void registerTypeAdapterFactory(Class<?> factoryClass, TypeAdapterFactory factory) {
-        TYPE_ADAPTER_FACTORIES.put(factoryClass, factory);
-        rebuildGson();
+    public static synchronized void registerTypeAdapterFactory(Class<?> factoryClass, TypeAdapterFactory factory) {
+        if (TYPE_ADAPTER_FACTORIES.put(factoryClass, factory) != factory) {
+            rebuildGson();
+        }
+    }
+
+    /**
+     * 複数の型アダプタと型アダプタファクトリをまとめて登録します。
+     * 
+     * <p>
+     * {@link #registerTypeAdapter(Type, TypeAdapter)}は呼び出すたびにGsonインスタンスを再構築し、
+     * Gsonが内部に持つ型アダプタのキャッシュも破棄されます。多数のアダプタを登録する場合は
+     * このメソッドを使用することで、再構築を一度だけにできます。
+     * </p>
+     * 
+     * <p>
+     * 例:
+     * </p>
+     * 
+     * <pre>
+     * BaseConfig.registerTypeAdapters(batch -&gt; batch
+     *         .typeAdapter(LocalDateTime.class, dateAdapter)
+     *         .typeAdapter(UUID.class, uuidAdapter)
+     *         .typeAdapterFactory(MyFactory.class, new MyFactory()));
+     * </pre>
+     * 
+     * @param registrar 登録するアダプタを{@link AdapterBatch}に追加する処理
+     */
+    public static synchronized void registerTypeAdapters(Consumer<AdapterBatch> registrar) {
+        AdapterBatch batch = new AdapterBatch();
+        registrar.accept(batch);
+
+        boolean changed = false;
+        for (Map.Entry<Type, TypeAdapter<?>> entry : batch.typeAdapters.entrySet()) {
+            changed |= TYPE_ADAPTERS.put(entry.getKey(), entry.getValue()) != entry.getValue();
+        }
+        for (Map.Entry<Class<?>, TypeAdapterFactory> entry : batch.typeAdapterFactories.entrySet()) {
+            changed |= TYPE_ADAPTER_FACTORIES.put(entry.getKey(), entry.getValue()) != entry.getValue();
+        }
+        if (changed) {
+            rebuildGson();
+        }
     }
 
     /**
@@ -127,8 +347,13 @@ public abstract class BaseConfig {
      * Gsonインスタンスを再構築します。
      */
     private static synchronized void rebuildGson() {
+        GsonRebuildEvent event = new GsonRebuildEvent();
+        event.begin();
         GsonBuilder builder = new GsonBuilder().setPrettyPrinting();
 
+        // 生成された型アダプタは、明示的に登録されたアダプタより優先度を低くするため最初に適用
+        builder.registerTypeAdapterFactory(GeneratedAdapterFactory.INSTANCE);
+
         // 登録されているすべての型アダプタを適用
         for (Map.Entry<Type, TypeAdapter<?>> entry : TYPE_ADAPTERS.entrySet()) {
             builder.registerTypeAdapter(entry.getKey(), entry.getValue());
@@ -141,6 +366,13 @@ public abstract class BaseConfig {
 
         // GSONインスタンスを更新
         GSON = builder.create();
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.typeAdapters = TYPE_ADAPTERS.size();
+            event.typeAdapterFactories = TYPE_ADAPTER_FACTORIES.size();
+            event.commit();
+        }
     }
 
     /**
@@ -181,4 +413,43 @@ public abstract class BaseConfig {
     public static <T extends BaseConfig> T fromJson(String json, Class<T> type) {
         return GSON.fromJson(json, type);
     }
+
+    /**
+     * {@link #registerTypeAdapters(Consumer)}でまとめて登録するアダプタを保持するクラス
+     */
+    public static final class AdapterBatch {
+        /** 登録する型アダプタ */
+        private final Map<Type, TypeAdapter<?>> typeAdapters = new LinkedHashMap<>();
+
+        /** 登録する型アダプタファクトリ */
+        private final Map<Class<?>, TypeAdapterFactory> typeAdapterFactories = new LinkedHashMap<>();
+
+        private AdapterBatch() {
+        }
+
+        /**
+         * 型アダプタを追加します
+         * 
+         * @param <T>     アダプタが対応する型
+         * @param type    アダプタが対応する型のクラス
+         * @param adapter 登録する型アダプタ
+         * @return このバッチ
+         */
+        public <T> AdapterBatch typeAdapter(Type type, TypeAdapter<T> adapter) {
+            typeAdapters.put(type, adapter);
+            return this;
+        }
+
+        /**
+         * 型アダプタファクトリを追加します
+         * 
+         * @param factoryClass ファクトリクラス
+         * @param factory      登録する型アダプタファクトリ
+         * @return このバッチ
+         */
+        public AdapterBatch typeAdapterFactory(Class<?> factoryClass, TypeAdapterFactory factory) {
+            typeAdapterFactories.put(factoryClass, factory);
+            return this;
+        }
+    }
 }
@@ -0,0 +1,685 @@
+package com.karasu256.karasuConfigLib.config;
+
+import com.google.gson.annotations.SerializedName;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 設定クラスのフィールドを{@code .}区切りのパスで読み書きするアクセサ
+ * <p>
+ * {@code rewards.daily.amount}のようなパスは作成時に一度だけフィールドに解決され、
+ * フィールドを順にたどる一つの{@link MethodHandle}にまとめられます。以降の読み書きはリフレクションを行わず、
+ * {@link OfInt}などのプリミティブ型用のアクセサではボクシングによるオブジェクトの生成も行いません。
+ * パスの各要素にはフィールド名か、{@link SerializedName}で指定したJSONでの項目名を使用できます。
+ * </p>
+ *
+ * <p>
+ * アクセサは不変でスレッドセーフです。{@code static final}フィールドに保持すると、
+ * JITコンパイラがフィールドの読み書きを直接行うコードに展開できます。
+ * </p>
+ *
+ * <pre>
+ * private static final ConfigPath.OfInt&lt;RewardConfig&gt; DAILY_AMOUNT =
+ *         ConfigPath.ofInt(RewardConfig.class, "rewards.daily.amount");
+ *
+ * int amount = DAILY_AMOUNT.getInt(config);
+ * DAILY_AMOUNT.setInt(config, amount + 10);
+ * </pre>
+ *
+ * <p>
+ * 途中のフィールドの値がnullの場合、読み書きは{@link NullPointerException}を送出します。
+ * 書き込みを行うと、対象の設定の{@link BaseConfig#markDirty()}が呼び出されます。
+ * </p>
+ *
+ * @param <C> 設定クラスの型
+ * @param <V> フィールドの値の型
+ * @author Hashibutogarasu
+ * @version 1.0
+ */
+public final class ConfigPath<C extends BaseConfig, V> {
+
+    /** 設定クラスごとの、解決済みのパスのキャッシュ */
+    private static final ClassValue<Map<String, Resolved>> RESOLVED = new ClassValue<>() {
+        @Override
+        protected Map<String, Resolved> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /** 解決済みのパス */
+    private final Resolved resolved;
+
+    /** 値の型 */
+    private final Class<V> valueType;
+
+    /** {@code (BaseConfig)Object}型の読み取り用のハンドル */
+    private final MethodHandle getter;
+
+    /** {@code (BaseConfig,Object)void}型の書き込み用のハンドル、書き込めない場合はnull */
+    private final MethodHandle setter;
+
+    private ConfigPath(Resolved resolved, Class<V> valueType) {
+        this.resolved = resolved;
+        this.valueType = valueType;
+        this.getter = resolved.getter(Object.class);
+        this.setter = resolved.setter(Object.class);
+    }
+
+    /**
+     * パスを解決してアクセサを作成します
+     *
+     * @param configType 設定クラス
+     * @param path       {@code .}区切りのフィールドのパス
+     * @param <C>        BaseConfigを継承したクラス
+     * @return アクセサ
+     * @throws IllegalArgumentException パスを解決できない場合
+     */
+    public static <C extends BaseConfig> ConfigPath<C, Object> of(Class<C> configType, String path) {
+        return new ConfigPath<>(resolve(configType, path), Object.class);
+    }
+
+    /**
+     * パスを解決して、値の型を指定したアクセサを作成します
+     * <p>
+     * プリミティブ型のフィールドには、対応するラッパー型を指定してください。
+     * </p>
+     *
+     * @param configType 設定クラス
+     * @param path       {@code .}区切りのフィールドのパス
+     * @param valueType  値の型
+     * @param <C>        BaseConfigを継承したクラス
+     * @param <V>        値の型
+     * @return アクセサ
+     * @throws IllegalArgumentException パスを解決できない場合、またはフィールドの型が値の型と一致しない場合
+     */
+    public static <C extends BaseConfig, V> ConfigPath<C, V> of(Class<C> configType, String path,
+            Class<V> valueType) {
+        Resolved resolved = resolve(configType, path);
+        Class<?> fieldType = MethodType.methodType(resolved.leaf.getType()).wrap().returnType();
+        if (!valueType.isAssignableFrom(fieldType)) {
+            throw new IllegalArgumentException("Field " + path + " of " + configType.getName() + " is of type "
+                    + resolved.leaf.getType().getName() + ", not " + valueType.getName());
+        }
+        return new ConfigPath<>(resolved, valueType);
+    }
+
+    /**
+     * int型のフィールドのアクセサを作成します
+     * <p>
+     * {@code Integer}型のフィールドはnullを保持できるため、{@link #of(Class, String, Class)}を使用してください。
+     * </p>
+     *
+     * @param configType 設定クラス
+     * @param path       {@code .}区切りのフィールドのパス
+     * @param <C>        BaseConfigを継承したクラス
+     * @return アクセサ
+     * @throws IllegalArgumentException パスを解決できない場合、またはフィールドがint型でない場合
+     */
+    public static <C extends BaseConfig> OfInt<C> ofInt(Class<C> configType, String path) {
+        return new OfInt<>(resolve(configType, path, int.class));
+    }
+
+    /**
+     * long型のフィールドのアクセサを作成します
+     * <p>
+     * {@code Long}型のフィールドはnullを保持できるため、{@link #of(Class, String, Class)}を使用してください。
+     * </p>
+     *
+     * @param configType 設定クラス
+     * @param path       {@code .}区切りのフィールドのパス
+     * @param <C>        BaseConfigを継承したクラス
+     * @return アクセサ
+     * @throws IllegalArgumentException パスを解決できない場合、またはフィールドがlong型でない場合
+     */
+    public static <C extends BaseConfig> OfLong<C> ofLong(Class<C> configType, String path) {
+        return new OfLong<>(resolve(configType, path, long.class));
+    }
+
+    /**
+     * double型のフィールドのアクセサを作成します
+     * <p>
+     * {@code Double}型のフィールドはnullを保持できるため、{@link #of(Class, String, Class)}を使用してください。
+     * </p>
+     *
+     * @param configType 設定クラス
+     * @param path       {@code .}区切りのフィールドのパス
+     * @param <C>        BaseConfigを継承したクラス
+     * @return アクセサ
+     * @throws IllegalArgumentException パスを解決できない場合、またはフィールドがdouble型でない場合
+     */
+    public static <C extends BaseConfig> OfDouble<C> ofDouble(Class<C> configType, String path) {
+        return new OfDouble<>(resolve(configType, path, double.class));
+    }
+
+    /**
+     * boolean型のフィールドのアクセサを作成します
+     * <p>
+     * {@code Boolean}型のフィールドはnullを保持できるため、{@link #of(Class, String, Class)}を使用してください。
+     * </p>
+     *
+     * @param configType 設定クラス
+     * @param path       {@code .}区切りのフィールドのパス
+     * @param <C>        BaseConfigを継承したクラス
+     * @return アクセサ
+     * @throws IllegalArgumentException パスを解決できない場合、またはフィールドがboolean型でない場合
+     */
+    public static <C extends BaseConfig> OfBoolean<C> ofBoolean(Class<C> configType, String path) {
+        return new OfBoolean<>(resolve(configType, path, boolean.class));
+    }
+
+    /**
+     * フィールドの値を読み取ります
+     *
+     * @param config 設定オブジェクト
+     * @return フィールドの値
+     */
+    public V get(C config) {
+        try {
+            return valueType.cast((Object) getter.invokeExact((BaseConfig) config));
+        } catch (Throwable e) {
+            throw propagate(e);
+        }
+    }
+
+    /**
+     * フィールドに値を書き込みます
+     *
+     * @param config 設定オブジェクト
+     * @param value  書き込む値
+     * @throws UnsupportedOperationException フィールドがfinalの場合
+     */
+    public void set(C config, V value) {
+        try {
+            ensureWritable(setter, resolved).invokeExact((BaseConfig) config, (Object) value);
+        } catch (Throwable e) {
+            throw propagate(e);
+        }
+        config.markDirty();
+    }
+
+    /**
+     * パスを取得します
+     *
+     * @return {@code .}区切りのフィールドのパス
+     */
+    public String getPath() {
+        return resolved.path;
+    }
+
+    /**
+     * 値の型を取得します
+     *
+     * @return 値の型
+     */
+    public Class<V> getValueType() {
+        return valueType;
+    }
+
+    @Override
+    public String toString() {
+        return "ConfigPath[" + resolved.path + "]";
+    }
+
+    /**
+     * パスを解決し、フィールドの型がプリミティブ型と一致することを確認します
+     * <p>
+     * ラッパー型のフィールドは受け付けません。nullを保持している場合にアンボクシングで
+     * {@link NullPointerException}が発生し、値の書き込みでもボクシングが必要になるためです。
+     * </p>
+     *
+     * @param configType 設定クラス
+     * @param path       {@code .}区切りのフィールドのパス
+     * @param expected   期待するプリミティブ型
+     * @return 解決済みのパス
+     * @throws IllegalArgumentException パスを解決できない場合、またはフィールドの型が一致しない場合
+     */
+    private static Resolved resolve(Class<?> configType, String path, Class<?> expected) {
+        Resolved resolved = resolve(configType, path);
+        Class<?> fieldType = resolved.leaf.getType();
+        if (fieldType != expected) {
+            Class<?> wrapper = MethodType.methodType(expected).wrap().returnType();
+            String hint = fieldType == wrapper ? ", use ConfigPath.of(type, path, " + wrapper.getSimpleName()
+                    + ".class) for wrapper fields" : "";
+            throw new IllegalArgumentException("Field " + path + " of " + configType.getName() + " is of type "
+                    + fieldType.getName() + ", not " + expected.getName() + hint);
+        }
+        return resolved;
+    }
+
+    /**
+     * パスを解決します。結果は設定クラスとパスごとにキャッシュされます
+     *
+     * @param configType 設定クラス
+     * @param path       {@code .}区切りのフィールドのパス
+     * @return 解決済みのパス
+     * @throws IllegalArgumentException パスを解決できない場合
+     */
+    private static Resolved resolve(Class<?> configType, String path) {
+        Map<String, Resolved> cache = RESOLVED.get(configType);
+        Resolved resolved = cache.get(path);
+        if (resolved == null) {
+            resolved = new Resolved(configType, path);
+            Resolved existing = cache.putIfAbsent(path, resolved);
+            if (existing != null) {
+                resolved = existing;
+            }
+        }
+        return resolved;
+    }
+
+    /**
+     * 書き込み用のハンドルが存在することを確認します
+     *
+     * @param setter   書き込み用のハンドル
+     * @param resolved 解決済みのパス
+     * @return 書き込み用のハンドル
+     * @throws UnsupportedOperationException フィールドがfinalの場合
+     */
+    private static MethodHandle ensureWritable(MethodHandle setter, Resolved resolved) {
+        if (setter == null) {
+            throw new UnsupportedOperationException("Field " + resolved.path + " is final");
+        }
+        return setter;
+    }
+
+    /**
+     * ハンドルの呼び出しで発生した例外を非チェック例外として送出できる形にします
+     *
+     * @param e 発生した例外
+     * @return 送出する例外
+     */
+    private static RuntimeException propagate(Throwable e) {
+        if (e instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (e instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(e);
+    }
+
+    /**
+     * int型のフィールドのアクセサ
+     *
+     * @param <C> 設定クラスの型
+     */
+    public static final class OfInt<C extends BaseConfig> {
+        /** 解決済みのパス */
+        private final Resolved resolved;
+
+        /** {@code (BaseConfig)int}型の読み取り用のハンドル */
+        private final MethodHandle getter;
+
+        /** {@code (BaseConfig,int)void}型の書き込み用のハンドル、書き込めない場合はnull */
+        private final MethodHandle setter;
+
+        private OfInt(Resolved resolved) {
+            this.resolved = resolved;
+            this.getter = resolved.getter(int.class);
+            this.setter = resolved.setter(int.class);
+        }
+
+        /**
+         * フィールドの値を読み取ります
+         *
+         * @param config 設定オブジェクト
+         * @return フィールドの値
+         */
+        public int getInt(C config) {
+            try {
+                return (int) getter.invokeExact((BaseConfig) config);
+            } catch (Throwable e) {
+                throw propagate(e);
+            }
+        }
+
+        /**
+         * フィールドに値を書き込みます
+         *
+         * @param config 設定オブジェクト
+         * @param value  書き込む値
+         * @throws UnsupportedOperationException フィールドがfinalの場合
+         */
+        public void setInt(C config, int value) {
+            try {
+                ensureWritable(setter, resolved).invokeExact((BaseConfig) config, value);
+            } catch (Throwable e) {
+                throw propagate(e);
+            }
+            config.markDirty();
+        }
+
+        /**
+         * パスを取得します
+         *
+         * @return {@code .}区切りのフィールドのパス
+         */
+        public String getPath() {
+            return resolved.path;
+        }
+    }
+
+    /**
+     * long型のフィールドのアクセサ
+     *
+     * @param <C> 設定クラスの型
+     */
+    public static final class OfLong<C extends BaseConfig> {
+        /** 解決済みのパス */
+        private final Resolved resolved;
+
+        /** {@code (BaseConfig)long}型の読み取り用のハンドル */
+        private final MethodHandle getter;
+
+        /** {@code (BaseConfig,long)void}型の書き込み用のハンドル、書き込めない場合はnull */
+        private final MethodHandle setter;
+
+        private OfLong(Resolved resolved) {
+            this.resolved = resolved;
+            this.getter = resolved.getter(long.class);
+            this.setter = resolved.setter(long.class);
+        }
+
+        /**
+         * フィールドの値を読み取ります
+         *
+         * @param config 設定オブジェクト
+         * @return フィールドの値
+         */
+        public long getLong(C config) {
+            try {
+                return (long) getter.invokeExact((BaseConfig) config);
+            } catch (Throwable e) {
+                throw propagate(e);
+            }
+        }
+
+        /**
+         * フィールドに値を書き込みます
+         *
+         * @param config 設定オブジェクト
+         * @param value  書き込む値
+         * @throws UnsupportedOperationException フィールドがfinalの場合
+         */
+        public void setLong(C config, long value) {
+            try {
+                ensureWritable(setter, resolved).invokeExact((BaseConfig) config, value);
+            } catch (Throwable e) {
+                throw propagate(e);
+            }
+            config.markDirty();
+        }
+
+        /**
+         * パスを取得します
+         *
+         * @return {@code .}区切りのフィールドのパス
+         */
+        public String getPath() {
+            return resolved.path;
+        }
+    }
+
+    /**
+     * double型のフィールドのアクセサ
+     *
+     * @param <C> 設定クラスの型
+     */
+    public static final class OfDouble<C extends BaseConfig> {
+        /** 解決済みのパス */
+        private final Resolved resolved;
+
+        /** {@code (BaseConfig)double}型の読み取り用のハンドル */
+        private final MethodHandle getter;
+
+        /** {@code (BaseConfig,double)void}型の書き込み用のハンドル、書き込めない場合はnull */
+        private final MethodHandle setter;
+
+        private OfDouble(Resolved resolved) {
+            this.resolved = resolved;
+            this.getter = resolved.getter(double.class);
+            this.setter = resolved.setter(double.class);
+        }
+
+        /**
+         * フィールドの値を読み取ります
+         *
+         * @param config 設定オブジェクト
+         * @return フィールドの値
+         */
+        public double getDouble(C config) {
+            try {
+                return (double) getter.invokeExact((BaseConfig) config);
+            } catch (Throwable e) {
+                throw propagate(e);
+            }
+        }
+
+        /**
+         * フィールドに値を書き込みます
+         *
+         * @param config 設定オブジェクト
+         * @param value  書き込む値
+         * @throws UnsupportedOperationException フィールドがfinalの場合
+         */
+        public void setDouble(C config, double value) {
+            try {
+                ensureWritable(setter, resolved).invokeExact((BaseConfig) config, value);
+            } catch (Throwable e) {
+                throw propagate(e);
+            }
+            config.markDirty();
+        }
+
+        /**
+         * パスを取得します
+         *
+         * @return {@code .}区切りのフィールドのパス
+         */
+        public String getPath() {
+            return resolved.path;
+        }
+    }
+
+    /**
+     * boolean型のフィールドのアクセサ
+     *
+     * @param <C> 設定クラスの型
+     */
+    public static final class OfBoolean<C extends BaseConfig> {
+        /** 解決済みのパス */
+        private final Resolved resolved;
+
+        /** {@code (BaseConfig)boolean}型の読み取り用のハンドル */
+        private final MethodHandle getter;
+
+        /** {@code (BaseConfig,boolean)void}型の書き込み用のハンドル、書き込めない場合はnull */
+        private final MethodHandle setter;
+
+        private OfBoolean(Resolved resolved) {
+            this.resolved = resolved;
+            this.getter = resolved.getter(boolean.class);
+            this.setter = resolved.setter(boolean.class);
+        }
+
+        /**
+         * フィールドの値を読み取ります
+         *
+         * @param config 設定オブジェクト
+         * @return フィールドの値
+         */
+        public boolean getBoolean(C config) {
+            try {
+                return (boolean) getter.invokeExact((BaseConfig) config);
+            } catch (Throwable e) {
+                throw propagate(e);
+            }
+        }
+
+        /**
+         * フィールドに値を書き込みます
+         *
+         * @param config 設定オブジェクト
+         * @param value  書き込む値
+         * @throws UnsupportedOperationException フィールドがfinalの場合
+         */
+        public void setBoolean(C config, boolean value) {
+            try {
+                ensureWritable(setter, resolved).invokeExact((BaseConfig) config, value);
+            } catch (Throwable e) {
+                throw propagate(e);
+            }
+            config.markDirty();
+        }
+
+        /**
+         * パスを取得します
+         *
+         * @return {@code .}区切りのフィールドのパス
+         */
+        public String getPath() {
+            return resolved.path;
+        }
+    }
+
+    /**
+     * フィールドに解決したパス
+     */
+    private static final class Resolved {
+        /** パス */
+        private final String path;
+
+        /** 最後のフィールドを持つオブジェクトまでたどる{@code (BaseConfig)Object}型のハンドル */
+        private final MethodHandle parent;
+
+        /** 最後のフィールド */
+        private final Field leaf;
+
+        /** 最後のフィールドの読み取り用のハンドル */
+        private final MethodHandle leafGetter;
+
+        /** 最後のフィールドの書き込み用のハンドル、finalの場合はnull */
+        private final MethodHandle leafSetter;
+
+        private Resolved(Class<?> configType, String path) {
+            String[] names = path.split("\\.", -1);
+            if (path.isEmpty() || Arrays.asList(names).contains("")) {
+                throw new IllegalArgumentException("Invalid config path: '" + path + "'");
+            }
+
+            try {
+                MethodHandle chain = MethodHandles.identity(BaseConfig.class)
+                        .asType(MethodType.methodType(Object.class, BaseConfig.class));
+                Class<?> owner = configType;
+                for (int i = 0; i < names.length - 1; i++) {
+                    Field field = findField(owner, names[i], path);
+                    MethodHandle getter = unreflectGetter(field)
+                            .asType(MethodType.methodType(Object.class, Object.class));
+                    chain = MethodHandles.filterReturnValue(chain, getter);
+                    owner = field.getType();
+                }
+
+                this.path = path;
+                this.parent = chain;
+                this.leaf = findField(owner, names[names.length - 1], path);
+                this.leafGetter = unreflectGetter(leaf);
+                this.leafSetter = Modifier.isFinal(leaf.getModifiers()) ? null : unreflectSetter(leaf);
+            } catch (IllegalAccessException | RuntimeException e) {
+                if (e instanceof IllegalArgumentException illegal) {
+                    throw illegal;
+                }
+                throw new IllegalArgumentException("Cannot access config path " + path + " of "
+                        + configType.getName() + ": " + e, e);
+            }
+        }
+
+        /**
+         * {@code (BaseConfig)type}型の読み取り用のハンドルを作成します
+         *
+         * @param type 戻り値の型
+         * @return ハンドル
+         */
+        private MethodHandle getter(Class<?> type) {
+            MethodHandle leafHandle = leafGetter.asType(MethodType.methodType(type, Object.class));
+            return MethodHandles.filterReturnValue(parent, leafHandle);
+        }
+
+        /**
+         * {@code (BaseConfig,type)void}型の書き込み用のハンドルを作成します
+         *
+         * @param type 値の型
+         * @return ハンドル、フィールドがfinalの場合はnull
+         */
+        private MethodHandle setter(Class<?> type) {
+            if (leafSetter == null) {
+                return null;
+            }
+            MethodHandle leafHandle = leafSetter.asType(MethodType.methodType(void.class, Object.class, type));
+            return MethodHandles.filterArguments(leafHandle, 0, parent);
+        }
+
+        /**
+         * クラスとそのスーパークラスから、名前かJSONでの項目名が一致するインスタンスフィールドを探します
+         *
+         * @param owner フィールドを持つクラス
+         * @param name  フィールド名またはJSONでの項目名
+         * @param path  エラーメッセージに使用するパス
+         * @return フィールド
+         * @throws IllegalArgumentException フィールドが見つからない場合
+         */
+        private static Field findField(Class<?> owner, String name, String path) {
+            Field byName = null;
+            for (Class<?> type = owner; type != null && type != Object.class; type = type.getSuperclass()) {
+                for (Field field : type.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers())) {
+                        continue;
+                    }
+                    SerializedName serialized = field.getAnnotation(SerializedName.class);
+                    if (serialized != null && (serialized.value().equals(name)
+                            || Arrays.asList(serialized.alternate()).contains(name))) {
+                        return field;
+                    }
+                    if (byName == null && field.getName().equals(name)) {
+                        byName = field;
+                    }
+                }
+            }
+            if (byName == null) {
+                throw new IllegalArgumentException("No field '" + name + "' in " + owner.getName()
+                        + " for config path " + path);
+            }
+            return byName;
+        }
+
+        /**
+         * フィールドの読み取り用のハンドルを作成します
+         *
+         * @param field フィールド
+         * @return ハンドル
+         * @throws IllegalAccessException フィールドにアクセスできない場合
+         */
+        private static MethodHandle unreflectGetter(Field field) throws IllegalAccessException {
+            field.setAccessible(true);
+            return MethodHandles.lookup().unreflectGetter(field);
+        }
+
+        /**
+         * フィールドの書き込み用のハンドルを作成します
+         *
+         * @param field フィールド
+         * @return ハンドル
+         * @throws IllegalAccessException フィールドにアクセスできない場合
+         */
+        private static MethodHandle unreflectSetter(Field field) throws IllegalAccessException {
+            field.setAccessible(true);
+            return MethodHandles.lookup().unreflectSetter(field);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.karasu256.karasuConfigLib.config;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.reflect.TypeToken;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+
+/**
+ * アノテーションプロセッサが生成した型アダプタを提供するファクトリ
+ * <p>
+ * 設定クラスと同じパッケージに{@code <クラス名>_KarasuTypeAdapter}が存在する場合に、
+ * そのアダプタを返します。生成されたアダプタはリフレクションを使用せずにフィールドを読み書きするため、
+ * Gsonのリフレクションによる処理よりも高速に動作します。生成されたアダプタが存在しない設定クラスでは
+ * nullを返し、Gsonの通常の処理が使用されます。
+ * </p>
+ *
+ * <p>
+ * 生成されたアダプタは対象のクラスと完全に一致する型にのみ使用されます。
+ * サブクラスにはそのサブクラス用に生成されたアダプタが使用されます。
+ * </p>
+ *
+ * <p>
+ * 生成されたアダプタはboolean・int・long・String型のフィールドをGsonの組み込みのアダプタと同じ方法で
+ * 直接読み書きします。Gsonインスタンスにこれらの型のアダプタが登録されている場合や、
+ * {@code LongSerializationPolicy}などで組み込みのアダプタが置き換えられている場合は、
+ * 登録されたアダプタが使用されるようにnullを返し、Gsonのリフレクションによる処理に任せます。
+ * </p>
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ * @see BaseConfig
+ */
+final class GeneratedAdapterFactory implements TypeAdapterFactory {
+
+    /** 唯一のインスタンス */
+    static final GeneratedAdapterFactory INSTANCE = new GeneratedAdapterFactory();
+
+    /** 生成されたアダプタのクラス名の接尾辞 */
+    private static final String ADAPTER_SUFFIX = "_KarasuTypeAdapter";
+
+    /** 組み込みのアダプタを比較するための、アダプタを登録していないGsonインスタンス */
+    private static final Gson DEFAULT_GSON = new Gson();
+
+    /** 生成されたアダプタが直接読み書きする型 */
+    private static final List<Class<?>> DIRECT_TYPES = List.of(boolean.class, int.class, long.class, String.class);
+
+    /** 設定クラスごとの生成されたアダプタのコンストラクタ、存在しない場合はnull */
+    private static final ClassValue<MethodHandle> CONSTRUCTORS = new ClassValue<>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> type) {
+            return findConstructor(type);
+        }
+    };
+
+    private GeneratedAdapterFactory() {
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        Class<? super T> rawType = type.getRawType();
+        if (!BaseConfig.class.isAssignableFrom(rawType)) {
+            return null;
+        }
+
+        MethodHandle constructor = CONSTRUCTORS.get(rawType);
+        if (constructor == null || !usesBuiltinAdapters(gson)) {
+            return null;
+        }
+
+        try {
+            return (TypeAdapter<T>) (TypeAdapter<?>) constructor.invokeExact(gson);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Failed to create generated TypeAdapter for " + rawType.getName(), e);
+        }
+    }
+
+    /**
+     * 生成されたアダプタが直接読み書きする型に、Gsonの組み込みのアダプタが使用されるかどうかを返します
+     *
+     * @param gson アダプタを作成するGsonインスタンス
+     * @return すべての型に組み込みのアダプタが使用される場合はtrue
+     */
+    private static boolean usesBuiltinAdapters(Gson gson) {
+        for (Class<?> type : DIRECT_TYPES) {
+            if (gson.getAdapter(type) != DEFAULT_GSON.getAdapter(type)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 設定クラスに対応する生成されたアダプタのコンストラクタを探します
+     *
+     * @param type 設定クラス
+     * @return {@code (Gson)TypeAdapter}型に変換したコンストラクタ、生成されたアダプタが存在しない場合はnull
+     */
+    private static MethodHandle findConstructor(Class<?> type) {
+        if (type.isAnnotationPresent(JsonAdapter.class)) {
+            // クラスに指定されたアダプタをGsonが使用するため、生成されたアダプタは使用しない
+            return null;
+        }
+
+        String packageName = type.getPackageName();
+        String binaryName = packageName.isEmpty() ? type.getName()
+                : type.getName().substring(packageName.length() + 1);
+        String adapterName = (packageName.isEmpty() ? "" : packageName + ".")
+                + binaryName.replace('$', '_') + ADAPTER_SUFFIX;
+
+        try {
+            Class<?> adapterClass = Class.forName(adapterName, true, type.getClassLoader());
+            if (!TypeAdapter.class.isAssignableFrom(adapterClass)) {
+                return null;
+            }
+            return MethodHandles.publicLookup()
+                    .findConstructor(adapterClass, MethodType.methodType(void.class, Gson.class))
+                    .asType(MethodType.methodType(TypeAdapter.class, Gson.class));
+        } catch (ReflectiveOperationException | LinkageError e) {
+            // アダプタが生成されていない、または利用できない設定クラス
+            return null;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.karasu256.karasuConfigLib.event;
+
+import com.google.gson.JsonElement;
+
+/**
+ * 再読み込みで変更された設定の1つの項目
+ * <p>
+ * パスはJSONでの項目名を{@code .}で区切ったもので、配列の要素は{@code items[2]}のように添字で表します。
+ * 値は変更前後のJSONの値で、項目が追加または削除された場合は一方がnullになります。
+ * </p>
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ */
+public final class ConfigChange {
+
+    /**
+     * 変更の種類
+     */
+    public enum Type {
+        /** 項目が追加された */
+        ADDED,
+        /** 項目が削除された */
+        REMOVED,
+        /** 項目の値が変更された */
+        MODIFIED
+    }
+
+    /** 変更された項目のパス */
+    private final String path;
+
+    /** 変更前の値、追加された場合はnull */
+    private final JsonElement oldValue;
+
+    /** 変更後の値、削除された場合はnull */
+    private final JsonElement newValue;
+
+    /**
+     * 変更を作成します
+     *
+     * @param path     変更された項目のパス
+     * @param oldValue 変更前の値、追加された場合はnull
+     * @param newValue 変更後の値、削除された場合はnull
+     */
+    public ConfigChange(String path, JsonElement oldValue, JsonElement newValue) {
+        this.path = path;
+        this.oldValue = oldValue;
+        this.newValue = newValue;
+    }
+
+    /**
+     * 変更された項目のパスを取得します
+     *
+     * @return パス（設定全体が置き換えられた場合は空文字）
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * 変更前の値を取得します。値は設定が保持するツリーの一部のため、変更しないでください
+     *
+     * @return 変更前のJSONの値、追加された場合はnull
+     */
+    public JsonElement getOldValue() {
+        return oldValue;
+    }
+
+    /**
+     * 変更後の値を取得します。値は設定が保持するツリーの一部のため、変更しないでください
+     *
+     * @return 変更後のJSONの値、削除された場合はnull
+     */
+    public JsonElement getNewValue() {
+        return newValue;
+    }
+
+    /**
+     * 変更の種類を取得します
+     *
+     * @return 変更の種類
+     */
+    public Type getType() {
+        if (oldValue == null) {
+            return Type.ADDED;
+        }
+        return newValue == null ? Type.REMOVED : Type.MODIFIED;
+    }
+
+    @Override
+    public String toString() {
+        return path + ": " + oldValue + " -> " + newValue;
+    }
+}
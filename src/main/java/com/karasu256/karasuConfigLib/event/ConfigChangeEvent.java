@@ -0,0 +1,97 @@
+package com.karasu256.karasuConfigLib.event;
+
+import com.karasu256.karasuConfigLib.config.BaseConfig;
+
+import java.util.List;
+
+/**
+ * 再読み込みによる設定の変更を通知するイベント
+ * <p>
+ * リスナーが購読したパスに関係する変更だけが{@link #getChanges()}に含まれます。
+ * </p>
+ *
+ * @param <C> 設定クラスの型
+ * @author Hashibutogarasu
+ * @version 1.0
+ * @see ConfigChangeListener
+ */
+public final class ConfigChangeEvent<C extends BaseConfig> {
+
+    /** 設定ファイル名 */
+    private final String fileName;
+
+    /** 再読み込み前の設定 */
+    private final C oldConfig;
+
+    /** 再読み込み後の設定 */
+    private final C newConfig;
+
+    /** 購読したパスに関係する変更 */
+    private final List<ConfigChange> changes;
+
+    /**
+     * イベントを作成します
+     *
+     * @param fileName  設定ファイル名
+     * @param oldConfig 再読み込み前の設定
+     * @param newConfig 再読み込み後の設定
+     * @param changes   購読したパスに関係する変更
+     */
+    public ConfigChangeEvent(String fileName, C oldConfig, C newConfig, List<ConfigChange> changes) {
+        this.fileName = fileName;
+        this.oldConfig = oldConfig;
+        this.newConfig = newConfig;
+        this.changes = List.copyOf(changes);
+    }
+
+    /**
+     * 設定ファイル名を取得します
+     *
+     * @return 設定ファイル名
+     */
+    public String getFileName() {
+        return fileName;
+    }
+
+    /**
+     * 再読み込み前の設定を取得します
+     *
+     * @return 再読み込み前の設定オブジェクト
+     */
+    public C getOldConfig() {
+        return oldConfig;
+    }
+
+    /**
+     * 再読み込み後の設定を取得します
+     *
+     * @return 再読み込み後の設定オブジェクト
+     */
+    public C getNewConfig() {
+        return newConfig;
+    }
+
+    /**
+     * 購読したパスに関係する変更を取得します
+     *
+     * @return 変更の変更不可能なリスト
+     */
+    public List<ConfigChange> getChanges() {
+        return changes;
+    }
+
+    /**
+     * 指定したパスか、その下の項目が変更されたかどうかを返します
+     *
+     * @param path 項目のパス
+     * @return 変更された場合はtrue
+     */
+    public boolean isChanged(String path) {
+        for (ConfigChange change : changes) {
+            if (ConfigDiff.isRelated(path, change.getPath())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,25 @@
+package com.karasu256.karasuConfigLib.event;
+
+import com.karasu256.karasuConfigLib.config.BaseConfig;
+
+/**
+ * 再読み込みによる設定の変更を受け取るリスナー
+ * <p>
+ * リスナーはメインスレッドで、再読み込みした設定がレジストリに反映された後に呼び出されます。
+ * </p>
+ *
+ * @param <C> 設定クラスの型
+ * @author Hashibutogarasu
+ * @version 1.0
+ * @see com.karasu256.karasuConfigLib.AbstractJavaPluginConfigable#addChangeListener(Class, String, ConfigChangeListener)
+ */
+@FunctionalInterface
+public interface ConfigChangeListener<C extends BaseConfig> {
+
+    /**
+     * 設定の変更を受け取ります
+     *
+     * @param event 変更の内容
+     */
+    void onChange(ConfigChangeEvent<C> event);
+}
@@ -0,0 +1,141 @@
+package com.karasu256.karasuConfigLib.event;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 2つのJSONツリーの構造的な差分を計算するユーティリティクラス
+ * <p>
+ * オブジェクトは項目ごとに、同じ長さの配列は要素ごとに再帰的に比較し、値が異なる最も深い項目を
+ * 変更として返します。長さの異なる配列や型の異なる値は、その項目全体の変更として扱います。
+ * 計算量は比較する2つのツリーの大きさに比例します。
+ * </p>
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ */
+public final class ConfigDiff {
+
+    private ConfigDiff() {
+    }
+
+    /**
+     * 2つのJSONツリーの差分を計算します
+     *
+     * @param oldTree 変更前のツリー
+     * @param newTree 変更後のツリー
+     * @return 変更された項目のリスト（変更がない場合は空のリスト）
+     */
+    public static List<ConfigChange> diff(JsonElement oldTree, JsonElement newTree) {
+        List<ConfigChange> changes = new ArrayList<>();
+        diff("", oldTree, newTree, changes);
+        return changes;
+    }
+
+    /**
+     * 購読したパスと変更されたパスが関係するかどうかを返します
+     * <p>
+     * 一方が他方と等しいか、他方の祖先である場合に関係するとみなします。
+     * そのため、{@code a}の購読は{@code a.b}の変更を受け取り、{@code a.b}の購読は{@code a}全体の変更を受け取ります。
+     * 空のパスはすべての項目に関係します。
+     * </p>
+     *
+     * @param subscribed 購読したパス
+     * @param changed    変更されたパス
+     * @return 関係する場合はtrue
+     */
+    public static boolean isRelated(String subscribed, String changed) {
+        return isSelfOrAncestor(subscribed, changed) || isSelfOrAncestor(changed, subscribed);
+    }
+
+    /**
+     * 一方のパスが他方と等しいか、その祖先かどうかを返します
+     *
+     * @param ancestor   祖先の候補のパス
+     * @param descendant 子孫の候補のパス
+     * @return 等しいか祖先である場合はtrue
+     */
+    private static boolean isSelfOrAncestor(String ancestor, String descendant) {
+        if (ancestor.isEmpty()) {
+            return true;
+        }
+        if (!descendant.startsWith(ancestor)) {
+            return false;
+        }
+        if (descendant.length() == ancestor.length()) {
+            return true;
+        }
+        char next = descendant.charAt(ancestor.length());
+        return next == '.' || next == '[';
+    }
+
+    /**
+     * 差分を再帰的に計算します
+     *
+     * @param path     現在の項目のパス
+     * @param oldValue 変更前の値
+     * @param newValue 変更後の値
+     * @param changes  変更を追加するリスト
+     */
+    private static void diff(String path, JsonElement oldValue, JsonElement newValue, List<ConfigChange> changes) {
+        if (oldValue == newValue) {
+            return;
+        }
+        if (oldValue != null && newValue != null) {
+            if (oldValue.isJsonObject() && newValue.isJsonObject()) {
+                diffObjects(path, oldValue.getAsJsonObject(), newValue.getAsJsonObject(), changes);
+                return;
+            }
+            if (oldValue.isJsonArray() && newValue.isJsonArray()
+                    && oldValue.getAsJsonArray().size() == newValue.getAsJsonArray().size()) {
+                diffArrays(path, oldValue.getAsJsonArray(), newValue.getAsJsonArray(), changes);
+                return;
+            }
+            if (oldValue.equals(newValue)) {
+                return;
+            }
+        }
+        changes.add(new ConfigChange(path, oldValue, newValue));
+    }
+
+    /**
+     * オブジェクトの項目ごとの差分を計算します
+     *
+     * @param path     オブジェクトのパス
+     * @param oldValue 変更前のオブジェクト
+     * @param newValue 変更後のオブジェクト
+     * @param changes  変更を追加するリスト
+     */
+    private static void diffObjects(String path, JsonObject oldValue, JsonObject newValue,
+            List<ConfigChange> changes) {
+        String prefix = path.isEmpty() ? "" : path + ".";
+        for (Map.Entry<String, JsonElement> entry : oldValue.entrySet()) {
+            diff(prefix + entry.getKey(), entry.getValue(), newValue.get(entry.getKey()), changes);
+        }
+        for (Map.Entry<String, JsonElement> entry : newValue.entrySet()) {
+            if (!oldValue.has(entry.getKey())) {
+                changes.add(new ConfigChange(prefix + entry.getKey(), null, entry.getValue()));
+            }
+        }
+    }
+
+    /**
+     * 同じ長さの配列の要素ごとの差分を計算します
+     *
+     * @param path     配列のパス
+     * @param oldValue 変更前の配列
+     * @param newValue 変更後の配列
+     * @param changes  変更を追加するリスト
+     */
+    private static void diffArrays(String path, JsonArray oldValue, JsonArray newValue,
+            List<ConfigChange> changes) {
+        for (int i = 0; i < oldValue.size(); i++) {
+            diff(path + "[" + i + "]", oldValue.get(i), newValue.get(i), changes);
+        }
+    }
+}
@@ -0,0 +1,421 @@
+package com.karasu256.karasuConfigLib.io;
+
+import com.karasu256.karasuConfigLib.util.ConfigExecutors;
+import com.karasu256.karasuConfigLib.util.ConfigUtils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.logging.Logger;
+
+/**
+ * 設定ファイルをクラッシュに強い方法で書き込むユーティリティクラス
+ * <p>
+ * 内容は同じディレクトリの一時ファイルに書き込まれ、fsyncで永続化した後に
+ * {@link StandardCopyOption#ATOMIC_MOVE}で置き換えられます。書き込みの途中でプロセスが
+ * 終了しても、対象のファイルは書き込み前の内容か書き込み後の内容のどちらかになり、
+ * 空のファイルや途中までしか書かれていないファイルが残ることはありません。
+ * </p>
+ *
+ * <p>
+ * 複数のファイルをまとめて書き込む場合は{@link #batch()}を使用します。一時ファイルのfsyncを
+ * 並行して発行し、置き換えの後のディレクトリのfsyncをディレクトリごとに一度だけ行います。
+ * </p>
+ *
+ * <p>
+ * 一時ファイルには置き換える対象のファイルのパーミッションが引き継がれるため、保存によって
+ * 設定ファイルのパーミッションが変わることはありません。置き換えの前にプロセスが終了して残った
+ * 一時ファイルは{@link #deleteStaleTempFiles(Path)}で削除できます。
+ * </p>
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ */
+public final class AtomicFileWriter {
+
+    /** クラス用のロガーインスタンス */
+    private static final Logger LOGGER = ConfigUtils.LOGGER;
+
+    /** 一時ファイルの拡張子 */
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    /** このプロセスが開始した時刻、これより前に作成された一時ファイルは以前のプロセスが残したもの */
+    private static final Instant PROCESS_START = ProcessHandle.current().info().startInstant()
+            .orElseGet(Instant::now);
+
+    /** 逐次書き込みで使用するバッファのサイズ */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private AtomicFileWriter() {
+    }
+
+    /**
+     * 文字列をファイルにアトミックに書き込みます
+     *
+     * @param target  書き込み先のパス
+     * @param content 書き込む内容
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public static void write(Path target, String content) throws IOException {
+        write(target, StandardCharsets.UTF_8.encode(content));
+    }
+
+    /**
+     * バイト列をファイルにアトミックに書き込みます
+     *
+     * @param target  書き込み先のパス
+     * @param content 書き込む内容
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public static void write(Path target, byte[] content) throws IOException {
+        write(target, ByteBuffer.wrap(content));
+    }
+
+    /**
+     * バッファの内容をファイルにアトミックに書き込みます
+     *
+     * @param target  書き込み先のパス
+     * @param content 書き込む内容
+     * @throws IOException 書き込みに失敗した場合
+     */
+    private static void write(Path target, ByteBuffer content) throws IOException {
+        Path temp = writeTemp(target, content);
+        try {
+            force(temp);
+            move(temp, target);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        forceDirectory(target.toAbsolutePath().getParent());
+    }
+
+    /**
+     * 内容を逐次書き込む処理を使用して、ファイルにアトミックに書き込みます
+     * <p>
+     * 内容はバッファ付きの{@link Writer}を通じて一時ファイルに直接書き込まれるため、
+     * 大きな内容でもファイル全体を文字列としてメモリ上に構築する必要がありません。
+     * </p>
+     *
+     * @param target  書き込み先のパス
+     * @param content 内容を書き込む処理
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public static void write(Path target, ContentWriter content) throws IOException {
+        Path temp = createTemp(target);
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+                    Writer writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8),
+                            BUFFER_SIZE)) {
+                content.writeTo(writer);
+                writer.flush();
+                channel.force(true);
+            }
+            move(temp, target);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        forceDirectory(target.toAbsolutePath().getParent());
+    }
+
+    /**
+     * 複数のファイルをまとめて書き込むためのバッチを作成します
+     *
+     * @return 新しいバッチ
+     */
+    public static Batch batch() {
+        return new Batch();
+    }
+
+    /**
+     * 対象と同じディレクトリに一時ファイルを作成して内容を書き込みます
+     *
+     * @param target  書き込み先のパス
+     * @param content 書き込む内容
+     * @return 一時ファイルのパス
+     * @throws IOException 書き込みに失敗した場合
+     */
+    private static Path writeTemp(Path target, ByteBuffer content) throws IOException {
+        Path temp = createTemp(target);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = content.duplicate();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        return temp;
+    }
+
+    /**
+     * 対象と同じディレクトリに空の一時ファイルを作成します
+     * <p>
+     * 対象のファイルが存在する場合はそのパーミッションを一時ファイルに設定し、存在しない場合は
+     * 通常のファイルと同じパーミッションで作成します。
+     * </p>
+     *
+     * @param target 書き込み先のパス
+     * @return 一時ファイルのパス
+     * @throws IOException 作成に失敗した場合
+     */
+    static Path createTemp(Path target) throws IOException {
+        Path directory = target.toAbsolutePath().getParent();
+        String prefix = "." + target.getFileName() + ".";
+        while (true) {
+            // Files.createTempFileは所有者だけが読み書きできるファイルを作成するため使用しない
+            Path temp = directory.resolve(prefix + Long.toHexString(ThreadLocalRandom.current().nextLong())
+                    + TEMP_SUFFIX);
+            try {
+                Files.createFile(temp);
+            } catch (FileAlreadyExistsException e) {
+                continue;
+            }
+            copyPermissions(target, temp);
+            return temp;
+        }
+    }
+
+    /**
+     * ファイルのPOSIXパーミッションを別のファイルに設定します
+     * <p>
+     * コピー元が存在しない場合や、POSIXパーミッションに対応していないファイルシステムでは何もしません。
+     * </p>
+     *
+     * @param source コピー元のファイル
+     * @param target 設定するファイル
+     * @throws IOException パーミッションの設定に失敗した場合
+     */
+    private static void copyPermissions(Path source, Path target) throws IOException {
+        PosixFileAttributeView view = Files.getFileAttributeView(source, PosixFileAttributeView.class);
+        if (view == null) {
+            return;
+        }
+        try {
+            Files.setPosixFilePermissions(target, view.readAttributes().permissions());
+        } catch (NoSuchFileException e) {
+            // 新しく作成するファイル
+        }
+    }
+
+    /**
+     * 以前のプロセスが置き換えの前に終了して残した一時ファイルを削除します
+     * <p>
+     * このプロセスの開始より前に作成された、{@code .<ファイル名>...tmp}という名前のファイルだけを削除するため、
+     * 書き込み中の一時ファイルが削除されることはありません。
+     * </p>
+     *
+     * @param directory 設定ファイルのディレクトリ
+     * @return 削除したファイルの数
+     */
+    public static int deleteStaleTempFiles(Path directory) {
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+        int deleted = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, ".*" + TEMP_SUFFIX)) {
+            for (Path file : files) {
+                try {
+                    if (Files.isRegularFile(file)
+                            && Files.getLastModifiedTime(file).toInstant().isBefore(PROCESS_START)) {
+                        Files.delete(file);
+                        deleted++;
+                    }
+                } catch (IOException e) {
+                    LOGGER.warning("Failed to delete leftover temporary file " + file + ": " + e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.warning("Failed to list leftover temporary files in " + directory + ": " + e.getMessage());
+        }
+        if (deleted > 0) {
+            LOGGER.info("Deleted " + deleted + " leftover temporary files in " + directory);
+        }
+        return deleted;
+    }
+
+    /**
+     * ファイルの内容をストレージに永続化します
+     *
+     * @param file 対象のファイル
+     * @throws IOException fsyncに失敗した場合
+     */
+    private static void force(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+    }
+
+    /**
+     * 一時ファイルを対象のファイルに置き換えます
+     *
+     * @param temp   一時ファイル
+     * @param target 置き換える対象のファイル
+     * @throws IOException 置き換えに失敗した場合
+     */
+    private static void move(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * ディレクトリのエントリをストレージに永続化します
+     * <p>
+     * ディレクトリを開けないプラットフォーム(Windowsなど)では何もしません。
+     * </p>
+     *
+     * @param directory 対象のディレクトリ
+     */
+    private static void forceDirectory(Path directory) {
+        if (directory == null) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException ignored) {
+            // ディレクトリのfsyncに対応していないプラットフォーム
+        }
+    }
+
+    /**
+     * ファイルの内容を逐次書き込む処理
+     */
+    @FunctionalInterface
+    public interface ContentWriter {
+        /**
+         * 内容を書き込みます
+         *
+         * @param out 書き込み先
+         * @throws IOException 書き込みに失敗した場合
+         */
+        void writeTo(Writer out) throws IOException;
+    }
+
+    /**
+     * 複数のファイルをまとめてアトミックに書き込むバッチ
+     * <p>
+     * {@link #add(Path, String)}で書き込む内容を登録し、{@link #commit()}で書き込みます。
+     * ファイルごとの成否は{@link #commit()}の戻り値で確認できます。
+     * </p>
+     */
+    public static final class Batch {
+        /** 書き込み先のパスと内容のマッピング */
+        private final Map<Path, ByteBuffer> contents = new LinkedHashMap<>();
+
+        private Batch() {
+        }
+
+        /**
+         * 書き込む内容を登録します。同じパスを複数回登録した場合は最後の内容が使用されます
+         *
+         * @param target  書き込み先のパス
+         * @param content 書き込む内容
+         * @return このバッチ
+         */
+        public Batch add(Path target, String content) {
+            contents.put(target, StandardCharsets.UTF_8.encode(content));
+            return this;
+        }
+
+        /**
+         * 書き込む内容をバイト列で登録します。同じパスを複数回登録した場合は最後の内容が使用されます
+         *
+         * @param target  書き込み先のパス
+         * @param content 書き込む内容
+         * @return このバッチ
+         */
+        public Batch add(Path target, byte[] content) {
+            contents.put(target, ByteBuffer.wrap(content));
+            return this;
+        }
+
+        /**
+         * 登録されたすべてのファイルを書き込みます
+         *
+         * @return 書き込みに失敗したファイルとその原因のマッピング（すべて成功した場合は空）
+         */
+        public Map<Path, IOException> commit() {
+            Map<Path, IOException> failures = new LinkedHashMap<>();
+            Map<Path, Path> temps = new LinkedHashMap<>();
+
+            for (Map.Entry<Path, ByteBuffer> entry : contents.entrySet()) {
+                try {
+                    temps.put(entry.getKey(), writeTemp(entry.getKey(), entry.getValue()));
+                } catch (IOException e) {
+                    failures.put(entry.getKey(), e);
+                }
+            }
+
+            // 一時ファイルのfsyncを並行して発行し、ファイルシステムがまとめて処理できるようにする
+            List<CompletableFuture<Void>> forces = new ArrayList<>(temps.size());
+            for (Path temp : temps.values()) {
+                forces.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        force(temp);
+                    } catch (IOException e) {
+                        throw new CompletionException(e);
+                    }
+                }, ConfigExecutors.io()));
+            }
+
+            Set<Path> directories = new LinkedHashSet<>();
+            int index = 0;
+            for (Map.Entry<Path, Path> entry : temps.entrySet()) {
+                Path target = entry.getKey();
+                Path temp = entry.getValue();
+                try {
+                    try {
+                        forces.get(index++).join();
+                    } catch (CompletionException e) {
+                        throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+                    }
+                    move(temp, target);
+                    directories.add(target.toAbsolutePath().getParent());
+                } catch (IOException e) {
+                    failures.put(target, e);
+                    try {
+                        Files.deleteIfExists(temp);
+                    } catch (IOException ignored) {
+                        // 一時ファイルの削除に失敗しても書き込み結果には影響しない
+                    }
+                }
+            }
+
+            for (Path directory : directories) {
+                forceDirectory(directory);
+            }
+            contents.clear();
+            return failures;
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.karasu256.karasuConfigLib.io;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * JSONツリーをタグ付きのバイナリ形式で読み書きするユーティリティクラス
+ * <p>
+ * 値ごとに1バイトのタグを書き込み、文字列とキーは長さ付きのUTF-8、配列とオブジェクトは要素数の後に
+ * 要素を続けて書き込みます。64ビット整数に収まる数値は8バイトの整数として保存し、それ以外の数値は
+ * 元の表記を保持します。JSONの字句解析が不要なため、テキストよりも速く読み込めます。
+ * </p>
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ * @see com.karasu256.karasuConfigLib.codec.BinaryCodec
+ */
+public final class BinaryJson {
+
+    /** null値のタグ */
+    private static final int TAG_NULL = 0;
+
+    /** trueのタグ */
+    private static final int TAG_TRUE = 1;
+
+    /** falseのタグ */
+    private static final int TAG_FALSE = 2;
+
+    /** 64ビット整数に収まる数値のタグ */
+    private static final int TAG_LONG = 3;
+
+    /** その他の数値のタグ（10進数の文字列として保存します） */
+    private static final int TAG_NUMBER = 4;
+
+    /** 文字列のタグ */
+    private static final int TAG_STRING = 5;
+
+    /** 配列のタグ */
+    private static final int TAG_ARRAY = 6;
+
+    /** オブジェクトのタグ */
+    private static final int TAG_OBJECT = 7;
+
+    private BinaryJson() {
+    }
+
+    /**
+     * JSONの値を書き込みます
+     *
+     * @param out     書き込み先
+     * @param element 書き込む値
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public static void write(DataOutputStream out, JsonElement element) throws IOException {
+        if (element == null || element.isJsonNull()) {
+            out.writeByte(TAG_NULL);
+        } else if (element.isJsonObject()) {
+            JsonObject object = element.getAsJsonObject();
+            out.writeByte(TAG_OBJECT);
+            out.writeInt(object.size());
+            for (Map.Entry<String, JsonElement> entry : object.entrySet()) {
+                writeString(out, entry.getKey());
+                write(out, entry.getValue());
+            }
+        } else if (element.isJsonArray()) {
+            JsonArray array = element.getAsJsonArray();
+            out.writeByte(TAG_ARRAY);
+            out.writeInt(array.size());
+            for (JsonElement item : array) {
+                write(out, item);
+            }
+        } else {
+            JsonPrimitive primitive = element.getAsJsonPrimitive();
+            if (primitive.isBoolean()) {
+                out.writeByte(primitive.getAsBoolean() ? TAG_TRUE : TAG_FALSE);
+            } else if (primitive.isNumber()) {
+                writeNumber(out, primitive.getAsString());
+            } else {
+                out.writeByte(TAG_STRING);
+                writeString(out, primitive.getAsString());
+            }
+        }
+    }
+
+    /**
+     * 数値を書き込みます。64ビット整数に収まる場合は整数として、それ以外は元の表記のまま書き込みます
+     *
+     * @param out    書き込み先
+     * @param number 数値の10進表記
+     * @throws IOException 書き込みに失敗した場合
+     */
+    private static void writeNumber(DataOutputStream out, String number) throws IOException {
+        if (number.length() <= 19 && isInteger(number)) {
+            try {
+                long value = Long.parseLong(number);
+                out.writeByte(TAG_LONG);
+                out.writeLong(value);
+                return;
+            } catch (NumberFormatException ignored) {
+                // longの範囲外
+            }
+        }
+        out.writeByte(TAG_NUMBER);
+        writeString(out, number);
+    }
+
+    /**
+     * 文字列が符号付きの10進整数の表記かどうかを返します
+     *
+     * @param number 数値の表記
+     * @return 整数の表記の場合はtrue
+     */
+    private static boolean isInteger(String number) {
+        int start = number.startsWith("-") ? 1 : 0;
+        if (start == number.length()) {
+            return false;
+        }
+        for (int i = start; i < number.length(); i++) {
+            char c = number.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 文字列をUTF-8で書き込みます
+     *
+     * @param out   書き込み先
+     * @param value 書き込む文字列
+     * @throws IOException 書き込みに失敗した場合
+     */
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * JSONの値を読み込みます
+     *
+     * @param in    読み込み元
+     * @param limit 入力全体のバイト数
+     * @return 読み込んだ値
+     * @throws IOException 読み込みに失敗した場合、または内容が壊れている場合
+     */
+    public static JsonElement read(DataInputStream in, long limit) throws IOException {
+        int tag = in.readUnsignedByte();
+        switch (tag) {
+            case TAG_NULL:
+                return JsonNull.INSTANCE;
+            case TAG_TRUE:
+                return new JsonPrimitive(true);
+            case TAG_FALSE:
+                return new JsonPrimitive(false);
+            case TAG_LONG:
+                return new JsonPrimitive(in.readLong());
+            case TAG_NUMBER:
+                return new JsonPrimitive(parseNumber(readString(in, limit)));
+            case TAG_STRING:
+                return new JsonPrimitive(readString(in, limit));
+            case TAG_ARRAY: {
+                int size = readSize(in, limit);
+                JsonArray array = new JsonArray(size);
+                for (int i = 0; i < size; i++) {
+                    array.add(read(in, limit));
+                }
+                return array;
+            }
+            case TAG_OBJECT: {
+                int size = readSize(in, limit);
+                JsonObject object = new JsonObject();
+                for (int i = 0; i < size; i++) {
+                    String key = readString(in, limit);
+                    object.add(key, read(in, limit));
+                }
+                return object;
+            }
+            default:
+                throw new IOException("Unknown binary JSON tag " + tag);
+        }
+    }
+
+    /**
+     * 数値の表記を数値に変換します
+     *
+     * @param number 数値の表記
+     * @return 数値
+     */
+    private static Number parseNumber(String number) {
+        try {
+            return new BigDecimal(number);
+        } catch (NumberFormatException e) {
+            // NaNやInfinityなど、寛容モードでのみ許可される表記
+            return Double.valueOf(number);
+        }
+    }
+
+    /**
+     * UTF-8の文字列を読み込みます
+     *
+     * @param in    読み込み元
+     * @param limit 入力全体のバイト数
+     * @return 読み込んだ文字列
+     * @throws IOException 読み込みに失敗した場合
+     */
+    private static String readString(DataInputStream in, long limit) throws IOException {
+        byte[] bytes = new byte[readSize(in, limit)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 要素数またはバイト数を読み込みます
+     * <p>
+     * 要素は1バイト以上を占めるため、入力全体より大きな値は壊れたものとして扱います。
+     * </p>
+     *
+     * @param in    読み込み元
+     * @param limit 入力全体のバイト数
+     * @return 要素数またはバイト数
+     * @throws IOException 読み込みに失敗した場合、または値が不正な場合
+     */
+    private static int readSize(DataInputStream in, long limit) throws IOException {
+        int size = in.readInt();
+        if (size < 0 || size > limit) {
+            throw new EOFException("Invalid size " + size + " in binary JSON");
+        }
+        return size;
+    }
+}
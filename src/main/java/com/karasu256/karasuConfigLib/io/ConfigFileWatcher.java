@@ -0,0 +1,260 @@
+package com.karasu256.karasuConfigLib.io;
+
+import com.karasu256.karasuConfigLib.util.ConfigExecutors;
+import com.karasu256.karasuConfigLib.util.ConfigUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * 設定ファイルの変更を監視するクラス
+ * <p>
+ * {@link #watch(Path, String)}で登録したファイルが作成または更新されると、
+ * 同じファイルへの変更が{@code debounce}の間途切れた時点で一度だけリスナーを呼び出します。
+ * エディタが保存時に行う複数回の書き込みや、一時ファイルからの置き換えは一回の変更としてまとめられます。
+ * </p>
+ *
+ * <p>
+ * リスナーは{@link ConfigExecutors#scheduler()}のスレッドで呼び出されるため、
+ * ブロッキングI/OやBukkit APIの呼び出しは別のスレッドに渡してください。
+ * </p>
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ */
+public final class ConfigFileWatcher implements Closeable {
+
+    /** クラス用のロガーインスタンス */
+    private static final Logger LOGGER = ConfigUtils.LOGGER;
+
+    /** ファイルシステムの変更通知を受け取るWatchService */
+    private final WatchService watchService;
+
+    /** 変更をまとめる時間（ナノ秒） */
+    private final long debounceNanos;
+
+    /** 変更が確定したファイルのキーを受け取るリスナー */
+    private final Consumer<String> listener;
+
+    /** 監視しているファイルのパスとキーのマッピング */
+    private final Map<Path, String> files = new ConcurrentHashMap<>();
+
+    /** 監視しているディレクトリとWatchKeyのマッピング */
+    private final Map<Path, WatchKey> directories = new ConcurrentHashMap<>();
+
+    /** リスナーの呼び出しを待っているキーと、その予約 */
+    private final Map<String, PendingFire> pending = new ConcurrentHashMap<>();
+
+    /** 変更通知を待ち受けるスレッド */
+    private final Thread thread;
+
+    /** 監視を終了したかどうか */
+    private volatile boolean closed;
+
+    /**
+     * ファイルの監視を開始します
+     *
+     * @param debounce 変更をまとめる時間
+     * @param listener 変更が確定したファイルのキーを受け取るリスナー
+     * @throws IOException WatchServiceを作成できない場合
+     */
+    public ConfigFileWatcher(Duration debounce, Consumer<String> listener) throws IOException {
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.debounceNanos = debounce.toNanos();
+        this.listener = listener;
+        this.thread = Thread.ofPlatform().name("KarasuConfigLib-FileWatcher").daemon(true).start(this::run);
+    }
+
+    /**
+     * ファイルを監視の対象に追加します。ファイルの親ディレクトリは存在している必要があります
+     *
+     * @param file 監視するファイル
+     * @param key  変更時にリスナーへ渡すキー
+     * @throws IOException ディレクトリを監視に登録できない場合
+     */
+    public void watch(Path file, String key) throws IOException {
+        Path normalized = file.toAbsolutePath().normalize();
+        Path directory = normalized.getParent();
+        // ディレクトリより先にファイルを登録し、unwatchでディレクトリの監視が終了されないようにする
+        files.put(normalized, key);
+        if (!directories.containsKey(directory)) {
+            synchronized (directories) {
+                if (!directories.containsKey(directory)) {
+                    try {
+                        directories.put(directory, directory.register(watchService,
+                                StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY));
+                    } catch (IOException e) {
+                        files.remove(normalized, key);
+                        throw e;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 指定したキーで監視しているファイルを監視の対象から外します
+     * <p>
+     * 待機中のリスナーの呼び出しは取り消されます。監視するファイルがなくなったディレクトリは監視を終了します。
+     * </p>
+     *
+     * @param key {@link #watch(Path, String)}で指定したキー
+     */
+    public void unwatch(String key) {
+        files.values().removeIf(key::equals);
+        PendingFire previous = pending.remove(key);
+        if (previous != null) {
+            previous.cancel();
+        }
+
+        synchronized (directories) {
+            directories.entrySet().removeIf(entry -> {
+                Path directory = entry.getKey();
+                if (files.keySet().stream().anyMatch(file -> directory.equals(file.getParent()))) {
+                    return false;
+                }
+                entry.getValue().cancel();
+                return true;
+            });
+        }
+    }
+
+    /**
+     * 監視しているファイルの数を取得します
+     *
+     * @return ファイルの数
+     */
+    public int size() {
+        return files.size();
+    }
+
+    /**
+     * 監視を終了します。待機中のリスナーの呼び出しは取り消されます
+     */
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            LOGGER.warning("Failed to close config file watcher: " + e.getMessage());
+        }
+        pending.values().forEach(PendingFire::cancel);
+        pending.clear();
+        thread.interrupt();
+    }
+
+    /**
+     * 変更通知を待ち受けます
+     */
+    private void run() {
+        while (!closed) {
+            WatchKey watchKey;
+            try {
+                watchKey = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+
+            Path directory = (Path) watchKey.watchable();
+            for (WatchEvent<?> event : watchKey.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    // 取りこぼした変更があるため、このディレクトリのファイルをすべて対象にする
+                    files.forEach((file, key) -> {
+                        if (directory.equals(file.getParent())) {
+                            schedule(key);
+                        }
+                    });
+                    continue;
+                }
+
+                String key = files.get(directory.resolve((Path) event.context()));
+                if (key != null) {
+                    schedule(key);
+                }
+            }
+
+            if (!watchKey.reset()) {
+                directories.remove(directory);
+            }
+        }
+    }
+
+    /**
+     * リスナーの呼び出しを予約します。すでに予約されている場合は予約し直します
+     *
+     * @param key ファイルのキー
+     */
+    private void schedule(String key) {
+        pending.compute(key, (k, previous) -> {
+            if (previous != null) {
+                previous.cancel();
+            }
+            PendingFire task = new PendingFire(k);
+            task.future = ConfigExecutors.scheduler().schedule(task, debounceNanos, TimeUnit.NANOSECONDS);
+            return task;
+        });
+    }
+
+    /**
+     * 変更が確定したファイルをリスナーに通知します
+     *
+     * @param key  ファイルのキー
+     * @param task 実行された予約
+     */
+    private void fire(String key, PendingFire task) {
+        // 実行中に予約し直された場合は、新しい予約を残す
+        if (!pending.remove(key, task) || closed) {
+            return;
+        }
+        try {
+            listener.accept(key);
+        } catch (Exception e) {
+            LOGGER.severe("Failed to handle change of config file " + key + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * リスナーの呼び出しの予約
+     */
+    private final class PendingFire implements Runnable {
+        /** ファイルのキー */
+        private final String key;
+
+        /** スケジューラーに登録した予約 */
+        private volatile ScheduledFuture<?> future;
+
+        private PendingFire(String key) {
+            this.key = key;
+        }
+
+        @Override
+        public void run() {
+            fire(key, this);
+        }
+
+        /**
+         * 予約を取り消します
+         */
+        private void cancel() {
+            ScheduledFuture<?> scheduled = future;
+            if (scheduled != null) {
+                scheduled.cancel(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,373 @@
+package com.karasu256.karasuConfigLib.io;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.karasu256.karasuConfigLib.util.ConfigUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.logging.Logger;
+
+/**
+ * 設定ファイルの変更を差分として追記するジャーナル
+ * <p>
+ * 設定ファイル（スナップショット）の隣に{@code <ファイル名>.journal}を置き、保存のたびに前回の保存から
+ * 変更されたトップレベルの項目だけを1行のパッチとして追記します。書き込み量は設定全体の大きさではなく
+ * 変更の大きさに比例します。ネストしたオブジェクトの中が変更された場合は、そのトップレベルの項目全体が
+ * パッチに含まれます。
+ * </p>
+ *
+ * <p>
+ * 読み込み時はスナップショットにジャーナルのパッチを順に適用します。ジャーナルが一定の大きさを超えると、
+ * 現在の内容でスナップショットを書き直してジャーナルを空にします（コンパクション）。
+ * コンパクションでは、先に新しい内容までの差分をジャーナルに追記してからスナップショットを書き直します。
+ * ジャーナルは常にスナップショットの内容から最新の内容までのすべての変更を含み、各項目の最後のパッチが
+ * 最新の値を持つため、スナップショットの書き直しの前後どちらで終了しても、パッチを再度適用すれば
+ * 最新の内容に戻ります。
+ * </p>
+ *
+ * <p>
+ * パッチの形式:
+ * </p>
+ *
+ * <pre>
+ * {"set":{"balance":120,"lastLogin":"2024-01-01"},"remove":["oldField"]}
+ * </pre>
+ *
+ * <p>
+ * メソッドはインスタンスをロックして実行されます。同じファイルには1つのインスタンスだけを使用し、
+ * 複数の操作をまとめて行う場合はインスタンスで同期してください。
+ * </p>
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ */
+public final class ConfigJournal {
+
+    /** クラス用のロガーインスタンス */
+    private static final Logger LOGGER = ConfigUtils.LOGGER;
+
+    /** ジャーナルファイルの拡張子 */
+    private static final String JOURNAL_SUFFIX = ".journal";
+
+    /** コンパクションを行うジャーナルの最小サイズ */
+    private static final long MIN_COMPACTION_BYTES = 16 * 1024;
+
+    /** コンパクションを行う、スナップショットに対するジャーナルの大きさの割合 */
+    private static final double COMPACTION_RATIO = 1.0;
+
+    /** スナップショットのパス */
+    private final Path snapshot;
+
+    /** ジャーナルファイルのパス */
+    private final Path journal;
+
+    /** スナップショットの書き込みに使用するGson */
+    private final Gson gson;
+
+    /** スナップショットにジャーナルを適用した現在の内容 */
+    private JsonObject current;
+
+    /** ジャーナルファイルのサイズ */
+    private long journalBytes;
+
+    /** スナップショットのサイズ */
+    private long snapshotBytes;
+
+    /** ジャーナルの末尾の行が改行で終わっていないかどうか */
+    private boolean missingNewline;
+
+    private ConfigJournal(Path snapshot, Gson gson) {
+        this.snapshot = snapshot;
+        this.journal = snapshot.resolveSibling(snapshot.getFileName() + JOURNAL_SUFFIX);
+        this.gson = gson;
+    }
+
+    /**
+     * スナップショットとジャーナルを読み込みます
+     * <p>
+     * 書き込みの途中で終了したためにジャーナルの末尾の行が壊れている場合は、その行を取り除きます。
+     * </p>
+     *
+     * @param snapshot 設定ファイルのパス
+     * @param gson     スナップショットの書き込みに使用するGson
+     * @return 読み込んだジャーナル
+     * @throws IOException 読み込みに失敗した場合
+     */
+    public static ConfigJournal open(Path snapshot, Gson gson) throws IOException {
+        ConfigJournal journal = new ConfigJournal(snapshot, gson);
+        journal.read();
+        return journal;
+    }
+
+    /**
+     * スナップショットにジャーナルを適用した現在の内容を取得します
+     * <p>
+     * 返されたオブジェクトは変更しないでください。
+     * </p>
+     *
+     * @return 現在の内容
+     */
+    public synchronized JsonObject current() {
+        return current;
+    }
+
+    /**
+     * スナップショットに適用されていないパッチがあるかどうかを返します
+     *
+     * @return ジャーナルが空でない場合はtrue
+     */
+    public synchronized boolean hasPatches() {
+        return journalBytes > 0;
+    }
+
+    /**
+     * 新しい内容を保存します
+     * <p>
+     * 現在の内容との差分をパッチとしてジャーナルに追記し、ジャーナルが大きくなりすぎた場合は
+     * コンパクションを行います。差分がない場合は何も書き込みません。
+     * </p>
+     *
+     * @param tree    新しい内容
+     * @param content 新しい内容のUTF-8のJSONテキスト（コンパクション時にスナップショットとして書き込まれます）
+     * @return 何かを書き込んだ場合はtrue
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public synchronized boolean write(JsonObject tree, byte[] content) throws IOException {
+        if (!Files.exists(snapshot)) {
+            compact(tree, content);
+            return true;
+        }
+
+        byte[] line = patchLine(tree);
+        if (line == null) {
+            return false;
+        }
+        append(line);
+        current = tree;
+        if (journalBytes >= compactionThreshold()) {
+            writeSnapshot(tree, content);
+        }
+        return true;
+    }
+
+    /**
+     * 指定した内容でスナップショットを書き直し、ジャーナルを空にします
+     * <p>
+     * ジャーナルが存在する場合は、先に現在の内容との差分をジャーナルに追記します。
+     * </p>
+     *
+     * @param tree    新しい内容
+     * @param content 新しい内容のUTF-8のJSONテキスト
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public synchronized void compact(JsonObject tree, byte[] content) throws IOException {
+        if (journalBytes > 0) {
+            byte[] line = patchLine(tree);
+            if (line != null) {
+                append(line);
+            }
+        }
+        current = tree;
+        writeSnapshot(tree, content);
+    }
+
+    /**
+     * 現在の内容でスナップショットを書き直し、ジャーナルを空にします
+     *
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public synchronized void compact() throws IOException {
+        compact(current, gson.toJson(current).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * ジャーナルを再度読み込みます
+     * <p>
+     * 設定ファイルが外部で編集された場合に、ファイルの内容を現在の内容に反映するために使用します。
+     * </p>
+     *
+     * @throws IOException 読み込みに失敗した場合
+     */
+    public synchronized void reload() throws IOException {
+        read();
+    }
+
+    /**
+     * 現在の内容から新しい内容への差分を1行のパッチに変換します
+     *
+     * @param tree 新しい内容
+     * @return 改行を含むUTF-8のパッチ、差分がない場合はnull
+     */
+    private byte[] patchLine(JsonObject tree) {
+        JsonObject set = new JsonObject();
+        for (Map.Entry<String, JsonElement> entry : tree.entrySet()) {
+            if (!Objects.equals(current.get(entry.getKey()), entry.getValue())) {
+                set.add(entry.getKey(), entry.getValue());
+            }
+        }
+        JsonArray remove = new JsonArray();
+        for (String key : current.keySet()) {
+            if (!tree.has(key)) {
+                remove.add(key);
+            }
+        }
+        if (set.size() == 0 && remove.isEmpty()) {
+            return null;
+        }
+
+        JsonObject patch = new JsonObject();
+        patch.add("set", set);
+        if (!remove.isEmpty()) {
+            patch.add("remove", remove);
+        }
+        return (patch + "\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * パッチをジャーナルに追記し、ストレージに永続化します
+     * <p>
+     * 末尾の行が改行で終わっていない場合は、前の行とつながらないように改行を先に書き込みます。
+     * </p>
+     *
+     * @param line 改行を含むパッチ
+     * @throws IOException 書き込みに失敗した場合
+     */
+    private void append(byte[] line) throws IOException {
+        try (FileChannel channel = FileChannel.open(journal, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = missingNewline
+                    ? ByteBuffer.allocate(line.length + 1).put((byte) '\n').put(line).flip()
+                    : ByteBuffer.wrap(line);
+            int length = buffer.remaining();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+            journalBytes += length;
+            missingNewline = false;
+        }
+    }
+
+    /**
+     * スナップショットを書き直し、ジャーナルを削除します
+     * <p>
+     * ジャーナルには新しい内容までの差分が追記済みである必要があります。
+     * </p>
+     *
+     * @param tree    新しい内容
+     * @param content 新しい内容のUTF-8のJSONテキスト
+     * @throws IOException 書き込みに失敗した場合
+     */
+    private void writeSnapshot(JsonObject tree, byte[] content) throws IOException {
+        AtomicFileWriter.write(snapshot, content);
+        Files.deleteIfExists(journal);
+        current = tree;
+        snapshotBytes = content.length;
+        journalBytes = 0;
+        missingNewline = false;
+    }
+
+    /**
+     * コンパクションを行うジャーナルの大きさを取得します
+     *
+     * @return ジャーナルのバイト数の閾値
+     */
+    private long compactionThreshold() {
+        return Math.max(MIN_COMPACTION_BYTES, (long) (snapshotBytes * COMPACTION_RATIO));
+    }
+
+    /**
+     * スナップショットを読み込み、ジャーナルのパッチを適用します
+     *
+     * @throws IOException 読み込みに失敗した場合
+     */
+    private void read() throws IOException {
+        current = new JsonObject();
+        snapshotBytes = 0;
+        journalBytes = 0;
+        missingNewline = false;
+        if (Files.exists(snapshot)) {
+            snapshotBytes = Files.size(snapshot);
+            JsonElement root;
+            try (BufferedReader reader = Files.newBufferedReader(snapshot, StandardCharsets.UTF_8)) {
+                root = JsonParser.parseReader(reader);
+            }
+            if (root.isJsonObject()) {
+                current = root.getAsJsonObject();
+            }
+        }
+
+        if (!Files.exists(journal)) {
+            return;
+        }
+
+        long position = 0;
+        int applied = 0;
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(journal, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        }
+
+        for (String line : lines) {
+            long next = position + line.getBytes(StandardCharsets.UTF_8).length + 1;
+            try {
+                if (!line.isBlank()) {
+                    apply(JsonParser.parseString(line).getAsJsonObject());
+                    applied++;
+                }
+            } catch (JsonParseException | IllegalStateException e) {
+                // 書き込みの途中で終了した末尾のパッチを取り除く
+                LOGGER.warning("Discarding unreadable journal entries of " + snapshot.getFileName() + " after byte "
+                        + position);
+                try (FileChannel channel = FileChannel.open(journal, StandardOpenOption.WRITE)) {
+                    channel.truncate(position);
+                }
+                break;
+            }
+            position = next;
+        }
+        journalBytes = Files.size(journal);
+        missingNewline = journalBytes > 0 && position > journalBytes;
+        if (applied > 0) {
+            LOGGER.info("Replayed " + applied + " journal entries for " + snapshot.getFileName());
+        }
+    }
+
+    /**
+     * パッチを現在の内容に適用します
+     *
+     * @param patch パッチ
+     */
+    private void apply(JsonObject patch) {
+        JsonObject set = patch.getAsJsonObject("set");
+        if (set != null) {
+            for (Map.Entry<String, JsonElement> entry : set.entrySet()) {
+                current.add(entry.getKey(), entry.getValue());
+            }
+        }
+        JsonArray remove = patch.getAsJsonArray("remove");
+        if (remove != null) {
+            for (JsonElement key : remove) {
+                current.remove(key.getAsString());
+            }
+        }
+    }
+}
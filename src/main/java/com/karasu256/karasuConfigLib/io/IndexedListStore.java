@@ -0,0 +1,1107 @@
+package com.karasu256.karasuConfigLib.io;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.karasu256.karasuConfigLib.util.ConfigExecutors;
+import com.karasu256.karasuConfigLib.util.ConfigUtils;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * キーで要素を直接読み書きできる設定リストのストア
+ * <p>
+ * 要素はJSON Lines形式のデータファイルに1行ずつ保存され、キーとデータファイル内の位置の対応は
+ * 隣に置かれる{@code <ファイル名>.idx}に記録されます。{@link #get(String)}はインデックスから位置を求めて
+ * その要素の行だけを読み込み、{@link #put(Object)}は新しい行をデータファイルの末尾に追記するため、
+ * 1件の読み書きでリスト全体を読み込んだり書き直したりする必要がありません。
+ * {@link #remove(String)}も削除を表す行をデータファイルに追記するため、インデックスはデータファイルだけから
+ * 再構築できます。
+ * </p>
+ *
+ * <p>
+ * インデックスファイルには、インデックスに反映済みのデータファイルの長さが記録されます。
+ * データファイルへの追記の後、インデックスへの追記の前に終了した場合は、開くときに反映済みの位置より後ろの行を
+ * 読み込んでインデックスに追加します。書き込みの途中で終了した末尾の不完全な行は取り除かれます。
+ * </p>
+ *
+ * <p>
+ * 上書きや削除で使われなくなった行がデータファイルの一定の割合を超えると、
+ * I/Oスレッドで自動的にコンパクション（有効な行だけを詰め直す処理）が行われます。
+ * コンパクション中も{@link #get(String)}はブロックされず、{@link #put(Object)}と{@link #remove(String)}も
+ * ファイルの差し替えの直前まで待たされません。
+ * </p>
+ *
+ * <p>
+ * {@code saveList}で保存したJSON配列形式のファイルを開いた場合は、JSON Lines形式に変換してから使用します。
+ * 変換した後のデータファイルには同じキーの古い行や削除を表す行が含まれるため、{@code loadList}や
+ * {@code streamList}では読み込めません。
+ * インデックスファイルが存在しないか壊れている場合は、データファイルを読み込んで再構築します。
+ * このクラスのメソッドは任意のスレッドから呼び出すことができます。
+ * </p>
+ *
+ * @param <T> 要素の型
+ * @author Hashibutogarasu
+ * @version 1.0
+ */
+public final class IndexedListStore<T> implements Closeable {
+
+    /** クラス用のロガーインスタンス */
+    private static final Logger LOGGER = ConfigUtils.LOGGER;
+
+    /** インデックスファイルの拡張子 */
+    private static final String INDEX_SUFFIX = ".idx";
+
+    /** インデックスファイルの先頭に置かれる識別子 */
+    private static final int INDEX_MAGIC = 0x4B494458;
+
+    /** インデックスファイルのヘッダーのバイト数（識別子と、作成時に反映済みのデータファイルの長さ） */
+    private static final int INDEX_HEADER_BYTES = 4 + 8;
+
+    /** 削除を表すデータファイルの行の接頭辞 */
+    private static final String TOMBSTONE_PREFIX = "{\"$removed\":";
+
+    /** インデックスの追加レコードの種類 */
+    private static final byte OP_PUT = 1;
+
+    /** インデックスの削除レコードの種類 */
+    private static final byte OP_REMOVE = 2;
+
+    /** コンパクションを行う、使われなくなった行の割合 */
+    private static final double COMPACTION_RATIO = 0.5;
+
+    /** コンパクションを行うデータファイルの最小サイズ */
+    private static final long MIN_COMPACTION_BYTES = 1024 * 1024;
+
+    /** データファイルのパス */
+    private final Path dataFile;
+
+    /** インデックスファイルのパス */
+    private final Path indexFile;
+
+    /** 要素の型アダプタ */
+    private final TypeAdapter<T> adapter;
+
+    /** シリアライズに使用するGson */
+    private final Gson gson;
+
+    /** 要素からキーを取得する関数 */
+    private final Function<? super T, String> keyFunction;
+
+    /** 書き込みを直列化するためのロック */
+    private final Object writeLock = new Object();
+
+    /** 現在開いているファイルとインデックス */
+    private volatile State state;
+
+    /** データファイルのサイズ。書き込みロックで保護されます */
+    private long dataSize;
+
+    /** インデックスファイルのサイズ。書き込みロックで保護されます */
+    private long indexSize;
+
+    /** 使われなくなった行のバイト数。書き込みロックで保護されます */
+    private long garbageBytes;
+
+    /** コンパクションを予約または実行中かどうか。書き込みロックで保護されます */
+    private boolean compactionScheduled;
+
+    /** ストアを閉じたかどうか */
+    private volatile boolean closed;
+
+    /** ストアを閉じたときに実行する処理 */
+    private final List<Runnable> closeListeners = new CopyOnWriteArrayList<>();
+
+    private IndexedListStore(Path dataFile, TypeAdapter<T> adapter, Gson gson,
+            Function<? super T, String> keyFunction) {
+        this.dataFile = dataFile;
+        this.indexFile = indexFileOf(dataFile);
+        this.adapter = adapter;
+        this.gson = gson;
+        this.keyFunction = keyFunction;
+    }
+
+    /**
+     * ストアを開きます。データファイルが存在しない場合は空のストアとして作成します
+     *
+     * @param <T>         要素の型
+     * @param dataFile    データファイルのパス
+     * @param type        要素のクラス
+     * @param keyFunction 要素からキーを取得する関数
+     * @param gson        シリアライズに使用するGson
+     * @return 開いたストア
+     * @throws IOException ファイルを開けない場合
+     */
+    public static <T> IndexedListStore<T> open(Path dataFile, Class<T> type, Function<? super T, String> keyFunction,
+            Gson gson) throws IOException {
+        IndexedListStore<T> store = new IndexedListStore<>(dataFile.toAbsolutePath(), gson.getAdapter(type), gson,
+                keyFunction);
+        store.openFiles();
+        return store;
+    }
+
+    /**
+     * ファイルがこのクラスのデータファイルとして使用されているかどうかを返します
+     * <p>
+     * データファイルには同じキーの古い行や削除を表す行が含まれるため、JSON Lines形式のリストとして
+     * 読み込むことはできません。
+     * </p>
+     *
+     * @param file ファイルのパス
+     * @return 隣にインデックスファイルが存在する場合はtrue
+     */
+    public static boolean isStoreFile(Path file) {
+        return Files.exists(indexFileOf(file));
+    }
+
+    /**
+     * データファイルに対応するインデックスファイルのパスを取得します
+     *
+     * @param dataFile データファイルのパス
+     * @return インデックスファイルのパス
+     */
+    private static Path indexFileOf(Path dataFile) {
+        return dataFile.resolveSibling(dataFile.getFileName() + INDEX_SUFFIX);
+    }
+
+    /**
+     * 指定したキーの要素を取得します
+     *
+     * @param key キー
+     * @return 要素、存在しない場合はnull
+     * @throws IOException 読み込みに失敗した場合
+     */
+    public T get(String key) throws IOException {
+        for (int attempt = 0;; attempt++) {
+            State current = state;
+            ensureOpen();
+            Entry entry = current.entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+
+            try {
+                T value = adapter.fromJson(readRecord(current.data, entry));
+                if (value != null && key.equals(keyFunction.apply(value))) {
+                    return value;
+                }
+            } catch (ClosedChannelException e) {
+                // コンパクションによる差し替えか、割り込みでチャネルが閉じられた
+                if (attempt > 0) {
+                    throw e;
+                }
+                reopen(current);
+                continue;
+            } catch (RuntimeException e) {
+                if (attempt > 0) {
+                    throw new IOException("Corrupted record for key " + key + " in " + dataFile, e);
+                }
+            }
+
+            if (attempt > 0) {
+                throw new IOException("Index does not match data for key " + key + " in " + dataFile);
+            }
+            // インデックスがデータファイルと一致しないため、データファイルから作り直す
+            LOGGER.warning("Index of " + dataFile + " is out of date, rebuilding");
+            synchronized (writeLock) {
+                if (state == current) {
+                    rebuildIndex();
+                }
+            }
+        }
+    }
+
+    /**
+     * 指定したキーの要素が存在するかどうかを返します
+     *
+     * @param key キー
+     * @return 存在する場合はtrue
+     */
+    public boolean containsKey(String key) {
+        return state.entries.containsKey(key);
+    }
+
+    /**
+     * 要素を追加します。同じキーの要素がすでに存在する場合は置き換えます
+     * <p>
+     * 要素はデータファイルの末尾に追記され、以前の要素の行は次のコンパクションで取り除かれます。
+     * </p>
+     *
+     * @param value 追加する要素
+     * @return 要素のキー
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public String put(T value) throws IOException {
+        Objects.requireNonNull(value, "value");
+        String key = Objects.requireNonNull(keyFunction.apply(value), "key");
+        byte[] json = JsonLines.toLine(value, gson).getBytes(StandardCharsets.UTF_8);
+        ByteBuffer line = ByteBuffer.allocate(json.length + 1).put(json).put((byte) '\n').flip();
+
+        synchronized (writeLock) {
+            ensureOpen();
+            State current = state;
+            long offset = dataSize;
+            writeFully(current.data, line, offset);
+            dataSize += line.capacity();
+            appendIndex(current, OP_PUT, key, offset, json.length);
+
+            Entry previous = current.entries.put(key, new Entry(offset, json.length));
+            if (previous != null) {
+                garbageBytes += previous.length + 1L;
+            }
+            scheduleCompactionIfNeeded();
+        }
+        return key;
+    }
+
+    /**
+     * 指定したキーの要素を削除します
+     * <p>
+     * 削除を表す行がデータファイルの末尾に追記され、要素の行とともに次のコンパクションで取り除かれます。
+     * </p>
+     *
+     * @param key キー
+     * @return 削除した場合はtrue、存在しなかった場合はfalse
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public boolean remove(String key) throws IOException {
+        byte[] json = (TOMBSTONE_PREFIX + gson.toJson(key) + "}").getBytes(StandardCharsets.UTF_8);
+        ByteBuffer line = ByteBuffer.allocate(json.length + 1).put(json).put((byte) '\n').flip();
+
+        synchronized (writeLock) {
+            ensureOpen();
+            State current = state;
+            if (!current.entries.containsKey(key)) {
+                return false;
+            }
+            long offset = dataSize;
+            writeFully(current.data, line, offset);
+            dataSize += line.capacity();
+            appendIndex(current, OP_REMOVE, key, offset, json.length);
+
+            Entry previous = current.entries.remove(key);
+            garbageBytes += previous.length + 1L + line.capacity();
+            scheduleCompactionIfNeeded();
+            return true;
+        }
+    }
+
+    /**
+     * 登録されているすべてのキーを取得します
+     *
+     * @return キーの変更不可能なビュー
+     */
+    public Set<String> keys() {
+        return Collections.unmodifiableSet(state.entries.keySet());
+    }
+
+    /**
+     * 登録されている要素の数を取得します
+     *
+     * @return 要素の数
+     */
+    public int size() {
+        return state.entries.size();
+    }
+
+    /**
+     * 登録されているすべての要素を1件ずつ読み込むStreamを取得します
+     * <p>
+     * 要素は必要になった時点で1件ずつ読み込まれます。Streamの作成後に追加された要素は含まれません。
+     * </p>
+     *
+     * @return 要素のStream
+     */
+    public Stream<T> values() {
+        return List.copyOf(keys()).stream().map(key -> {
+            try {
+                return get(key);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }).filter(Objects::nonNull);
+    }
+
+    /**
+     * 書き込んだ内容をストレージに永続化します
+     *
+     * @throws IOException fsyncに失敗した場合
+     */
+    public void flush() throws IOException {
+        synchronized (writeLock) {
+            ensureOpen();
+            state.data.force(false);
+            state.index.force(false);
+        }
+    }
+
+    /**
+     * 使われなくなった行を取り除き、データファイルとインデックスファイルを詰め直します
+     * <p>
+     * 通常は自動的に行われるため、呼び出す必要はありません。有効な行のコピーは書き込みロックを取得せずに行い、
+     * その間に追記された行はファイルを差し替える直前にまとめてコピーします。そのため{@link #put(Object)}と
+     * {@link #remove(String)}が待機するのは差し替えの間だけで、{@link #get(String)}は以前のファイルから
+     * 読み込みを続けます。
+     * </p>
+     *
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public void compact() throws IOException {
+        State current;
+        List<Map.Entry<String, Entry>> live;
+        long copiedSize;
+        synchronized (writeLock) {
+            ensureOpen();
+            current = state;
+            live = new ArrayList<>(current.entries.entrySet());
+            copiedSize = dataSize;
+        }
+        live.sort(Comparator.comparingLong(entry -> entry.getValue().offset));
+
+        Path tempData = AtomicFileWriter.createTemp(dataFile);
+        Path tempIndex = AtomicFileWriter.createTemp(indexFile);
+        try {
+            Map<String, Entry> compacted = new HashMap<>(live.size() * 2);
+            Map<Entry, Entry> relocated = new IdentityHashMap<>(live.size() * 2);
+            long newDataSize = 0;
+            try (FileChannel out = FileChannel.open(tempData, StandardOpenOption.WRITE)) {
+                for (Map.Entry<String, Entry> entry : live) {
+                    Entry old = entry.getValue();
+                    long length = old.length + 1L;
+                    transferFully(current.data, old.offset, length, out, newDataSize);
+                    Entry moved = new Entry(newDataSize, old.length);
+                    compacted.put(entry.getKey(), moved);
+                    relocated.put(old, moved);
+                    newDataSize += length;
+                }
+            }
+            long newIndexSize = writeIndex(tempIndex, compacted, newDataSize);
+
+            synchronized (writeLock) {
+                if (closed || state != current) {
+                    // コピー中に閉じられたか、インデックスの再構築でファイルが差し替えられた
+                    return;
+                }
+
+                long tailSize = dataSize - copiedSize;
+                long liveTailBytes = 0;
+                Map<String, Entry> next = new ConcurrentHashMap<>(current.entries.size() * 2);
+                try (FileChannel out = FileChannel.open(tempData, StandardOpenOption.WRITE);
+                        FileChannel index = FileChannel.open(tempIndex, StandardOpenOption.WRITE)) {
+                    // コピー中に追記された行をそのまま末尾に加え、変更されたキーのレコードをインデックスに追記する
+                    transferFully(current.data, copiedSize, tailSize, out, newDataSize);
+                    for (Map.Entry<String, Entry> entry : current.entries.entrySet()) {
+                        Entry old = entry.getValue();
+                        Entry moved;
+                        if (old.offset >= copiedSize) {
+                            moved = new Entry(newDataSize + old.offset - copiedSize, old.length);
+                            liveTailBytes += old.length + 1L;
+                        } else {
+                            moved = relocated.get(old);
+                        }
+                        next.put(entry.getKey(), moved);
+                        if (compacted.get(entry.getKey()) != moved) {
+                            newIndexSize += writeIndexRecord(index, OP_PUT, entry.getKey(), moved.offset,
+                                    moved.length, newIndexSize);
+                        }
+                    }
+                    for (String key : compacted.keySet()) {
+                        if (!next.containsKey(key)) {
+                            newIndexSize += writeIndexRecord(index, OP_REMOVE, key, 0, 0, newIndexSize);
+                        }
+                    }
+                    writeHeader(index, newDataSize + tailSize);
+                    out.force(true);
+                    index.force(true);
+                }
+
+                // データファイルを先に置き換える。途中で終了した場合は、古いインデックスとの不一致を
+                // 読み込み時に検出してデータファイルから再構築する
+                move(tempData, dataFile);
+                move(tempIndex, indexFile);
+
+                state = new State(openChannel(dataFile), openChannel(indexFile), next);
+                long removed = copiedSize - newDataSize;
+                dataSize = newDataSize + tailSize;
+                indexSize = newIndexSize;
+                garbageBytes = tailSize - liveTailBytes;
+                current.close();
+                LOGGER.info("Compacted " + dataFile.getFileName() + ", removed " + removed + " bytes");
+            }
+        } finally {
+            Files.deleteIfExists(tempData);
+            Files.deleteIfExists(tempIndex);
+        }
+    }
+
+    /**
+     * ストアを閉じます。書き込んだ内容はストレージに永続化されます
+     *
+     * @throws IOException ファイルを閉じられない場合
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (writeLock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            State current = state;
+            try {
+                current.data.force(false);
+                current.index.force(false);
+            } finally {
+                current.close();
+                closeListeners.forEach(Runnable::run);
+            }
+        }
+    }
+
+    /**
+     * ストアを閉じたかどうかを返します
+     *
+     * @return 閉じた場合はtrue
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * ストアを閉じたときに実行する処理を登録します
+     * <p>
+     * 処理は{@link #close()}を呼び出したスレッドで実行されます。
+     * </p>
+     *
+     * @param listener 実行する処理
+     */
+    public void addCloseListener(Runnable listener) {
+        closeListeners.add(listener);
+    }
+
+    /**
+     * データファイルとインデックスファイルを開き、インデックスを読み込みます
+     *
+     * @throws IOException ファイルを開けない場合
+     */
+    private void openFiles() throws IOException {
+        synchronized (writeLock) {
+            Files.createDirectories(dataFile.getParent());
+            if (!Files.exists(dataFile)) {
+                Files.createFile(dataFile);
+                Files.deleteIfExists(indexFile);
+            } else if (isJsonArray(dataFile)) {
+                convertFromJsonArray();
+            }
+
+            state = new State(openChannel(dataFile), openChannel(indexFile), new ConcurrentHashMap<>());
+            dataSize = state.data.size();
+            if (!readIndex()) {
+                rebuildIndex();
+            }
+        }
+    }
+
+    /**
+     * JSON配列形式のデータファイルをJSON Lines形式に変換します
+     *
+     * @throws IOException 変換に失敗した場合
+     */
+    private void convertFromJsonArray() throws IOException {
+        try (Stream<T> records = JsonLines.stream(dataFile, adapter, gson)) {
+            int count = JsonLines.write(dataFile, records.iterator(), gson);
+            LOGGER.info("Converted " + count + " entries of " + dataFile.getFileName() + " to JSON Lines");
+        }
+        Files.deleteIfExists(indexFile);
+    }
+
+    /**
+     * インデックスファイルを読み込みます。書き込みロックを取得した状態で呼び出してください
+     * <p>
+     * インデックスに反映されていないデータファイルの末尾の行は、読み込んでインデックスに追加します。
+     * </p>
+     *
+     * @return インデックスを正しく読み込めた場合はtrue、再構築が必要な場合はfalse
+     * @throws IOException 読み込みに失敗した場合
+     */
+    private boolean readIndex() throws IOException {
+        State current = state;
+        long size = current.index.size();
+        if (size == 0 && dataSize == 0) {
+            indexSize = writeHeader(current.index, 0);
+            return true;
+        }
+        if (size < INDEX_HEADER_BYTES) {
+            return false;
+        }
+
+        long position = INDEX_HEADER_BYTES;
+        long covered;
+        long garbage = 0;
+        try (InputStream stream = new BufferedInputStream(Files.newInputStream(indexFile));
+                DataInputStream in = new DataInputStream(stream)) {
+            if (in.readInt() != INDEX_MAGIC) {
+                LOGGER.warning("Unknown format of " + indexFile + ", rebuilding index");
+                return false;
+            }
+            covered = in.readLong();
+            if (covered < 0 || covered > dataSize) {
+                LOGGER.warning("Index " + indexFile + " covers more than the data file, rebuilding index");
+                return false;
+            }
+
+            while (position < size) {
+                byte op;
+                String key;
+                long offset;
+                int length;
+                try {
+                    op = in.readByte();
+                    int keyLength = in.readInt();
+                    if (keyLength < 0 || keyLength > size - position || op != OP_PUT && op != OP_REMOVE) {
+                        LOGGER.warning("Corrupted record in " + indexFile + ", rebuilding index");
+                        return false;
+                    }
+                    byte[] keyBytes = new byte[keyLength];
+                    in.readFully(keyBytes);
+                    key = new String(keyBytes, StandardCharsets.UTF_8);
+                    offset = in.readLong();
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    // 書き込みの途中で終了した末尾のレコードを取り除く
+                    LOGGER.warning("Truncated index " + indexFile + " at " + position);
+                    current.index.truncate(position);
+                    break;
+                }
+
+                if (offset < 0 || length < 0 || offset + length + 1 > dataSize) {
+                    LOGGER.warning("Index " + indexFile + " points outside of the data file, rebuilding index");
+                    return false;
+                }
+                Entry previous;
+                if (op == OP_PUT) {
+                    previous = current.entries.put(key, new Entry(offset, length));
+                } else {
+                    previous = current.entries.remove(key);
+                    garbage += length + 1L;
+                }
+                if (previous != null) {
+                    garbage += previous.length + 1L;
+                }
+                covered = Math.max(covered, offset + length + 1);
+                position += indexRecordSize(key.getBytes(StandardCharsets.UTF_8).length);
+            }
+        }
+        indexSize = position;
+        garbageBytes = garbage;
+
+        if (covered < dataSize) {
+            int recovered = scanData(current, covered, current.entries, true);
+            if (recovered > 0) {
+                LOGGER.warning("Recovered " + recovered + " lines of " + dataFile.getFileName()
+                        + " that were not in the index");
+            }
+        }
+        return true;
+    }
+
+    /**
+     * データファイルを読み込んでインデックスを作り直します。書き込みロックを取得した状態で呼び出してください
+     * <p>
+     * 解析できない行は読み飛ばされます。
+     * </p>
+     *
+     * @throws IOException 読み込みまたは書き込みに失敗した場合
+     */
+    private void rebuildIndex() throws IOException {
+        State current = state;
+        Map<String, Entry> entries = new ConcurrentHashMap<>();
+        garbageBytes = 0;
+        scanData(current, 0, entries, false);
+
+        Path tempIndex = AtomicFileWriter.createTemp(indexFile);
+        try {
+            long newIndexSize = writeIndex(tempIndex, entries, dataSize);
+            move(tempIndex, indexFile);
+            state = new State(openChannel(dataFile), openChannel(indexFile), entries);
+            indexSize = newIndexSize;
+        } finally {
+            Files.deleteIfExists(tempIndex);
+        }
+        current.close();
+        LOGGER.info("Rebuilt index of " + dataFile.getFileName() + " with " + entries.size() + " entries");
+    }
+
+    /**
+     * データファイルの指定した位置より後ろの行を読み込み、インデックスに反映します。
+     * 書き込みロックを取得した状態で呼び出してください
+     * <p>
+     * 解析できない行は使われなくなった行として扱います。改行で終わっていない末尾の行は、
+     * 解析できる場合は改行を補い、解析できない場合は書き込みの途中で終了したものとして取り除きます。
+     * </p>
+     *
+     * @param current 現在のファイル
+     * @param from    読み込みを開始する位置
+     * @param entries 反映先のキーと行の位置のマッピング
+     * @param append  読み込んだ行のレコードをインデックスファイルに追記する場合はtrue
+     * @return 読み込んだ行の数
+     * @throws IOException 読み込みまたは書き込みに失敗した場合
+     */
+    private int scanData(State current, long from, Map<String, Entry> entries, boolean append)
+            throws IOException {
+        long offset = from;
+        int lines = 0;
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(dataFile), 64 * 1024)) {
+            in.skipNBytes(from);
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            int b;
+            while ((b = in.read()) != -1) {
+                if (b != '\n') {
+                    line.write(b);
+                    continue;
+                }
+                applyLine(current, line.toString(StandardCharsets.UTF_8), offset, line.size(), entries, append);
+                offset += line.size() + 1L;
+                line.reset();
+                lines++;
+            }
+
+            if (line.size() > 0) {
+                String json = line.toString(StandardCharsets.UTF_8);
+                if (parseLineQuietly(json) != null) {
+                    writeFully(current.data, ByteBuffer.wrap(new byte[] { '\n' }), offset + line.size());
+                    applyLine(current, json, offset, line.size(), entries, append);
+                    offset += line.size() + 1L;
+                    lines++;
+                } else {
+                    LOGGER.warning("Removing incomplete line at " + offset + " in " + dataFile);
+                    current.data.truncate(offset);
+                }
+            }
+        }
+        dataSize = offset;
+        return lines;
+    }
+
+    /**
+     * データファイルの1行をインデックスに反映します。書き込みロックを取得した状態で呼び出してください
+     *
+     * @param current 現在のファイル
+     * @param json    行の内容
+     * @param offset  行の先頭の位置
+     * @param length  行のバイト数（改行を含まない）
+     * @param entries 反映先のキーと行の位置のマッピング
+     * @param append  レコードをインデックスファイルに追記する場合はtrue
+     * @throws IOException インデックスファイルへの書き込みに失敗した場合
+     */
+    private void applyLine(State current, String json, long offset, int length, Map<String, Entry> entries,
+            boolean append) throws IOException {
+        LineKey line;
+        try {
+            line = parseLine(json);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warning("Skipping unreadable line at " + offset + " in " + dataFile + ": " + e.getMessage());
+            line = null;
+        }
+        if (line == null) {
+            garbageBytes += length + 1L;
+            return;
+        }
+
+        Entry previous;
+        if (line.removed) {
+            previous = entries.remove(line.key);
+            garbageBytes += length + 1L;
+        } else {
+            previous = entries.put(line.key, new Entry(offset, length));
+        }
+        if (previous != null) {
+            garbageBytes += previous.length + 1L;
+        }
+        if (append) {
+            appendIndex(current, line.removed ? OP_REMOVE : OP_PUT, line.key, offset, length);
+        }
+    }
+
+    /**
+     * データファイルの1行を解析します
+     *
+     * @param json 行の内容
+     * @return 行のキーと種類、要素を含まない行の場合はnull
+     * @throws IOException 要素の解析に失敗した場合
+     */
+    private LineKey parseLine(String json) throws IOException {
+        if (json.startsWith(TOMBSTONE_PREFIX) && json.endsWith("}")) {
+            String key = gson.fromJson(json.substring(TOMBSTONE_PREFIX.length(), json.length() - 1), String.class);
+            return key != null ? new LineKey(key, true) : null;
+        }
+        T value = json.isBlank() ? null : adapter.fromJson(json);
+        String key = value != null ? keyFunction.apply(value) : null;
+        return key != null ? new LineKey(key, false) : null;
+    }
+
+    /**
+     * データファイルの1行を解析します。解析できない場合は例外を送出せずにnullを返します
+     *
+     * @param json 行の内容
+     * @return 行のキーと種類、解析できない場合はnull
+     */
+    private LineKey parseLineQuietly(String json) {
+        try {
+            return parseLine(json);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * すべての要素の追加レコードを含むインデックスファイルを書き込みます
+     *
+     * @param file    書き込み先のパス
+     * @param entries キーと位置のマッピング
+     * @param covered インデックスに反映済みのデータファイルの長さ
+     * @return 書き込んだバイト数
+     * @throws IOException 書き込みに失敗した場合
+     */
+    private static long writeIndex(Path file, Map<String, Entry> entries, long covered) throws IOException {
+        try (FileChannel out = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            long size = writeHeader(out, covered);
+            for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                size += writeIndexRecord(out, OP_PUT, entry.getKey(), entry.getValue().offset,
+                        entry.getValue().length, size);
+            }
+            out.force(true);
+            return size;
+        }
+    }
+
+    /**
+     * インデックスファイルの先頭にヘッダーを書き込みます
+     *
+     * @param out     インデックスファイルのチャネル
+     * @param covered インデックスに反映済みのデータファイルの長さ
+     * @return ヘッダーのバイト数
+     * @throws IOException 書き込みに失敗した場合
+     */
+    private static long writeHeader(FileChannel out, long covered) throws IOException {
+        writeFully(out, ByteBuffer.allocate(INDEX_HEADER_BYTES).putInt(INDEX_MAGIC).putLong(covered).flip(), 0);
+        return INDEX_HEADER_BYTES;
+    }
+
+    /**
+     * インデックスファイルの指定した位置にレコードを書き込みます
+     *
+     * @param out      インデックスファイルのチャネル
+     * @param op       レコードの種類
+     * @param key      キー
+     * @param offset   データファイル内の行の位置
+     * @param length   行のバイト数（改行を含まない）
+     * @param position 書き込む位置
+     * @return 書き込んだバイト数
+     * @throws IOException 書き込みに失敗した場合
+     */
+    private static int writeIndexRecord(FileChannel out, byte op, String key, long offset, int length,
+            long position) throws IOException {
+        ByteBuffer record = encodeIndex(op, key, offset, length);
+        int size = record.remaining();
+        writeFully(out, record, position);
+        return size;
+    }
+
+    /**
+     * インデックスファイルにレコードを追記します。書き込みロックを取得した状態で呼び出してください
+     *
+     * @param current 現在のファイル
+     * @param op      レコードの種類
+     * @param key     キー
+     * @param offset  データファイル内の位置
+     * @param length  行のバイト数（改行を含まない）
+     * @throws IOException 書き込みに失敗した場合
+     */
+    private void appendIndex(State current, byte op, String key, long offset, int length) throws IOException {
+        indexSize += writeIndexRecord(current.index, op, key, offset, length, indexSize);
+    }
+
+    /**
+     * インデックスのレコードをエンコードします
+     *
+     * @param op     レコードの種類
+     * @param key    キー
+     * @param offset データファイル内の要素または削除を表す行の位置
+     * @param length 行のバイト数（改行を含まない）
+     * @return エンコードしたレコード
+     */
+    private static ByteBuffer encodeIndex(byte op, String key, long offset, int length) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer record = ByteBuffer.allocate(indexRecordSize(keyBytes.length));
+        record.put(op).putInt(keyBytes.length).put(keyBytes).putLong(offset).putInt(length);
+        return record.flip();
+    }
+
+    /**
+     * インデックスのレコードのバイト数を取得します
+     *
+     * @param keyLength キーのバイト数
+     * @return レコードのバイト数
+     */
+    private static int indexRecordSize(int keyLength) {
+        return 1 + 4 + keyLength + 8 + 4;
+    }
+
+    /**
+     * 使われなくなった行の割合が大きい場合に、I/Oスレッドでのコンパクションを予約します。
+     * 書き込みロックを取得した状態で呼び出してください
+     */
+    private void scheduleCompactionIfNeeded() {
+        if (compactionScheduled || dataSize < MIN_COMPACTION_BYTES || garbageBytes < dataSize * COMPACTION_RATIO) {
+            return;
+        }
+
+        compactionScheduled = true;
+        ConfigExecutors.io().execute(() -> {
+            try {
+                if (!closed) {
+                    compact();
+                }
+            } catch (IOException e) {
+                // コンパクション中に閉じられた場合は、以前のファイルがそのまま使用される
+                if (!closed) {
+                    LOGGER.severe("Failed to compact " + dataFile + ": " + e.getMessage());
+                }
+            } finally {
+                synchronized (writeLock) {
+                    compactionScheduled = false;
+                }
+            }
+        });
+    }
+
+    /**
+     * 閉じられたチャネルを開き直します
+     *
+     * @param failed 閉じられたチャネルを持つ状態
+     * @throws IOException ファイルを開けない場合
+     */
+    private void reopen(State failed) throws IOException {
+        synchronized (writeLock) {
+            ensureOpen();
+            if (state == failed) {
+                state = new State(openChannel(dataFile), openChannel(indexFile), failed.entries);
+                failed.close();
+            }
+        }
+    }
+
+    /**
+     * ストアが閉じられていないことを確認します
+     *
+     * @throws IOException ストアが閉じられている場合
+     */
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new ClosedChannelException();
+        }
+    }
+
+    /**
+     * データファイルから1件分の行を読み込みます
+     *
+     * @param channel データファイルのチャネル
+     * @param entry   行の位置
+     * @return 行の内容
+     * @throws IOException 読み込みに失敗した場合
+     */
+    private static String readRecord(FileChannel channel, Entry entry) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(entry.length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, entry.offset + buffer.position()) < 0) {
+                throw new EOFException("Record at " + entry.offset + " is truncated");
+            }
+        }
+        return new String(buffer.array(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * バッファの内容をすべて指定した位置に書き込みます
+     *
+     * @param channel  書き込み先のチャネル
+     * @param buffer   書き込む内容
+     * @param position 書き込む位置
+     * @throws IOException 書き込みに失敗した場合
+     */
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long current = position;
+        while (buffer.hasRemaining()) {
+            current += channel.write(buffer, current);
+        }
+    }
+
+    /**
+     * チャネルの指定した範囲をすべて別のチャネルの指定した位置にコピーします
+     *
+     * @param source   コピー元のチャネル
+     * @param position コピー元の位置
+     * @param count    コピーするバイト数
+     * @param target   コピー先のチャネル
+     * @param to       コピー先の位置
+     * @throws IOException コピーに失敗した場合
+     */
+    private static void transferFully(FileChannel source, long position, long count, FileChannel target, long to)
+            throws IOException {
+        target.position(to);
+        long copied = 0;
+        while (copied < count) {
+            long transferred = source.transferTo(position + copied, count - copied, target);
+            if (transferred <= 0 && position + copied >= source.size()) {
+                throw new EOFException("Data file is shorter than expected");
+            }
+            copied += transferred;
+        }
+    }
+
+    /**
+     * 読み書き用にファイルを開きます。存在しない場合は作成します
+     *
+     * @param file ファイルのパス
+     * @return チャネル
+     * @throws IOException ファイルを開けない場合
+     */
+    private static FileChannel openChannel(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * JSON配列形式のファイルかどうかを判定します
+     *
+     * @param file ファイルのパス
+     * @return 最初の空白以外の文字が{@code [}の場合はtrue
+     * @throws IOException 読み込みに失敗した場合
+     */
+    private static boolean isJsonArray(Path file) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            int b;
+            while ((b = in.read()) != -1) {
+                if (!Character.isWhitespace(b) && b != 0xEF && b != 0xBB && b != 0xBF) {
+                    return b == '[';
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * ファイルを置き換えます
+     *
+     * @param source 置き換える内容のファイル
+     * @param target 置き換えられるファイル
+     * @throws IOException 置き換えに失敗した場合
+     */
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * データファイル内の行の位置
+     */
+    private static final class Entry {
+        /** 行の先頭の位置 */
+        private final long offset;
+
+        /** 行のバイト数（改行を含まない） */
+        private final int length;
+
+        private Entry(long offset, int length) {
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+
+    /**
+     * データファイルの1行が表すキーと操作
+     */
+    private static final class LineKey {
+        /** 要素のキー */
+        private final String key;
+
+        /** 削除を表す行かどうか */
+        private final boolean removed;
+
+        private LineKey(String key, boolean removed) {
+            this.key = key;
+            this.removed = removed;
+        }
+    }
+
+    /**
+     * 開いているファイルとインデックスの組み合わせ
+     * <p>
+     * コンパクションでファイルが差し替えられると新しいインスタンスに置き換えられるため、
+     * 読み込み側は一つのインスタンスのチャネルとインデックスを組み合わせて使用します。
+     * </p>
+     */
+    private static final class State {
+        /** データファイルのチャネル */
+        private final FileChannel data;
+
+        /** インデックスファイルのチャネル */
+        private final FileChannel index;
+
+        /** キーと行の位置のマッピング */
+        private final Map<String, Entry> entries;
+
+        private State(FileChannel data, FileChannel index, Map<String, Entry> entries) {
+            this.data = data;
+            this.index = index;
+            this.entries = entries;
+        }
+
+        /**
+         * チャネルを閉じます
+         */
+        private void close() {
+            try {
+                data.close();
+            } catch (IOException ignored) {
+                // 読み込み専用で使用していたチャネルのため、閉じられなくても内容には影響しない
+            }
+            try {
+                index.close();
+            } catch (IOException ignored) {
+                // 追記済みのレコードはすでにチャネルに書き込まれている
+            }
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.karasu256.karasuConfigLib.io;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 設定リストをJSON Lines形式（1行に1件のJSON）で逐次読み書きするユーティリティクラス
+ * <p>
+ * 書き込みは{@link AtomicFileWriter#write(Path, AtomicFileWriter.ContentWriter)}を通じて
+ * 1件ずつ{@link JsonWriter}に出力し、読み込みは{@link JsonReader}から1件ずつ取り出す
+ * {@link Stream}を返します。どちらもリスト全体を文字列やリストとしてメモリ上に構築しないため、
+ * ヒープの空き容量よりも大きなリストでも一定のメモリで処理できます。
+ * </p>
+ *
+ * <p>
+ * 読み込みはJSON Lines形式のほか、{@code saveList}が書き込むJSON配列形式のファイルにも対応しています。
+ * </p>
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ */
+public final class JsonLines {
+
+    private JsonLines() {
+    }
+
+    /**
+     * 要素をJSON Lines形式でファイルにアトミックに書き込みます
+     * <p>
+     * 各要素は実行時の型の型アダプタでシリアライズされるため、サブクラスのフィールドも書き込まれます。
+     * </p>
+     *
+     * @param target  書き込み先のパス
+     * @param records 書き込む要素
+     * @param gson    シリアライズに使用するGson
+     * @return 書き込んだ要素の数
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public static int write(Path target, Iterator<?> records, Gson gson) throws IOException {
+        int[] count = new int[1];
+        AtomicFileWriter.write(target, out -> count[0] = writeTo(out, records, gson));
+        return count[0];
+    }
+
+    /**
+     * 要素をJSON Lines形式で書き込みます
+     *
+     * @param out     書き込み先
+     * @param records 書き込む要素
+     * @param gson    シリアライズに使用するGson
+     * @return 書き込んだ要素の数
+     * @throws IOException 書き込みに失敗した場合
+     */
+    private static int writeTo(Writer out, Iterator<?> records, Gson gson) throws IOException {
+        JsonWriter writer = newLineWriter(out, gson);
+        int count = 0;
+        while (records.hasNext()) {
+            // JsonWriterはバッファを持たないため、改行はフラッシュせずにそのまま続けて書き込める
+            writeRecord(writer, records.next(), gson);
+            out.write('\n');
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    /**
+     * 要素を改行を含まない1行のJSON文字列に変換します
+     *
+     * @param record 変換する要素
+     * @param gson   シリアライズに使用するGson
+     * @return 1行のJSON文字列
+     */
+    public static String toLine(Object record, Gson gson) {
+        StringWriter out = new StringWriter();
+        try {
+            JsonWriter writer = newLineWriter(out, gson);
+            writeRecord(writer, record, gson);
+            writer.flush();
+        } catch (IOException e) {
+            // StringWriterへの書き込みでは発生しない
+            throw new UncheckedIOException(e);
+        }
+        return out.toString();
+    }
+
+    /**
+     * 要素を1行ずつ書き込むためのJsonWriterを作成します
+     *
+     * @param out  書き込み先
+     * @param gson 設定の取得に使用するGson
+     * @return インデントを行わないJsonWriter
+     * @throws IOException JsonWriterを作成できない場合
+     */
+    @SuppressWarnings("deprecation")
+    private static JsonWriter newLineWriter(Writer out, Gson gson) throws IOException {
+        JsonWriter writer = gson.newJsonWriter(out);
+        writer.setIndent("");
+        // 複数のトップレベルの値を書き込むために必要
+        writer.setLenient(true);
+        return writer;
+    }
+
+    /**
+     * 要素を実行時の型の型アダプタで書き込みます
+     *
+     * @param writer 書き込み先
+     * @param record 書き込む要素
+     * @param gson   型アダプタの取得に使用するGson
+     * @throws IOException 書き込みに失敗した場合
+     */
+    @SuppressWarnings("unchecked")
+    private static void writeRecord(JsonWriter writer, Object record, Gson gson) throws IOException {
+        if (record == null) {
+            writer.nullValue();
+        } else {
+            ((TypeAdapter<Object>) gson.getAdapter(record.getClass())).write(writer, record);
+        }
+    }
+
+    /**
+     * ファイルから要素を1件ずつ読み込むStreamを作成します
+     * <p>
+     * 返されたStreamはファイルを開いたままにするため、使い終わったら必ず閉じてください。
+     * {@code null}の要素は読み飛ばさず、{@code null}としてStreamに含まれます。
+     * 読み込み中のI/OエラーとJSONの構文エラーは{@link UncheckedIOException}として、
+     * 要素の型と一致しない内容は{@link com.google.gson.JsonParseException}としてStreamの操作から送出されます。
+     * </p>
+     *
+     * @param <T>     要素の型
+     * @param file    読み込むファイル
+     * @param adapter 要素の型アダプタ
+     * @param gson    JsonReaderの設定に使用するGson
+     * @return 要素のStream
+     * @throws IOException ファイルを開けない場合
+     */
+    @SuppressWarnings("deprecation")
+    public static <T> Stream<T> stream(Path file, TypeAdapter<T> adapter, Gson gson) throws IOException {
+        JsonReader reader = gson.newJsonReader(Files.newBufferedReader(file, StandardCharsets.UTF_8));
+        // 複数のトップレベルの値を読み込むために必要
+        reader.setLenient(true);
+
+        try {
+            boolean array;
+            try {
+                array = reader.peek() == JsonToken.BEGIN_ARRAY;
+            } catch (EOFException e) {
+                // 空のファイルは要素のないリストとして扱う
+                reader.close();
+                return Stream.empty();
+            }
+            if (array) {
+                reader.beginArray();
+            }
+
+            Iterator<T> iterator = new RecordIterator<>(reader, adapter, array);
+            return StreamSupport
+                    .stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                    .onClose(() -> {
+                        try {
+                            reader.close();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+        } catch (IOException | RuntimeException e) {
+            reader.close();
+            throw e;
+        }
+    }
+
+    /**
+     * JsonReaderから要素を1件ずつ取り出すIterator
+     *
+     * @param <T> 要素の型
+     */
+    private static final class RecordIterator<T> implements Iterator<T> {
+        /** 読み込み元 */
+        private final JsonReader reader;
+
+        /** 要素の型アダプタ */
+        private final TypeAdapter<T> adapter;
+
+        /** JSON配列形式のファイルを読み込んでいるかどうか */
+        private final boolean array;
+
+        private RecordIterator(JsonReader reader, TypeAdapter<T> adapter, boolean array) {
+            this.reader = reader;
+            this.adapter = adapter;
+            this.array = array;
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                JsonToken token = reader.peek();
+                return token != JsonToken.END_DOCUMENT && !(token == JsonToken.END_ARRAY && array);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            try {
+                if (reader.peek() == JsonToken.NULL) {
+                    // 型アダプタによらず、saveListで保存したnull要素をnullとして読み込む
+                    reader.nextNull();
+                    return null;
+                }
+                return adapter.read(reader);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
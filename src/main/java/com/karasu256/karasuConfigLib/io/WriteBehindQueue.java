@@ -0,0 +1,197 @@
+package com.karasu256.karasuConfigLib.io;
+
+import com.karasu256.karasuConfigLib.util.ConfigExecutors;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 同じキーへの保存要求をまとめて一度の書き込みにするライトビハインドキュー
+ * <p>
+ * {@link #request(String)}で保存を要求すると、最後の要求から一定時間({@code window})
+ * 新しい要求がなかった時点で書き込みが行われます。要求が続く場合でも、最初の要求から
+ * {@code maxDelay}が経過すると必ず書き込まれます。
+ * </p>
+ *
+ * <p>
+ * 書き込み処理は{@code dispatcher}上で実行されます。{@link #flush()}を呼び出すと、
+ * 待機中のすべての書き込みを呼び出し元のスレッドですぐに実行します。
+ * {@link #close()}で閉じた後の要求は、待機せずに呼び出し元のスレッドで書き込みます。
+ * </p>
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ */
+public final class WriteBehindQueue {
+
+    /** 最後の要求から書き込みまで待つ時間（ナノ秒） */
+    private final long windowNanos;
+
+    /** 最初の要求から書き込みまで待つ最大の時間（ナノ秒） */
+    private final long maxDelayNanos;
+
+    /** キーに対応する設定を書き込む処理 */
+    private final Consumer<String> writer;
+
+    /** 書き込み処理を実行するExecutor */
+    private final Executor dispatcher;
+
+    /** 書き込み待ちのキー。このオブジェクトで同期します */
+    private final Map<String, Pending> pending = new HashMap<>();
+
+    /** 閉じたかどうか。このオブジェクトで同期します */
+    private boolean closed;
+
+    /**
+     * ライトビハインドキューを作成します
+     *
+     * @param window     最後の要求から書き込みまで待つ時間
+     * @param maxDelay   最初の要求から書き込みまで待つ最大の時間
+     * @param writer     キーに対応する設定を書き込む処理
+     * @param dispatcher 書き込み処理を実行するExecutor
+     */
+    public WriteBehindQueue(Duration window, Duration maxDelay, Consumer<String> writer, Executor dispatcher) {
+        if (window.isNegative() || maxDelay.compareTo(window) < 0) {
+            throw new IllegalArgumentException("maxDelay must be greater than or equal to window");
+        }
+        this.windowNanos = window.toNanos();
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.writer = writer;
+        this.dispatcher = dispatcher;
+    }
+
+    /**
+     * 指定したキーの保存を要求します
+     * <p>
+     * 閉じている場合は、待機せずに呼び出し元のスレッドで書き込みます。
+     * </p>
+     *
+     * @param key 保存するキー（設定ファイル名）
+     */
+    public void request(String key) {
+        synchronized (this) {
+            if (!closed) {
+                schedule(key);
+                return;
+            }
+        }
+        writer.accept(key);
+    }
+
+    /**
+     * 指定したキーの書き込みを予約します
+     *
+     * @param key 保存するキー（設定ファイル名）
+     */
+    private synchronized void schedule(String key) {
+        long now = System.nanoTime();
+        Pending entry = pending.get(key);
+        if (entry == null) {
+            entry = new Pending(now);
+            pending.put(key, entry);
+        } else {
+            entry.future.cancel(false);
+        }
+
+        long deadline = Math.min(now + windowNanos, entry.firstRequestNanos + maxDelayNanos);
+        Pending scheduled = entry;
+        entry.future = ConfigExecutors.scheduler().schedule(() -> dispatch(key, scheduled),
+                Math.max(0L, deadline - now), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 待機中のすべての書き込みを呼び出し元のスレッドで実行します
+     *
+     * @return 実行した書き込みの数
+     */
+    public int flush() {
+        List<String> keys;
+        synchronized (this) {
+            keys = new ArrayList<>(pending.keySet());
+            for (Pending entry : pending.values()) {
+                entry.future.cancel(false);
+            }
+            pending.clear();
+        }
+
+        for (String key : keys) {
+            writer.accept(key);
+        }
+        return keys.size();
+    }
+
+    /**
+     * キューを閉じ、待機中のすべての書き込みを呼び出し元のスレッドで実行します
+     * <p>
+     * 閉じた後の{@link #request(String)}は待機せずに書き込むため、書き込みの予約が残ることはありません。
+     * </p>
+     *
+     * @return 実行した書き込みの数
+     */
+    public int close() {
+        synchronized (this) {
+            closed = true;
+        }
+        return flush();
+    }
+
+    /**
+     * 書き込み待ちのキーの数を取得します
+     *
+     * @return 書き込み待ちのキーの数
+     */
+    public synchronized int size() {
+        return pending.size();
+    }
+
+    /**
+     * 書き込み処理をdispatcherに渡します
+     * <p>
+     * 書き込みが実際に実行されるまではキーを待機中のまま残すため、
+     * その間に{@link #flush()}が呼び出されても書き込みが失われることはありません。
+     * </p>
+     *
+     * @param key   書き込むキー
+     * @param entry スケジュールしたときの待機情報
+     */
+    private void dispatch(String key, Pending entry) {
+        dispatcher.execute(() -> {
+            if (claim(key, entry)) {
+                writer.accept(key);
+            }
+        });
+    }
+
+    /**
+     * 待機中のキーを書き込み対象として取り出します
+     *
+     * @param key   書き込むキー
+     * @param entry スケジュールしたときの待機情報
+     * @return まだ他の処理に取り出されていない場合はtrue
+     */
+    private synchronized boolean claim(String key, Pending entry) {
+        return pending.remove(key, entry);
+    }
+
+    /**
+     * キーごとの待機情報
+     */
+    private static final class Pending {
+        /** 最初に要求された時刻 */
+        private final long firstRequestNanos;
+
+        /** スケジュールされた書き込み */
+        private ScheduledFuture<?> future;
+
+        private Pending(long firstRequestNanos) {
+            this.firstRequestNanos = firstRequestNanos;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.karasu256.karasuConfigLib.jfr;
+
+import com.karasu256.karasuConfigLib.metrics.ConfigMetrics;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * 設定ファイルの読み込み、再読み込み、保存を表すJava Flight Recorderのイベント
+ * <p>
+ * イベントは操作全体の時間に加えて、読み込み、解析、シリアライズ、書き込みのそれぞれにかかった時間と
+ * 読み書きしたバイト数を持ちます。各段階の時間は{@link ConfigMetrics}への記録と同時に、
+ * 同じスレッドで実行中のイベントに加算されます。
+ * </p>
+ *
+ * <p>
+ * 記録中でない場合、{@link #start(String, String, Class)}はイベントを作成せずにnullを返すため、
+ * 計測のためのオブジェクトの生成やスレッドローカルの参照は行われません。
+ * </p>
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ */
+@Name("com.karasu256.karasuConfigLib.ConfigOperation")
+@Label("Config Operation")
+@Category("KarasuConfigLib")
+@Description("Loading, reloading or saving of a config file")
+public final class ConfigOperationEvent extends Event {
+
+    /** このイベントの種類 */
+    private static final EventType TYPE = EventType.getEventType(ConfigOperationEvent.class);
+
+    /** スレッドごとの実行中のイベント */
+    private static final ThreadLocal<ConfigOperationEvent> CURRENT = new ThreadLocal<>();
+
+    /** 操作の名前 */
+    @Label("Operation")
+    private String operation;
+
+    /** 設定ファイル名 */
+    @Label("File Name")
+    private String fileName;
+
+    /** 設定クラス */
+    @Label("Config Class")
+    private Class<?> configClass;
+
+    /** 操作が成功したかどうか */
+    @Label("Success")
+    private boolean success;
+
+    /** 読み込んだバイト数 */
+    @Label("Bytes Read")
+    @DataAmount
+    private long bytesRead;
+
+    /** 書き込んだバイト数 */
+    @Label("Bytes Written")
+    @DataAmount
+    private long bytesWritten;
+
+    /** ファイルの読み込みにかかった時間 */
+    @Label("Read Time")
+    @Timespan
+    private long readTime;
+
+    /** 解析にかかった時間 */
+    @Label("Parse Time")
+    @Timespan
+    private long parseTime;
+
+    /** シリアライズにかかった時間 */
+    @Label("Serialize Time")
+    @Timespan
+    private long serializeTime;
+
+    /** ファイルの書き込みにかかった時間 */
+    @Label("Write Time")
+    @Timespan
+    private long writeTime;
+
+    /** このイベントの開始前に実行中だったイベント */
+    private transient ConfigOperationEvent outer;
+
+    private ConfigOperationEvent() {
+    }
+
+    /**
+     * イベントを開始します
+     *
+     * @param operation   操作の名前
+     * @param fileName    設定ファイル名
+     * @param configClass 設定クラス、不明な場合はnull
+     * @return 開始したイベント、記録中でない場合はnull
+     */
+    @Nullable
+    public static ConfigOperationEvent start(String operation, String fileName, @Nullable Class<?> configClass) {
+        if (!TYPE.isEnabled()) {
+            return null;
+        }
+        ConfigOperationEvent event = new ConfigOperationEvent();
+        event.operation = operation;
+        event.fileName = fileName;
+        event.configClass = configClass;
+        event.outer = CURRENT.get();
+        CURRENT.set(event);
+        event.begin();
+        return event;
+    }
+
+    /**
+     * イベントを終了し、記録します
+     *
+     * @param event   {@link #start(String, String, Class)}で開始したイベント、nullの場合は何もしません
+     * @param success 操作が成功した場合はtrue
+     */
+    public static void finish(@Nullable ConfigOperationEvent event, boolean success) {
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (event.outer == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(event.outer);
+        }
+        if (event.shouldCommit()) {
+            event.success = success;
+            event.commit();
+        }
+    }
+
+    /**
+     * 同じスレッドで実行中のイベントに、操作の段階にかかった時間とバイト数を加算します
+     *
+     * @param operation 操作の段階
+     * @param nanos     かかった時間（ナノ秒）
+     * @param bytes     読み書きしたバイト数
+     */
+    public static void addPhase(ConfigMetrics.Operation operation, long nanos, long bytes) {
+        if (!TYPE.isEnabled()) {
+            return;
+        }
+        ConfigOperationEvent event = CURRENT.get();
+        if (event == null) {
+            return;
+        }
+        switch (operation) {
+            case READ -> {
+                event.readTime += nanos;
+                event.bytesRead += bytes;
+            }
+            case PARSE -> event.parseTime += nanos;
+            case SERIALIZE -> event.serializeTime += nanos;
+            case WRITE -> {
+                event.writeTime += nanos;
+                event.bytesWritten += bytes;
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.karasu256.karasuConfigLib.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 型アダプタの登録によるGsonインスタンスの再構築を表すJava Flight Recorderのイベント
+ * <p>
+ * 再構築するとGsonが内部に持つ型アダプタのキャッシュが破棄されるため、
+ * 直後の設定の読み書きが遅くなる原因を特定するために使用します。
+ * </p>
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ * @see com.karasu256.karasuConfigLib.config.BaseConfig#registerTypeAdapters(java.util.function.Consumer)
+ */
+@Name("com.karasu256.karasuConfigLib.GsonRebuild")
+@Label("Gson Rebuild")
+@Category("KarasuConfigLib")
+@Description("Rebuild of the shared Gson instance after type adapters were registered")
+public final class GsonRebuildEvent extends Event {
+
+    /** 登録されている型アダプタの数 */
+    @Label("Type Adapters")
+    public int typeAdapters;
+
+    /** 登録されている型アダプタファクトリの数 */
+    @Label("Type Adapter Factories")
+    public int typeAdapterFactories;
+
+    /**
+     * イベントを作成します
+     */
+    public GsonRebuildEvent() {
+    }
+}
@@ -0,0 +1,248 @@
+package com.karasu256.karasuConfigLib.metrics;
+
+import com.karasu256.karasuConfigLib.jfr.ConfigOperationEvent;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * プラグインの設定ファイルの読み書きにかかった時間とバイト数を集計するクラス
+ * <p>
+ * 操作は{@link Operation}の種類ごとに、ファイルごととプラグイン全体の両方で集計されます。
+ * 記録はロックを使用せず、同じファイルの2回目以降の記録ではオブジェクトを生成しないため、
+ * 本番環境でも常に有効にしておくことができます。
+ * Java Flight Recorderで記録中の場合は、同じスレッドで実行中の{@link ConfigOperationEvent}にも加算されます。
+ * </p>
+ *
+ * <p>
+ * ファイルごとの集計は最大{@link #getMaxFiles()}ファイルまで保持し、それを超えたファイルの操作は
+ * {@link #OTHER_FILES}にまとめて集計します。プレイヤーごとの設定のように、読み書きするファイルが増え続ける
+ * 場合でもメモリの使用量は増え続けません。使用しなくなったファイルの集計は{@link #remove(String)}で削除できます。
+ * </p>
+ *
+ * <p>
+ * 各プラグインの集計は有効化時に{@link #register(String, ConfigMetrics)}で登録され、
+ * {@link #getRegistered()}からまとめて参照できます。
+ * </p>
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ * @see com.karasu256.karasuConfigLib.AbstractJavaPluginConfigable#getMetrics()
+ */
+public final class ConfigMetrics {
+
+    /** ファイルごとに集計するファイル数のデフォルトの上限 */
+    public static final int DEFAULT_MAX_FILES = 1024;
+
+    /** ファイル数の上限を超えたファイルの操作をまとめて集計するときのファイル名 */
+    public static final String OTHER_FILES = "(other files)";
+
+    /** 登録されたプラグイン名と集計 */
+    private static final Map<String, ConfigMetrics> REGISTERED = new ConcurrentHashMap<>();
+
+    /** 操作の種類の一覧 */
+    private static final Operation[] OPERATIONS = Operation.values();
+
+    /** プラグイン全体の操作ごとの集計 */
+    private final OperationStats[] total = newStats();
+
+    /** ファイル名と操作ごとの集計 */
+    private final Map<String, OperationStats[]> files = new ConcurrentHashMap<>();
+
+    /** ファイルごとに集計するファイル数の上限 */
+    private final int maxFiles;
+
+    /**
+     * ファイル数の上限が{@link #DEFAULT_MAX_FILES}の空の集計を作成します
+     */
+    public ConfigMetrics() {
+        this(DEFAULT_MAX_FILES);
+    }
+
+    /**
+     * 空の集計を作成します
+     *
+     * @param maxFiles ファイルごとに集計するファイル数の上限
+     * @throws IllegalArgumentException 上限が1未満の場合
+     */
+    public ConfigMetrics(int maxFiles) {
+        if (maxFiles < 1) {
+            throw new IllegalArgumentException("maxFiles must be positive: " + maxFiles);
+        }
+        this.maxFiles = maxFiles;
+    }
+
+    /**
+     * 集計の対象となる操作の種類
+     */
+    public enum Operation {
+        /** ファイルの読み込み */
+        READ,
+        /** 読み込んだ内容から設定オブジェクトへの変換 */
+        PARSE,
+        /** 設定オブジェクトからファイルの内容への変換 */
+        SERIALIZE,
+        /** ファイルへの書き込み */
+        WRITE
+    }
+
+    /**
+     * プラグインの集計を登録します
+     * <p>
+     * 同じ名前の集計が登録されている場合は置き換えるため、プラグインごとに一意な名前を指定してください。
+     * </p>
+     *
+     * @param pluginName プラグイン名
+     * @param metrics    集計
+     */
+    public static void register(String pluginName, ConfigMetrics metrics) {
+        REGISTERED.put(pluginName, metrics);
+    }
+
+    /**
+     * プラグインの集計の登録を解除します
+     *
+     * @param pluginName プラグイン名
+     * @param metrics    登録した集計
+     */
+    public static void unregister(String pluginName, ConfigMetrics metrics) {
+        REGISTERED.remove(pluginName, metrics);
+    }
+
+    /**
+     * 登録されているすべてのプラグインの集計を取得します
+     *
+     * @return プラグイン名と集計の変更できないマップ
+     */
+    public static Map<String, ConfigMetrics> getRegistered() {
+        return Collections.unmodifiableMap(REGISTERED);
+    }
+
+    /**
+     * 操作を1回記録します
+     *
+     * @param fileName   設定ファイル名
+     * @param operation  操作の種類
+     * @param startNanos 操作を開始したときの{@link System#nanoTime()}の値
+     * @param bytes      読み書きしたバイト数、バイト数がない操作の場合は0
+     */
+    public void record(String fileName, Operation operation, long startNanos, long bytes) {
+        recordNanos(fileName, operation, System.nanoTime() - startNanos, bytes);
+    }
+
+    /**
+     * 処理時間を指定して操作を1回記録します
+     *
+     * @param fileName  設定ファイル名
+     * @param operation 操作の種類
+     * @param nanos     処理時間（ナノ秒）
+     * @param bytes     読み書きしたバイト数、バイト数がない操作の場合は0
+     */
+    public void recordNanos(String fileName, Operation operation, long nanos, long bytes) {
+        OperationStats[] stats = files.get(fileName);
+        if (stats == null) {
+            // 上限に達した後は、新しいファイルをまとめて集計する
+            stats = files.size() < maxFiles ? files.computeIfAbsent(fileName, key -> newStats())
+                    : files.computeIfAbsent(OTHER_FILES, key -> newStats());
+        }
+        int index = operation.ordinal();
+        stats[index].record(nanos, bytes);
+        total[index].record(nanos, bytes);
+        ConfigOperationEvent.addPhase(operation, nanos, bytes);
+    }
+
+    /**
+     * プラグイン全体の集計を取得します
+     *
+     * @param operation 操作の種類
+     * @return 集計
+     */
+    public OperationStats getTotal(Operation operation) {
+        return total[operation.ordinal()];
+    }
+
+    /**
+     * ファイルごとの集計を取得します
+     *
+     * @param fileName  設定ファイル名
+     * @param operation 操作の種類
+     * @return 集計、ファイルの操作が記録されていない場合はnull
+     */
+    public OperationStats get(String fileName, Operation operation) {
+        OperationStats[] stats = files.get(fileName);
+        return stats == null ? null : stats[operation.ordinal()];
+    }
+
+    /**
+     * 操作が記録されたファイル名の一覧を取得します
+     *
+     * @return ファイル名の変更できないセット
+     */
+    public Set<String> getFileNames() {
+        return Collections.unmodifiableSet(files.keySet());
+    }
+
+    /**
+     * ファイルごとに集計するファイル数の上限を取得します
+     *
+     * @return ファイル数の上限
+     */
+    public int getMaxFiles() {
+        return maxFiles;
+    }
+
+    /**
+     * ファイルの集計を削除します。プラグイン全体の集計は変わりません
+     * <p>
+     * 設定をキャッシュから削除したときなど、ファイルを当分使用しない場合に呼び出します。
+     * </p>
+     *
+     * @param fileName 設定ファイル名
+     * @return 集計が削除された場合はtrue
+     */
+    public boolean remove(String fileName) {
+        return files.remove(fileName) != null;
+    }
+
+    /**
+     * 条件に一致するファイルの集計を削除します。プラグイン全体の集計は変わりません
+     *
+     * @param filter 削除するファイル名の条件
+     * @return 削除したファイルの数
+     */
+    public int removeIf(Predicate<String> filter) {
+        int removed = 0;
+        for (String fileName : files.keySet()) {
+            if (filter.test(fileName) && files.remove(fileName) != null) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * すべての集計を0に戻します
+     */
+    public void reset() {
+        for (OperationStats stats : total) {
+            stats.reset();
+        }
+        files.clear();
+    }
+
+    /**
+     * 操作の種類ごとの空の集計を作成します
+     *
+     * @return 集計の配列
+     */
+    private static OperationStats[] newStats() {
+        OperationStats[] stats = new OperationStats[OPERATIONS.length];
+        for (int i = 0; i < stats.length; i++) {
+            stats[i] = new OperationStats();
+        }
+        return stats;
+    }
+}
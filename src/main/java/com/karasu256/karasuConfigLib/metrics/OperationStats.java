@@ -0,0 +1,157 @@
+package com.karasu256.karasuConfigLib.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 1種類の操作の回数、処理時間、バイト数を集計するクラス
+ * <p>
+ * 処理時間は2のべき乗ごとの区間に分けたヒストグラムとして記録し、パーセンタイルはその区間の上限で近似します。
+ * 記録はロックを使用せず、オブジェクトも生成しないため、複数のスレッドから常時呼び出すことができます。
+ * </p>
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ * @see ConfigMetrics
+ */
+public final class OperationStats {
+
+    /** ヒストグラムの区間の数。区間iには2^(i-1)ナノ秒以上2^iナノ秒未満の処理時間が入ります */
+    private static final int BUCKETS = 64;
+
+    /** 操作の回数 */
+    private final LongAdder count = new LongAdder();
+
+    /** 処理時間の合計（ナノ秒） */
+    private final LongAdder totalNanos = new LongAdder();
+
+    /** 読み書きしたバイト数の合計 */
+    private final LongAdder bytes = new LongAdder();
+
+    /** 最大の処理時間（ナノ秒） */
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    /** 処理時間のヒストグラム */
+    private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+    OperationStats() {
+    }
+
+    /**
+     * 操作を1回記録します
+     *
+     * @param nanos 処理時間（ナノ秒）
+     * @param bytes 読み書きしたバイト数、バイト数がない操作の場合は0
+     */
+    void record(long nanos, long bytes) {
+        long elapsed = Math.max(0, nanos);
+        count.increment();
+        totalNanos.add(elapsed);
+        if (bytes > 0) {
+            this.bytes.add(bytes);
+        }
+        maxNanos.accumulate(elapsed);
+        histogram.incrementAndGet(BUCKETS - Long.numberOfLeadingZeros(elapsed));
+    }
+
+    /**
+     * 集計をすべて0に戻します
+     */
+    void reset() {
+        count.reset();
+        totalNanos.reset();
+        bytes.reset();
+        maxNanos.reset();
+        for (int i = 0; i < BUCKETS; i++) {
+            histogram.set(i, 0);
+        }
+    }
+
+    /**
+     * 操作の回数を取得します
+     *
+     * @return 操作の回数
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * 処理時間の合計を取得します
+     *
+     * @return 処理時間の合計（ナノ秒）
+     */
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    /**
+     * 平均の処理時間を取得します
+     *
+     * @return 平均の処理時間（ナノ秒）、記録がない場合は0
+     */
+    public long getMeanNanos() {
+        long n = count.sum();
+        return n == 0 ? 0 : totalNanos.sum() / n;
+    }
+
+    /**
+     * 最大の処理時間を取得します
+     *
+     * @return 最大の処理時間（ナノ秒）
+     */
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * 読み書きしたバイト数の合計を取得します
+     *
+     * @return バイト数
+     */
+    public long getBytes() {
+        return bytes.sum();
+    }
+
+    /**
+     * 処理時間のパーセンタイルを取得します
+     * <p>
+     * 値はヒストグラムの区間の上限であり、実際の値の2倍未満の誤差を含みます。
+     * </p>
+     *
+     * @param percentile 0から1までのパーセンタイル（例: 0.99）
+     * @return 処理時間（ナノ秒）、記録がない場合は0
+     */
+    public long getPercentileNanos(double percentile) {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = histogram.get(i);
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long target = Math.max(1, (long) Math.ceil(Math.min(1.0, Math.max(0.0, percentile)) * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(upperBound(i), getMaxNanos());
+            }
+        }
+        return getMaxNanos();
+    }
+
+    /**
+     * ヒストグラムの区間の上限を取得します
+     *
+     * @param bucket 区間の番号
+     * @return 区間に入る最大の処理時間（ナノ秒）
+     */
+    private static long upperBound(int bucket) {
+        return bucket >= BUCKETS - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+    }
+}
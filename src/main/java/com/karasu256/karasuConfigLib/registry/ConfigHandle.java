@@ -0,0 +1,103 @@
+package com.karasu256.karasuConfigLib.registry;
+
+import com.karasu256.karasuConfigLib.config.BaseConfig;
+
+/**
+ * 登録された設定への再読み込みに追従する参照
+ * <p>
+ * ハンドルは{@link ConfigRegistry}が保持しており、再読み込みなどで同じファイル名の設定が置き換えられると
+ * 新しい設定オブジェクトに差し替えられます。{@link #get()}はvolatileフィールドを一度読むだけで完了し、
+ * 常に解析が終わった設定オブジェクトを返します。設定オブジェクトをフィールドにキャッシュする代わりに
+ * ハンドルを保持すると、再読み込みの後も古い値を読み続けることがありません。
+ * </p>
+ *
+ * <p>
+ * 例:
+ * </p>
+ *
+ * <pre>
+ * private ConfigHandle&lt;MyConfig&gt; settings;
+ *
+ * public void onEnable() {
+ *     super.onEnable();
+ *     settings = getConfigHandle(MyConfig.class);
+ * }
+ *
+ * public void onTick() {
+ *     int limit = settings.get().getLimit();
+ * }
+ * </pre>
+ *
+ * @param <C> 設定クラスの型
+ * @author Hashibutogarasu
+ * @version 1.0
+ * @see ConfigRegistry#handle(String, Class)
+ */
+public final class ConfigHandle<C extends BaseConfig> {
+
+    /** 設定ファイル名 */
+    private final String fileName;
+
+    /** 設定クラス */
+    private final Class<C> configType;
+
+    /** 現在の設定オブジェクト、登録されていない場合はnull */
+    private volatile C current;
+
+    ConfigHandle(String fileName, Class<C> configType) {
+        this.fileName = fileName;
+        this.configType = configType;
+    }
+
+    /**
+     * 現在の設定オブジェクトを取得します
+     * <p>
+     * 再読み込みと同時に呼び出された場合は、置き換えの前後どちらかの設定オブジェクトを返します。
+     * 一連の処理で同じ設定を使用したい場合は、戻り値をローカル変数に保持してください。
+     * </p>
+     *
+     * @return 設定オブジェクト、設定が登録から削除された場合はnull
+     */
+    public C get() {
+        return current;
+    }
+
+    /**
+     * 設定が登録されているかどうかを返します
+     *
+     * @return 設定オブジェクトを参照している場合はtrue
+     */
+    public boolean isPresent() {
+        return current != null;
+    }
+
+    /**
+     * 設定ファイル名を取得します
+     *
+     * @return 設定ファイル名
+     */
+    public String getFileName() {
+        return fileName;
+    }
+
+    /**
+     * 設定クラスを取得します
+     *
+     * @return 設定クラス
+     */
+    public Class<C> getConfigType() {
+        return configType;
+    }
+
+    /**
+     * 参照する設定オブジェクトを差し替えます。レジストリの書き込みロックを取得した状態で呼び出されます
+     * <p>
+     * 新しい設定が設定クラスのインスタンスでない場合は、型の異なる値を返さないようにnullを参照します。
+     * </p>
+     *
+     * @param config 新しい設定オブジェクト、削除された場合はnull
+     */
+    void publish(BaseConfig config) {
+        current = configType.isInstance(config) ? configType.cast(config) : null;
+    }
+}
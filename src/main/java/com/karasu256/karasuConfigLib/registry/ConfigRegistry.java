@@ -0,0 +1,534 @@
+package com.karasu256.karasuConfigLib.registry;
+
+import com.karasu256.karasuConfigLib.config.BaseConfig;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+/**
+ * 設定ファイル名と設定オブジェクトを管理するスレッドセーフなレジストリ
+ * <p>
+ * 読み取りはロックを取らずに行われるため、メインスレッドと非同期タスクのどちらからでも
+ * 安全に呼び出すことができます。書き込みは内部のロックで直列化され、設定オブジェクトの
+ * マッピングと型ごとのインデックスが常に一緒に更新されます。
+ * </p>
+ *
+ * <p>
+ * 登録された設定は、そのクラスと{@link BaseConfig}までのすべてのスーパークラスで
+ * インデックスされます。そのため{@link #getAll(Class)}は登録数全体ではなく、
+ * 一致する設定の数に比例した時間で結果を返します。
+ * </p>
+ *
+ * <p>
+ * {@link #handle(String, Class)}で取得した{@link ConfigHandle}は、同じ書き込みロックの中で
+ * 設定の置き換えに合わせて更新されます。レジストリはハンドルを弱参照で保持するため、
+ * 利用者が参照しなくなったハンドルは回収され、その設定はキャッシュからの削除の対象に戻ります。
+ * </p>
+ *
+ * <p>
+ * 設定ごとに最後に{@link #access(String)}で取得された時刻を記録しており、
+ * {@link #evictionCandidates(int, long, long, Predicate)}で長く使われていない設定を選ぶことができます。
+ * </p>
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ * @see com.karasu256.karasuConfigLib.AbstractJavaPluginConfigable
+ */
+public final class ConfigRegistry {
+
+    /** 設定クラスごとの、インデックスに使用するクラスの一覧 */
+    private static final ClassValue<List<Class<?>>> INDEXED_TYPES = new ClassValue<>() {
+        @Override
+        protected List<Class<?>> computeValue(Class<?> type) {
+            List<Class<?>> types = new ArrayList<>();
+            for (Class<?> current = type; current != null && BaseConfig.class.isAssignableFrom(current);
+                    current = current.getSuperclass()) {
+                types.add(current);
+            }
+            return List.copyOf(types);
+        }
+    };
+
+    /** 設定ファイル名と設定オブジェクトのマッピング */
+    private final Map<String, BaseConfig> entries = new ConcurrentHashMap<>();
+
+    /** 設定クラスと、そのクラスのインスタンスが登録されている設定ファイル名のマッピング */
+    private final Map<Class<?>, Set<String>> typeIndex = new ConcurrentHashMap<>();
+
+    /** 設定ファイル名と、その設定を参照しているハンドルへの弱参照のマッピング。書き込みロックの中で変更します */
+    private final Map<String, List<HandleReference>> handles = new ConcurrentHashMap<>();
+
+    /** 回収されたハンドルへの弱参照 */
+    private final ReferenceQueue<ConfigHandle<?>> collectedHandles = new ReferenceQueue<>();
+
+    /** 設定ファイル名と、最後に取得された時刻（{@link System#nanoTime()}） */
+    private final Map<String, AtomicLong> accessTimes = new ConcurrentHashMap<>();
+
+    /** 書き込みを直列化するためのロック */
+    private final Object writeLock = new Object();
+
+    /**
+     * 指定したファイル名の設定を取得します
+     *
+     * @param fileName 設定ファイル名
+     * @return 設定オブジェクト、登録されていない場合はnull
+     */
+    public BaseConfig get(String fileName) {
+        return entries.get(fileName);
+    }
+
+    /**
+     * 指定したファイル名の設定を取得し、最後に取得された時刻を更新します
+     * <p>
+     * プラグインの利用者による取得に使用します。保存などの内部の処理では{@link #get(String)}を使用してください。
+     * </p>
+     *
+     * @param fileName 設定ファイル名
+     * @return 設定オブジェクト、登録されていない場合はnull
+     */
+    public BaseConfig access(String fileName) {
+        BaseConfig config = entries.get(fileName);
+        if (config != null) {
+            AtomicLong accessTime = accessTimes.get(fileName);
+            if (accessTime != null) {
+                accessTime.lazySet(System.nanoTime());
+            }
+        }
+        return config;
+    }
+
+    /**
+     * 指定したファイル名の設定が登録されているかどうかを返します
+     *
+     * @param fileName 設定ファイル名
+     * @return 登録されている場合はtrue
+     */
+    public boolean containsKey(String fileName) {
+        return entries.containsKey(fileName);
+    }
+
+    /**
+     * 設定を登録します。同じファイル名の設定がすでに登録されている場合は置き換えます
+     *
+     * @param fileName 設定ファイル名
+     * @param config   設定オブジェクト
+     * @return 以前に登録されていた設定、存在しない場合はnull
+     */
+    public BaseConfig put(String fileName, BaseConfig config) {
+        synchronized (writeLock) {
+            BaseConfig previous = entries.put(fileName, config);
+            reindex(fileName, previous, config);
+            return previous;
+        }
+    }
+
+    /**
+     * 指定したファイル名の設定がまだ登録されていない場合にのみ登録します
+     *
+     * @param fileName 設定ファイル名
+     * @param config   設定オブジェクト
+     * @return すでに登録されていた設定、新しく登録した場合はnull
+     */
+    public BaseConfig putIfAbsent(String fileName, BaseConfig config) {
+        synchronized (writeLock) {
+            BaseConfig existing = entries.putIfAbsent(fileName, config);
+            if (existing == null) {
+                reindex(fileName, null, config);
+            }
+            return existing;
+        }
+    }
+
+    /**
+     * 複数の設定をまとめて登録します
+     *
+     * @param configs 設定ファイル名と設定オブジェクトのマッピング
+     */
+    public void putAll(Map<String, ? extends BaseConfig> configs) {
+        commit(configs, List.of());
+    }
+
+    /**
+     * 複数の設定の登録と削除を一度にまとめて反映します
+     * <p>
+     * 登録と削除は一つの書き込みロックの中で行われるため、他の書き込みと混ざることはありません。
+     * 並行して読み込んだ結果を最後にまとめて反映する場合に使用します。
+     * </p>
+     *
+     * @param updates  登録する設定ファイル名と設定オブジェクトのマッピング
+     * @param removals 削除する設定ファイル名
+     */
+    public void commit(Map<String, ? extends BaseConfig> updates, Collection<String> removals) {
+        synchronized (writeLock) {
+            updates.forEach((fileName, config) -> reindex(fileName, entries.put(fileName, config), config));
+            for (String fileName : removals) {
+                reindex(fileName, entries.remove(fileName), null);
+            }
+        }
+    }
+
+    /**
+     * 指定したファイル名に{@code expected}が登録されている場合にのみ、設定を置き換えます
+     * <p>
+     * 登録されている設定は{@code ==}で比較します。読み込みを始めた後に設定が置き換えられたり
+     * 削除されたりした場合に、古い読み込み結果で上書きしないために使用します。
+     * </p>
+     *
+     * @param fileName 設定ファイル名
+     * @param expected 登録されているはずの設定
+     * @param config   新しい設定オブジェクト
+     * @return 置き換えた場合はtrue
+     */
+    public boolean replace(String fileName, BaseConfig expected, BaseConfig config) {
+        synchronized (writeLock) {
+            if (entries.get(fileName) != expected) {
+                return false;
+            }
+            entries.put(fileName, config);
+            reindex(fileName, expected, config);
+            return true;
+        }
+    }
+
+    /**
+     * 複数の設定の置き換えと削除を、登録されている設定が変わっていないものだけ一度にまとめて反映します
+     * <p>
+     * 各ファイル名について、登録されている設定が{@code expected}の設定と{@code ==}で一致する場合にのみ
+     * 置き換えまたは削除します。{@code expected}に含まれないファイル名は反映しません。
+     * </p>
+     *
+     * @param expected 読み込みを始めたときの設定ファイル名と設定オブジェクトのマッピング
+     * @param updates  置き換える設定ファイル名と設定オブジェクトのマッピング
+     * @param removals 削除する設定ファイル名
+     * @return 反映した設定ファイル名
+     * @see #replace(String, BaseConfig, BaseConfig)
+     */
+    public Set<String> commitIfUnchanged(Map<String, ? extends BaseConfig> expected,
+            Map<String, ? extends BaseConfig> updates, Collection<String> removals) {
+        Set<String> committed = new HashSet<>();
+        synchronized (writeLock) {
+            updates.forEach((fileName, config) -> {
+                BaseConfig previous = expected.get(fileName);
+                if (previous != null && replace(fileName, previous, config)) {
+                    committed.add(fileName);
+                }
+            });
+            for (String fileName : removals) {
+                BaseConfig previous = expected.get(fileName);
+                if (previous != null && remove(fileName, previous)) {
+                    committed.add(fileName);
+                }
+            }
+        }
+        return committed;
+    }
+
+    /**
+     * 指定したファイル名の設定を登録から削除します
+     *
+     * @param fileName 設定ファイル名
+     * @return 削除した設定、登録されていなかった場合はnull
+     */
+    public BaseConfig remove(String fileName) {
+        synchronized (writeLock) {
+            BaseConfig previous = entries.remove(fileName);
+            reindex(fileName, previous, null);
+            return previous;
+        }
+    }
+
+    /**
+     * 指定したファイル名に指定した設定が登録されている場合にのみ、登録から削除します
+     *
+     * @param fileName 設定ファイル名
+     * @param config   削除する設定
+     * @return 削除した場合はtrue
+     */
+    public boolean remove(String fileName, BaseConfig config) {
+        synchronized (writeLock) {
+            if (!entries.remove(fileName, config)) {
+                return false;
+            }
+            reindex(fileName, config, null);
+            return true;
+        }
+    }
+
+    /**
+     * 登録から削除する設定を、最後に取得された時刻が古い順に選びます
+     * <p>
+     * 古い順に、取得されていない時間が{@code idleNanos}以上の設定と、設定の数が{@code maxEntries}以下、
+     * 設定の大きさの合計が{@code maxRetainedBytes}以下になるまでの設定を選びます。
+     * 大きさには{@link BaseConfig#getPersistedSize()}を使用します。
+     * 回収されていないハンドルから参照されている設定と、{@code pinned}がtrueを返す設定は選ばれません。
+     * </p>
+     *
+     * @param maxEntries       設定の数の上限、0の場合は制限しない
+     * @param maxRetainedBytes 設定の大きさの合計の上限、0の場合は制限しない
+     * @param idleNanos        取得されていない設定を削除するまでの時間（ナノ秒）、0の場合は削除しない
+     * @param pinned           削除しない設定ファイル名を判定する関数
+     * @return 削除する設定ファイル名のリスト（古い順）
+     */
+    public List<String> evictionCandidates(int maxEntries, long maxRetainedBytes, long idleNanos,
+            Predicate<String> pinned) {
+        long now = System.nanoTime();
+        int count = 0;
+        long retainedBytes = 0;
+        List<Candidate> candidates = new ArrayList<>();
+        for (Map.Entry<String, BaseConfig> entry : entries.entrySet()) {
+            String fileName = entry.getKey();
+            int size = entry.getValue().getPersistedSize();
+            count++;
+            retainedBytes += size;
+            AtomicLong accessTime = accessTimes.get(fileName);
+            if (accessTime != null && !hasHandles(fileName) && !pinned.test(fileName)) {
+                candidates.add(new Candidate(fileName, accessTime.get(), size));
+            }
+        }
+        candidates.sort(Comparator.comparingLong(candidate -> candidate.accessTime));
+
+        List<String> evicted = new ArrayList<>();
+        for (Candidate candidate : candidates) {
+            boolean idle = idleNanos > 0 && now - candidate.accessTime >= idleNanos;
+            boolean overCount = maxEntries > 0 && count > maxEntries;
+            boolean overBytes = maxRetainedBytes > 0 && retainedBytes > maxRetainedBytes;
+            if (!idle && !overCount && !overBytes) {
+                break;
+            }
+            evicted.add(candidate.fileName);
+            count--;
+            retainedBytes -= candidate.size;
+        }
+        return evicted;
+    }
+
+    /**
+     * 指定したファイル名の設定を参照するハンドルを取得します
+     * <p>
+     * ハンドルを参照している間は、同じファイル名と設定クラスに対して同じハンドルを返します。
+     * 設定がまだ登録されていない場合や、登録されている設定が指定したクラスのインスタンスでない場合、
+     * ハンドルはnullを参照します。
+     * </p>
+     *
+     * @param fileName    設定ファイル名
+     * @param configClass 設定クラス
+     * @param <C>         BaseConfigを継承したクラス
+     * @return ハンドル
+     */
+    @SuppressWarnings("unchecked")
+    public <C extends BaseConfig> ConfigHandle<C> handle(String fileName, Class<C> configClass) {
+        synchronized (writeLock) {
+            expungeCollectedHandles();
+            List<HandleReference> existing = handles.computeIfAbsent(fileName, key -> new ArrayList<>(1));
+            for (HandleReference reference : existing) {
+                ConfigHandle<?> handle = reference.get();
+                if (handle != null && handle.getConfigType() == configClass) {
+                    return (ConfigHandle<C>) handle;
+                }
+            }
+
+            ConfigHandle<C> handle = new ConfigHandle<>(fileName, configClass);
+            handle.publish(entries.get(fileName));
+            existing.add(new HandleReference(fileName, handle, collectedHandles));
+            return handle;
+        }
+    }
+
+    /**
+     * 指定したファイル名の設定を参照している、回収されていないハンドルがあるかどうかを返します
+     *
+     * @param fileName 設定ファイル名
+     * @return ハンドルがある場合はtrue
+     */
+    private boolean hasHandles(String fileName) {
+        if (!handles.containsKey(fileName)) {
+            return false;
+        }
+        synchronized (writeLock) {
+            expungeCollectedHandles();
+            List<HandleReference> fileHandles = handles.get(fileName);
+            if (fileHandles == null) {
+                return false;
+            }
+            for (HandleReference reference : fileHandles) {
+                if (reference.get() != null) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * 指定したクラスのインスタンスとして登録されているすべての設定を取得します
+     *
+     * @param configClass 設定クラス
+     * @param <C>         BaseConfigを継承したクラス
+     * @return 一致する設定のリスト（一致するものがない場合は空のリスト）
+     */
+    @SuppressWarnings("unchecked")
+    public <C extends BaseConfig> List<C> getAll(Class<C> configClass) {
+        Set<String> fileNames = typeIndex.get(configClass);
+        if (fileNames == null || fileNames.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<C> result = new ArrayList<>(fileNames.size());
+        for (String fileName : fileNames) {
+            BaseConfig config = entries.get(fileName);
+            if (configClass.isInstance(config)) {
+                result.add((C) config);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 登録されているすべての設定に対して処理を実行します
+     * <p>
+     * 処理中に他のスレッドから登録や削除が行われても例外は発生しません。
+     * </p>
+     *
+     * @param action 設定ファイル名と設定オブジェクトを受け取る処理
+     */
+    public void forEach(BiConsumer<String, BaseConfig> action) {
+        entries.forEach(action);
+    }
+
+    /**
+     * 登録されている設定のコピーを取得します
+     *
+     * @return 設定ファイル名と設定オブジェクトのマッピングのコピー
+     */
+    public Map<String, BaseConfig> snapshot() {
+        return new HashMap<>(entries);
+    }
+
+    /**
+     * 登録されている設定ファイル名の一覧を取得します
+     *
+     * @return 設定ファイル名の変更不可能なビュー
+     */
+    public Set<String> fileNames() {
+        return Collections.unmodifiableSet(entries.keySet());
+    }
+
+    /**
+     * 登録されている設定の数を取得します
+     *
+     * @return 設定の数
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * 設定の置き換えに合わせてハンドルと型ごとのインデックスを更新します。書き込みロックを取得した状態で呼び出してください
+     *
+     * @param fileName 設定ファイル名
+     * @param previous 以前の設定、存在しない場合はnull
+     * @param current  新しい設定、削除した場合はnull
+     */
+    private void reindex(String fileName, BaseConfig previous, BaseConfig current) {
+        if (current == null) {
+            accessTimes.remove(fileName);
+        } else if (previous == null) {
+            accessTimes.put(fileName, new AtomicLong(System.nanoTime()));
+        }
+
+        expungeCollectedHandles();
+        List<HandleReference> fileHandles = handles.get(fileName);
+        if (fileHandles != null && previous != current) {
+            for (HandleReference reference : fileHandles) {
+                ConfigHandle<?> handle = reference.get();
+                if (handle != null) {
+                    handle.publish(current);
+                }
+            }
+        }
+
+        Class<?> previousType = previous != null ? previous.getClass() : null;
+        Class<?> currentType = current != null ? current.getClass() : null;
+        if (previousType == currentType) {
+            return;
+        }
+
+        if (previousType != null) {
+            for (Class<?> type : INDEXED_TYPES.get(previousType)) {
+                Set<String> fileNames = typeIndex.get(type);
+                if (fileNames != null) {
+                    fileNames.remove(fileName);
+                }
+            }
+        }
+        if (currentType != null) {
+            for (Class<?> type : INDEXED_TYPES.get(currentType)) {
+                typeIndex.computeIfAbsent(type, key -> ConcurrentHashMap.newKeySet()).add(fileName);
+            }
+        }
+    }
+
+    /**
+     * 回収されたハンドルへの弱参照を取り除きます。書き込みロックを取得した状態で呼び出してください
+     * <p>
+     * ハンドルがなくなったファイル名はマッピングから削除します。
+     * </p>
+     */
+    private void expungeCollectedHandles() {
+        Reference<? extends ConfigHandle<?>> collected;
+        while ((collected = collectedHandles.poll()) != null) {
+            HandleReference reference = (HandleReference) collected;
+            List<HandleReference> fileHandles = handles.get(reference.fileName);
+            if (fileHandles != null && fileHandles.remove(reference) && fileHandles.isEmpty()) {
+                handles.remove(reference.fileName);
+            }
+        }
+    }
+
+    /**
+     * ハンドルへの弱参照
+     */
+    private static final class HandleReference extends WeakReference<ConfigHandle<?>> {
+        /** ハンドルが参照する設定ファイル名 */
+        private final String fileName;
+
+        private HandleReference(String fileName, ConfigHandle<?> handle, ReferenceQueue<ConfigHandle<?>> queue) {
+            super(handle, queue);
+            this.fileName = fileName;
+        }
+    }
+
+    /**
+     * 削除の候補となる設定
+     */
+    private static final class Candidate {
+        /** 設定ファイル名 */
+        private final String fileName;
+
+        /** 最後に取得された時刻 */
+        private final long accessTime;
+
+        /** 設定の大きさ */
+        private final int size;
+
+        private Candidate(String fileName, long accessTime, int size) {
+            this.fileName = fileName;
+            this.accessTime = accessTime;
+            this.size = size;
+        }
+    }
+}
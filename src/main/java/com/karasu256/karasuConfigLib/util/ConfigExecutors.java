@@ -0,0 +1,134 @@
+package com.karasu256.karasuConfigLib.util;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * ライブラリが所有する非同期処理用のExecutorを提供するユーティリティクラス
+ * <p>
+ * 設定ファイルの読み書きなどのブロッキングI/Oは、メインスレッド（サーバーのティックスレッド）を
+ * 止めないようにこのExecutor上で実行されます。スレッドには仮想スレッドを使用するため、
+ * 同時に多数のI/Oタスクが投入されてもプラットフォームスレッドを占有しません。
+ * </p>
+ *
+ * <p>
+ * Executorは最初に使用されたときに作成され、{@link #shutdown(Duration)}で停止します。
+ * 停止した後に再び使用された場合は、新しいExecutorが作成されます。
+ * </p>
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ * @see com.karasu256.karasuConfigLib.AbstractJavaPluginConfigable
+ */
+public final class ConfigExecutors {
+
+    /** クラス用のロガーインスタンス */
+    private static final Logger LOGGER = ConfigUtils.LOGGER;
+
+    /** Executorの作成と停止を直列化するためのロック */
+    private static final Object LOCK = new Object();
+
+    /** I/Oタスク用のExecutor、まだ作成されていないか停止した場合はnull */
+    private static volatile ExecutorService ioExecutor;
+
+    /** 遅延実行するタスク用のExecutor、まだ作成されていないか停止した場合はnull */
+    private static volatile ScheduledExecutorService scheduler;
+
+    private ConfigExecutors() {
+    }
+
+    /**
+     * 設定ファイルのI/Oに使用するExecutorを取得します
+     * <p>
+     * このExecutor上で実行されるタスクからBukkit APIを呼び出してはいけません。
+     * 結果をBukkit側へ反映する場合は、メインスレッドに処理を戻してください。
+     * </p>
+     *
+     * @return I/O用のExecutor
+     */
+    public static ExecutorService io() {
+        ExecutorService executor = ioExecutor;
+        if (executor != null) {
+            return executor;
+        }
+        synchronized (LOCK) {
+            if (ioExecutor == null) {
+                ioExecutor = Executors.newThreadPerTaskExecutor(
+                        Thread.ofVirtual().name("KarasuConfigLib-IO-", 0).factory());
+            }
+            return ioExecutor;
+        }
+    }
+
+    /**
+     * 遅延実行や定期実行に使用するExecutorを取得します
+     * <p>
+     * このExecutorは単一のスレッドで動作するため、スケジュールされたタスクの中で
+     * ブロッキングI/Oを行わず、必要に応じて{@link #io()}やメインスレッドに処理を渡してください。
+     * </p>
+     *
+     * @return スケジューリング用のExecutor
+     */
+    public static ScheduledExecutorService scheduler() {
+        ScheduledExecutorService executor = scheduler;
+        if (executor != null) {
+            return executor;
+        }
+        synchronized (LOCK) {
+            if (scheduler == null) {
+                scheduler = Executors.newSingleThreadScheduledExecutor(
+                        Thread.ofPlatform().name("KarasuConfigLib-Scheduler").daemon(true).factory());
+            }
+            return scheduler;
+        }
+    }
+
+    /**
+     * Executorを停止します
+     * <p>
+     * スケジュールされているタスクは実行されずに破棄され、実行中のI/Oタスクは{@code timeout}まで
+     * 終了を待ちます。プラグインのクラスローダーとスレッドが残らないよう、KarasuConfigLibプラグインの
+     * 無効化時に、依存するプラグインが保存を終えた後で呼び出されます。
+     * </p>
+     *
+     * @param timeout I/Oタスクの終了を待つ時間
+     * @return 時間内にすべてのI/Oタスクが終了した場合はtrue
+     */
+    public static boolean shutdown(Duration timeout) {
+        ExecutorService io;
+        ScheduledExecutorService scheduled;
+        synchronized (LOCK) {
+            io = ioExecutor;
+            scheduled = scheduler;
+            ioExecutor = null;
+            scheduler = null;
+        }
+
+        if (scheduled != null) {
+            List<Runnable> dropped = scheduled.shutdownNow();
+            if (!dropped.isEmpty()) {
+                LOGGER.warning("Discarded " + dropped.size() + " scheduled config tasks on shutdown");
+            }
+        }
+        if (io == null) {
+            return true;
+        }
+
+        io.shutdown();
+        try {
+            if (io.awaitTermination(timeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        LOGGER.warning("Config I/O tasks did not finish within " + timeout.toMillis() + " ms, interrupting");
+        io.shutdownNow();
+        return false;
+    }
+}
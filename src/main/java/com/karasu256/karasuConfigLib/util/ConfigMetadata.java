@@ -0,0 +1,199 @@
+package com.karasu256.karasuConfigLib.util;
+
+import com.karasu256.karasuConfigLib.annotation.Config;
+import com.karasu256.karasuConfigLib.codec.ConfigCodec;
+import com.karasu256.karasuConfigLib.codec.ConfigCodecs;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.Optional;
+
+/**
+ * 設定クラスごとのメタデータを保持するクラス
+ * <p>
+ * {@link Config}アノテーションから取得したファイル名、プラグイン名、説明と、
+ * 引数なしコンストラクタの{@link MethodHandle}をクラスごとに一度だけ解決し、
+ * {@link ClassValue}にキャッシュします。以降の取得はリフレクションを行わずに
+ * フィールドの読み取りだけで完了します。
+ * </p>
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ * @see ConfigUtils
+ */
+public final class ConfigMetadata {
+
+    /** 設定クラスごとのメタデータのキャッシュ */
+    private static final ClassValue<ConfigMetadata> CACHE = new ClassValue<>() {
+        @Override
+        protected ConfigMetadata computeValue(Class<?> type) {
+            return new ConfigMetadata(type);
+        }
+    };
+
+    /** 対象の設定クラス */
+    private final Class<?> configClass;
+
+    /** Configアノテーション */
+    private final Optional<Config> annotation;
+
+    /** 設定ファイル名 */
+    private final Optional<String> fileName;
+
+    /** 設定が属するプラグイン名 */
+    private final Optional<String> pluginName;
+
+    /** 設定の説明 */
+    private final Optional<String> description;
+
+    /** ジャーナル方式で保存するかどうか */
+    private final boolean journaled;
+
+    /** 保存形式の名前 */
+    private final String codecName;
+
+    /** 引数なしコンストラクタ、存在しない場合はnull */
+    private final MethodHandle constructor;
+
+    /** コンストラクタを解決できなかった理由 */
+    private final String constructorError;
+
+    private ConfigMetadata(Class<?> configClass) {
+        this.configClass = configClass;
+        Config config = configClass.getAnnotation(Config.class);
+        this.annotation = Optional.ofNullable(config);
+        this.fileName = annotation.map(Config::fileName);
+        this.pluginName = annotation.map(Config::pluginName).filter(name -> !name.isEmpty());
+        this.description = annotation.map(Config::description);
+        this.journaled = annotation.map(Config::journaled).orElse(false);
+        this.codecName = annotation.map(Config::codec).orElse(ConfigCodecs.PRETTY_JSON.getName());
+
+        MethodHandle handle = null;
+        String error = null;
+        try {
+            handle = findConstructor(configClass);
+        } catch (Exception e) {
+            error = e.toString();
+        }
+        this.constructor = handle;
+        this.constructorError = error;
+    }
+
+    /**
+     * 引数なしコンストラクタの{@link MethodHandle}を解決します
+     *
+     * @param configClass 設定クラス
+     * @return {@code ()Object}型に変換したコンストラクタ
+     * @throws ReflectiveOperationException コンストラクタを解決できない場合
+     */
+    private static MethodHandle findConstructor(Class<?> configClass) throws ReflectiveOperationException {
+        if (Modifier.isAbstract(configClass.getModifiers())) {
+            throw new InstantiationException(configClass.getName() + " is abstract");
+        }
+
+        Constructor<?> declared = configClass.getDeclaredConstructor();
+        declared.setAccessible(true);
+        return MethodHandles.lookup().unreflectConstructor(declared).asType(MethodType.methodType(Object.class));
+    }
+
+    /**
+     * 指定したクラスのメタデータを取得します
+     *
+     * @param configClass 設定クラス
+     * @return メタデータ
+     */
+    public static ConfigMetadata of(Class<?> configClass) {
+        return CACHE.get(configClass);
+    }
+
+    /**
+     * Configアノテーションを取得します
+     *
+     * @return Configアノテーション（アノテーションが見つからない場合は空のOptional）
+     */
+    public Optional<Config> getAnnotation() {
+        return annotation;
+    }
+
+    /**
+     * 設定ファイル名を取得します
+     *
+     * @return ファイル名（アノテーションが見つからない場合は空のOptional）
+     */
+    public Optional<String> getFileName() {
+        return fileName;
+    }
+
+    /**
+     * 設定が属するプラグイン名を取得します
+     *
+     * @return プラグイン名（アノテーションが見つからない、または空文字の場合は空のOptional）
+     */
+    public Optional<String> getPluginName() {
+        return pluginName;
+    }
+
+    /**
+     * 設定の説明を取得します
+     *
+     * @return 説明（アノテーションが見つからない場合は空のOptional）
+     */
+    public Optional<String> getDescription() {
+        return description;
+    }
+
+    /**
+     * ジャーナル方式で保存するかどうかを返します
+     *
+     * @return {@link Config#journaled()}がtrueの場合はtrue
+     */
+    public boolean isJournaled() {
+        return journaled;
+    }
+
+    /**
+     * 設定ファイルの保存に使用するコーデックを取得します
+     * <p>
+     * コーデックは呼び出しのたびに{@link ConfigCodecs}から取得するため、メタデータの作成後に
+     * 登録されたコーデックも使用できます。ジャーナル方式で保存する設定で、指定したコーデックが
+     * JSONテキストでない場合は{@link ConfigCodecs#PRETTY_JSON}を返します。
+     * </p>
+     *
+     * @return コーデック
+     * @throws IllegalArgumentException 指定した名前のコーデックが登録されていない場合
+     */
+    public ConfigCodec getCodec() {
+        ConfigCodec codec = ConfigCodecs.get(codecName);
+        if (journaled && !codec.isJsonText()) {
+            return ConfigCodecs.PRETTY_JSON;
+        }
+        return codec;
+    }
+
+    /**
+     * 引数なしコンストラクタで新しいインスタンスを作成します
+     *
+     * @param <T> 設定クラスの型
+     * @param type 作成するインスタンスのクラス
+     * @return 新しいインスタンス
+     * @throws ReflectiveOperationException インスタンスを作成できない場合
+     */
+    public <T> T newInstance(Class<T> type) throws ReflectiveOperationException {
+        if (constructor == null) {
+            throw new NoSuchMethodException(
+                    "No usable no-arg constructor for " + configClass.getName() + ": " + constructorError);
+        }
+
+        try {
+            return type.cast(constructor.invokeExact());
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new InvocationTargetException(e);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.karasu256.karasuConfigLib.util;
 
 import java.util.Optional;
+import java.util.logging.Logger;
 
 import com.karasu256.karasuConfigLib.AbstractJavaPluginConfigable;
 import com.karasu256.karasuConfigLib.annotation.Config;
@@ -8,6 +9,7 @@ import com.karasu256.karasuConfigLib.annotation.Config;
 /**
  * Configアノテーションからの情報取得を支援するユーティリティクラス
  * Class<T>オブジェクトからConfigアノテーションの情報を抽出します
+ * 取得した情報は{@link ConfigMetadata}にクラスごとにキャッシュされます
  * 
  * @author Hashibutogarasu
  * @version 1.0
@@ -15,6 +17,9 @@ import com.karasu256.karasuConfigLib.annotation.Config;
  */
 public class ConfigUtils {
 
+    /** ライブラリ全体で共有するロガーインスタンス */
+    public static final Logger LOGGER = Logger.getLogger("KarasuConfigLib");
+
     /**
      * 指定されたクラスからConfigアノテーションのプラグイン名を取得します
      * プラグイン名が空文字の場合は空のOptionalを返します
@@ -24,12 +29,7 @@ public class ConfigUtils {
      * @return プラグイン名（アノテーションが見つからない、または空文字の場合は空のOptional）
      */
     public static <T> Optional<String> getPluginName(Class<T> configClass) {
-        if (configClass.isAnnotationPresent(Config.class)) {
-            Config config = configClass.getAnnotation(Config.class);
-            String pluginName = config.pluginName();
-            return pluginName != null && !pluginName.isEmpty() ? Optional.of(pluginName) : Optional.empty();
-        }
-        return Optional.empty();
+        return ConfigMetadata.of(configClass).getPluginName();
     }
 
     /**
@@ -40,11 +40,7 @@ public class ConfigUtils {
      * @return ファイル名（アノテーションが見つからない場合は空のOptional）
      */
     public static <T> Optional<String> getFileName(Class<T> configClass) {
-        if (configClass.isAnnotationPresent(Config.class)) {
-            Config config = configClass.getAnnotation(Config.class);
-            return Optional.of(config.fileName());
-        }
-        return Optional.empty();
+        return ConfigMetadata.of(configClass).getFileName();
     }
 
     /**
@@ -55,11 +51,7 @@ public class ConfigUtils {
      * @return 説明（アノテーションが見つからない場合は空のOptional）
      */
     public static <T> Optional<String> getDescription(Class<T> configClass) {
-        if (configClass.isAnnotationPresent(Config.class)) {
-            Config config = configClass.getAnnotation(Config.class);
-            return Optional.of(config.description());
-        }
-        return Optional.empty();
+        return ConfigMetadata.of(configClass).getDescription();
     }
 
     /**
@@ -70,9 +62,43 @@ public class ConfigUtils {
      * @return Configアノテーション（アノテーションが見つからない場合は空のOptional）
      */
     public static <T> Optional<Config> getConfigAnnotation(Class<T> configClass) {
-        if (configClass.isAnnotationPresent(Config.class)) {
-            return Optional.of(configClass.getAnnotation(Config.class));
+        return ConfigMetadata.of(configClass).getAnnotation();
+    }
+
+    /**
+     * 設定ファイルの内容のフィンガープリントを計算します
+     * <p>
+     * 内容が変更されたかどうかを判定するための64ビットのハッシュ値(FNV-1a)を返します。
+     * </p>
+     *
+     * @param content 設定ファイルの内容
+     * @return フィンガープリント
+     */
+    public static long fingerprint(CharSequence content) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0, length = content.length(); i < length; i++) {
+            hash ^= content.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * エンコードされた設定ファイルの内容のフィンガープリントを計算します
+     * <p>
+     * {@link #fingerprint(CharSequence)}と同じアルゴリズムをバイト単位で適用するため、
+     * 同じ内容でも文字列から計算した値とは一致しません。比較には常に同じ方法で計算した値を使用してください。
+     * </p>
+     *
+     * @param content 設定ファイルの内容
+     * @return フィンガープリント
+     */
+    public static long fingerprint(byte[] content) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : content) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
         }
-        return Optional.empty();
+        return hash;
     }
 }
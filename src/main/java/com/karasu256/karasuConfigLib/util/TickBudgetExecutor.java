@@ -0,0 +1,463 @@
+package com.karasu256.karasuConfigLib.util;
+
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * メインスレッドで1ティックあたりの処理時間を制限しながらタスクを実行するExecutor
+ * <p>
+ * {@link #execute(Runnable)}で投入されたタスクは、毎ティックの始めに投入された順に実行されます。
+ * そのティックで使用した時間が予算を超えた時点で実行を止め、残りのタスクは次のティックに持ち越します。
+ * 予算を超えるタスクがあっても処理が進むように、各ティックで少なくとも1つのタスクは実行されます。
+ * </p>
+ *
+ * <p>
+ * {@link #execute(Plugin, Runnable)}と{@link #submit(Plugin, Supplier)}で投入したタスクは、実行する前に
+ * 所有するプラグインが無効になっていれば実行せずに破棄されます。プラグインを無効にするときは
+ * {@link #cancelTasks(Plugin)}で、そのプラグインのタスクをすぐにキューから取り除けます。
+ * </p>
+ *
+ * <p>
+ * 再読み込みした設定の差し替えと変更の通知に使用され、多数の設定を一度に再読み込みしても
+ * 1ティックが長くなりすぎないようにします。キューの長さと持ち越しの回数は集計され、
+ * {@code /karasuconfig stats}で確認できます。
+ * </p>
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ * @see com.karasu256.karasuConfigLib.AbstractJavaPluginConfigable#reloadAllAsync()
+ */
+public final class TickBudgetExecutor implements Executor {
+
+    /** クラス用のロガーインスタンス */
+    private static final Logger LOGGER = ConfigUtils.LOGGER;
+
+    /** 1ティックあたりの処理時間のデフォルト値 */
+    public static final Duration DEFAULT_BUDGET = Duration.ofMillis(2);
+
+    /** プラグインから使用されるExecutor */
+    @Nullable
+    private static volatile TickBudgetExecutor installed;
+
+    /** 実行を待っているタスク */
+    private final Queue<Task> queue = new ConcurrentLinkedQueue<>();
+
+    /** 実行を待っているタスクの数 */
+    private final AtomicInteger queueDepth = new AtomicInteger();
+
+    /** 実行を待っているタスクの数の最大値 */
+    private final LongAccumulator maxQueueDepth = new LongAccumulator(Math::max, 0);
+
+    /** 実行したタスクの数 */
+    private final LongAdder executed = new LongAdder();
+
+    /** 所有するプラグインが無効になったため破棄したタスクの数 */
+    private final LongAdder dropped = new LongAdder();
+
+    /** タスクを実行したティックの数 */
+    private final LongAdder ticks = new LongAdder();
+
+    /** タスクを次のティックに持ち越したティックの数 */
+    private final LongAdder carriedOverTicks = new LongAdder();
+
+    /** 次のティックに持ち越したタスクの数の合計 */
+    private final LongAdder carriedOverTasks = new LongAdder();
+
+    /** タスクの実行に使用した時間の合計 */
+    private final LongAdder busyNanos = new LongAdder();
+
+    /** 1ティックでタスクの実行に使用した時間の最大値 */
+    private final LongAccumulator maxTickNanos = new LongAccumulator(Math::max, 0);
+
+    /** 1ティックあたりの処理時間（ナノ秒） */
+    private volatile long budgetNanos;
+
+    /** 毎ティック実行されるBukkitのタスク */
+    @Nullable
+    private volatile BukkitTask tickTask;
+
+    /** 停止したかどうか */
+    private volatile boolean stopped;
+
+    /**
+     * Executorを作成します
+     *
+     * @param budget 1ティックあたりの処理時間
+     * @throws IllegalArgumentException 処理時間が正でない場合
+     */
+    public TickBudgetExecutor(Duration budget) {
+        setBudget(budget);
+    }
+
+    /**
+     * プラグインから使用されるExecutorを設定します
+     *
+     * @param executor Executor
+     */
+    public static void install(TickBudgetExecutor executor) {
+        installed = executor;
+    }
+
+    /**
+     * プラグインから使用されるExecutorの設定を解除します
+     * <p>
+     * 指定したExecutorが設定されている場合のみ解除します。
+     * </p>
+     *
+     * @param executor Executor
+     */
+    public static void uninstall(TickBudgetExecutor executor) {
+        if (installed == executor) {
+            installed = null;
+        }
+    }
+
+    /**
+     * プラグインから使用されるExecutorを取得します
+     *
+     * @return Executor、KarasuConfigLibプラグインが有効でない場合はnull
+     */
+    @Nullable
+    public static TickBudgetExecutor getInstalled() {
+        return installed;
+    }
+
+    /**
+     * 毎ティックのタスクの実行を開始します
+     * <p>
+     * メインスレッドから呼び出してください。
+     * </p>
+     *
+     * @param plugin スケジューラーに登録するプラグイン
+     */
+    public void start(Plugin plugin) {
+        if (tickTask == null && !stopped) {
+            tickTask = plugin.getServer().getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+        }
+    }
+
+    /**
+     * タスクの実行を停止します
+     * <p>
+     * 待っているタスクは処理時間の制限なしにすべて実行します。ただし、所有するプラグインが無効になっている
+     * タスクは破棄します。停止した後に投入されたタスクは拒否されます。
+     * メインスレッドから呼び出してください。
+     * </p>
+     */
+    public void stop() {
+        stopped = true;
+        BukkitTask task = tickTask;
+        tickTask = null;
+        if (task != null) {
+            task.cancel();
+        }
+        runTasks(Long.MAX_VALUE);
+    }
+
+    /**
+     * タスクを投入します。タスクは次のティック以降にメインスレッドで実行されます
+     *
+     * @param command タスク
+     * @throws RejectedExecutionException 停止している場合
+     */
+    @Override
+    public void execute(Runnable command) {
+        enqueue(new Task(null, command, null));
+    }
+
+    /**
+     * プラグインが所有するタスクを投入します。タスクは次のティック以降にメインスレッドで実行されます
+     * <p>
+     * 実行する前にプラグインが無効になった場合、タスクは実行されずに破棄されます。
+     * </p>
+     *
+     * @param owner   タスクを所有するプラグイン
+     * @param command タスク
+     * @throws RejectedExecutionException 停止している場合
+     */
+    public void execute(Plugin owner, Runnable command) {
+        enqueue(new Task(owner, command, null));
+    }
+
+    /**
+     * プラグインが所有するタスクを投入し、その結果で完了するFutureを返します
+     * <p>
+     * 実行する前にプラグインが無効になった場合、タスクは実行されずに破棄され、Futureはキャンセルされます。
+     * タスクが{@link Error}を含む例外を投げた場合、Futureはその例外で完了します。
+     * </p>
+     *
+     * @param owner タスクを所有するプラグイン
+     * @param task  タスク
+     * @param <R>   タスクの結果の型
+     * @return タスクの結果で完了するFuture
+     * @throws RejectedExecutionException 停止している場合
+     */
+    public <R> CompletableFuture<R> submit(Plugin owner, Supplier<R> task) {
+        CompletableFuture<R> future = new CompletableFuture<>();
+        enqueue(new Task(owner, () -> {
+            try {
+                future.complete(task.get());
+            } catch (Throwable e) {
+                // Errorでも完了させ、Futureを待っている呼び出し元が止まらないようにする
+                future.completeExceptionally(e);
+            }
+        }, future));
+        return future;
+    }
+
+    /**
+     * 指定したプラグインが所有する、実行を待っているタスクをすべて破棄します
+     * <p>
+     * 破棄したタスクの{@link #submit(Plugin, Supplier)}のFutureはキャンセルされます。
+     * プラグインを無効にするときに呼び出してください。
+     * </p>
+     *
+     * @param owner タスクを所有するプラグイン
+     * @return 破棄したタスクの数
+     */
+    public int cancelTasks(Plugin owner) {
+        int count = 0;
+        for (Task task : queue) {
+            if (task.owner == owner && queue.remove(task)) {
+                queueDepth.decrementAndGet();
+                task.drop();
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * タスクをキューに追加します
+     *
+     * @param task タスク
+     * @throws RejectedExecutionException 停止している場合
+     */
+    private void enqueue(Task task) {
+        if (stopped) {
+            throw new RejectedExecutionException("Tick budget executor is stopped");
+        }
+        queue.add(task);
+        maxQueueDepth.accumulate(queueDepth.incrementAndGet());
+        // 停止と同時に投入されたタスクが実行されないまま残らないようにする
+        if (stopped && queue.remove(task)) {
+            queueDepth.decrementAndGet();
+            throw new RejectedExecutionException("Tick budget executor is stopped");
+        }
+    }
+
+    /**
+     * 1ティック分のタスクを実行します
+     */
+    private void tick() {
+        if (queue.isEmpty()) {
+            return;
+        }
+        runTasks(budgetNanos);
+    }
+
+    /**
+     * 処理時間の予算を超えるまで、待っているタスクを実行します
+     *
+     * @param budget 処理時間の予算（ナノ秒）
+     */
+    private void runTasks(long budget) {
+        long start = System.nanoTime();
+        long elapsed = 0;
+        int count = 0;
+        Task task;
+        while (elapsed < budget && (task = queue.poll()) != null) {
+            queueDepth.decrementAndGet();
+            if (task.owner != null && !task.owner.isEnabled()) {
+                task.drop();
+                continue;
+            }
+            try {
+                task.command.run();
+            } catch (RuntimeException e) {
+                LOGGER.severe("Failed to run tick-budgeted task: " + e);
+            }
+            count++;
+            elapsed = System.nanoTime() - start;
+        }
+        if (count == 0) {
+            return;
+        }
+
+        executed.add(count);
+        ticks.increment();
+        busyNanos.add(elapsed);
+        maxTickNanos.accumulate(elapsed);
+        int remaining = queueDepth.get();
+        if (remaining > 0) {
+            carriedOverTicks.increment();
+            carriedOverTasks.add(remaining);
+        }
+    }
+
+    /**
+     * 1ティックあたりの処理時間を取得します
+     *
+     * @return 処理時間
+     */
+    public Duration getBudget() {
+        return Duration.ofNanos(budgetNanos);
+    }
+
+    /**
+     * 1ティックあたりの処理時間を設定します
+     *
+     * @param budget 処理時間
+     * @throws IllegalArgumentException 処理時間が正でない場合
+     */
+    public void setBudget(Duration budget) {
+        if (budget.isNegative() || budget.isZero()) {
+            throw new IllegalArgumentException("Tick budget must be positive: " + budget);
+        }
+        budgetNanos = budget.toNanos();
+    }
+
+    /**
+     * 実行を待っているタスクの数を取得します
+     *
+     * @return タスクの数
+     */
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    /**
+     * 実行を待っているタスクの数の最大値を取得します
+     *
+     * @return タスクの数の最大値
+     */
+    public long getMaxQueueDepth() {
+        return maxQueueDepth.get();
+    }
+
+    /**
+     * 実行したタスクの数を取得します
+     *
+     * @return タスクの数
+     */
+    public long getExecutedCount() {
+        return executed.sum();
+    }
+
+    /**
+     * 所有するプラグインが無効になったため破棄したタスクの数を取得します
+     *
+     * @return タスクの数
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * タスクを実行したティックの数を取得します
+     *
+     * @return ティックの数
+     */
+    public long getTickCount() {
+        return ticks.sum();
+    }
+
+    /**
+     * タスクを次のティックに持ち越したティックの数を取得します
+     *
+     * @return ティックの数
+     */
+    public long getCarriedOverTicks() {
+        return carriedOverTicks.sum();
+    }
+
+    /**
+     * 次のティックに持ち越したタスクの数の合計を取得します
+     * <p>
+     * 複数のティックにわたって持ち越されたタスクは、持ち越されるたびに数えられます。
+     * </p>
+     *
+     * @return タスクの数の合計
+     */
+    public long getCarriedOverTasks() {
+        return carriedOverTasks.sum();
+    }
+
+    /**
+     * タスクの実行に使用した時間の合計を取得します
+     *
+     * @return 時間の合計（ナノ秒）
+     */
+    public long getBusyNanos() {
+        return busyNanos.sum();
+    }
+
+    /**
+     * 1ティックでタスクの実行に使用した時間の最大値を取得します
+     *
+     * @return 時間の最大値（ナノ秒）
+     */
+    public long getMaxTickNanos() {
+        return maxTickNanos.get();
+    }
+
+    /**
+     * 集計を0に戻します。実行を待っているタスクはそのまま残ります
+     */
+    public void reset() {
+        maxQueueDepth.reset();
+        maxQueueDepth.accumulate(queueDepth.get());
+        executed.reset();
+        dropped.reset();
+        ticks.reset();
+        carriedOverTicks.reset();
+        carriedOverTasks.reset();
+        busyNanos.reset();
+        maxTickNanos.reset();
+    }
+
+    /**
+     * 実行を待っているタスク
+     */
+    private final class Task {
+        /** タスクを所有するプラグイン、所有者がない場合はnull */
+        @Nullable
+        private final Plugin owner;
+
+        /** 実行する処理 */
+        private final Runnable command;
+
+        /** タスクの結果で完了するFuture、結果を返さないタスクの場合はnull */
+        @Nullable
+        private final CompletableFuture<?> future;
+
+        private Task(@Nullable Plugin owner, Runnable command, @Nullable CompletableFuture<?> future) {
+            this.owner = owner;
+            this.command = command;
+            this.future = future;
+        }
+
+        /**
+         * 実行せずに破棄します
+         */
+        private void drop() {
+            dropped.increment();
+            if (future != null) {
+                future.cancel(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,797 @@
+package com.karasu256.karasuConfigLib.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@code @Config}が付与された設定クラスのための{@code TypeAdapter}を生成するアノテーションプロセッサ
+ * <p>
+ * {@code BaseConfig}を継承した設定クラスごとに、リフレクションを使用せずにJsonReader/JsonWriterで
+ * 直接読み書きする{@code <クラス名>_KarasuTypeAdapter}を同じパッケージに生成します。
+ * 生成されたアダプタは実行時に{@code BaseConfig}が自動的に検出して使用します。
+ * </p>
+ *
+ * <p>
+ * 出力はGsonのリフレクションによるシリアライズと同じ形式になるように生成されます。
+ * Gsonと同じくゲッター/セッターは使用せず、フィールドを直接読み書きします。生成したアダプタから
+ * アクセスできないフィールドは、{@code MethodHandles.privateLookupIn}で取得した{@code VarHandle}で読み書きします。
+ * </p>
+ *
+ * <p>
+ * 次のような設定クラスでは生成を行わず、実行時はGsonのリフレクションによる処理が使用されます。
+ * <ul>
+ * <li>finalのフィールドがある場合</li>
+ * <li>型変数・{@code Object}型・{@code List<String>[]}のようなジェネリック配列型のフィールドがある場合</li>
+ * <li>フィールドの型やフィールドを宣言したクラスに、生成したアダプタからアクセスできない場合
+ * （privateなネストしたクラスなど）</li>
+ * <li>クラスまたはフィールドに{@code @JsonAdapter}が付与されている場合</li>
+ * </ul>
+ * </p>
+ *
+ * <p>
+ * boolean・int・long・String型のフィールドはJsonReader/JsonWriterで直接読み書きするコードを生成します。
+ * これらの型にユーザーが型アダプタを登録している場合は、実行時に{@code GeneratedAdapterFactory}が
+ * 生成したアダプタを使用せず、Gsonのリフレクションによる処理に任せます。
+ * </p>
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ */
+@SupportedAnnotationTypes(ConfigAdapterProcessor.CONFIG_ANNOTATION)
+public final class ConfigAdapterProcessor extends AbstractProcessor {
+
+    /** Configアノテーションの完全修飾名 */
+    static final String CONFIG_ANNOTATION = "com.karasu256.karasuConfigLib.annotation.Config";
+
+    /** BaseConfigの完全修飾名 */
+    private static final String BASE_CONFIG = "com.karasu256.karasuConfigLib.config.BaseConfig";
+
+    /** 生成するアダプタのクラス名の接尾辞 */
+    private static final String ADAPTER_SUFFIX = "_KarasuTypeAdapter";
+
+    /** GsonのSerializedNameアノテーションの完全修飾名 */
+    private static final String SERIALIZED_NAME = "com.google.gson.annotations.SerializedName";
+
+    /** GsonのJsonAdapterアノテーションの完全修飾名 */
+    private static final String JSON_ADAPTER = "com.google.gson.annotations.JsonAdapter";
+
+    private Elements elements;
+    private Types types;
+    private Filer filer;
+    private Messager messager;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        this.elements = processingEnv.getElementUtils();
+        this.types = processingEnv.getTypeUtils();
+        this.filer = processingEnv.getFiler();
+        this.messager = processingEnv.getMessager();
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeElement configAnnotation = elements.getTypeElement(CONFIG_ANNOTATION);
+        TypeElement baseConfig = elements.getTypeElement(BASE_CONFIG);
+        if (configAnnotation == null || baseConfig == null) {
+            return false;
+        }
+
+        for (Element element : roundEnv.getElementsAnnotatedWith(configAnnotation)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                continue;
+            }
+            TypeElement type = (TypeElement) element;
+            if (!types.isSubtype(types.erasure(type.asType()), types.erasure(baseConfig.asType()))) {
+                continue;
+            }
+
+            try {
+                generate(type, baseConfig);
+            } catch (UnsupportedConfigException e) {
+                messager.printMessage(Diagnostic.Kind.NOTE,
+                        "Skipping generated TypeAdapter for " + type.getQualifiedName() + ": " + e.getMessage(),
+                        type);
+            } catch (IOException e) {
+                messager.printMessage(Diagnostic.Kind.ERROR,
+                        "Failed to write TypeAdapter for " + type.getQualifiedName() + ": " + e.getMessage(), type);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 設定クラスのアダプタを生成します
+     *
+     * @param type       設定クラス
+     * @param baseConfig BaseConfigの型要素
+     * @throws UnsupportedConfigException アダプタを生成できない設定クラスの場合
+     * @throws IOException                ソースファイルの書き込みに失敗した場合
+     */
+    private void generate(TypeElement type, TypeElement baseConfig) throws IOException {
+        if (type.getModifiers().contains(Modifier.ABSTRACT)) {
+            throw new UnsupportedConfigException("class is abstract");
+        }
+        if (type.getNestingKind().isNested() && !type.getModifiers().contains(Modifier.STATIC)) {
+            throw new UnsupportedConfigException("inner classes are not supported");
+        }
+        if (!type.getTypeParameters().isEmpty()) {
+            throw new UnsupportedConfigException("generic classes are not supported");
+        }
+        if (findAnnotation(type, JSON_ADAPTER) != null) {
+            // Gsonはクラスに指定されたアダプタを使用するため、生成したアダプタで置き換えない
+            throw new UnsupportedConfigException("class uses @JsonAdapter");
+        }
+        PackageElement pkg = elements.getPackageOf(type);
+        if (!isAccessible(type.asType(), pkg)) {
+            throw new UnsupportedConfigException("class is not accessible from its package");
+        }
+        if (!hasAccessibleNoArgConstructor(type)) {
+            throw new UnsupportedConfigException("no accessible no-arg constructor");
+        }
+
+        List<Property> properties = collectProperties(type, baseConfig, pkg);
+
+        String packageName = pkg.getQualifiedName().toString();
+        String binaryName = elements.getBinaryName(type).toString();
+        String simpleName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1))
+                .replace('$', '_') + ADAPTER_SUFFIX;
+        String qualifiedName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+        String configName = type.getQualifiedName().toString();
+
+        try (Writer writer = filer.createSourceFile(qualifiedName, type).openWriter()) {
+            writer.write(render(packageName, simpleName, configName, properties));
+        }
+    }
+
+    /**
+     * 設定クラスとそのスーパークラスのシリアライズ対象のフィールドを収集します
+     * <p>
+     * Gsonと同じく、サブクラスのフィールドを先に、スーパークラスのフィールドを後に並べます。
+     * </p>
+     *
+     * @param type       設定クラス
+     * @param baseConfig BaseConfigの型要素
+     * @param pkg        生成するアダプタのパッケージ
+     * @return プロパティの一覧
+     */
+    private List<Property> collectProperties(TypeElement type, TypeElement baseConfig, PackageElement pkg) {
+        List<Property> properties = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        TypeElement current = type;
+        while (current != null && !current.getQualifiedName().contentEquals(BASE_CONFIG)
+                && !current.getQualifiedName().contentEquals("java.lang.Object")) {
+            for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                Set<Modifier> modifiers = field.getModifiers();
+                if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT)) {
+                    continue;
+                }
+                if (findAnnotation(field, JSON_ADAPTER) != null) {
+                    throw new UnsupportedConfigException("field " + field.getSimpleName() + " uses @JsonAdapter");
+                }
+
+                Property property = createProperty(current, field, pkg);
+                for (String name : property.names()) {
+                    if (!names.add(name)) {
+                        throw new UnsupportedConfigException("multiple JSON fields named " + name);
+                    }
+                }
+                properties.add(property);
+            }
+            TypeMirror superclass = current.getSuperclass();
+            current = superclass.getKind() == TypeKind.DECLARED
+                    ? (TypeElement) ((DeclaredType) superclass).asElement()
+                    : null;
+        }
+        return properties;
+    }
+
+    /**
+     * フィールドからプロパティを作成します
+     *
+     * @param owner フィールドを宣言したクラス
+     * @param field フィールド
+     * @param pkg   生成するアダプタのパッケージ
+     * @return プロパティ
+     */
+    private Property createProperty(TypeElement owner, VariableElement field, PackageElement pkg) {
+        String fieldName = field.getSimpleName().toString();
+        TypeMirror fieldType = field.asType();
+        if (fieldType.getKind() == TypeKind.TYPEVAR || isObject(fieldType)) {
+            throw new UnsupportedConfigException("field " + fieldName + " has no concrete type");
+        }
+
+        if (fieldType.getKind() == TypeKind.ARRAY && isGenericArray((ArrayType) fieldType)) {
+            throw new UnsupportedConfigException("field " + fieldName + " has a generic array type");
+        }
+        if (!isAccessible(fieldType, pkg)) {
+            throw new UnsupportedConfigException("field " + fieldName + " has an inaccessible type " + fieldType);
+        }
+        if (field.getModifiers().contains(Modifier.FINAL)) {
+            // Gsonはリフレクションでfinalのフィールドにも値を設定するが、VarHandleでは書き込めない
+            throw new UnsupportedConfigException("field " + fieldName + " is final");
+        }
+
+        String typeName = typeName(fieldType);
+        String getter;
+        String setter;
+        String ownerName = null;
+        if (isAccessible(field, pkg)) {
+            getter = "value." + fieldName;
+            setter = "value." + fieldName + " = %s";
+        } else {
+            if (!isAccessible(owner.asType(), pkg)) {
+                throw new UnsupportedConfigException("field " + fieldName + " is declared in an inaccessible class");
+            }
+            // Gsonと同じくフィールドへ直接読み書きし、ゲッター/セッターは呼び出さない
+            ownerName = owner.getQualifiedName().toString();
+            String handle = fieldName + "Handle";
+            getter = "(" + typeName + ") " + handle + ".get(value)";
+            setter = handle + ".set(value, %s)";
+        }
+
+        String name = fieldName;
+        List<String> alternates = new ArrayList<>();
+        AnnotationMirror serializedName = findAnnotation(field, SERIALIZED_NAME);
+        if (serializedName != null) {
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : elements
+                    .getElementValuesWithDefaults(serializedName).entrySet()) {
+                String key = entry.getKey().getSimpleName().toString();
+                if (key.equals("value")) {
+                    name = (String) entry.getValue().getValue();
+                } else if (key.equals("alternate")) {
+                    for (Object alternate : (List<?>) entry.getValue().getValue()) {
+                        alternates.add((String) ((AnnotationValue) alternate).getValue());
+                    }
+                }
+            }
+        }
+
+        return new Property(fieldName, name, alternates, fieldType, typeName,
+                typeName(types.erasure(fieldType)), ownerName, getter, setter);
+    }
+
+    /**
+     * 生成するアダプタから要素にアクセスできるかどうかを返します
+     *
+     * @param element フィールドまたはクラス
+     * @param pkg     生成するアダプタのパッケージ
+     * @return アクセスできる場合はtrue
+     */
+    private boolean isAccessible(Element element, PackageElement pkg) {
+        Set<Modifier> modifiers = element.getModifiers();
+        if (modifiers.contains(Modifier.PUBLIC)) {
+            return true;
+        }
+        if (modifiers.contains(Modifier.PRIVATE)) {
+            return false;
+        }
+        return elements.getPackageOf(element).equals(pkg);
+    }
+
+    /**
+     * 生成するアダプタのソースコードから型を参照できるかどうかを返します
+     * <p>
+     * クラスとそれを囲むすべてのクラス、型引数、配列の要素型がアクセスできる必要があります。
+     * </p>
+     *
+     * @param type 型
+     * @param pkg  生成するアダプタのパッケージ
+     * @return 参照できる場合はtrue
+     */
+    private boolean isAccessible(TypeMirror type, PackageElement pkg) {
+        switch (type.getKind()) {
+            case ARRAY:
+                return isAccessible(((ArrayType) type).getComponentType(), pkg);
+            case DECLARED:
+                DeclaredType declared = (DeclaredType) type;
+                Element element = declared.asElement();
+                while (element instanceof TypeElement typeElement) {
+                    if (typeElement.getNestingKind() == NestingKind.LOCAL
+                            || typeElement.getNestingKind() == NestingKind.ANONYMOUS
+                            || !isAccessible(typeElement, pkg)) {
+                        return false;
+                    }
+                    element = typeElement.getEnclosingElement();
+                }
+                for (TypeMirror argument : declared.getTypeArguments()) {
+                    if (!isAccessible(argument, pkg)) {
+                        return false;
+                    }
+                }
+                return true;
+            case WILDCARD:
+                WildcardType wildcard = (WildcardType) type;
+                return (wildcard.getExtendsBound() == null || isAccessible(wildcard.getExtendsBound(), pkg))
+                        && (wildcard.getSuperBound() == null || isAccessible(wildcard.getSuperBound(), pkg));
+            default:
+                return type.getKind().isPrimitive();
+        }
+    }
+
+    /**
+     * 配列型がジェネリック配列型かどうかを返します
+     * <p>
+     * {@code List<String>[]}のような型は{@code .class}リテラルで参照できないため、アダプタを生成できません。
+     * </p>
+     *
+     * @param type 配列型
+     * @return 要素型が型引数を持つ型または型変数の場合はtrue
+     */
+    private boolean isGenericArray(ArrayType type) {
+        TypeMirror component = type.getComponentType();
+        while (component.getKind() == TypeKind.ARRAY) {
+            component = ((ArrayType) component).getComponentType();
+        }
+        return component.getKind() == TypeKind.TYPEVAR || component.getKind() == TypeKind.DECLARED
+                && !((DeclaredType) component).getTypeArguments().isEmpty();
+    }
+
+    /**
+     * 設定クラスにアクセス可能な引数なしコンストラクタがあるかどうかを返します
+     *
+     * @param type 設定クラス
+     * @return アクセス可能な引数なしコンストラクタがある場合はtrue
+     */
+    private boolean hasAccessibleNoArgConstructor(TypeElement type) {
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 要素に付与された指定のアノテーションを探します
+     *
+     * @param element        要素
+     * @param annotationName アノテーションの完全修飾名
+     * @return アノテーション、付与されていない場合はnull
+     */
+    private AnnotationMirror findAnnotation(Element element, String annotationName) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+            if (annotationType.getQualifiedName().contentEquals(annotationName)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 型が{@code java.lang.Object}かどうかを返します
+     *
+     * @param type 型
+     * @return {@code java.lang.Object}の場合はtrue
+     */
+    private boolean isObject(TypeMirror type) {
+        return type.getKind() == TypeKind.DECLARED
+                && ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().contentEquals("java.lang.Object");
+    }
+
+    /**
+     * 生成するソースコードで使用する型の名前を取得します
+     *
+     * @param type 型
+     * @return 型アノテーションを含まない完全修飾の型名
+     */
+    private String typeName(TypeMirror type) {
+        switch (type.getKind()) {
+            case BOOLEAN:
+            case BYTE:
+            case SHORT:
+            case INT:
+            case LONG:
+            case CHAR:
+            case FLOAT:
+            case DOUBLE:
+                return type.getKind().name().toLowerCase(java.util.Locale.ROOT);
+            case ARRAY:
+                return typeName(((ArrayType) type).getComponentType()) + "[]";
+            case DECLARED:
+                DeclaredType declared = (DeclaredType) type;
+                StringBuilder name = new StringBuilder(
+                        ((TypeElement) declared.asElement()).getQualifiedName().toString());
+                if (!declared.getTypeArguments().isEmpty()) {
+                    name.append('<');
+                    for (int i = 0; i < declared.getTypeArguments().size(); i++) {
+                        if (i > 0) {
+                            name.append(", ");
+                        }
+                        name.append(typeName(declared.getTypeArguments().get(i)));
+                    }
+                    name.append('>');
+                }
+                return name.toString();
+            case WILDCARD:
+                WildcardType wildcard = (WildcardType) type;
+                if (wildcard.getExtendsBound() != null) {
+                    return "? extends " + typeName(wildcard.getExtendsBound());
+                }
+                if (wildcard.getSuperBound() != null) {
+                    return "? super " + typeName(wildcard.getSuperBound());
+                }
+                return "?";
+            default:
+                throw new UnsupportedConfigException("unsupported type " + type);
+        }
+    }
+
+    /**
+     * アダプタのソースコードを生成します
+     *
+     * @param packageName パッケージ名
+     * @param simpleName  アダプタのクラス名
+     * @param configName  設定クラスの完全修飾名
+     * @param properties  プロパティの一覧
+     * @return ソースコード
+     */
+    private String render(String packageName, String simpleName, String configName, List<Property> properties) {
+        StringBuilder out = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            out.append("package ").append(packageName).append(";\n\n");
+        }
+        out.append("@javax.annotation.processing.Generated(\"").append(getClass().getName()).append("\")\n");
+        out.append("@java.lang.SuppressWarnings(\"unchecked\")\n");
+        out.append("public final class ").append(simpleName)
+                .append(" extends com.google.gson.TypeAdapter<").append(configName).append("> {\n");
+
+        boolean handles = false;
+        for (Property property : properties) {
+            if (property.ownerName() != null) {
+                out.append("    private static final java.lang.invoke.VarHandle ").append(property.handleField())
+                        .append(";\n");
+                handles = true;
+            }
+        }
+        if (handles) {
+            out.append("\n    static {\n        try {\n");
+            out.append("            java.lang.invoke.MethodHandles.Lookup lookup = java.lang.invoke.MethodHandles.lookup();\n");
+            for (Property property : properties) {
+                if (property.ownerName() != null) {
+                    out.append("            ").append(property.handleField())
+                            .append(" = java.lang.invoke.MethodHandles.privateLookupIn(")
+                            .append(property.ownerName()).append(".class, lookup).findVarHandle(")
+                            .append(property.ownerName()).append(".class, ").append(literal(property.fieldName()))
+                            .append(", ").append(property.erasedTypeName()).append(".class);\n");
+                }
+            }
+            out.append("        } catch (java.lang.ReflectiveOperationException e) {\n")
+                    .append("            throw new java.lang.ExceptionInInitializerError(e);\n        }\n    }\n");
+        }
+
+        boolean first = true;
+        for (Property property : properties) {
+            if (property.kind() == Kind.DELEGATE) {
+                if (first && handles) {
+                    out.append("\n");
+                }
+                first = false;
+                out.append("    private final com.google.gson.TypeAdapter<").append(property.boxedTypeName())
+                        .append("> ").append(property.adapterField()).append(";\n");
+            }
+        }
+
+        out.append("\n    public ").append(simpleName).append("(com.google.gson.Gson gson) {\n");
+        for (Property property : properties) {
+            if (property.kind() == Kind.DELEGATE) {
+                out.append("        this.").append(property.adapterField()).append(" = gson.getAdapter(");
+                if (property.type().getKind() == TypeKind.DECLARED
+                        && !((DeclaredType) property.type()).getTypeArguments().isEmpty()) {
+                    out.append("new com.google.gson.reflect.TypeToken<").append(property.typeName())
+                            .append(">() {}");
+                } else {
+                    out.append(property.typeName()).append(".class");
+                }
+                out.append(");\n");
+            }
+        }
+        out.append("    }\n\n");
+
+        out.append("    @Override\n");
+        out.append("    public void write(com.google.gson.stream.JsonWriter out, ").append(configName)
+                .append(" value) throws java.io.IOException {\n");
+        out.append("        if (value == null) {\n            out.nullValue();\n            return;\n        }\n");
+        out.append("        out.beginObject();\n");
+        for (Property property : properties) {
+            String get = property.getter();
+            out.append("        out.name(").append(literal(property.name())).append(");\n");
+            switch (property.kind()) {
+                case BOOLEAN, INT, LONG -> out.append("        out.value(").append(get).append(");\n");
+                case STRING -> out.append("        {\n            java.lang.String v = ").append(get).append(";\n")
+                        .append("            if (v == null) {\n                out.nullValue();\n")
+                        .append("            } else {\n                out.value(v);\n            }\n        }\n");
+                case DELEGATE -> out.append("        ").append(property.adapterField()).append(".write(out, ")
+                        .append(get).append(");\n");
+            }
+        }
+        out.append("        out.endObject();\n    }\n\n");
+
+        out.append("    @Override\n");
+        out.append("    public ").append(configName)
+                .append(" read(com.google.gson.stream.JsonReader in) throws java.io.IOException {\n");
+        out.append("        if (in.peek() == com.google.gson.stream.JsonToken.NULL) {\n")
+                .append("            in.nextNull();\n            return null;\n        }\n");
+        out.append("        ").append(configName).append(" value = new ").append(configName).append("();\n");
+        out.append("        in.beginObject();\n");
+        out.append("        while (in.hasNext()) {\n");
+        out.append("            switch (in.nextName()) {\n");
+        for (Property property : properties) {
+            for (String name : property.names()) {
+                out.append("                case ").append(literal(name)).append(":\n");
+            }
+            boolean primitive = property.type().getKind().isPrimitive();
+            out.append("                    if (in.peek() == com.google.gson.stream.JsonToken.NULL) {\n");
+            if (primitive) {
+                out.append("                        in.nextNull();\n");
+            } else {
+                out.append("                        in.nextNull();\n                        ")
+                        .append(String.format(property.setter(), "(" + property.typeName() + ") null"))
+                        .append(";\n");
+            }
+            out.append("                    } else {\n");
+            String read = switch (property.kind()) {
+                case BOOLEAN -> "in.peek() == com.google.gson.stream.JsonToken.STRING"
+                        + " ? java.lang.Boolean.parseBoolean(in.nextString()) : in.nextBoolean()";
+                case INT -> "in.nextInt()";
+                case LONG -> "in.nextLong()";
+                case STRING -> "in.peek() == com.google.gson.stream.JsonToken.BOOLEAN"
+                        + " ? java.lang.Boolean.toString(in.nextBoolean()) : in.nextString()";
+                case DELEGATE -> property.adapterField() + ".read(in)";
+            };
+            if (property.kind() == Kind.DELEGATE && primitive) {
+                out.append("                        ").append(property.boxedTypeName()).append(" v = ")
+                        .append(read).append(";\n                        if (v != null) {\n")
+                        .append("                            ").append(String.format(property.setter(), "v"))
+                        .append(";\n                        }\n");
+            } else if (property.kind() == Kind.INT || property.kind() == Kind.LONG) {
+                // Gsonの組み込みのアダプタと同じく、数値に変換できない場合はJsonSyntaxExceptionにする
+                out.append("                        try {\n                            ")
+                        .append(String.format(property.setter(), read))
+                        .append(";\n                        } catch (java.lang.NumberFormatException e) {\n")
+                        .append("                            throw new com.google.gson.JsonSyntaxException(e);\n")
+                        .append("                        }\n");
+            } else {
+                out.append("                        ").append(String.format(property.setter(), read))
+                        .append(";\n");
+            }
+            out.append("                    }\n                    break;\n");
+        }
+        out.append("                default:\n                    in.skipValue();\n                    break;\n");
+        out.append("            }\n        }\n");
+        out.append("        in.endObject();\n        return value;\n    }\n}\n");
+        return out.toString();
+    }
+
+    /**
+     * 文字列をJavaの文字列リテラルに変換します
+     *
+     * @param value 文字列
+     * @return 文字列リテラル
+     */
+    private static String literal(String value) {
+        StringBuilder literal = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> literal.append("\\\"");
+                case '\\' -> literal.append("\\\\");
+                case '\n' -> literal.append("\\n");
+                case '\r' -> literal.append("\\r");
+                case '\t' -> literal.append("\\t");
+                default -> {
+                    if (c < 0x20 || c > 0x7e) {
+                        literal.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        literal.append(c);
+                    }
+                }
+            }
+        }
+        return literal.append('"').toString();
+    }
+
+    /**
+     * プロパティの読み書きの方法
+     */
+    private enum Kind {
+        /** boolean型のフィールド */
+        BOOLEAN,
+        /** int型のフィールド */
+        INT,
+        /** long型のフィールド */
+        LONG,
+        /** String型のフィールド */
+        STRING,
+        /** Gsonの型アダプタに処理を委譲するフィールド */
+        DELEGATE
+    }
+
+    /**
+     * シリアライズ対象のフィールドの情報
+     */
+    private static final class Property {
+        /** フィールド名 */
+        private final String fieldName;
+
+        /** JSONでの名前 */
+        private final String name;
+
+        /** 読み込み時に受け付ける別名 */
+        private final List<String> alternates;
+
+        /** フィールドの型 */
+        private final TypeMirror type;
+
+        /** ソースコードで使用する型名 */
+        private final String typeName;
+
+        /** ソースコードで使用する型引数を除いた型名 */
+        private final String erasedTypeName;
+
+        /** VarHandleで読み書きする場合はフィールドを宣言したクラスの完全修飾名、直接読み書きする場合はnull */
+        private final String ownerName;
+
+        /** 値を取得する式 */
+        private final String getter;
+
+        /** 値を設定する文の書式 */
+        private final String setter;
+
+        private Property(String fieldName, String name, List<String> alternates, TypeMirror type, String typeName,
+                String erasedTypeName, String ownerName, String getter, String setter) {
+            this.fieldName = fieldName;
+            this.name = name;
+            this.alternates = alternates;
+            this.type = type;
+            this.typeName = typeName;
+            this.erasedTypeName = erasedTypeName;
+            this.ownerName = ownerName;
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        String fieldName() {
+            return fieldName;
+        }
+
+        String name() {
+            return name;
+        }
+
+        TypeMirror type() {
+            return type;
+        }
+
+        String typeName() {
+            return typeName;
+        }
+
+        String erasedTypeName() {
+            return erasedTypeName;
+        }
+
+        String ownerName() {
+            return ownerName;
+        }
+
+        String getter() {
+            return getter;
+        }
+
+        String setter() {
+            return setter;
+        }
+
+        /**
+         * 読み込み時に受け付けるすべての名前を取得します
+         *
+         * @return JSONでの名前と別名
+         */
+        List<String> names() {
+            List<String> names = new ArrayList<>(alternates.size() + 1);
+            names.add(name);
+            names.addAll(alternates);
+            return names;
+        }
+
+        /**
+         * プロパティの読み書きの方法を取得します
+         *
+         * @return 読み書きの方法
+         */
+        Kind kind() {
+            return switch (type.getKind()) {
+                case BOOLEAN -> Kind.BOOLEAN;
+                case INT -> Kind.INT;
+                case LONG -> Kind.LONG;
+                case DECLARED -> typeName.equals("java.lang.String") ? Kind.STRING : Kind.DELEGATE;
+                default -> Kind.DELEGATE;
+            };
+        }
+
+        /**
+         * 委譲先の型アダプタを保持するフィールド名を取得します
+         *
+         * @return フィールド名
+         */
+        String adapterField() {
+            return fieldName + "Adapter";
+        }
+
+        /**
+         * フィールドを読み書きするVarHandleを保持するフィールド名を取得します
+         *
+         * @return フィールド名
+         */
+        String handleField() {
+            return fieldName + "Handle";
+        }
+
+        /**
+         * プリミティブ型の場合はボックス化した型名を取得します
+         *
+         * @return 型名
+         */
+        String boxedTypeName() {
+            return switch (type.getKind()) {
+                case BYTE -> "java.lang.Byte";
+                case SHORT -> "java.lang.Short";
+                case CHAR -> "java.lang.Character";
+                case FLOAT -> "java.lang.Float";
+                case DOUBLE -> "java.lang.Double";
+                case BOOLEAN -> "java.lang.Boolean";
+                case INT -> "java.lang.Integer";
+                case LONG -> "java.lang.Long";
+                default -> typeName;
+            };
+        }
+    }
+
+    /**
+     * アダプタを生成できない設定クラスであることを表す例外
+     */
+    private static final class UnsupportedConfigException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private UnsupportedConfigException(String message) {
+            super(message);
+        }
+    }
+}
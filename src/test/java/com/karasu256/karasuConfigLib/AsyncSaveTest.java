@@ -0,0 +1,94 @@
+package com.karasu256.karasuConfigLib;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 非同期の保存のテスト
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ */
+class AsyncSaveTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    /** 書き込みに時間がかかる大きさの名前 */
+    private static final String LARGE_NAME = "x".repeat(16 * 1024 * 1024);
+
+    @TempDir
+    Path directory;
+
+    private TestPlugin plugin;
+
+    @BeforeEach
+    void setUp() {
+        plugin = TestPlugin.start(directory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        plugin.disable();
+    }
+
+    @Test
+    void asyncSavesOfSameFileAreWrittenInCallOrder() throws IOException {
+        TestConfig config = plugin.getConfig("a.json", TestConfig.class);
+        // 後の小さな書き込みの方が先に終わる状況でも、最後に投入した内容が残る
+        config.set(LARGE_NAME, 1);
+        CompletableFuture<Boolean> first = plugin.saveAsync("a.json");
+        config.set("second", 2);
+        CompletableFuture<Boolean> second = plugin.saveAsync("a.json");
+        CompletableFuture<Void> both = CompletableFuture.allOf(first, second);
+        plugin.getTestServer().tickUntil(both::isDone, TIMEOUT);
+
+        Assertions.assertTrue(first.join());
+        Assertions.assertTrue(second.join());
+        Assertions.assertEquals("second", readName("a.json"));
+    }
+
+    @Test
+    void syncSaveIsNotOverwrittenByEarlierAsyncSave() throws IOException {
+        TestConfig config = plugin.getConfig("a.json", TestConfig.class);
+        config.set(LARGE_NAME, 1);
+        CompletableFuture<Boolean> async = plugin.saveAsync("a.json");
+
+        config.set("sync", 2);
+        Assertions.assertTrue(plugin.save("a.json"));
+        plugin.getTestServer().tickUntil(async::isDone, TIMEOUT);
+
+        Assertions.assertTrue(async.join());
+        Assertions.assertEquals("sync", readName("a.json"));
+    }
+
+    @Test
+    void saveAllAsyncCompletesOnMainThread() throws IOException {
+        Thread mainThread = Thread.currentThread();
+        plugin.getConfig("a.json", TestConfig.class).set("a", 1);
+        plugin.getConfig("b.json", TestConfig.class).set("b", 2);
+
+        CompletableFuture<Thread> completedOn = plugin.saveAsync().thenApply(result -> {
+            Assertions.assertEquals(2, result.getWritten());
+            return Thread.currentThread();
+        });
+        plugin.getTestServer().tickUntil(completedOn::isDone, TIMEOUT);
+
+        Assertions.assertSame(mainThread, completedOn.join());
+        Assertions.assertEquals("a", readName("a.json"));
+        Assertions.assertEquals("b", readName("b.json"));
+    }
+
+    private String readName(String fileName) throws IOException {
+        String json = Files.readString(plugin.getConfigFile(fileName).toPath());
+        return plugin.getGson().fromJson(json, TestConfig.class).getName();
+    }
+}
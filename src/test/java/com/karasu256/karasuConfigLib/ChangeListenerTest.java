@@ -0,0 +1,74 @@
+package com.karasu256.karasuConfigLib;
+
+import com.karasu256.karasuConfigLib.event.ConfigChange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 再読み込みによる変更の通知のテスト
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ */
+class ChangeListenerTest {
+
+    @TempDir
+    Path directory;
+
+    private TestPlugin plugin;
+
+    private final List<String> paths = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        plugin = TestPlugin.start(directory);
+        plugin.addChangeListener(TestConfig.class, "", event -> {
+            for (ConfigChange change : event.getChanges()) {
+                paths.add(change.getPath());
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        plugin.disable();
+    }
+
+    @Test
+    void loadedTreeIsRetainedAndDiffed() throws IOException {
+        plugin.getConfig("test.json", TestConfig.class);
+        Assertions.assertTrue(plugin.reloadConfig("test.json", TestConfig.class));
+        TestConfig loaded = plugin.getConfig("test.json", TestConfig.class);
+        Assertions.assertNotNull(loaded.getLoadedTree());
+        Assertions.assertEquals(List.of(), paths);
+
+        writeFile(new TestConfig().set("test", 4));
+        Assertions.assertTrue(plugin.reloadConfig("test.json", TestConfig.class));
+        Assertions.assertEquals(List.of("count"), paths);
+    }
+
+    @Test
+    void changedConfigIsSerializedAgain() throws IOException {
+        plugin.getConfig("test.json", TestConfig.class);
+        Assertions.assertTrue(plugin.reloadConfig("test.json", TestConfig.class));
+        TestConfig loaded = plugin.getConfig("test.json", TestConfig.class);
+        loaded.set("memory", 0);
+        Assertions.assertNull(loaded.getLoadedTree());
+
+        Assertions.assertTrue(plugin.reloadConfig("test.json", TestConfig.class));
+        Assertions.assertEquals(List.of("name"), paths);
+    }
+
+    private void writeFile(TestConfig config) throws IOException {
+        Files.writeString(plugin.getConfigFile("test.json").toPath(), plugin.getGson().toJson(config));
+    }
+}
@@ -0,0 +1,100 @@
+package com.karasu256.karasuConfigLib;
+
+import com.karasu256.karasuConfigLib.annotation.Config;
+import com.karasu256.karasuConfigLib.codec.ConfigCodecs;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 設定クラスのコーデックを変更した後の読み込みのテスト
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ */
+class CodecMigrationTest {
+
+    @TempDir
+    Path directory;
+
+    private TestPlugin plugin;
+
+    @BeforeEach
+    void setUp() {
+        plugin = TestPlugin.start(directory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        plugin.disable();
+    }
+
+    @Test
+    void binaryFileIsMigratedToJson() throws IOException {
+        Path file = plugin.getConfigFile("test.json").toPath();
+        Files.createDirectories(file.getParent());
+        Files.write(file, ConfigCodecs.BINARY.encode(new TestConfig().set("binary", 7), plugin.getGson()));
+
+        TestConfig config = plugin.getConfig("test.json", TestConfig.class);
+        Assertions.assertEquals("binary", config.getName());
+        Assertions.assertEquals(7, config.getCount());
+        Assertions.assertSame(ConfigCodecs.PRETTY_JSON, ConfigCodecs.detect(Files.readAllBytes(file)));
+    }
+
+    @Test
+    void jsonFileIsMigratedToGzip() throws IOException {
+        Path file = plugin.getConfigFile("gzip.json").toPath();
+        Files.createDirectories(file.getParent());
+        Files.write(file, ConfigCodecs.PRETTY_JSON.encode(new GzipConfig().set("json", 3), plugin.getGson()));
+
+        GzipConfig config = plugin.getConfig("gzip.json", GzipConfig.class);
+        Assertions.assertEquals("json", config.getName());
+        Assertions.assertEquals(3, config.getCount());
+        Assertions.assertSame(ConfigCodecs.GZIP_JSON, ConfigCodecs.detect(Files.readAllBytes(file)));
+    }
+
+    @Test
+    void binaryFileIsMigratedToJournal() throws IOException {
+        Path file = plugin.getConfigFile("journal.json").toPath();
+        Files.createDirectories(file.getParent());
+        Files.write(file, ConfigCodecs.BINARY.encode(new JournaledConfig().set("binary", 5), plugin.getGson()));
+
+        JournaledConfig config = plugin.getConfig("journal.json", JournaledConfig.class);
+        Assertions.assertEquals("binary", config.getName());
+        Assertions.assertEquals(5, config.getCount());
+        Assertions.assertSame(ConfigCodecs.PRETTY_JSON, ConfigCodecs.detect(Files.readAllBytes(file)));
+    }
+
+    @Test
+    void unknownFormatIsPreserved() throws IOException {
+        Path file = plugin.getConfigFile("test.json").toPath();
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, "name: yaml", StandardCharsets.UTF_8);
+
+        TestConfig config = plugin.getConfig("test.json", TestConfig.class);
+        Assertions.assertEquals("test", config.getName());
+        Assertions.assertEquals("name: yaml",
+                Files.readString(file.resolveSibling("test.json.broken"), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * GZIPで圧縮したJSONで保存する設定
+     */
+    @Config(fileName = "gzip.json", codec = "json-gzip")
+    public static class GzipConfig extends TestConfig {
+    }
+
+    /**
+     * ジャーナル方式で保存する設定
+     */
+    @Config(fileName = "journal.json", journaled = true)
+    public static class JournaledConfig extends TestConfig {
+    }
+}
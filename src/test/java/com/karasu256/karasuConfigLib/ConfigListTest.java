@@ -0,0 +1,71 @@
+package com.karasu256.karasuConfigLib;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 設定リストの保存と読み込みのテスト
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ */
+class ConfigListTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @TempDir
+    Path directory;
+
+    private TestPlugin plugin;
+
+    @BeforeEach
+    void setUp() {
+        plugin = TestPlugin.start(directory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        plugin.disable();
+    }
+
+    @Test
+    void savedListIsLoadedInOrder() {
+        plugin.saveList(List.of(new TestConfig().set("a", 1), new TestConfig().set("b", 2)), "list.json");
+
+        List<TestConfig> loaded = plugin.loadList("list.json");
+
+        Assertions.assertEquals(List.of("a", "b"), loaded.stream().map(TestConfig::getName).toList());
+        Assertions.assertEquals(2, loaded.get(1).getCount());
+    }
+
+    @Test
+    void asyncSaveKeepsElementsAtTimeOfCall() {
+        List<TestConfig> list = new ArrayList<>();
+        list.add(new TestConfig().set("a", 1));
+        list.add(null);
+
+        CompletableFuture<Void> save = plugin.saveListAsync(list, "list.json");
+        list.add(new TestConfig().set("added", 2));
+        plugin.getTestServer().tickUntil(save::isDone, TIMEOUT);
+
+        List<TestConfig> loaded = plugin.loadList("list.json");
+        Assertions.assertEquals(2, loaded.size());
+        Assertions.assertEquals("a", loaded.get(0).getName());
+        Assertions.assertNull(loaded.get(1));
+    }
+
+    @Test
+    void missingListIsCreatedEmpty() {
+        Assertions.assertEquals(List.of(), plugin.loadList("missing.json"));
+        Assertions.assertEquals(List.of(), plugin.loadList("missing.json"));
+    }
+}
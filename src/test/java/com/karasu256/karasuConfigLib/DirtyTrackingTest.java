@@ -0,0 +1,96 @@
+package com.karasu256.karasuConfigLib;
+
+import com.karasu256.karasuConfigLib.metrics.ConfigMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 変更のない設定の保存を省略する処理のテスト
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ */
+class DirtyTrackingTest {
+
+    @TempDir
+    Path directory;
+
+    private TestPlugin plugin;
+
+    @BeforeEach
+    void setUp() {
+        plugin = TestPlugin.start(directory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        plugin.disable();
+    }
+
+    @Test
+    void onlyChangedConfigsAreWritten() {
+        TestConfig a = plugin.getConfig("a.json", TestConfig.class);
+        plugin.getConfig("b.json", TestConfig.class);
+
+        SaveResult unchanged = plugin.save();
+        Assertions.assertEquals(0, unchanged.getWritten());
+        Assertions.assertEquals(2, unchanged.getSkipped());
+
+        a.set("changed", 1);
+        Assertions.assertTrue(a.isDirty());
+        SaveResult changed = plugin.save();
+        Assertions.assertEquals(1, changed.getWritten());
+        Assertions.assertEquals(1, changed.getSkipped());
+        Assertions.assertEquals(0, changed.getFailed());
+        Assertions.assertFalse(a.isDirty());
+    }
+
+    @Test
+    void skippedConfigDoesNotOverwriteFile() throws IOException {
+        plugin.getConfig("a.json", TestConfig.class);
+        Path file = plugin.getConfigFile("a.json").toPath();
+        String edited = plugin.getGson().toJson(new TestConfig().set("edited", 5));
+        Files.writeString(file, edited);
+
+        Assertions.assertEquals(1, plugin.save().getSkipped());
+
+        Assertions.assertEquals(edited, Files.readString(file));
+    }
+
+    @Test
+    void markedConfigIsWrittenEvenWithSameContent() {
+        TestConfig a = plugin.getConfig("a.json", TestConfig.class);
+        a.markDirty();
+
+        Assertions.assertEquals(1, plugin.save().getWritten());
+    }
+
+    @Test
+    void explicitTrackingSkipsSerializationOfCleanConfigs() {
+        plugin.setExplicitDirtyTracking(true);
+        TestConfig a = plugin.getConfig("a.json", TestConfig.class);
+        plugin.getConfig("b.json", TestConfig.class);
+        long serialized = serializeCount();
+
+        SaveResult unchanged = plugin.save();
+        Assertions.assertEquals(2, unchanged.getSkipped());
+        Assertions.assertEquals(serialized, serializeCount());
+
+        a.set("changed", 1);
+        SaveResult changed = plugin.save();
+        Assertions.assertEquals(1, changed.getWritten());
+        Assertions.assertEquals(1, changed.getSkipped());
+        Assertions.assertEquals(serialized + 1, serializeCount());
+    }
+
+    private long serializeCount() {
+        return plugin.getMetrics().getTotal(ConfigMetrics.Operation.SERIALIZE).getCount();
+    }
+}
@@ -0,0 +1,120 @@
+package com.karasu256.karasuConfigLib;
+
+import com.karasu256.karasuConfigLib.annotation.Config;
+import com.karasu256.karasuConfigLib.registry.ConfigHandle;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * キャッシュから設定を削除するときの書き込みと解放のテスト
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ */
+class EvictionTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @TempDir
+    Path directory;
+
+    private TestPlugin plugin;
+
+    @BeforeEach
+    void setUp() {
+        plugin = TestPlugin.start(directory);
+        plugin.enableBoundedCache(1, 0, null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        plugin.disable();
+    }
+
+    @Test
+    void modifiedConfigIsWrittenBackOnEviction() throws IOException {
+        plugin.getConfig("a.json", TestConfig.class).set("modified", 5);
+        plugin.getConfig("b.json", TestConfig.class);
+        plugin.flush();
+
+        Path file = plugin.getConfigFile("a.json").toPath();
+        plugin.getTestServer().tickUntil(() -> !plugin.getMetrics().getFileNames().contains("a.json"), TIMEOUT);
+        TestConfig written = plugin.getGson().fromJson(Files.readString(file), TestConfig.class);
+        Assertions.assertEquals("modified", written.getName());
+        Assertions.assertEquals(5, written.getCount());
+
+        TestConfig reloaded = plugin.getConfig("a.json", TestConfig.class);
+        Assertions.assertEquals("modified", reloaded.getName());
+        Assertions.assertEquals(5, reloaded.getCount());
+    }
+
+    @Test
+    void journaledConfigIsWrittenBackOnEviction() throws IOException {
+        plugin.getConfig("a.json", JournaledConfig.class).set("journaled", 3);
+        plugin.getConfig("b.json", JournaledConfig.class);
+        plugin.flush();
+        plugin.getTestServer().tickUntil(() -> !plugin.getMetrics().getFileNames().contains("a.json"), TIMEOUT);
+
+        // ジャーナルを開き直しても、削除の前に書き込んだ変更が読み込まれる
+        JournaledConfig reloaded = plugin.getConfig("a.json", JournaledConfig.class);
+        Assertions.assertEquals("journaled", reloaded.getName());
+        Assertions.assertEquals(3, reloaded.getCount());
+        reloaded.set("again", 4);
+        plugin.save();
+
+        TestPlugin restarted = TestPlugin.start(directory);
+        try {
+            JournaledConfig config = restarted.getConfig("a.json", JournaledConfig.class);
+            Assertions.assertEquals("again", config.getName());
+            Assertions.assertEquals(4, config.getCount());
+        } finally {
+            restarted.disable();
+        }
+    }
+
+    @Test
+    void unmodifiedConfigIsReleasedImmediately() {
+        plugin.getConfig("a.json", TestConfig.class);
+        Assertions.assertTrue(plugin.getMetrics().getFileNames().contains("a.json"));
+        plugin.getConfig("b.json", TestConfig.class);
+
+        Assertions.assertFalse(plugin.getMetrics().getFileNames().contains("a.json"));
+        Assertions.assertTrue(plugin.getMetrics().getFileNames().contains("b.json"));
+    }
+
+    @Test
+    void configIsKeptWhileHandleIsReferenced() {
+        ConfigHandle<TestConfig> handle = plugin.getConfigHandle("a.json", TestConfig.class);
+        plugin.getConfig("b.json", TestConfig.class);
+        plugin.getConfig("c.json", TestConfig.class);
+        Assertions.assertTrue(handle.isPresent());
+        Assertions.assertSame(handle, plugin.getConfigHandle("a.json", TestConfig.class));
+    }
+
+    @Test
+    void configIsEvictedAfterHandleIsCollected() throws InterruptedException {
+        plugin.getConfigHandle("a.json", TestConfig.class);
+        TestConfig config = plugin.getConfig("a.json", TestConfig.class);
+        for (int i = 0; i < 50 && plugin.getConfigsOfType(TestConfig.class).contains(config); i++) {
+            System.gc();
+            Thread.sleep(10);
+            plugin.getConfig("b" + i + ".json", TestConfig.class);
+        }
+        Assertions.assertFalse(plugin.getConfigsOfType(TestConfig.class).contains(config));
+    }
+
+    /**
+     * ジャーナル方式で保存する設定
+     */
+    @Config(fileName = "journal.json", journaled = true)
+    public static class JournaledConfig extends TestConfig {
+    }
+}
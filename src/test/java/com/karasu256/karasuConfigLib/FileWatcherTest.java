@@ -0,0 +1,81 @@
+package com.karasu256.karasuConfigLib;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * 設定ファイルの変更の監視のテスト
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ */
+class FileWatcherTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private static final Duration DEBOUNCE = Duration.ofMillis(50);
+
+    @TempDir
+    Path directory;
+
+    private TestPlugin plugin;
+
+    @BeforeEach
+    void setUp() {
+        plugin = TestPlugin.start(directory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        plugin.disable();
+    }
+
+    @Test
+    void externalEditIsReloaded() throws IOException {
+        TestConfig loaded = plugin.getConfig("test.json", TestConfig.class);
+        plugin.save("test.json");
+        plugin.enableFileWatcher(DEBOUNCE);
+
+        writeFile(new TestConfig().set("edited", 5));
+        plugin.getTestServer().tickUntil(() -> plugin.getConfig("test.json", TestConfig.class) != loaded, TIMEOUT);
+
+        TestConfig reloaded = plugin.getConfig("test.json", TestConfig.class);
+        Assertions.assertEquals("edited", reloaded.getName());
+    }
+
+    @Test
+    void ownSaveIsNotReloaded() throws IOException, InterruptedException {
+        TestConfig loaded = plugin.getConfig("test.json", TestConfig.class);
+        plugin.enableFileWatcher(DEBOUNCE);
+
+        loaded.set("saved", 1);
+        Assertions.assertTrue(plugin.save("test.json"));
+        tickFor(DEBOUNCE.multipliedBy(10));
+        Assertions.assertSame(loaded, plugin.getConfig("test.json", TestConfig.class));
+
+        // 監視が動作していることを、続く外部からの編集が再読み込みされることで確認する
+        writeFile(new TestConfig().set("edited", 5));
+        plugin.getTestServer().tickUntil(() -> plugin.getConfig("test.json", TestConfig.class) != loaded, TIMEOUT);
+        Assertions.assertEquals("edited", plugin.getConfig("test.json", TestConfig.class).getName());
+    }
+
+    private void tickFor(Duration duration) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        while (System.nanoTime() < deadline) {
+            plugin.getTestServer().tick();
+            Thread.sleep(5);
+        }
+    }
+
+    private void writeFile(TestConfig config) throws IOException {
+        Files.writeString(plugin.getConfigFile("test.json").toPath(), plugin.getGson().toJson(config));
+    }
+}
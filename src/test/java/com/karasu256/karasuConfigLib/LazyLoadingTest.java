@@ -0,0 +1,137 @@
+package com.karasu256.karasuConfigLib;
+
+import com.karasu256.karasuConfigLib.annotation.Config;
+import com.karasu256.karasuConfigLib.config.BaseConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * デフォルト設定の遅延読み込みのテスト
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ */
+class LazyLoadingTest {
+
+    @TempDir
+    Path directory;
+
+    private DefaultsPlugin plugin;
+
+    @AfterEach
+    void tearDown() {
+        if (plugin != null) {
+            plugin.disable();
+        }
+    }
+
+    @Test
+    void eagerPluginLoadsDefaultsOnEnable() throws IOException {
+        writeFile(FirstConfig.FILE_NAME, "startup");
+        plugin = TestPlugin.start(directory, new DefaultsPlugin(false));
+        Assertions.assertTrue(Files.exists(file(SecondConfig.FILE_NAME)));
+
+        writeFile(FirstConfig.FILE_NAME, "edited");
+        Assertions.assertEquals("startup", plugin.getConfig(FirstConfig.class).getName());
+    }
+
+    @Test
+    void lazyPluginLoadsDefaultOnFirstAccess() throws IOException {
+        writeFile(FirstConfig.FILE_NAME, "startup");
+        plugin = TestPlugin.start(directory, new DefaultsPlugin(true));
+        Assertions.assertFalse(Files.exists(file(SecondConfig.FILE_NAME)));
+
+        // 読み込まれていない設定は保存されない
+        plugin.save();
+        writeFile(FirstConfig.FILE_NAME, "edited");
+        Assertions.assertFalse(Files.exists(file(SecondConfig.FILE_NAME)));
+
+        FirstConfig first = plugin.getConfig(FirstConfig.class);
+        Assertions.assertEquals("edited", first.getName());
+        Assertions.assertSame(first, plugin.getConfig(FirstConfig.class));
+        Assertions.assertFalse(Files.exists(file(SecondConfig.FILE_NAME)));
+    }
+
+    @Test
+    void lazyDefaultsAreLoadedWhenQueriedByType() {
+        plugin = TestPlugin.start(directory, new DefaultsPlugin(true));
+
+        Assertions.assertEquals(1, plugin.getConfigsOfType(SecondConfig.class).size());
+        Assertions.assertTrue(Files.exists(file(SecondConfig.FILE_NAME)));
+        Assertions.assertFalse(Files.exists(file(FirstConfig.FILE_NAME)));
+
+        Assertions.assertEquals(2, plugin.getConfigsOfType(TestConfig.class).size());
+        Assertions.assertTrue(Files.exists(file(FirstConfig.FILE_NAME)));
+    }
+
+    private Path file(String fileName) {
+        return directory.resolve(TestPlugin.PLUGIN_NAME).resolve(fileName);
+    }
+
+    private void writeFile(String fileName, String name) throws IOException {
+        Files.createDirectories(file(fileName).getParent());
+        Files.writeString(file(fileName), BaseConfig.getGson().toJson(new TestConfig().set(name, 1)));
+    }
+
+    /**
+     * デフォルト設定を持つテスト用のプラグイン
+     */
+    static final class DefaultsPlugin extends TestPlugin {
+
+        /** デフォルト設定を最初に取得されたときに読み込むかどうか */
+        private final boolean lazyLoading;
+
+        DefaultsPlugin(boolean lazyLoading) {
+            this.lazyLoading = lazyLoading;
+        }
+
+        @Override
+        protected boolean isLazyLoading() {
+            return lazyLoading;
+        }
+
+        @Override
+        public List<Class<? extends TestConfig>> getDefaultConfigs() {
+            return List.of(FirstConfig.class, SecondConfig.class);
+        }
+    }
+
+    /**
+     * 1つ目のデフォルト設定
+     */
+    @Config(fileName = FirstConfig.FILE_NAME)
+    public static class FirstConfig extends TestConfig {
+
+        /** 設定ファイル名 */
+        static final String FILE_NAME = "first.json";
+
+        /**
+         * デフォルトコンストラクタ
+         */
+        public FirstConfig() {
+        }
+    }
+
+    /**
+     * 2つ目のデフォルト設定
+     */
+    @Config(fileName = SecondConfig.FILE_NAME)
+    public static class SecondConfig extends TestConfig {
+
+        /** 設定ファイル名 */
+        static final String FILE_NAME = "second.json";
+
+        /**
+         * デフォルトコンストラクタ
+         */
+        public SecondConfig() {
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.karasu256.karasuConfigLib;
+
+import com.karasu256.karasuConfigLib.annotation.Config;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 設定の読み込みのテスト
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ */
+class LoadTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @TempDir
+    Path directory;
+
+    private TestPlugin plugin;
+
+    @BeforeEach
+    void setUp() {
+        plugin = TestPlugin.start(directory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        plugin.disable();
+    }
+
+    @Test
+    void loadReadsFromFolderOfConfigClass() throws IOException {
+        plugin.getConfig("other.json", OtherPluginConfig.class);
+        Path file = directory.resolve(OtherPluginConfig.PLUGIN_NAME).resolve("other.json");
+        Assertions.assertTrue(Files.exists(file));
+        Files.writeString(file, plugin.getGson().toJson(new OtherPluginConfig().set("disk", 3)));
+
+        plugin.load();
+
+        Assertions.assertEquals("disk", plugin.getConfig("other.json", OtherPluginConfig.class).getName());
+        Assertions.assertFalse(Files.exists(plugin.getConfigFile("other.json").toPath()));
+    }
+
+    @Test
+    void loadAsyncRecreatesMissingFileInFolderOfConfigClass() throws IOException {
+        plugin.getConfig("other.json", OtherPluginConfig.class);
+        Path file = directory.resolve(OtherPluginConfig.PLUGIN_NAME).resolve("other.json");
+        Files.delete(file);
+
+        CompletableFuture<Void> load = plugin.loadAsync();
+        plugin.getTestServer().tickUntil(load::isDone, TIMEOUT);
+
+        load.join();
+        Assertions.assertTrue(Files.exists(file));
+        Assertions.assertFalse(Files.exists(plugin.getConfigFile("other.json").toPath()));
+    }
+
+    @Test
+    void loadReadsManyConfigsInParallel() throws IOException {
+        int count = 64;
+        for (int i = 0; i < count; i++) {
+            plugin.getConfig("config-" + i + ".json", TestConfig.class);
+        }
+        for (int i = 0; i < count; i++) {
+            Path file = plugin.getConfigFile("config-" + i + ".json").toPath();
+            if (i % 8 == 0) {
+                Files.delete(file);
+            } else {
+                Files.writeString(file, plugin.getGson().toJson(new TestConfig().set("disk-" + i, i)));
+            }
+        }
+        Files.writeString(plugin.getConfigFile("config-1.json").toPath(), "{ broken");
+        TestConfig broken = plugin.getConfig("config-1.json", TestConfig.class);
+
+        CompletableFuture<Void> load = plugin.loadAsync();
+        plugin.getTestServer().tickUntil(load::isDone, TIMEOUT);
+        load.join();
+
+        // 読み込みに失敗した設定は、登録されている設定がそのまま残る
+        Assertions.assertSame(broken, plugin.getConfig("config-1.json", TestConfig.class));
+        for (int i = 2; i < count; i++) {
+            String fileName = "config-" + i + ".json";
+            if (i % 8 == 0) {
+                Assertions.assertTrue(Files.exists(plugin.getConfigFile(fileName).toPath()), fileName);
+            } else {
+                Assertions.assertEquals("disk-" + i, plugin.getConfig(fileName, TestConfig.class).getName());
+            }
+        }
+    }
+
+    /**
+     * 別のプラグイン名のフォルダに保存される設定
+     */
+    @Config(pluginName = OtherPluginConfig.PLUGIN_NAME, fileName = "other.json")
+    public static class OtherPluginConfig extends TestConfig {
+
+        /** 設定を保存するプラグインの名前 */
+        static final String PLUGIN_NAME = "OtherPlugin";
+
+        /**
+         * デフォルトコンストラクタ
+         */
+        public OtherPluginConfig() {
+        }
+    }
+}
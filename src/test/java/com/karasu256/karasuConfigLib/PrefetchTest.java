@@ -0,0 +1,84 @@
+package com.karasu256.karasuConfigLib;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 設定の先読みのテスト
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ */
+class PrefetchTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @TempDir
+    Path directory;
+
+    private TestPlugin plugin;
+
+    @BeforeEach
+    void setUp() {
+        plugin = TestPlugin.start(directory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        plugin.disable();
+    }
+
+    @Test
+    void prefetchRegistersMissingConfigsAndReportsCount() throws IOException {
+        List<String> fileNames = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            String fileName = "player-" + i + ".json";
+            fileNames.add(fileName);
+            // 半分はファイルが存在せず、新しく作成される
+            if (i % 2 == 0) {
+                writeFile(fileName, "disk-" + i);
+            }
+        }
+        TestConfig registered = plugin.getConfig("player-0.json", TestConfig.class);
+
+        CompletableFuture<Integer> prefetch = plugin.prefetch(fileNames, TestConfig.class);
+        plugin.getTestServer().tickUntil(prefetch::isDone, TIMEOUT);
+
+        Assertions.assertEquals(19, prefetch.join());
+        Assertions.assertSame(registered, plugin.getConfig("player-0.json", TestConfig.class));
+        for (int i = 1; i < 20; i++) {
+            String fileName = "player-" + i + ".json";
+            // 登録済みの設定はファイルを読み直さずに返される
+            writeFile(fileName, "edited");
+            String expected = i % 2 == 0 ? "disk-" + i : "test";
+            Assertions.assertEquals(expected, plugin.getConfig(fileName, TestConfig.class).getName(), fileName);
+        }
+    }
+
+    @Test
+    void prefetchOfRegisteredConfigsCompletesImmediately() {
+        plugin.getConfig("a.json", TestConfig.class);
+
+        CompletableFuture<Integer> prefetch = plugin.prefetch(List.of("a.json"), TestConfig.class);
+
+        Assertions.assertTrue(prefetch.isDone());
+        Assertions.assertEquals(0, prefetch.join());
+    }
+
+    private void writeFile(String fileName, String name) throws IOException {
+        Path file = plugin.getConfigFile(fileName).toPath();
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, plugin.getGson().toJson(new TestConfig().set(name, 1)));
+    }
+}
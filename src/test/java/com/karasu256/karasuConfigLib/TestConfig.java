@@ -0,0 +1,58 @@
+package com.karasu256.karasuConfigLib;
+
+import com.karasu256.karasuConfigLib.annotation.Config;
+import com.karasu256.karasuConfigLib.config.BaseConfig;
+
+/**
+ * テスト用の設定クラス
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ */
+@Config(fileName = "test.json")
+public class TestConfig extends BaseConfig {
+
+    /** 設定の名前 */
+    private String name = "test";
+
+    /** 数値の項目 */
+    private int count;
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    public TestConfig() {
+    }
+
+    /**
+     * 設定の名前を取得します
+     *
+     * @return 設定の名前
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 数値の項目を取得します
+     *
+     * @return 数値の項目
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * 名前と数値の項目を変更します
+     *
+     * @param name  設定の名前
+     * @param count 数値の項目
+     * @return この設定
+     */
+    public TestConfig set(String name, int count) {
+        this.name = name;
+        this.count = count;
+        markDirty();
+        return this;
+    }
+}
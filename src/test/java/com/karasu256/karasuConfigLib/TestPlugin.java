@@ -0,0 +1,110 @@
+package com.karasu256.karasuConfigLib;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * テスト用のプラグイン
+ * <p>
+ * 一時ディレクトリの中をデータフォルダとして有効にします。サブクラスで指定しない限り、デフォルト設定は読み込みません。
+ * </p>
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ */
+public class TestPlugin extends AbstractJavaPluginConfigable<TestConfig> {
+
+    /** プラグインの名前 */
+    public static final String PLUGIN_NAME = "KarasuConfigLibTest";
+
+    /** プラグインを実行しているサーバー */
+    private final TestServer server = new TestServer();
+
+    /** 再読み込みした設定を1ティックの処理時間の予算内で差し替えるかどうか */
+    private volatile boolean tickBudgetedReload;
+
+    /** 変更を通知された設定だけを保存するかどうか */
+    private volatile boolean explicitDirtyTracking;
+
+    /**
+     * 指定したディレクトリの中をデータフォルダとして、プラグインを有効にします
+     * <p>
+     * 呼び出したスレッドがメインスレッドとして扱われます。
+     * </p>
+     *
+     * @param directory データフォルダの親ディレクトリ
+     * @return 有効にしたプラグイン
+     */
+    public static TestPlugin start(Path directory) {
+        return start(directory, new TestPlugin());
+    }
+
+    /**
+     * 指定したディレクトリの中をデータフォルダとして、作成したプラグインを有効にします
+     * <p>
+     * デフォルト設定や読み込み方法を変更したサブクラスを有効にするために使用します。
+     * 呼び出したスレッドがメインスレッドとして扱われます。
+     * </p>
+     *
+     * @param directory データフォルダの親ディレクトリ
+     * @param plugin    有効にするプラグイン
+     * @param <P>       プラグインの型
+     * @return 有効にしたプラグイン
+     */
+    public static <P extends TestPlugin> P start(Path directory, P plugin) {
+        plugin.enable(directory.resolve(PLUGIN_NAME).toFile(), plugin.getTestServer());
+        return plugin;
+    }
+
+    /**
+     * プラグインを実行しているテスト用のサーバーを取得します
+     *
+     * @return サーバー
+     */
+    public TestServer getTestServer() {
+        return server;
+    }
+
+    /**
+     * 再読み込みした設定を1ティックの処理時間の予算内で差し替えるかどうかを設定します
+     *
+     * @param tickBudgetedReload 予算内で差し替える場合はtrue
+     */
+    public void setTickBudgetedReload(boolean tickBudgetedReload) {
+        this.tickBudgetedReload = tickBudgetedReload;
+    }
+
+    /**
+     * 変更を通知された設定だけを保存するかどうかを設定します
+     *
+     * @param explicitDirtyTracking 変更を通知された設定だけを保存する場合はtrue
+     */
+    public void setExplicitDirtyTracking(boolean explicitDirtyTracking) {
+        this.explicitDirtyTracking = explicitDirtyTracking;
+    }
+
+    @Override
+    protected boolean isTickBudgetedReload() {
+        return tickBudgetedReload;
+    }
+
+    @Override
+    protected boolean isExplicitDirtyTracking() {
+        return explicitDirtyTracking;
+    }
+
+    @Override
+    public List<Class<? extends TestConfig>> getDefaultConfigs() {
+        return List.of();
+    }
+
+    @Override
+    public String getPluginName() {
+        return PLUGIN_NAME;
+    }
+
+    @Override
+    public Class<TestConfig> getBaseConfig() {
+        return TestConfig.class;
+    }
+}
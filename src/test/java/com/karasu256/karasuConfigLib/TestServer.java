@@ -0,0 +1,136 @@
+package com.karasu256.karasuConfigLib;
+
+import org.bukkit.Server;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+/**
+ * テスト用のサーバーとスケジューラ
+ * <p>
+ * 作成したスレッドをメインスレッドとして扱います。登録されたタスクは{@link #tick()}を呼び出したときにだけ
+ * 実行されるため、テストからティックの進行を制御できます。
+ * </p>
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ */
+public final class TestServer implements Server, BukkitScheduler {
+
+    /** メインスレッドとして扱うスレッド */
+    private final Thread mainThread = Thread.currentThread();
+
+    /** 登録されているタスク */
+    private final List<Task> tasks = new CopyOnWriteArrayList<>();
+
+    /** これまでに進めたティックの数 */
+    private volatile long currentTick;
+
+    @Override
+    public BukkitScheduler getScheduler() {
+        return this;
+    }
+
+    @Override
+    public boolean isPrimaryThread() {
+        return Thread.currentThread() == mainThread;
+    }
+
+    @Override
+    public BukkitTask runTask(Plugin plugin, Runnable task) {
+        return schedule(task, 1, 0);
+    }
+
+    @Override
+    public BukkitTask runTaskTimer(Plugin plugin, Runnable task, long delay, long period) {
+        return schedule(task, delay, period);
+    }
+
+    /**
+     * 1ティック進め、実行する時刻になったタスクを登録された順に実行します
+     */
+    public void tick() {
+        currentTick++;
+        for (Task task : tasks) {
+            if (task.nextTick <= currentTick) {
+                if (task.period > 0) {
+                    task.nextTick = currentTick + task.period;
+                } else {
+                    tasks.remove(task);
+                }
+                task.runnable.run();
+            }
+        }
+    }
+
+    /**
+     * 条件が満たされるまでティックを進めます
+     *
+     * @param condition 待つ条件
+     * @param timeout   待つ時間の上限
+     * @throws AssertionError 時間内に条件が満たされなかった場合
+     */
+    public void tickUntil(BooleanSupplier condition, Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Condition was not met within " + timeout);
+            }
+            tick();
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * 登録されているタスクの数を取得します
+     *
+     * @return タスクの数
+     */
+    public int getTaskCount() {
+        return tasks.size();
+    }
+
+    /**
+     * タスクを登録します
+     *
+     * @param runnable 処理
+     * @param delay    最初に実行するまでのティック数
+     * @param period   実行する間隔のティック数、1回だけ実行する場合は0
+     * @return 登録したタスク
+     */
+    private Task schedule(Runnable runnable, long delay, long period) {
+        Task task = new Task(runnable, period);
+        task.nextTick = currentTick + Math.max(1, delay);
+        tasks.add(task);
+        return task;
+    }
+
+    /**
+     * 登録されたタスク
+     */
+    private final class Task implements BukkitTask {
+        /** 処理 */
+        private final Runnable runnable;
+
+        /** 実行する間隔のティック数、1回だけ実行する場合は0 */
+        private final long period;
+
+        /** 次に実行するティック */
+        private volatile long nextTick;
+
+        private Task(Runnable runnable, long period) {
+            this.runnable = runnable;
+            this.period = period;
+        }
+
+        @Override
+        public void cancel() {
+            tasks.remove(this);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.karasu256.karasuConfigLib;
+
+import com.karasu256.karasuConfigLib.util.TickBudgetExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BooleanSupplier;
+
+/**
+ * {@link TickBudgetExecutor}による再読み込み結果の差し替えのテスト
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ */
+class TickBudgetReloadTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @TempDir
+    Path directory;
+
+    private TestPlugin plugin;
+
+    private TickBudgetExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        plugin = TestPlugin.start(directory);
+        // 1つのタスクで予算を使い切り、1ティックに1つずつ差し替えられるようにする
+        executor = new TickBudgetExecutor(Duration.ofNanos(1));
+        executor.start(plugin);
+        TickBudgetExecutor.install(executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TickBudgetExecutor.uninstall(executor);
+        if (plugin.isEnabled()) {
+            plugin.disable();
+        }
+        executor.stop();
+    }
+
+    @Test
+    void reloadWithoutOptInIsNotBudgeted() throws IOException {
+        plugin.getConfig("a.json", TestConfig.class);
+        writeFile("a.json", new TestConfig().set("disk", 1));
+
+        CompletableFuture<Boolean> reload = plugin.reloadConfigAsync("a.json", TestConfig.class);
+        plugin.getTestServer().tickUntil(reload::isDone, TIMEOUT);
+
+        Assertions.assertTrue(reload.join());
+        Assertions.assertEquals("disk", plugin.getConfig("a.json", TestConfig.class).getName());
+        Assertions.assertEquals(0, executor.getExecutedCount());
+    }
+
+    @Test
+    void budgetedReloadIsSpreadAcrossTicks() throws IOException {
+        plugin.setTickBudgetedReload(true);
+        for (String fileName : new String[] {"a.json", "b.json", "c.json"}) {
+            plugin.getConfig(fileName, TestConfig.class);
+            writeFile(fileName, new TestConfig().set(fileName, 2));
+        }
+
+        CompletableFuture<Integer> reload = plugin.reloadAllAsync();
+        plugin.getTestServer().tickUntil(reload::isDone, TIMEOUT);
+
+        Assertions.assertEquals(3, reload.join());
+        Assertions.assertEquals(3, executor.getExecutedCount());
+        Assertions.assertEquals(3, executor.getTickCount());
+        Assertions.assertEquals("b.json", plugin.getConfig("b.json", TestConfig.class).getName());
+    }
+
+    @Test
+    void staleReloadDoesNotOverwriteNewerConfig() throws IOException {
+        plugin.setTickBudgetedReload(true);
+        plugin.getConfig("a.json", TestConfig.class);
+        writeFile("a.json", new TestConfig().set("stale", 1));
+        CompletableFuture<Boolean> reload = plugin.reloadConfigAsync("a.json", TestConfig.class);
+        waitUntil(() -> executor.getQueueDepth() == 1);
+
+        writeFile("a.json", new TestConfig().set("newer", 2));
+        Assertions.assertTrue(plugin.reloadConfig("a.json", TestConfig.class));
+        plugin.getTestServer().tickUntil(reload::isDone, TIMEOUT);
+
+        Assertions.assertFalse(reload.join());
+        Assertions.assertEquals("newer", plugin.getConfig("a.json", TestConfig.class).getName());
+    }
+
+    @Test
+    void staleReloadDoesNotRegisterRemovedConfig() throws IOException {
+        plugin.setTickBudgetedReload(true);
+        plugin.getConfig("a.json", TestConfig.class);
+        CompletableFuture<Boolean> reload = plugin.reloadConfigAsync("a.json", TestConfig.class);
+        waitUntil(() -> executor.getQueueDepth() == 1);
+
+        // ファイルを削除して再読み込みし、設定を登録から削除する
+        Files.delete(plugin.getConfigFile("a.json").toPath());
+        Assertions.assertEquals(0, plugin.reloadAll());
+        plugin.getTestServer().tickUntil(reload::isDone, TIMEOUT);
+
+        Assertions.assertFalse(reload.join());
+        Assertions.assertTrue(plugin.getConfigsOfType(TestConfig.class).isEmpty());
+    }
+
+    @Test
+    void pendingCommitsAreDroppedWhenPluginIsDisabled() throws IOException {
+        plugin.setTickBudgetedReload(true);
+        plugin.getConfig("a.json", TestConfig.class);
+        writeFile("a.json", new TestConfig().set("disk", 1));
+        CompletableFuture<Boolean> reload = plugin.reloadConfigAsync("a.json", TestConfig.class);
+        waitUntil(() -> executor.getQueueDepth() == 1);
+
+        plugin.disable();
+
+        Assertions.assertEquals(0, executor.getQueueDepth());
+        Assertions.assertEquals(1, executor.getDroppedCount());
+        waitUntil(reload::isDone);
+        CompletionException failure = Assertions.assertThrows(CompletionException.class, reload::join);
+        Assertions.assertInstanceOf(CancellationException.class, failure.getCause());
+        plugin.getTestServer().tick();
+        Assertions.assertEquals(0, executor.getExecutedCount());
+    }
+
+    private void writeFile(String fileName, TestConfig config) throws IOException {
+        Files.writeString(plugin.getConfigFile(fileName).toPath(), plugin.getGson().toJson(config));
+    }
+
+    /**
+     * ティックを進めずに、I/Oスレッドでの処理によって条件が満たされるまで待ちます
+     *
+     * @param condition 待つ条件
+     */
+    private static void waitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Condition was not met within " + TIMEOUT);
+            }
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.karasu256.karasuConfigLib;
+
+import com.karasu256.karasuConfigLib.io.WriteBehindQueue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ライトビハインドモードのテスト
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ */
+class WriteBehindTest {
+
+    /** テスト中に書き込まれない長さの待ち時間 */
+    private static final Duration WINDOW = Duration.ofHours(1);
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @TempDir
+    Path directory;
+
+    private TestPlugin plugin;
+
+    @BeforeEach
+    void setUp() {
+        plugin = TestPlugin.start(directory);
+        plugin.enableWriteBehind(WINDOW, WINDOW);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (plugin.isEnabled()) {
+            plugin.disable();
+        }
+    }
+
+    @Test
+    void saveIsDeferredUntilFlush() throws IOException {
+        plugin.getConfig("a.json", TestConfig.class).set("deferred", 1);
+
+        Assertions.assertTrue(plugin.save("a.json"));
+        Assertions.assertEquals("test", readName("a.json"));
+
+        plugin.flush();
+        Assertions.assertEquals("deferred", readName("a.json"));
+    }
+
+    @Test
+    void pendingSaveIsWrittenOnDisable() throws IOException {
+        plugin.getConfig("a.json", TestConfig.class).set("pending", 1);
+        Assertions.assertTrue(plugin.save("a.json"));
+
+        plugin.disable();
+
+        Assertions.assertEquals("pending", readName("a.json"));
+    }
+
+    @Test
+    void saveAfterDisableIsWrittenImmediately() throws IOException {
+        TestConfig config = plugin.getConfig("a.json", TestConfig.class);
+        plugin.disable();
+
+        // 依存するプラグインのonDisableからの保存を想定する
+        config.set("late", 2);
+        Assertions.assertTrue(plugin.save("a.json"));
+
+        // 待ち時間の経過やflush()を待たずに書き込まれる
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (!"late".equals(readName("a.json"))) {
+            Assertions.assertTrue(System.nanoTime() < deadline, "Late save was not written");
+            Thread.onSpinWait();
+        }
+    }
+
+    @Test
+    void requestAfterCloseIsWrittenOnCallingThread() {
+        List<String> written = new ArrayList<>();
+        WriteBehindQueue queue = new WriteBehindQueue(WINDOW, WINDOW, written::add, Runnable::run);
+        queue.request("a.json");
+        queue.request("a.json");
+
+        Assertions.assertEquals(1, queue.close());
+        Assertions.assertEquals(List.of("a.json"), written);
+
+        queue.request("b.json");
+        Assertions.assertEquals(List.of("a.json", "b.json"), written);
+        Assertions.assertEquals(0, queue.size());
+    }
+
+    private String readName(String fileName) throws IOException {
+        String json = Files.readString(plugin.getConfigFile(fileName).toPath());
+        return plugin.getGson().fromJson(json, TestConfig.class).getName();
+    }
+}
@@ -0,0 +1,110 @@
+package com.karasu256.karasuConfigLib.codec;
+
+import com.google.gson.Gson;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link ConfigCodecs}と組み込みコーデックのテスト
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ */
+class ConfigCodecsTest {
+
+    private static final List<ConfigCodec> CODECS = List.of(ConfigCodecs.PRETTY_JSON, ConfigCodecs.COMPACT_JSON,
+            ConfigCodecs.GZIP_JSON, ConfigCodecs.BINARY);
+
+    private final Gson gson = new Gson();
+
+    @Test
+    void encodedValueIsDecoded() throws IOException {
+        Value value = new Value("a", 3, List.of("x", "y"), Map.of("k", 0.5));
+        for (ConfigCodec codec : CODECS) {
+            Value decoded = codec.decode(codec.encode(value, gson), Value.class, gson);
+            Assertions.assertEquals(value, decoded, codec.getName());
+        }
+    }
+
+    @Test
+    void emptyContentIsDecodedAsNull() throws IOException {
+        for (ConfigCodec codec : CODECS) {
+            Assertions.assertNull(codec.decode(new byte[0], Value.class, gson), codec.getName());
+        }
+    }
+
+    @Test
+    void storedCodecIsDetectedFromHead() throws IOException {
+        Value value = new Value("a", 3, List.of(), Map.of());
+        Assertions.assertSame(ConfigCodecs.PRETTY_JSON, detect(ConfigCodecs.PRETTY_JSON.encode(value, gson)));
+        Assertions.assertSame(ConfigCodecs.PRETTY_JSON, detect(ConfigCodecs.COMPACT_JSON.encode(value, gson)));
+        Assertions.assertSame(ConfigCodecs.GZIP_JSON, detect(ConfigCodecs.GZIP_JSON.encode(value, gson)));
+        Assertions.assertSame(ConfigCodecs.BINARY, detect(ConfigCodecs.BINARY.encode(value, gson)));
+        Assertions.assertSame(ConfigCodecs.PRETTY_JSON,
+                ConfigCodecs.detect("﻿\n  {\"name\":\"a\"}".getBytes(StandardCharsets.UTF_8)));
+        Assertions.assertNull(ConfigCodecs.detect("name: a".getBytes(StandardCharsets.UTF_8)));
+        Assertions.assertNull(ConfigCodecs.detect(new byte[0]));
+    }
+
+    @Test
+    void contentOfAnotherCodecIsRejected() throws IOException {
+        Value value = new Value("a", 3, List.of("x"), Map.of());
+        for (ConfigCodec stored : CODECS) {
+            byte[] content = stored.encode(value, gson);
+            for (ConfigCodec codec : CODECS) {
+                if (stored.isJsonText() && codec.isJsonText() || stored == codec) {
+                    continue;
+                }
+                Assertions.assertThrows(Exception.class, () -> codec.decode(content, Value.class, gson),
+                        stored.getName() + " read as " + codec.getName());
+                Assertions.assertFalse(codec.matches(content), stored.getName() + " matched " + codec.getName());
+            }
+        }
+    }
+
+    @Test
+    void unknownCodecIsRejected() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ConfigCodecs.get("yaml"));
+    }
+
+    private static ConfigCodec detect(byte[] content) {
+        return ConfigCodecs.detect(Arrays.copyOf(content, Math.min(content.length, ConfigCodecs.HEAD_BYTES)));
+    }
+
+    /**
+     * テスト用の値
+     */
+    static final class Value {
+        String name;
+        int count;
+        List<String> entries;
+        Map<String, Double> values;
+
+        Value() {
+        }
+
+        Value(String name, int count, List<String> entries, Map<String, Double> values) {
+            this.name = name;
+            this.count = count;
+            this.entries = entries;
+            this.values = values;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Value value && name.equals(value.name) && count == value.count
+                    && entries.equals(value.entries) && values.equals(value.values);
+        }
+
+        @Override
+        public int hashCode() {
+            return name.hashCode() * 31 + count;
+        }
+    }
+}
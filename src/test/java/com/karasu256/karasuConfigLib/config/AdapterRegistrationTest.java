@@ -0,0 +1,140 @@
+package com.karasu256.karasuConfigLib.config;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * {@link BaseConfig}への型アダプタの登録のテスト
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ */
+class AdapterRegistrationTest {
+
+    @Test
+    void batchRebuildsGsonOnceAfterAllAdaptersAreAdded() {
+        Gson before = BaseConfig.getGson();
+        TypeAdapter<Point> pointAdapter = new PointAdapter();
+        TypeAdapterFactory sizeFactory = new SizeAdapterFactory();
+
+        BaseConfig.registerTypeAdapters(batch -> {
+            batch.typeAdapter(Point.class, pointAdapter);
+            // 登録処理の途中ではGsonは再構築されない
+            Assertions.assertSame(before, BaseConfig.getGson());
+            batch.typeAdapterFactory(SizeAdapterFactory.class, sizeFactory);
+            Assertions.assertSame(before, BaseConfig.getGson());
+        });
+
+        Gson after = BaseConfig.getGson();
+        Assertions.assertNotSame(before, after);
+        Assertions.assertEquals("\"1,2\"", after.toJson(new Point(1, 2)));
+        Assertions.assertEquals(new Point(3, 4), after.fromJson("\"3,4\"", Point.class));
+        Assertions.assertEquals("\"5x6\"", after.toJson(new Size(5, 6)));
+    }
+
+    @Test
+    void registeringSameAdaptersAgainKeepsGson() {
+        TypeAdapter<Point> pointAdapter = new PointAdapter();
+        TypeAdapterFactory sizeFactory = new SizeAdapterFactory();
+        BaseConfig.registerTypeAdapters(batch -> batch
+                .typeAdapter(Point.class, pointAdapter)
+                .typeAdapterFactory(SizeAdapterFactory.class, sizeFactory));
+        Gson registered = BaseConfig.getGson();
+
+        BaseConfig.registerTypeAdapter(Point.class, pointAdapter);
+        BaseConfig.registerTypeAdapterFactory(SizeAdapterFactory.class, sizeFactory);
+        BaseConfig.registerTypeAdapters(batch -> batch
+                .typeAdapter(Point.class, pointAdapter)
+                .typeAdapterFactory(SizeAdapterFactory.class, sizeFactory));
+        Assertions.assertSame(registered, BaseConfig.getGson());
+
+        BaseConfig.registerTypeAdapter(Point.class, new PointAdapter());
+        Assertions.assertNotSame(registered, BaseConfig.getGson());
+    }
+
+    /**
+     * テスト用の座標
+     */
+    private static final class Point {
+        private final int x;
+        private final int y;
+
+        private Point(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Point other && x == other.x && y == other.y;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(x, y);
+        }
+    }
+
+    /**
+     * テスト用の大きさ
+     */
+    private static final class Size {
+        private final int width;
+        private final int height;
+
+        private Size(int width, int height) {
+            this.width = width;
+            this.height = height;
+        }
+    }
+
+    /**
+     * 座標を「x,y」形式の文字列に変換するアダプタ
+     */
+    private static final class PointAdapter extends TypeAdapter<Point> {
+        @Override
+        public void write(JsonWriter out, Point value) throws IOException {
+            out.value(value.x + "," + value.y);
+        }
+
+        @Override
+        public Point read(JsonReader in) throws IOException {
+            String[] parts = in.nextString().split(",");
+            return new Point(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+        }
+    }
+
+    /**
+     * 大きさを「幅x高さ」形式の文字列に変換するアダプタを提供するファクトリ
+     */
+    private static final class SizeAdapterFactory implements TypeAdapterFactory {
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+            if (type.getRawType() != Size.class) {
+                return null;
+            }
+            return (TypeAdapter<T>) new TypeAdapter<Size>() {
+                @Override
+                public void write(JsonWriter out, Size value) throws IOException {
+                    out.value(value.width + "x" + value.height);
+                }
+
+                @Override
+                public Size read(JsonReader in) throws IOException {
+                    String[] parts = in.nextString().split("x");
+                    return new Size(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+                }
+            };
+        }
+    }
+}
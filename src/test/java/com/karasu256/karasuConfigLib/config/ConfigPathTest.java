@@ -0,0 +1,57 @@
+package com.karasu256.karasuConfigLib.config;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link ConfigPath}のテスト
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ */
+class ConfigPathTest {
+
+    @Test
+    void primitiveFieldIsReadAndWritten() {
+        ConfigPath.OfInt<RewardConfig> amount = ConfigPath.ofInt(RewardConfig.class, "daily.amount");
+        RewardConfig config = new RewardConfig();
+        amount.setInt(config, 5);
+        Assertions.assertEquals(5, amount.getInt(config));
+        Assertions.assertTrue(config.isDirty());
+    }
+
+    @Test
+    void wrapperFieldIsRejectedByPrimitiveAccessor() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> ConfigPath.ofInt(RewardConfig.class, "daily.bonus"));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> ConfigPath.ofBoolean(RewardConfig.class, "daily.enabled"));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> ConfigPath.ofLong(RewardConfig.class, "daily.amount"));
+    }
+
+    @Test
+    void wrapperFieldIsAccessedWithValueType() {
+        ConfigPath<RewardConfig, Integer> bonus = ConfigPath.of(RewardConfig.class, "daily.bonus", Integer.class);
+        RewardConfig config = new RewardConfig();
+        Assertions.assertNull(bonus.get(config));
+        bonus.set(config, 3);
+        Assertions.assertEquals(3, bonus.get(config));
+    }
+
+    /**
+     * テスト用の設定
+     */
+    static final class RewardConfig extends BaseConfig {
+        Daily daily = new Daily();
+    }
+
+    /**
+     * テスト用のネストしたオブジェクト
+     */
+    static final class Daily {
+        int amount;
+        Integer bonus;
+        Boolean enabled;
+    }
+}
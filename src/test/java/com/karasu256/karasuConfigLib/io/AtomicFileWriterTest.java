@@ -0,0 +1,105 @@
+package com.karasu256.karasuConfigLib.io;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * {@link AtomicFileWriter}のテスト
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ */
+class AtomicFileWriterTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void writeReplacesContentWithoutLeavingTempFiles() throws IOException {
+        Path file = directory.resolve("config.json");
+        AtomicFileWriter.write(file, "first");
+        AtomicFileWriter.write(file, "second".getBytes());
+
+        Assertions.assertEquals("second", Files.readString(file));
+        Assertions.assertEquals(List.of(file), listFiles());
+    }
+
+    @Test
+    void writeKeepsPosixPermissionsOfReplacedFile() throws IOException {
+        Path file = directory.resolve("config.json");
+        Files.writeString(file, "old");
+        Assumptions.assumeTrue(Files.getFileAttributeView(file, PosixFileAttributeView.class) != null);
+        Set<PosixFilePermission> permissions = PosixFilePermissions.fromString("rw-------");
+        Files.setPosixFilePermissions(file, permissions);
+
+        AtomicFileWriter.write(file, "new");
+        Assertions.assertEquals(permissions, Files.getPosixFilePermissions(file));
+
+        AtomicFileWriter.write(file, out -> out.write("streamed"));
+        Assertions.assertEquals(permissions, Files.getPosixFilePermissions(file));
+        Assertions.assertEquals("streamed", Files.readString(file));
+    }
+
+    @Test
+    void failedStreamingWriteKeepsPreviousContent() throws IOException {
+        Path file = directory.resolve("config.json");
+        AtomicFileWriter.write(file, "previous");
+
+        Assertions.assertThrows(IOException.class, () -> AtomicFileWriter.write(file, out -> {
+            out.write("partial");
+            throw new IOException("disk full");
+        }));
+
+        Assertions.assertEquals("previous", Files.readString(file));
+        Assertions.assertEquals(List.of(file), listFiles());
+    }
+
+    @Test
+    void batchReportsFailuresPerFile() throws IOException {
+        Path written = directory.resolve("a.json");
+        Path missingDirectory = directory.resolve("missing").resolve("b.json");
+
+        Map<Path, IOException> failures = AtomicFileWriter.batch()
+                .add(written, "a")
+                .add(missingDirectory, "b")
+                .add(written, "latest")
+                .commit();
+
+        Assertions.assertEquals(Set.of(missingDirectory), failures.keySet());
+        Assertions.assertEquals("latest", Files.readString(written));
+        Assertions.assertEquals(List.of(written), listFiles());
+    }
+
+    @Test
+    void staleTempFilesFromEarlierProcessesAreDeleted() throws IOException {
+        Path stale = directory.resolve(".config.json.1a2b.tmp");
+        Path current = AtomicFileWriter.createTemp(directory.resolve("config.json"));
+        Files.writeString(stale, "left over");
+        Files.setLastModifiedTime(stale, FileTime.fromMillis(0));
+
+        Assertions.assertEquals(1, AtomicFileWriter.deleteStaleTempFiles(directory));
+
+        Assertions.assertFalse(Files.exists(stale));
+        Assertions.assertTrue(Files.exists(current));
+    }
+
+    private List<Path> listFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.karasu256.karasuConfigLib.io;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * {@link ConfigJournal}のテスト
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ */
+class ConfigJournalTest {
+
+    private final Gson gson = new Gson();
+
+    @TempDir
+    Path directory;
+
+    private Path snapshot;
+
+    private Path journalFile;
+
+    @BeforeEach
+    void setUp() {
+        snapshot = directory.resolve("player.json");
+        journalFile = directory.resolve("player.json.journal");
+    }
+
+    @Test
+    void reopenReplaysPatches() throws IOException {
+        ConfigJournal journal = ConfigJournal.open(snapshot, gson);
+        write(journal, tree(1, "a"));
+        write(journal, tree(2, "a"));
+        JsonObject last = tree(3, "b");
+        last.remove("name");
+        write(journal, last);
+
+        Assertions.assertTrue(Files.exists(journalFile));
+        Assertions.assertEquals(last, ConfigJournal.open(snapshot, gson).current());
+    }
+
+    @Test
+    void unchangedContentIsNotWritten() throws IOException {
+        ConfigJournal journal = ConfigJournal.open(snapshot, gson);
+        write(journal, tree(1, "a"));
+        Assertions.assertFalse(write(journal, tree(1, "a")));
+        Assertions.assertFalse(journal.hasPatches());
+    }
+
+    @Test
+    void crashDuringCompactionReplaysToLatestContent() throws IOException {
+        ConfigJournal journal = ConfigJournal.open(snapshot, gson);
+        JsonObject first = tree(1, "a");
+        write(journal, first);
+        write(journal, tree(2, "a"));
+        byte[] oldSnapshot = Files.readAllBytes(snapshot);
+
+        // スナップショットの書き直しを失敗させ、コンパクションの途中で終了した状態を作る
+        Files.delete(snapshot);
+        Files.createDirectories(snapshot.resolve("blocked"));
+        JsonObject latest = tree(3, "x".repeat(32 * 1024));
+        Assertions.assertThrows(IOException.class, () -> write(journal, latest));
+        Files.delete(snapshot.resolve("blocked"));
+        Files.delete(snapshot);
+
+        // スナップショットを書き直す前に終了した場合
+        Files.write(snapshot, oldSnapshot);
+        Assertions.assertEquals(latest, ConfigJournal.open(snapshot, gson).current());
+
+        // スナップショットを書き直した後、ジャーナルを削除する前に終了した場合
+        Files.write(snapshot, encode(latest));
+        Assertions.assertTrue(Files.exists(journalFile));
+        Assertions.assertEquals(latest, ConfigJournal.open(snapshot, gson).current());
+    }
+
+    @Test
+    void compactionEmptiesJournal() throws IOException {
+        ConfigJournal journal = ConfigJournal.open(snapshot, gson);
+        write(journal, tree(1, "a"));
+        JsonObject latest = tree(2, "x".repeat(32 * 1024));
+        write(journal, latest);
+
+        Assertions.assertFalse(Files.exists(journalFile));
+        Assertions.assertEquals(latest, ConfigJournal.open(snapshot, gson).current());
+    }
+
+    @Test
+    void truncatedPatchIsDiscarded() throws IOException {
+        ConfigJournal journal = ConfigJournal.open(snapshot, gson);
+        write(journal, tree(1, "a"));
+        JsonObject second = tree(2, "a");
+        write(journal, second);
+        Files.writeString(journalFile, "{\"set\":{\"count\":", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        ConfigJournal reopened = ConfigJournal.open(snapshot, gson);
+        Assertions.assertEquals(second, reopened.current());
+        JsonObject third = tree(3, "a");
+        write(reopened, third);
+        Assertions.assertEquals(third, ConfigJournal.open(snapshot, gson).current());
+    }
+
+    @Test
+    void patchWithoutTrailingNewlineIsNotJoined() throws IOException {
+        ConfigJournal journal = ConfigJournal.open(snapshot, gson);
+        write(journal, tree(1, "a"));
+        write(journal, tree(2, "a"));
+        byte[] content = Files.readAllBytes(journalFile);
+        Files.write(journalFile, Arrays.copyOf(content, content.length - 1));
+
+        ConfigJournal reopened = ConfigJournal.open(snapshot, gson);
+        Assertions.assertEquals(tree(2, "a"), reopened.current());
+        JsonObject third = tree(2, "b");
+        write(reopened, third);
+        Assertions.assertEquals(third, ConfigJournal.open(snapshot, gson).current());
+    }
+
+    @Test
+    void reloadReadsExternalChanges() throws IOException {
+        ConfigJournal journal = ConfigJournal.open(snapshot, gson);
+        write(journal, tree(1, "a"));
+        Files.write(snapshot, encode(tree(5, "edited")));
+
+        journal.reload();
+        Assertions.assertEquals(tree(5, "edited"), journal.current());
+    }
+
+    private boolean write(ConfigJournal journal, JsonObject tree) throws IOException {
+        return journal.write(tree, encode(tree));
+    }
+
+    private byte[] encode(JsonObject tree) {
+        return gson.toJson(tree).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static JsonObject tree(int count, String name) {
+        JsonObject tree = new JsonObject();
+        tree.addProperty("count", count);
+        tree.addProperty("name", name);
+        return tree;
+    }
+}
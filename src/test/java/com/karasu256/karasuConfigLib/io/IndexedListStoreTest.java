@@ -0,0 +1,254 @@
+package com.karasu256.karasuConfigLib.io;
+
+import com.google.gson.Gson;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link IndexedListStore}のテスト
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ */
+class IndexedListStoreTest {
+
+    private final Gson gson = new Gson();
+
+    @TempDir
+    Path directory;
+
+    private Path dataFile;
+
+    private Path indexFile;
+
+    @BeforeEach
+    void setUp() {
+        dataFile = directory.resolve("users.jsonl");
+        indexFile = directory.resolve("users.jsonl.idx");
+    }
+
+    @Test
+    void reopenKeepsPutValues() throws IOException {
+        try (IndexedListStore<User> store = open()) {
+            store.put(new User("a", 1));
+            store.put(new User("b", 2));
+            store.put(new User("a", 3));
+        }
+
+        try (IndexedListStore<User> store = open()) {
+            Assertions.assertEquals(Set.of("a", "b"), store.keys());
+            Assertions.assertEquals(3, store.get("a").value);
+            Assertions.assertEquals(2, store.get("b").value);
+        }
+    }
+
+    @Test
+    void removeIsRebuiltFromDataFileAlone() throws IOException {
+        try (IndexedListStore<User> store = open()) {
+            store.put(new User("a", 1));
+            store.put(new User("b", 2));
+            Assertions.assertTrue(store.remove("a"));
+            Assertions.assertFalse(store.remove("a"));
+        }
+
+        try (IndexedListStore<User> store = open()) {
+            Assertions.assertNull(store.get("a"));
+            Assertions.assertEquals(Set.of("b"), store.keys());
+        }
+
+        Files.delete(indexFile);
+        try (IndexedListStore<User> store = open()) {
+            Assertions.assertNull(store.get("a"));
+            Assertions.assertEquals(Set.of("b"), store.keys());
+        }
+    }
+
+    @Test
+    void linesMissingFromIndexAreRecovered() throws IOException {
+        try (IndexedListStore<User> store = open()) {
+            store.put(new User("a", 1));
+            store.put(new User("b", 2));
+        }
+
+        // データファイルへの追記の後、インデックスへの追記の前に終了した状態
+        Files.writeString(dataFile, gson.toJson(new User("c", 3)) + "\n" + gson.toJson(new User("a", 4)) + "\n"
+                + "{\"$removed\":\"b\"}\n", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        try (IndexedListStore<User> store = open()) {
+            Assertions.assertEquals(Set.of("a", "c"), store.keys());
+            Assertions.assertEquals(4, store.get("a").value);
+            Assertions.assertEquals(3, store.get("c").value);
+        }
+
+        try (IndexedListStore<User> store = open()) {
+            Assertions.assertEquals(Set.of("a", "c"), store.keys());
+        }
+    }
+
+    @Test
+    void incompleteTailLineIsRemoved() throws IOException {
+        try (IndexedListStore<User> store = open()) {
+            store.put(new User("a", 1));
+        }
+        long size = Files.size(dataFile);
+
+        // 行の書き込みの途中で終了した状態
+        Files.writeString(dataFile, "{\"id\":\"b\",\"val", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        try (IndexedListStore<User> store = open()) {
+            Assertions.assertEquals(Set.of("a"), store.keys());
+            Assertions.assertEquals(size, Files.size(dataFile));
+            store.put(new User("b", 2));
+        }
+
+        try (IndexedListStore<User> store = open()) {
+            Assertions.assertEquals(2, store.get("b").value);
+        }
+    }
+
+    @Test
+    void truncatedIndexRecordIsRecoveredFromDataFile() throws IOException {
+        try (IndexedListStore<User> store = open()) {
+            store.put(new User("a", 1));
+            store.put(new User("b", 2));
+        }
+
+        try (FileChannel index = FileChannel.open(indexFile, StandardOpenOption.WRITE)) {
+            index.truncate(index.size() - 3);
+        }
+
+        try (IndexedListStore<User> store = open()) {
+            Assertions.assertEquals(Set.of("a", "b"), store.keys());
+            Assertions.assertEquals(2, store.get("b").value);
+        }
+    }
+
+    @Test
+    void compactionKeepsLatestValues() throws IOException {
+        try (IndexedListStore<User> store = open()) {
+            for (int round = 0; round < 5; round++) {
+                for (int i = 0; i < 100; i++) {
+                    store.put(new User("user" + i, round * 1000 + i));
+                }
+            }
+            for (int i = 0; i < 50; i++) {
+                store.remove("user" + i);
+            }
+            long before = Files.size(dataFile);
+
+            store.compact();
+
+            Assertions.assertTrue(Files.size(dataFile) < before);
+            Assertions.assertEquals(50, store.size());
+            Assertions.assertNull(store.get("user0"));
+            Assertions.assertEquals(4099, store.get("user99").value);
+        }
+
+        try (IndexedListStore<User> store = open()) {
+            Assertions.assertEquals(50, store.size());
+            Assertions.assertEquals(4050, store.get("user50").value);
+        }
+
+        Files.delete(indexFile);
+        try (IndexedListStore<User> store = open()) {
+            Assertions.assertEquals(50, store.size());
+            Assertions.assertNull(store.get("user0"));
+            Assertions.assertEquals(4099, store.get("user99").value);
+        }
+    }
+
+    @Test
+    void writesDuringCompactionAreKept() throws Exception {
+        try (IndexedListStore<User> store = open()) {
+            for (int i = 0; i < 2000; i++) {
+                store.put(new User("user" + (i % 200), i));
+            }
+
+            CompletableFuture<Void> compaction = CompletableFuture.runAsync(() -> {
+                try {
+                    store.compact();
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            for (int i = 0; i < 200; i++) {
+                store.put(new User("user" + i, -i));
+                if (i % 2 == 0) {
+                    store.remove("user" + i);
+                }
+            }
+            compaction.join();
+
+            assertWrittenDuringCompaction(store);
+        }
+
+        try (IndexedListStore<User> store = open()) {
+            assertWrittenDuringCompaction(store);
+        }
+
+        Files.delete(indexFile);
+        try (IndexedListStore<User> store = open()) {
+            assertWrittenDuringCompaction(store);
+        }
+    }
+
+    @Test
+    void storeFileIsDetected() throws IOException {
+        Assertions.assertFalse(IndexedListStore.isStoreFile(dataFile));
+        open().close();
+        Assertions.assertTrue(IndexedListStore.isStoreFile(dataFile));
+    }
+
+    @Test
+    void closeListenerIsCalled() throws IOException {
+        IndexedListStore<User> store = open();
+        boolean[] called = new boolean[1];
+        store.addCloseListener(() -> called[0] = true);
+        store.close();
+        Assertions.assertTrue(called[0]);
+        Assertions.assertTrue(store.isClosed());
+    }
+
+    private void assertWrittenDuringCompaction(IndexedListStore<User> store) throws IOException {
+        Assertions.assertEquals(100, store.size());
+        for (int i = 0; i < 200; i++) {
+            User user = store.get("user" + i);
+            if (i % 2 == 0) {
+                Assertions.assertNull(user);
+            } else {
+                Assertions.assertEquals(-i, user.value);
+            }
+        }
+    }
+
+    private IndexedListStore<User> open() throws IOException {
+        return IndexedListStore.open(dataFile, User.class, user -> user.id, gson);
+    }
+
+    /**
+     * テスト用の要素
+     */
+    static final class User {
+        String id;
+        int value;
+
+        User() {
+        }
+
+        User(String id, int value) {
+            this.id = id;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.karasu256.karasuConfigLib.jfr;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.karasu256.karasuConfigLib.TestConfig;
+import com.karasu256.karasuConfigLib.TestPlugin;
+import com.karasu256.karasuConfigLib.config.BaseConfig;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Java Flight Recorderのイベントのテスト
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ */
+class ConfigEventsTest {
+
+    private static final String OPERATION = "com.karasu256.karasuConfigLib.ConfigOperation";
+
+    private static final String GSON_REBUILD = "com.karasu256.karasuConfigLib.GsonRebuild";
+
+    @TempDir
+    Path directory;
+
+    private TestPlugin plugin;
+
+    @BeforeEach
+    void setUp() {
+        plugin = TestPlugin.start(directory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        plugin.disable();
+    }
+
+    @Test
+    void noEventIsCreatedWhileNotRecording() {
+        Assertions.assertNull(ConfigOperationEvent.start("load", "test.json", TestConfig.class));
+    }
+
+    @Test
+    void loadAndSaveAreRecordedWithPhases() throws IOException {
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(OPERATION).withoutThreshold();
+            recording.start();
+            TestConfig config = plugin.getConfig("test.json", TestConfig.class);
+            config.set("recorded", 1);
+            Assertions.assertTrue(plugin.save("test.json"));
+            recording.stop();
+            events = readEvents(recording, OPERATION);
+        }
+
+        RecordedEvent load = findOperation(events, "load");
+        Assertions.assertEquals("test.json", load.getString("fileName"));
+        Assertions.assertEquals(TestConfig.class.getName(), load.getClass("configClass").getName());
+        Assertions.assertTrue(load.getBoolean("success"));
+
+        RecordedEvent save = findOperation(events, "save");
+        Assertions.assertTrue(save.getBoolean("success"));
+        Assertions.assertTrue(save.getLong("bytesWritten") > 0);
+        Assertions.assertTrue(save.getLong("serializeTime") > 0);
+        Assertions.assertTrue(save.getLong("writeTime") > 0);
+    }
+
+    @Test
+    void gsonRebuildIsRecorded() throws IOException {
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(GSON_REBUILD).withoutThreshold();
+            recording.start();
+            BaseConfig.registerTypeAdapter(Marker.class, new MarkerAdapter());
+            recording.stop();
+            events = readEvents(recording, GSON_REBUILD);
+        }
+
+        Assertions.assertEquals(1, events.size());
+        Assertions.assertTrue(events.get(0).getInt("typeAdapters") >= 1);
+    }
+
+    private static RecordedEvent findOperation(List<RecordedEvent> events, String operation) {
+        return events.stream()
+                .filter(event -> operation.equals(event.getString("operation")))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No " + operation + " event in " + events));
+    }
+
+    private Path dump(Recording recording) throws IOException {
+        Path file = directory.resolve("recording.jfr");
+        recording.dump(file);
+        return file;
+    }
+
+    private List<RecordedEvent> readEvents(Recording recording, String name) throws IOException {
+        return RecordingFile.readAllEvents(dump(recording)).stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .toList();
+    }
+
+    /**
+     * テスト用の型
+     */
+    private static final class Marker {
+    }
+
+    /**
+     * テスト用の型のアダプタ
+     */
+    private static final class MarkerAdapter extends TypeAdapter<Marker> {
+        @Override
+        public void write(JsonWriter out, Marker value) throws IOException {
+            out.nullValue();
+        }
+
+        @Override
+        public Marker read(JsonReader in) throws IOException {
+            in.skipValue();
+            return new Marker();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.karasu256.karasuConfigLib.metrics;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+/**
+ * {@link ConfigMetrics}のテスト
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ */
+class ConfigMetricsTest {
+
+    @Test
+    void filesOverLimitAreCountedTogether() {
+        ConfigMetrics metrics = new ConfigMetrics(2);
+        for (int i = 0; i < 5; i++) {
+            metrics.recordNanos("player-" + i + ".json", ConfigMetrics.Operation.READ, 100, 10);
+        }
+        metrics.recordNanos("player-0.json", ConfigMetrics.Operation.READ, 100, 10);
+
+        Assertions.assertEquals(Set.of("player-0.json", "player-1.json", ConfigMetrics.OTHER_FILES),
+                metrics.getFileNames());
+        Assertions.assertEquals(2, metrics.get("player-0.json", ConfigMetrics.Operation.READ).getCount());
+        Assertions.assertEquals(3, metrics.get(ConfigMetrics.OTHER_FILES, ConfigMetrics.Operation.READ).getCount());
+        Assertions.assertEquals(6, metrics.getTotal(ConfigMetrics.Operation.READ).getCount());
+    }
+
+    @Test
+    void removedFilesAreRecordedAgain() {
+        ConfigMetrics metrics = new ConfigMetrics(2);
+        metrics.recordNanos("a.json", ConfigMetrics.Operation.WRITE, 100, 10);
+        metrics.recordNanos("b.json", ConfigMetrics.Operation.WRITE, 100, 10);
+
+        Assertions.assertTrue(metrics.remove("a.json"));
+        Assertions.assertFalse(metrics.remove("a.json"));
+        metrics.recordNanos("c.json", ConfigMetrics.Operation.WRITE, 100, 10);
+        Assertions.assertEquals(Set.of("b.json", "c.json"), metrics.getFileNames());
+
+        Assertions.assertEquals(2, metrics.removeIf(fileName -> fileName.endsWith(".json")));
+        Assertions.assertTrue(metrics.getFileNames().isEmpty());
+        Assertions.assertEquals(3, metrics.getTotal(ConfigMetrics.Operation.WRITE).getCount());
+    }
+}
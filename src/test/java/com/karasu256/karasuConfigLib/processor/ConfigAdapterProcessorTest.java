@@ -0,0 +1,319 @@
+package com.karasu256.karasuConfigLib.processor;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.karasu256.karasuConfigLib.config.BaseConfig;
+import com.karasu256.karasuConfigLib.config.ExampleBaseConfig;
+import com.karasu256.karasuConfigLib.config.TestConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link ConfigAdapterProcessor}のテスト
+ * <p>
+ * テスト中に設定クラスをプロセッサ付きでコンパイルし、生成されたアダプタの読み書きが
+ * Gsonのリフレクションによる処理と一致することを確認します。
+ * </p>
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ */
+class ConfigAdapterProcessorTest {
+
+    /** テスト用の設定クラスのパッケージ */
+    private static final String FIXTURE_PACKAGE = "com.karasu256.karasuConfigLib.processor.fixture";
+
+    /** パッケージプライベートとprivateのフィールドを持つスーパークラス */
+    private static final String BASE_SOURCE = """
+            package com.karasu256.karasuConfigLib.processor.fixture;
+
+            public class BaseSettings extends com.karasu256.karasuConfigLib.config.BaseConfig {
+                String title = "base";
+                private long limit = 10L;
+                private transient int cache = 1;
+            }
+            """;
+
+    /** 別名や委譲する型のフィールドを持つ設定クラス */
+    private static final String SETTINGS_SOURCE = """
+            package com.karasu256.karasuConfigLib.processor.fixture;
+
+            import com.google.gson.annotations.SerializedName;
+            import com.karasu256.karasuConfigLib.annotation.Config;
+
+            @Config(fileName = "settings.json")
+            public class Settings extends BaseSettings {
+                @SerializedName(value = "display_name", alternate = {"displayName", "label"})
+                private String name = "settings";
+                int count = 3;
+                boolean enabled = true;
+                private Integer bonus;
+                java.util.List<String> tags = new java.util.ArrayList<>();
+                double ratio = 0.5;
+            }
+            """;
+
+    /** クラスに@JsonAdapterが付与された設定クラス */
+    private static final String ANNOTATED_SOURCE = """
+            package com.karasu256.karasuConfigLib.processor.fixture;
+
+            import com.google.gson.TypeAdapter;
+            import com.google.gson.annotations.JsonAdapter;
+            import com.google.gson.stream.JsonReader;
+            import com.google.gson.stream.JsonWriter;
+            import com.karasu256.karasuConfigLib.annotation.Config;
+
+            @Config(fileName = "annotated.json")
+            @JsonAdapter(AnnotatedSettings.Adapter.class)
+            public class AnnotatedSettings extends com.karasu256.karasuConfigLib.config.BaseConfig {
+                String value = "annotated";
+
+                public static final class Adapter extends TypeAdapter<AnnotatedSettings> {
+                    @Override
+                    public void write(JsonWriter out, AnnotatedSettings config) throws java.io.IOException {
+                        out.value(config.value);
+                    }
+
+                    @Override
+                    public AnnotatedSettings read(JsonReader in) throws java.io.IOException {
+                        AnnotatedSettings config = new AnnotatedSettings();
+                        config.value = in.nextString();
+                        return config;
+                    }
+                }
+            }
+            """;
+
+    /** リフレクションによる処理と比較するための、生成されたアダプタを使用しないGsonインスタンス */
+    private static final Gson REFLECTIVE = new GsonBuilder().create();
+
+    @TempDir
+    Path directory;
+
+    private final List<URLClassLoader> loaders = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws IOException {
+        for (URLClassLoader loader : loaders) {
+            loader.close();
+        }
+    }
+
+    @Test
+    void generatedSourceMatchesGoldenFile() throws IOException {
+        Path output = compile(List.of(ExampleBaseConfig.class.getName()), List.of());
+
+        String generated = Files.readString(output.resolve("gen/com/karasu256/karasuConfigLib/config/"
+                + "ExampleBaseConfig_KarasuTypeAdapter.java"));
+        try (InputStream golden = getClass().getResourceAsStream("ExampleBaseConfig_KarasuTypeAdapter.golden")) {
+            Assertions.assertNotNull(golden);
+            Assertions.assertEquals(new String(golden.readAllBytes(), StandardCharsets.UTF_8), generated);
+        }
+    }
+
+    @Test
+    void exampleConfigRoundTripMatchesReflection() throws Exception {
+        TypeAdapter<ExampleBaseConfig> adapter = generatedAdapter(ExampleBaseConfig.class);
+
+        assertRoundTrip(adapter, new ExampleBaseConfig("value", 7, false));
+        assertRoundTrip(adapter, new ExampleBaseConfig(null, -1, true));
+    }
+
+    @Test
+    void subclassRoundTripIncludesSuperclassFields() throws Exception {
+        TypeAdapter<TestConfig> adapter = generatedAdapter(TestConfig.class);
+        TestConfig config = new TestConfig();
+        config.setFoo("baz");
+        config.setExampleInt(Integer.MAX_VALUE);
+
+        assertRoundTrip(adapter, config);
+        config.setFoo(null);
+        config.setExampleString(null);
+        assertRoundTrip(adapter, config);
+
+        TestConfig read = adapter.fromJson("{\"foo\":\"qux\",\"exampleInt\":5,\"exampleBoolean\":\"false\"}");
+        Assertions.assertEquals("qux", read.getFoo());
+        Assertions.assertEquals(5, read.getExampleInt());
+        Assertions.assertFalse(read.isExampleBoolean());
+        Assertions.assertEquals("defaultString", read.getExampleString());
+    }
+
+    @Test
+    void fixtureRoundTripMatchesReflection() throws Exception {
+        Class<?> settings = loadFixture("Settings");
+        TypeAdapter<Object> adapter = newAdapter(settings);
+
+        Object config = settings.getConstructor().newInstance();
+        assertRoundTrip(adapter, config);
+
+        String json = """
+                {"title":null,"limit":99,"label":"renamed","count":4,"enabled":false,
+                "bonus":2,"tags":["a",null],"ratio":1.5,"cache":8,"unknown":{"nested":[1]}}""";
+        Object generated = adapter.fromJson(json);
+        Object reflective = REFLECTIVE.fromJson(json, settings);
+        Assertions.assertEquals(REFLECTIVE.toJson(reflective), REFLECTIVE.toJson(generated));
+        Assertions.assertEquals(REFLECTIVE.toJson(reflective), toJson(adapter, generated));
+        Assertions.assertTrue(toJson(adapter, generated).contains("\"display_name\":\"renamed\""));
+
+        // nullはプリミティブ型のフィールドでは無視され、参照型のフィールドにはそのまま設定される
+        String nulls = "{\"display_name\":null,\"count\":null,\"enabled\":null,\"limit\":null,\"bonus\":null}";
+        Assertions.assertEquals(REFLECTIVE.toJson(REFLECTIVE.fromJson(nulls, settings)),
+                REFLECTIVE.toJson(adapter.fromJson(nulls)));
+        Assertions.assertNull(adapter.fromJson("null"));
+    }
+
+    @Test
+    void invalidNumberIsReportedAsJsonSyntaxException() throws Exception {
+        TypeAdapter<Object> adapter = newAdapter(loadFixture("Settings"));
+
+        Assertions.assertThrows(JsonSyntaxException.class, () -> adapter.fromJson("{\"count\":\"many\"}"));
+        Assertions.assertThrows(JsonSyntaxException.class, () -> adapter.fromJson("{\"count\":1.5}"));
+        Assertions.assertThrows(JsonSyntaxException.class, () -> adapter.fromJson("{\"limit\":\"far\"}"));
+    }
+
+    @Test
+    void classWithJsonAdapterIsSkipped() throws Exception {
+        Path output = compile(List.of(), List.of(source("AnnotatedSettings", ANNOTATED_SOURCE)));
+
+        Assertions.assertFalse(Files.exists(output.resolve("classes/com/karasu256/karasuConfigLib/processor/fixture/"
+                + "AnnotatedSettings_KarasuTypeAdapter.class")));
+        Class<?> annotated = classLoader(output).loadClass(FIXTURE_PACKAGE + ".AnnotatedSettings");
+        Object config = annotated.getConstructor().newInstance();
+        Assertions.assertEquals("\"annotated\"", BaseConfig.getGson().toJson(config));
+    }
+
+    @Test
+    void registeredAdapterForDirectTypeIsUsed() throws Exception {
+        Class<?> settings = loadFixture("Settings");
+        Object config = settings.getConstructor().newInstance();
+        Assertions.assertTrue(BaseConfig.getGson().getAdapter(settings).getClass().getName()
+                .endsWith("Settings_KarasuTypeAdapter"));
+
+        TypeAdapter<String> upperCase = new TypeAdapter<>() {
+            @Override
+            public void write(JsonWriter out, String value) throws IOException {
+                out.value(value.toUpperCase(java.util.Locale.ROOT));
+            }
+
+            @Override
+            public String read(JsonReader in) throws IOException {
+                return in.nextString().toUpperCase(java.util.Locale.ROOT);
+            }
+        };
+        Gson gson = BaseConfig.getGson().newBuilder().registerTypeAdapter(String.class, upperCase).create();
+
+        Assertions.assertFalse(gson.getAdapter(settings).getClass().getName().endsWith("_KarasuTypeAdapter"));
+        Assertions.assertTrue(gson.toJson(config).contains("\"SETTINGS\""));
+    }
+
+    /**
+     * インスタンスの書き込みと、書き込んだJSONの読み込みの結果が、リフレクションによる処理と一致することを確認します
+     */
+    private static <T> void assertRoundTrip(TypeAdapter<T> adapter, T config) throws IOException {
+        String expected = REFLECTIVE.toJson(config);
+        String written = toJson(adapter, config);
+        Assertions.assertEquals(expected, written);
+        Assertions.assertEquals(REFLECTIVE.toJson(REFLECTIVE.fromJson(written, config.getClass())),
+                REFLECTIVE.toJson(adapter.fromJson(written)));
+    }
+
+    /**
+     * Gsonの既定の設定と同じく、nullのフィールドを出力せずに書き込みます
+     */
+    private static <T> String toJson(TypeAdapter<T> adapter, T config) throws IOException {
+        StringWriter out = new StringWriter();
+        JsonWriter writer = new JsonWriter(out);
+        writer.setSerializeNulls(false);
+        adapter.write(writer, config);
+        return out.toString();
+    }
+
+    /**
+     * クラスパス上の設定クラスのアダプタを生成し、そのインスタンスを作成します
+     */
+    @SuppressWarnings("unchecked")
+    private <T> TypeAdapter<T> generatedAdapter(Class<T> type) throws Exception {
+        Path output = compile(List.of(type.getName()), List.of());
+        Class<?> adapterClass = classLoader(output).loadClass(type.getName() + "_KarasuTypeAdapter");
+        return (TypeAdapter<T>) adapterClass.getConstructor(Gson.class).newInstance(REFLECTIVE);
+    }
+
+    /**
+     * テスト用の設定クラスをコンパイルして読み込みます
+     */
+    private Class<?> loadFixture(String name) throws IOException, ClassNotFoundException {
+        Path output = compile(List.of(), List.of(source("BaseSettings", BASE_SOURCE),
+                source("Settings", SETTINGS_SOURCE)));
+        return classLoader(output).loadClass(FIXTURE_PACKAGE + "." + name);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static TypeAdapter<Object> newAdapter(Class<?> type) throws ReflectiveOperationException {
+        Class<?> adapterClass = Class.forName(type.getName() + "_KarasuTypeAdapter", true, type.getClassLoader());
+        return (TypeAdapter<Object>) adapterClass.getConstructor(Gson.class).newInstance(REFLECTIVE);
+    }
+
+    /**
+     * プロセッサを使用してコンパイルします
+     *
+     * @param classNames 処理するクラスパス上のクラス
+     * @param sources    コンパイルするソースファイル
+     * @return 出力先のディレクトリ
+     */
+    private Path compile(List<String> classNames, List<JavaFileObject> sources) throws IOException {
+        Path output = Files.createTempDirectory(directory, "compile");
+        Files.createDirectories(output.resolve("classes"));
+        Files.createDirectories(output.resolve("gen"));
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        List<String> options = List.of("-classpath", System.getProperty("java.class.path"),
+                "-d", output.resolve("classes").toString(), "-s", output.resolve("gen").toString());
+        JavaCompiler.CompilationTask task = compiler.getTask(null, null, diagnostics, options,
+                classNames.isEmpty() ? null : classNames, sources);
+        task.setProcessors(List.of(new ConfigAdapterProcessor()));
+
+        Assertions.assertTrue(task.call(), () -> diagnostics.getDiagnostics().toString());
+        return output;
+    }
+
+    private ClassLoader classLoader(Path output) throws IOException {
+        URLClassLoader loader = new URLClassLoader(new URL[] { output.resolve("classes").toUri().toURL() },
+                getClass().getClassLoader());
+        loaders.add(loader);
+        return loader;
+    }
+
+    private static JavaFileObject source(String simpleName, String code) {
+        URI uri = URI.create("string:///" + FIXTURE_PACKAGE.replace('.', '/') + "/" + simpleName + ".java");
+        return new SimpleJavaFileObject(uri, JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return code;
+            }
+        };
+    }
+}
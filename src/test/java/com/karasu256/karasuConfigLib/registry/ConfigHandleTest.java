@@ -0,0 +1,81 @@
+package com.karasu256.karasuConfigLib.registry;
+
+import com.karasu256.karasuConfigLib.config.BaseConfig;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link ConfigHandle}のテスト
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ */
+class ConfigHandleTest {
+
+    private final ConfigRegistry registry = new ConfigRegistry();
+
+    @Test
+    void handleFollowsReplacementAndRemoval() {
+        ConfigHandle<SampleConfig> handle = registry.handle("sample.json", SampleConfig.class);
+        Assertions.assertFalse(handle.isPresent());
+
+        SampleConfig first = new SampleConfig();
+        registry.put("sample.json", first);
+        Assertions.assertSame(first, handle.get());
+
+        SampleConfig reloaded = new SampleConfig();
+        registry.commit(Map.of("sample.json", reloaded), List.of());
+        Assertions.assertSame(reloaded, handle.get());
+
+        registry.put("sample.json", new OtherConfig());
+        Assertions.assertNull(handle.get());
+
+        registry.put("sample.json", first);
+        registry.remove("sample.json");
+        Assertions.assertNull(handle.get());
+    }
+
+    @Test
+    void sameHandleIsReturnedWhileReferenced() {
+        ConfigHandle<SampleConfig> handle = registry.handle("sample.json", SampleConfig.class);
+
+        Assertions.assertSame(handle, registry.handle("sample.json", SampleConfig.class));
+        Assertions.assertNotSame(handle, registry.handle("other.json", SampleConfig.class));
+    }
+
+    @Test
+    void referencedHandleProtectsConfigFromEviction() throws InterruptedException {
+        registry.put("sample.json", new SampleConfig());
+        registry.access("sample.json");
+        ConfigHandle<SampleConfig> handle = registry.handle("sample.json", SampleConfig.class);
+
+        Assertions.assertEquals(List.of(), registry.evictionCandidates(0, 0, 1, fileName -> false));
+        Assertions.assertTrue(handle.isPresent());
+
+        // ハンドルを参照しなくなると回収され、設定は再び削除の対象になる
+        WeakReference<ConfigHandle<SampleConfig>> reference = new WeakReference<>(handle);
+        handle = null;
+        for (int i = 0; i < 50 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        Assertions.assertNull(reference.get(), "Handle was not collected");
+        Assertions.assertEquals(List.of("sample.json"), registry.evictionCandidates(0, 0, 1, fileName -> false));
+    }
+
+    /**
+     * テスト用の設定
+     */
+    static final class SampleConfig extends BaseConfig {
+    }
+
+    /**
+     * 別のクラスのテスト用の設定
+     */
+    static final class OtherConfig extends BaseConfig {
+    }
+}
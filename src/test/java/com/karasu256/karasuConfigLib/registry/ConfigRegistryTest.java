@@ -0,0 +1,103 @@
+package com.karasu256.karasuConfigLib.registry;
+
+import com.karasu256.karasuConfigLib.config.BaseConfig;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * {@link ConfigRegistry}の型ごとのインデックスのテスト
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ */
+class ConfigRegistryTest {
+
+    private final ConfigRegistry registry = new ConfigRegistry();
+
+    @Test
+    void configsAreIndexedByClassAndSuperclasses() {
+        AnimalConfig animal = new AnimalConfig();
+        DogConfig dog = new DogConfig();
+        registry.put("animal.json", animal);
+        registry.put("dog.json", dog);
+        registry.put("other.json", new OtherConfig());
+
+        Assertions.assertEquals(List.of(dog), registry.getAll(DogConfig.class));
+        Assertions.assertEquals(Set.of(animal, dog), Set.copyOf(registry.getAll(AnimalConfig.class)));
+        Assertions.assertEquals(3, registry.getAll(BaseConfig.class).size());
+        Assertions.assertEquals(List.of(), registry.getAll(UnusedConfig.class));
+    }
+
+    @Test
+    void indexFollowsReplacementAndRemoval() {
+        registry.put("pet.json", new DogConfig());
+        registry.put("pet.json", new AnimalConfig());
+        Assertions.assertEquals(List.of(), registry.getAll(DogConfig.class));
+        Assertions.assertEquals(1, registry.getAll(AnimalConfig.class).size());
+
+        AnimalConfig current = (AnimalConfig) registry.get("pet.json");
+        Assertions.assertFalse(registry.replace("pet.json", new AnimalConfig(), new DogConfig()));
+        Assertions.assertTrue(registry.replace("pet.json", current, new DogConfig()));
+        Assertions.assertEquals(1, registry.getAll(DogConfig.class).size());
+
+        registry.commit(Map.of("other.json", new OtherConfig()), List.of("pet.json"));
+        Assertions.assertEquals(List.of(), registry.getAll(AnimalConfig.class));
+        Assertions.assertEquals(Set.of("other.json"), registry.fileNames());
+    }
+
+    @Test
+    void concurrentWritesKeepIndexConsistent() {
+        List<CompletableFuture<Void>> writers = new ArrayList<>();
+        for (int thread = 0; thread < 8; thread++) {
+            int offset = thread;
+            writers.add(CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < 500; i++) {
+                    String fileName = "config-" + (i % 50) + ".json";
+                    registry.put(fileName, (i + offset) % 2 == 0 ? new DogConfig() : new AnimalConfig());
+                    if (i % 7 == 0) {
+                        registry.remove(fileName);
+                    }
+                }
+            }));
+        }
+        writers.forEach(CompletableFuture::join);
+
+        Set<String> dogs = registry.snapshot().entrySet().stream()
+                .filter(entry -> entry.getValue() instanceof DogConfig)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+        Assertions.assertEquals(dogs.size(), registry.getAll(DogConfig.class).size());
+        Assertions.assertEquals(registry.size(), registry.getAll(AnimalConfig.class).size());
+    }
+
+    /**
+     * テスト用の設定
+     */
+    static class AnimalConfig extends BaseConfig {
+    }
+
+    /**
+     * テスト用の設定のサブクラス
+     */
+    static final class DogConfig extends AnimalConfig {
+    }
+
+    /**
+     * 別の階層のテスト用の設定
+     */
+    static final class OtherConfig extends BaseConfig {
+    }
+
+    /**
+     * 登録しないテスト用の設定
+     */
+    static final class UnusedConfig extends BaseConfig {
+    }
+}
@@ -0,0 +1,59 @@
+package com.karasu256.karasuConfigLib.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ConfigExecutors}のテスト
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ */
+class ConfigExecutorsTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @Test
+    void shutdownStopsThreadsAndWaitsForRunningTasks() throws InterruptedException {
+        ExecutorService io = ConfigExecutors.io();
+        ScheduledExecutorService scheduler = ConfigExecutors.scheduler();
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> {
+            sleep(100);
+            return "written";
+        }, io);
+        scheduler.schedule(() -> { }, 1, TimeUnit.HOURS);
+
+        Assertions.assertTrue(ConfigExecutors.shutdown(TIMEOUT));
+
+        Assertions.assertTrue(io.isTerminated());
+        Assertions.assertEquals("written", running.join());
+        // 待っている遅延タスクは破棄され、スケジューラーのスレッドも終了する
+        Assertions.assertTrue(scheduler.awaitTermination(TIMEOUT.toSeconds(), TimeUnit.SECONDS));
+    }
+
+    @Test
+    void executorsAreRecreatedAfterShutdown() throws Exception {
+        ExecutorService io = ConfigExecutors.io();
+        ConfigExecutors.shutdown(TIMEOUT);
+
+        ExecutorService recreated = ConfigExecutors.io();
+        Assertions.assertNotSame(io, recreated);
+        Assertions.assertEquals(1, recreated.submit(() -> 1).get(TIMEOUT.toSeconds(), TimeUnit.SECONDS));
+        Assertions.assertEquals(2, ConfigExecutors.scheduler()
+                .schedule(() -> 2, 0, TimeUnit.MILLISECONDS).get(TIMEOUT.toSeconds(), TimeUnit.SECONDS));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
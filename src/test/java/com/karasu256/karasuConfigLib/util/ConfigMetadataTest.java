@@ -0,0 +1,92 @@
+package com.karasu256.karasuConfigLib.util;
+
+import com.karasu256.karasuConfigLib.annotation.Config;
+import com.karasu256.karasuConfigLib.codec.ConfigCodecs;
+import com.karasu256.karasuConfigLib.config.BaseConfig;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+/**
+ * {@link ConfigMetadata}のテスト
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ */
+class ConfigMetadataTest {
+
+    @Test
+    void metadataIsResolvedOncePerClass() {
+        Assertions.assertSame(ConfigMetadata.of(AnnotatedConfig.class), ConfigMetadata.of(AnnotatedConfig.class));
+        Assertions.assertNotSame(ConfigMetadata.of(AnnotatedConfig.class), ConfigMetadata.of(PlainConfig.class));
+    }
+
+    @Test
+    void annotationValuesAreExposed() {
+        ConfigMetadata metadata = ConfigMetadata.of(AnnotatedConfig.class);
+
+        Assertions.assertEquals(Optional.of("annotated.json"), metadata.getFileName());
+        Assertions.assertEquals(Optional.of("Owner"), metadata.getPluginName());
+        Assertions.assertEquals(Optional.of("description"), metadata.getDescription());
+        Assertions.assertFalse(metadata.isJournaled());
+        Assertions.assertSame(ConfigCodecs.BINARY, metadata.getCodec());
+    }
+
+    @Test
+    void missingAnnotationFallsBackToDefaults() {
+        ConfigMetadata metadata = ConfigMetadata.of(PlainConfig.class);
+
+        Assertions.assertEquals(Optional.empty(), metadata.getAnnotation());
+        Assertions.assertEquals(Optional.empty(), metadata.getFileName());
+        Assertions.assertEquals(Optional.empty(), metadata.getPluginName());
+        Assertions.assertSame(ConfigCodecs.PRETTY_JSON, metadata.getCodec());
+    }
+
+    @Test
+    void journaledConfigAlwaysUsesJsonText() {
+        ConfigMetadata metadata = ConfigMetadata.of(JournaledConfig.class);
+
+        Assertions.assertTrue(metadata.isJournaled());
+        Assertions.assertEquals(Optional.empty(), metadata.getPluginName());
+        Assertions.assertSame(ConfigCodecs.PRETTY_JSON, metadata.getCodec());
+    }
+
+    @Test
+    void newInstanceUsesPrivateConstructor() throws ReflectiveOperationException {
+        ConfigMetadata metadata = ConfigMetadata.of(AnnotatedConfig.class);
+
+        AnnotatedConfig first = metadata.newInstance(AnnotatedConfig.class);
+        Assertions.assertNotSame(first, metadata.newInstance(AnnotatedConfig.class));
+        Assertions.assertThrows(NoSuchMethodException.class,
+                () -> ConfigMetadata.of(AbstractConfig.class).newInstance(AbstractConfig.class));
+    }
+
+    /**
+     * アノテーションを付与したテスト用の設定
+     */
+    @Config(fileName = "annotated.json", pluginName = "Owner", description = "description", codec = "binary")
+    static final class AnnotatedConfig extends BaseConfig {
+        private AnnotatedConfig() {
+        }
+    }
+
+    /**
+     * ジャーナル方式で保存するテスト用の設定
+     */
+    @Config(fileName = "journaled.json", journaled = true, codec = "binary")
+    static final class JournaledConfig extends BaseConfig {
+    }
+
+    /**
+     * アノテーションのないテスト用の設定
+     */
+    static final class PlainConfig extends BaseConfig {
+    }
+
+    /**
+     * インスタンスを作成できないテスト用の設定
+     */
+    abstract static class AbstractConfig extends BaseConfig {
+    }
+}
@@ -0,0 +1,67 @@
+package com.karasu256.karasuConfigLib.util;
+
+import com.karasu256.karasuConfigLib.TestPlugin;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * {@link TickBudgetExecutor}のテスト
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ */
+class TickBudgetExecutorTest {
+
+    @TempDir
+    Path directory;
+
+    private TestPlugin plugin;
+
+    private TickBudgetExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        plugin = TestPlugin.start(directory);
+        executor = new TickBudgetExecutor(Duration.ofMillis(50));
+        executor.start(plugin);
+    }
+
+    @AfterEach
+    void tearDown() {
+        plugin.disable();
+        executor.stop();
+    }
+
+    @Test
+    void submittedTaskCompletesWithItsResult() {
+        CompletableFuture<String> future = executor.submit(plugin, () -> "done");
+        Assertions.assertFalse(future.isDone());
+
+        plugin.getTestServer().tick();
+
+        Assertions.assertEquals("done", future.join());
+        Assertions.assertEquals(1, executor.getExecutedCount());
+    }
+
+    @Test
+    void errorThrownBySubmittedTaskCompletesFuture() {
+        CompletableFuture<String> future = executor.submit(plugin, () -> {
+            throw new ExceptionInInitializerError("adapter");
+        });
+        CompletableFuture<String> next = executor.submit(plugin, () -> "next");
+
+        plugin.getTestServer().tick();
+
+        CompletionException failure = Assertions.assertThrows(CompletionException.class, future::join);
+        Assertions.assertInstanceOf(ExceptionInInitializerError.class, failure.getCause());
+        Assertions.assertEquals("next", next.join());
+    }
+}
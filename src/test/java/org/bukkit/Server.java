@@ -0,0 +1,29 @@
+package org.bukkit;
+
+import org.bukkit.scheduler.BukkitScheduler;
+
+/**
+ * テスト用のServerの代替インターフェース
+ * <p>
+ * ライブラリがメインスレッドの判定とスケジューラの取得に使用するメソッドだけを提供します。
+ * </p>
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ */
+public interface Server {
+
+    /**
+     * スケジューラを取得します
+     *
+     * @return スケジューラ
+     */
+    BukkitScheduler getScheduler();
+
+    /**
+     * 現在のスレッドがメインスレッドかどうかを返します
+     *
+     * @return メインスレッドの場合はtrue
+     */
+    boolean isPrimaryThread();
+}
@@ -0,0 +1,29 @@
+package org.bukkit.plugin;
+
+import org.bukkit.Server;
+
+/**
+ * テスト用のPluginの代替インターフェース
+ * <p>
+ * ライブラリのクラスがプラグインを{@code Plugin}として扱う箇所で使用するメソッドだけを提供します。
+ * </p>
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ */
+public interface Plugin {
+
+    /**
+     * プラグインを実行しているサーバーを取得します
+     *
+     * @return サーバー
+     */
+    Server getServer();
+
+    /**
+     * プラグインが有効かどうかを返します
+     *
+     * @return 有効な場合はtrue
+     */
+    boolean isEnabled();
+}
@@ -0,0 +1,110 @@
+package org.bukkit.plugin.java;
+
+import org.bukkit.Server;
+import org.bukkit.plugin.Plugin;
+
+import java.io.File;
+import java.util.logging.Logger;
+
+/**
+ * テスト用のJavaPluginの代替クラス
+ * <p>
+ * テストはBukkitのサーバーなしで実行されるため、paper-apiの代わりにこのクラスがクラスパスに置かれます。
+ * 設定の読み書きに必要なデータフォルダと有効状態、メインスレッドに処理を戻すためのサーバーを提供します。
+ * サーバーはテストから{@link #enable(File, Server)}で渡します。
+ * </p>
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ */
+public abstract class JavaPlugin implements Plugin {
+
+    /** プラグインのデータフォルダ */
+    private File dataFolder;
+
+    /** プラグインを実行しているサーバー */
+    private Server server;
+
+    /** プラグインが有効かどうか */
+    private boolean enabled;
+
+    /**
+     * データフォルダとサーバーを設定してプラグインを有効にします
+     *
+     * @param dataFolder プラグインのデータフォルダ
+     * @param server     プラグインを実行するサーバー
+     */
+    public final void enable(File dataFolder, Server server) {
+        this.dataFolder = dataFolder;
+        this.server = server;
+        this.enabled = true;
+        onEnable();
+    }
+
+    /**
+     * プラグインを無効にします
+     */
+    public final void disable() {
+        onDisable();
+        this.enabled = false;
+    }
+
+    /**
+     * プラグインのデータフォルダを取得します
+     *
+     * @return データフォルダ
+     */
+    public final File getDataFolder() {
+        return dataFolder;
+    }
+
+    /**
+     * プラグインを実行しているサーバーを取得します
+     *
+     * @return サーバー
+     */
+    @Override
+    public final Server getServer() {
+        return server;
+    }
+
+    /**
+     * プラグインが有効かどうかを返します
+     *
+     * @return 有効な場合はtrue
+     */
+    @Override
+    public final boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * プラグインの名前を取得します
+     *
+     * @return クラスの単純名
+     */
+    public String getName() {
+        return getClass().getSimpleName();
+    }
+
+    /**
+     * プラグインのロガーを取得します
+     *
+     * @return ロガー
+     */
+    public Logger getLogger() {
+        return Logger.getLogger(getClass().getSimpleName());
+    }
+
+    /**
+     * プラグインが有効になったときに呼び出されます
+     */
+    public void onEnable() {
+    }
+
+    /**
+     * プラグインが無効になったときに呼び出されます
+     */
+    public void onDisable() {
+    }
+}
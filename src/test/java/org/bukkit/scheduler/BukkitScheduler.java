@@ -0,0 +1,35 @@
+package org.bukkit.scheduler;
+
+import org.bukkit.plugin.Plugin;
+
+/**
+ * テスト用のBukkitSchedulerの代替インターフェース
+ * <p>
+ * ライブラリがメインスレッドで処理を実行するために使用するメソッドだけを提供します。
+ * </p>
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ */
+public interface BukkitScheduler {
+
+    /**
+     * 次のティックで処理を実行します
+     *
+     * @param plugin 処理を登録するプラグイン
+     * @param task   処理
+     * @return 登録したタスク
+     */
+    BukkitTask runTask(Plugin plugin, Runnable task);
+
+    /**
+     * 毎ティックなど一定の間隔で処理を実行します
+     *
+     * @param plugin 処理を登録するプラグイン
+     * @param task   処理
+     * @param delay  最初に実行するまでのティック数
+     * @param period 実行する間隔のティック数
+     * @return 登録したタスク
+     */
+    BukkitTask runTaskTimer(Plugin plugin, Runnable task, long delay, long period);
+}
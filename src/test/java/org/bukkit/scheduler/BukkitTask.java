@@ -0,0 +1,15 @@
+package org.bukkit.scheduler;
+
+/**
+ * テスト用のBukkitTaskの代替インターフェース
+ *
+ * @author Hashibutogarasu
+ * @version 1.0
+ */
+public interface BukkitTask {
+
+    /**
+     * タスクを取り消します
+     */
+    void cancel();
+}